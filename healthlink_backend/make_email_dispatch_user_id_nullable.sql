@@ -0,0 +1,20 @@
+-- Migration: Make user_id nullable in email_dispatches table
+-- Template emails queued by EmailService are addressed by email only and carry no user id
+
+DO $$
+BEGIN
+    IF EXISTS (
+        SELECT 1
+        FROM information_schema.columns
+        WHERE table_name = 'email_dispatches'
+        AND column_name = 'user_id'
+        AND is_nullable = 'NO'
+    ) THEN
+        ALTER TABLE email_dispatches
+        ALTER COLUMN user_id DROP NOT NULL;
+
+        RAISE NOTICE 'Successfully made user_id nullable in email_dispatches table';
+    ELSE
+        RAISE NOTICE 'user_id column is already nullable or does not exist';
+    END IF;
+END $$;
@@ -1,45 +1,41 @@
 package com.healthlink.config;
 
-import com.healthlink.domain.search.service.DoctorSearchService;
-import com.healthlink.domain.user.entity.Doctor;
-import com.healthlink.domain.user.repository.DoctorRepository;
+import com.healthlink.domain.search.service.DoctorBulkIndexer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
 
+/**
+ * Rebuilds the doctor search index after startup. The reindex runs in the background on
+ * {@link DoctorBulkIndexer}, so readiness does not wait for it and searches keep using the
+ * previous index until the new one is swapped in.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 @Profile("!test") // Don't run in tests to avoid interference
 @ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "true", matchIfMissing = false)
-public class DataIndexer implements CommandLineRunner {
+public class DataIndexer {
+
+    private final DoctorBulkIndexer bulkIndexer;
 
-    private final DoctorRepository doctorRepository;
-    private final DoctorSearchService doctorSearchService;
+    @Value("${healthlink.search.reindex-on-startup:true}")
+    private boolean reindexOnStartup;
 
-    @Override
-    @Transactional(readOnly = true)
-    public void run(String... args) throws Exception {
-        log.info("Starting data indexing...");
-        try {
-            List<Doctor> doctors = doctorRepository.findAll();
-            log.info("Found {} doctors to index.", doctors.size());
-            for (Doctor doctor : doctors) {
-                try {
-                    doctorSearchService.indexDoctor(doctor);
-                } catch (Exception e) {
-                    log.error("Failed to index doctor {}: {}", doctor.getId(), e.getMessage());
-                }
-            }
-            log.info("Data indexing completed.");
-        } catch (Exception e) {
-            log.error("Data indexing failed", e);
+    @EventListener(ApplicationReadyEvent.class)
+    public void reindexOnStartup() {
+        if (!reindexOnStartup) {
+            return;
+        }
+        if (bulkIndexer.startReindex()) {
+            log.info("Doctor reindex started in the background.");
+        } else {
+            log.info("Doctor reindex already running; skipping startup reindex.");
         }
     }
 }
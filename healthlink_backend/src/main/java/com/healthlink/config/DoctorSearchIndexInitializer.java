@@ -0,0 +1,65 @@
+package com.healthlink.config;
+
+import com.healthlink.domain.user.repository.DoctorTextSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the {@code pg_trgm} extension and the GIN indexes behind {@link DoctorTextSearchRepository}.
+ * Hibernate's schema update cannot express expression or operator-class indexes, so they are
+ * created here once the schema is in place. Indexes are built {@code CONCURRENTLY} so doctor
+ * writes are not blocked on a populated table.
+ * <p>
+ * Skipped on databases other than PostgreSQL. A failure (for example, no permission to create
+ * the extension) is logged and search keeps working, only without index support.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class DoctorSearchIndexInitializer {
+
+    // Expressions must match DoctorTextSearchRepository exactly for the planner to use them
+    static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_doctor_specialization_trgm ON users "
+                    + "USING gin (lower(specialization) gin_trgm_ops) WHERE user_type = 'DOCTOR'",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_doctor_full_name_trgm ON users "
+                    + "USING gin (lower(full_name) gin_trgm_ops) WHERE user_type = 'DOCTOR'",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_doctor_profile_fts ON users "
+                    + "USING gin (to_tsvector('simple', COALESCE(specialization, '') || ' ' || COALESCE(bio, ''))) "
+                    + "WHERE user_type = 'DOCTOR'");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${healthlink.search.database.create-indexes:true}")
+    private boolean createIndexes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!createIndexes) {
+            return;
+        }
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                log.info("Doctor search indexes skipped on {}", product);
+                return;
+            }
+            STATEMENTS.forEach(jdbcTemplate::execute);
+            log.info("Doctor search trigram and full-text indexes are in place.");
+        } catch (DataAccessException e) {
+            log.warn("Could not create doctor search indexes; search will scan the doctor table: {}", e.getMessage());
+        }
+    }
+}
@@ -7,12 +7,14 @@ import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.IndexOperations;
 import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import com.healthlink.domain.search.document.DoctorDocument;
+import com.healthlink.domain.search.service.DoctorBulkIndexer;
 
 import jakarta.annotation.PostConstruct;
 
 /**
  * Ensures required Elasticsearch indices exist with minimal, safe defaults.
  * Avoids dynamic mapping surprises and enforces predictable tokenization.
+ * The doctors index is an alias over generations managed by {@link DoctorBulkIndexer}.
  */
 @Configuration
 @ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "true", matchIfMissing = false)
@@ -20,9 +22,11 @@ public class ElasticsearchConfig {
 
     private static final SafeLogger log = SafeLogger.getLogger(ElasticsearchConfig.class);
     private final ElasticsearchOperations operations;
+    private final DoctorBulkIndexer bulkIndexer;
 
-    public ElasticsearchConfig(ElasticsearchOperations operations) {
+    public ElasticsearchConfig(ElasticsearchOperations operations, DoctorBulkIndexer bulkIndexer) {
         this.operations = operations;
+        this.bulkIndexer = bulkIndexer;
     }
 
     @PostConstruct
@@ -31,13 +35,16 @@ public class ElasticsearchConfig {
             IndexCoordinates coords = IndexCoordinates.of("doctors");
             IndexOperations io = operations.indexOps(coords);
             if (!io.exists()) {
-                // Create index with simple settings (could be expanded later)
-                // Minimal settings: 1 shard, 0 replicas for dev environment
-                io.create();
-                // Apply mapping from entity
-                io.putMapping(operations.indexOps(DoctorDocument.class).createMapping(DoctorDocument.class));
+                // First generation behind the alias; DataIndexer fills it in the background
+                bulkIndexer.initializeAlias();
                 log.info("Elasticsearch index 'doctors' created");
             } else {
+                // New fields (e.g. location) are added in place; changed field types need a reindex
+                try {
+                    io.putMapping(operations.indexOps(DoctorDocument.class).createMapping(DoctorDocument.class));
+                } catch (Exception e) {
+                    log.warn("Elasticsearch index 'doctors' mapping is outdated, reindex required: {}", e.getMessage());
+                }
                 log.info("Elasticsearch index 'doctors' exists");
             }
         } catch (Exception e) {
@@ -1,34 +1,79 @@
 package com.healthlink.config;
 
+import com.healthlink.infrastructure.http.OutboundHostLimiter;
+import com.healthlink.infrastructure.http.OutboundHostPolicies;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
 /**
  * Central HTTP client configuration to ensure consistent timeouts and
  * prevent silent swallowing of security-relevant errors.
+ * <p>
+ * All outbound calls share one pooled Apache HttpClient: keep-alive connections are
+ * reused across requests, each destination host is capped by OutboundHostLimiter and
+ * gets its own response timeout from OutboundHostPolicies, and request latency is
+ * recorded per host through the RestTemplateBuilder observation customizer.
  */
 @Configuration
 public class HttpClientConfig {
 
-    @Bean
-    public RestTemplate restTemplate() {
-        RestTemplate rt = new RestTemplate(clientHttpRequestFactory());
-        // Use default handler (throws on 4xx/5xx) rather than silent ignore
-        rt.setErrorHandler(new DefaultResponseErrorHandler());
-        return rt;
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(
+            OutboundHostPolicies policies,
+            @Value("${healthlink.http.outbound.max-total:200}") int maxTotal,
+            @Value("${healthlink.http.outbound.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${healthlink.http.outbound.connection-ttl-ms:300000}") long connectionTtlMs) {
+        PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                // Per-host concurrency is enforced by OutboundHostLimiter; the pool only has to fit it
+                .setMaxConnPerRoute(policies.maxConcurrentAnyHost())
+                .build();
+        manager.setConnectionConfigResolver(route -> ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(
+                        policies.forHost(route.getTargetHost().getHostName()).responseTimeoutMs()))
+                .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                .build());
+        return manager;
     }
 
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory f = new SimpleClientHttpRequestFactory();
-        // Conservative timeouts to avoid thread exhaustion
-        f.setConnectTimeout((int) Duration.ofSeconds(5).toMillis());
-        f.setReadTimeout((int) Duration.ofSeconds(10).toMillis());
-        return f;
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(
+            PoolingHttpClientConnectionManager outboundConnectionManager,
+            @Value("${healthlink.http.outbound.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     CloseableHttpClient outboundHttpClient,
+                                     OutboundHostLimiter hostLimiter) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
+                .additionalInterceptors(hostLimiter)
+                // Use default handler (throws on 4xx/5xx) rather than silent ignore
+                .errorHandler(new DefaultResponseErrorHandler())
+                .build();
     }
 }
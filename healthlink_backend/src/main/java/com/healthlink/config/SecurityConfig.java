@@ -96,7 +96,9 @@ public class SecurityConfig {
                                                                 "/swagger-ui/**",
                                                                 "/swagger-ui.html",
                                                                 "/actuator/health",
-                                                                "/actuator/prometheus")
+                                                                "/actuator/prometheus",
+                                                                // STOMP handshake; the JWT is checked on the CONNECT frame
+                                                                "/ws/**")
                                                 .permitAll()
 
                                                 // Role-based access
@@ -1,5 +1,8 @@
 package com.healthlink.controller;
 
+import com.healthlink.domain.search.dto.DoctorSearchPage;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+import com.healthlink.domain.search.service.DoctorSearchEngine;
 import com.healthlink.domain.user.entity.Doctor;
 import com.healthlink.domain.user.repository.DoctorRepository;
 import com.healthlink.dto.ResponseEnvelope;
@@ -8,12 +11,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Simple doctor listing endpoint that works without Elasticsearch
- * Provides fallback when search functionality is not available
+ * Doctor listing and paged search that work with or without Elasticsearch.
+ * Both go through {@link DoctorSearchEngine}, which falls back to indexed PostgreSQL search
+ * when Elasticsearch is disabled
  */
 @RestController
 @RequestMapping("/api/v1/search")
@@ -21,25 +31,63 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class DoctorListController {
 
+    private final DoctorSearchEngine searchEngine;
     private final DoctorRepository doctorRepository;
 
+    /** Page size used to read the full listing from the search engine. */
+    private static final int LIST_PAGE_SIZE = 100;
+
     /**
-     * List all verified and approved doctors
-     * Optional specialization filter
+     * List all verified and approved doctors, best match first
+     * Optional free-text query (name, specialty) and specialization filter. The specialization
+     * filter matches a case-insensitive substring of the doctor's specialization only
      */
     @GetMapping("/doctors")
     @PreAuthorize("hasAnyRole('PATIENT','DOCTOR','ADMIN')")
     public ResponseEntity<ResponseEnvelope<List<DoctorListItem>>> listDoctors(
+            @RequestParam(required = false) String query,
             @RequestParam(required = false) String specialization) {
-        
-        List<Doctor> doctors;
-        if (specialization != null && !specialization.trim().isEmpty()) {
-            doctors = doctorRepository.searchBySpecialization(specialization.trim());
-        } else {
-            doctors = doctorRepository.findAllVerifiedAndApproved();
+
+        String specialty = specialization != null && !specialization.isBlank()
+                ? specialization.trim().toLowerCase(Locale.ROOT)
+                : null;
+        // Callers expect the whole list, so every page of the engine is read
+        List<DoctorListItem> doctorList = new ArrayList<>();
+        List<Object> searchAfter = null;
+        do {
+            DoctorSearchPage page = searchEngine.searchPage(DoctorSearchRequest.builder()
+                    .query(query)
+                    .pageSize(LIST_PAGE_SIZE)
+                    .searchAfter(searchAfter)
+                    .build());
+            List<UUID> ids = page.getItems().stream()
+                    .filter(d -> specialty == null || (d.getSpecialty() != null
+                            && d.getSpecialty().toLowerCase(Locale.ROOT).contains(specialty)))
+                    .map(d -> UUID.fromString(d.getId()))
+                    .toList();
+            doctorList.addAll(listItems(ids));
+            searchAfter = page.getNextSearchAfter();
+        } while (searchAfter != null);
+
+        ResponseEnvelope<List<DoctorListItem>> response = ResponseEnvelope.<List<DoctorListItem>>builder()
+                .data(doctorList)
+                .meta(ResponseEnvelope.Meta.builder().version("v1").build())
+                .traceId("doctor-list")
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
+    private List<DoctorListItem> listItems(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
         }
+        Map<UUID, Doctor> doctors = doctorRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Doctor::getId, Function.identity()));
 
-        List<DoctorListItem> doctorList = doctors.stream()
+        return ids.stream()
+                .map(doctors::get)
+                .filter(Objects::nonNull)
                 .map(doctor -> DoctorListItem.builder()
                         .id(doctor.getId().toString())
                         .firstName(doctor.getFirstName())
@@ -54,14 +102,17 @@ public class DoctorListController {
                         .consultationFee(doctor.getConsultationFee())
                         .build())
                 .collect(Collectors.toList());
+    }
 
-        ResponseEnvelope<List<DoctorListItem>> response = ResponseEnvelope.<List<DoctorListItem>>builder()
-                .data(doctorList)
-                .meta(ResponseEnvelope.Meta.builder().version("v1").build())
-                .traceId("doctor-list")
-                .build();
-
-        return ResponseEntity.ok(response);
+    /**
+     * Paged search with every filter
+     * Pass nextSearchAfter back as searchAfter for the next page. Facets, distance filtering and
+     * distance sorting need Elasticsearch
+     */
+    @PostMapping("/doctors/page")
+    @PreAuthorize("hasAnyRole('PATIENT','DOCTOR','ADMIN')")
+    public ResponseEntity<DoctorSearchPage> searchDoctorsPage(@RequestBody DoctorSearchRequest request) {
+        return ResponseEntity.ok(searchEngine.searchPage(request));
     }
 
     @lombok.Data
@@ -6,6 +6,7 @@ import com.healthlink.domain.organization.entity.ServiceOffering;
 import com.healthlink.domain.user.entity.Doctor;
 import com.healthlink.domain.user.entity.Patient;
 import com.healthlink.domain.user.entity.Staff;
+import com.healthlink.infrastructure.realtime.RealtimeEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,6 +14,7 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(RealtimeEntityListener.class)
 @Table(name = "appointments", indexes = {
         @Index(name = "idx_appointment_doctor", columnList = "doctor_id"),
         @Index(name = "idx_appointment_patient", columnList = "patient_id"),
@@ -96,4 +98,8 @@ public class Appointment extends BaseEntity {
     @Column(name = "zoom_start_url", length = 500)
     private String zoomStartUrl;
 
+    // Set when Zoom could not be reached at booking time; ZoomMeetingProvisioner retries
+    @Column(name = "zoom_provisioning_pending")
+    private Boolean zoomProvisioningPending;
+
 }
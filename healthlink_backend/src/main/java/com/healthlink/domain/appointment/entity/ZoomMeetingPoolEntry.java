@@ -0,0 +1,55 @@
+package com.healthlink.domain.appointment.entity;
+
+import com.healthlink.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A Zoom meeting created ahead of time so ONLINE bookings can be given one without calling
+ * Zoom. Unclaimed rows have no {@code claimed_at}; a booking claims the oldest one and
+ * records the appointment's topic and time, which ZoomMeetingProvisioner then writes back
+ * to Zoom ({@code details_synced}).
+ */
+@Entity
+@Table(name = "zoom_meeting_pool", indexes = {
+        @Index(name = "idx_zoom_meeting_pool_claimed", columnList = "claimed_at"),
+        @Index(name = "idx_zoom_meeting_pool_synced", columnList = "details_synced")
+})
+@Getter
+@Setter
+public class ZoomMeetingPoolEntry extends BaseEntity {
+
+    @Column(name = "meeting_id", nullable = false, unique = true, length = 40)
+    private String meetingId;
+
+    @Column(name = "join_url", length = 500)
+    private String joinUrl;
+
+    @Column(name = "start_url", length = 1000)
+    private String startUrl;
+
+    @Column(name = "password", length = 100)
+    private String password;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "appointment_id")
+    private UUID appointmentId;
+
+    @Column(name = "topic", length = 200)
+    private String topic;
+
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+
+    @Column(name = "duration_minutes")
+    private Integer durationMinutes;
+
+    @Column(name = "details_synced")
+    private Boolean detailsSynced;
+}
@@ -115,4 +115,6 @@ public interface AppointmentRepository extends JpaRepository<Appointment, UUID>
         java.util.List<Appointment> findAllWithValidStatus();
 
         List<Appointment> findByFacilityId(UUID facilityId);
+
+        List<Appointment> findTop20ByZoomProvisioningPendingTrueOrderByAppointmentTimeAsc();
 }
@@ -0,0 +1,44 @@
+package com.healthlink.domain.appointment.repository;
+
+import com.healthlink.domain.appointment.entity.ZoomMeetingPoolEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+public interface ZoomMeetingPoolRepository extends JpaRepository<ZoomMeetingPoolEntry, UUID> {
+
+    /**
+     * Lock the oldest unclaimed meeting; concurrent bookings skip rows another one holds.
+     */
+    @Query(value = "SELECT * FROM zoom_meeting_pool WHERE claimed_at IS NULL " +
+            "ORDER BY created_at LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<ZoomMeetingPoolEntry> lockNextAvailable();
+
+    long countByClaimedAtIsNull();
+
+    List<ZoomMeetingPoolEntry> findTop20ByDetailsSyncedFalseOrderByClaimedAtAsc();
+
+    /**
+     * Claim the oldest unclaimed meeting for an appointment, or empty if the pool is drained.
+     * Runs in its own transaction so a pool failure cannot roll back the booking.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    default Optional<ZoomMeetingPoolEntry> claimNext(UUID appointmentId, Consumer<ZoomMeetingPoolEntry> details) {
+        return lockNextAvailable().map(entry -> {
+            entry.setClaimedAt(LocalDateTime.now());
+            entry.setAppointmentId(appointmentId);
+            entry.setDetailsSynced(false);
+            details.accept(entry);
+            return save(entry);
+        });
+    }
+}
@@ -569,11 +569,11 @@ public class AppointmentService {
     private void createZoomMeeting(Appointment appointment, Doctor doctor, Patient patient, 
                                    LocalDateTime startTime, int durationMinutes) {
         try {
-            String topic = String.format("Consultation: Dr. %s - %s", 
-                    doctor.getFullName(), patient.getFullName());
+            String topic = ZoomApiService.consultationTopic(doctor.getFullName(), patient.getFullName());
             
             ZoomApiService.CreateZoomMeetingRequest zoomRequest = 
                     ZoomApiService.CreateZoomMeetingRequest.builder()
+                    .appointmentId(appointment.getId())
                     .topic(topic)
                     .startTime(startTime)
                     .durationMinutes(durationMinutes)
@@ -583,16 +583,15 @@ public class AppointmentService {
             ZoomApiService.ZoomMeetingResponse zoomMeeting = zoomApiService.createMeeting(zoomRequest);
             
             if (zoomMeeting != null) {
-                appointment.setZoomMeetingId(String.valueOf(zoomMeeting.getId()));
-                appointment.setZoomMeetingUrl(zoomMeeting.getJoinUrl());
-                appointment.setZoomMeetingPassword(zoomMeeting.getPassword());
-                appointment.setZoomJoinUrl(zoomMeeting.getJoinUrl());
-                appointment.setZoomStartUrl(zoomMeeting.getStartUrl());
+                ZoomApiService.applyTo(appointment, zoomMeeting);
                 
                 appointmentRepository.save(appointment);
                 log.info("Zoom meeting created for appointment: {}", appointment.getId());
-            } else {
-                log.warn("Failed to create Zoom meeting for appointment: {}", appointment.getId());
+            } else if (zoomApiService.isEnabled()) {
+                // Zoom unavailable: book now, ZoomMeetingProvisioner attaches the meeting later
+                appointment.setZoomProvisioningPending(true);
+                appointmentRepository.save(appointment);
+                log.warn("Zoom meeting deferred for appointment: {}", appointment.getId());
             }
         } catch (Exception e) {
             log.error("Error creating Zoom meeting for appointment: {}", appointment.getId(), e);
@@ -0,0 +1,77 @@
+package com.healthlink.domain.consent;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthlink.domain.consent.repository.UserConsentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Consent versions each user has accepted, loaded with one query and kept per user.
+ * <p>
+ * Acceptances are never revoked, so a cached "accepted" is always right. A cached "not
+ * accepted" may be stale when the user accepted on another node; it is re-checked against
+ * the database once it is older than {@code recheck-ms}. Local acceptances drop the entry
+ * as soon as they commit.
+ */
+@Component
+public class ConsentAcceptanceCache {
+
+    private record Acceptances(Set<String> versions, long loadedAtNanos) {}
+
+    private final UserConsentRepository userConsentRepository;
+    private final long recheckNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<UUID, Acceptances> acceptances;
+
+    @Autowired
+    public ConsentAcceptanceCache(
+            UserConsentRepository userConsentRepository,
+            @Value("${healthlink.consent.acceptance-cache.max-users:100000}") long maxUsers,
+            @Value("${healthlink.consent.acceptance-cache.ttl-ms:1800000}") long ttlMs,
+            @Value("${healthlink.consent.acceptance-cache.recheck-ms:15000}") long recheckMs) {
+        this(userConsentRepository, maxUsers, Duration.ofMillis(ttlMs), Duration.ofMillis(recheckMs), System::nanoTime);
+    }
+
+    ConsentAcceptanceCache(UserConsentRepository userConsentRepository, long maxUsers, Duration ttl,
+                           Duration recheck, LongSupplier nanoClock) {
+        this.userConsentRepository = userConsentRepository;
+        this.recheckNanos = recheck.toNanos();
+        this.nanoClock = nanoClock;
+        this.acceptances = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    public boolean hasAccepted(UUID userId, String consentVersion) {
+        Acceptances cached = acceptances.get(userId, this::load);
+        if (cached.versions().contains(consentVersion)) {
+            return true;
+        }
+        if (nanoClock.getAsLong() - cached.loadedAtNanos() < recheckNanos) {
+            return false;
+        }
+        Acceptances reloaded = load(userId);
+        acceptances.put(userId, reloaded);
+        return reloaded.versions().contains(consentVersion);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConsentAccepted(ConsentAcceptedEvent event) {
+        acceptances.invalidate(event.userId());
+    }
+
+    private Acceptances load(UUID userId) {
+        return new Acceptances(Set.copyOf(userConsentRepository.findConsentVersionsByUserId(userId)),
+                nanoClock.getAsLong());
+    }
+}
@@ -0,0 +1,9 @@
+package com.healthlink.domain.consent;
+
+import java.util.UUID;
+
+/**
+ * Published when a user accepts one or more consent versions so their cached acceptances are dropped.
+ */
+public record ConsentAcceptedEvent(UUID userId) {
+}
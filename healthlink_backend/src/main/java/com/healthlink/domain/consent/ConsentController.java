@@ -1,7 +1,9 @@
 package com.healthlink.domain.consent;
 
 import com.healthlink.domain.consent.dto.AcceptConsentRequest;
+import com.healthlink.domain.consent.dto.BulkAcceptConsentRequest;
 import com.healthlink.domain.consent.dto.ConsentVersionResponse;
+import com.healthlink.domain.consent.dto.PublishConsentRequest;
 import com.healthlink.domain.consent.dto.UserConsentResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -39,4 +41,19 @@ public class ConsentController {
         }
         return consentService.accept(cud.getId(), request);
     }
+
+    @PostMapping("/accept/bulk")
+    @PreAuthorize("hasAnyRole('PATIENT','DOCTOR','STAFF','ORGANIZATION','ADMIN')")
+    public List<UserConsentResponse> acceptAll(Authentication auth, @Valid @RequestBody BulkAcceptConsentRequest request) {
+        if (auth == null || !(auth.getPrincipal() instanceof CustomUserDetails cud)) {
+            throw new IllegalStateException("Authenticated user required");
+        }
+        return consentService.acceptAll(cud.getId(), request.getConsents());
+    }
+
+    @PostMapping("/versions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ConsentVersionResponse publish(@Valid @RequestBody PublishConsentRequest request) {
+        return consentService.publish(request);
+    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.healthlink.domain.consent;
 
 import com.healthlink.domain.consent.dto.AcceptConsentRequest;
+import com.healthlink.domain.consent.dto.PublishConsentRequest;
 import com.healthlink.domain.consent.dto.ConsentVersionResponse;
 import com.healthlink.domain.consent.dto.UserConsentResponse;
 import com.healthlink.domain.consent.entity.ConsentVersion;
@@ -9,11 +10,16 @@ import com.healthlink.domain.consent.repository.ConsentVersionRepository;
 import com.healthlink.domain.consent.repository.UserConsentRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +28,9 @@ public class ConsentService {
 
     private final ConsentVersionRepository consentVersionRepository;
     private final UserConsentRepository userConsentRepository;
+    private final ConsentVersionIndex consentVersionIndex;
+    private final ConsentAcceptanceCache consentAcceptanceCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<ConsentVersionResponse> listActive() {
@@ -57,6 +66,7 @@ public class ConsentService {
         uc.setUserId(userId);
         uc.setConsentVersion(version.getConsentVersion());
         userConsentRepository.save(uc);
+        eventPublisher.publishEvent(new ConsentAcceptedEvent(userId));
         return UserConsentResponse.builder()
                 .userId(userId)
                 .consentVersion(version.getConsentVersion())
@@ -65,11 +75,83 @@ public class ConsentService {
                 .build();
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Accepts several versions at once (e.g. every language a user reads) with one lookup of
+     * versions and one of existing acceptances. Versions already accepted are returned as they were.
+     */
+    @Transactional
+    public List<UserConsentResponse> acceptAll(UUID userId, List<AcceptConsentRequest> requests) {
+        List<String> names = requests.stream().map(AcceptConsentRequest::getVersion).distinct().toList();
+        Map<String, ConsentVersion> versions = consentVersionRepository.findByConsentVersionIn(names).stream()
+                .collect(Collectors.toMap(ConsentVersion::getConsentVersion, Function.identity()));
+        Map<String, UserConsent> accepted = userConsentRepository.findByUserIdAndConsentVersionIn(userId, names).stream()
+                .collect(Collectors.toMap(UserConsent::getConsentVersion, Function.identity(), (first, second) -> first));
+
+        Map<String, ConsentVersion> requested = new LinkedHashMap<>();
+        for (AcceptConsentRequest request : requests) {
+            ConsentVersion version = versions.get(request.getVersion());
+            if (version == null || !version.getLanguage().equals(request.getLanguage())) {
+                throw new EntityNotFoundException("Consent version not found");
+            }
+            if (!version.isActive()) {
+                throw new EntityNotFoundException("Consent version not active");
+            }
+            requested.put(version.getConsentVersion(), version);
+        }
+
+        List<UserConsent> created = new ArrayList<>();
+        for (ConsentVersion version : requested.values()) {
+            if (!accepted.containsKey(version.getConsentVersion())) {
+                UserConsent uc = new UserConsent();
+                uc.setUserId(userId);
+                uc.setConsentVersion(version.getConsentVersion());
+                created.add(uc);
+                accepted.put(uc.getConsentVersion(), uc);
+            }
+        }
+        if (!created.isEmpty()) {
+            userConsentRepository.saveAll(created);
+            eventPublisher.publishEvent(new ConsentAcceptedEvent(userId));
+        }
+
+        return requested.values().stream()
+                .map(version -> UserConsentResponse.builder()
+                        .userId(userId)
+                        .consentVersion(version.getConsentVersion())
+                        .language(version.getLanguage())
+                        .acceptedAt(accepted.get(version.getConsentVersion()).getAcceptedAt())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Publishes a new active version; it becomes the latest for its language, so users
+     * must accept it before their next video call.
+     */
+    @Transactional
+    public ConsentVersionResponse publish(PublishConsentRequest request) {
+        if (consentVersionRepository.findByConsentVersion(request.getVersion()).isPresent()) {
+            throw new IllegalArgumentException("Consent version already exists: " + request.getVersion());
+        }
+        ConsentVersion cv = new ConsentVersion();
+        cv.setConsentVersion(request.getVersion());
+        cv.setLanguage(request.getLanguage());
+        cv.setContent(request.getContent());
+        cv.setActive(true);
+        consentVersionRepository.save(cv);
+        eventPublisher.publishEvent(new ConsentVersionPublishedEvent(cv.getConsentVersion(), cv.getLanguage()));
+        return toResponse(cv);
+    }
+
+    /**
+     * Served from memory: the latest version comes from {@link ConsentVersionIndex} and the
+     * user's acceptances from {@link ConsentAcceptanceCache}, so repeated checks during a
+     * call do not hit the database.
+     */
     public boolean hasAcceptedLatest(UUID userId, String lang) {
-        ConsentVersion latest = consentVersionRepository.findFirstByLanguageAndActiveTrueOrderByCreatedAtDesc(lang).orElse(null);
-        if (latest == null) return false;
-        return userConsentRepository.existsByUserIdAndConsentVersion(userId, latest.getConsentVersion());
+        return consentVersionIndex.latestVersion(lang)
+                .map(version -> consentAcceptanceCache.hasAccepted(userId, version))
+                .orElse(false);
     }
 
     private ConsentVersionResponse toResponse(ConsentVersion cv) {
@@ -0,0 +1,53 @@
+package com.healthlink.domain.consent;
+
+import com.healthlink.domain.consent.entity.ConsentVersion;
+import com.healthlink.domain.consent.repository.ConsentVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory latest active consent version per language, so checking consent does not
+ * query consent_versions. Rebuilt after a local publish commits, and periodically to pick
+ * up versions published on other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsentVersionIndex {
+
+    private final ConsentVersionRepository consentVersionRepository;
+    private volatile Map<String, String> latestByLanguage;
+
+    public Optional<String> latestVersion(String language) {
+        Map<String, String> snapshot = latestByLanguage;
+        if (snapshot == null) {
+            snapshot = rebuild();
+        }
+        return Optional.ofNullable(snapshot.get(language));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVersionPublished(ConsentVersionPublishedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.consent.version-index-refresh-ms:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    synchronized Map<String, String> rebuild() {
+        Map<String, String> rebuilt = new HashMap<>();
+        // Newest first, so the first version seen for a language is its latest
+        for (ConsentVersion version : consentVersionRepository.findByActiveTrueOrderByCreatedAtDesc()) {
+            rebuilt.putIfAbsent(version.getLanguage(), version.getConsentVersion());
+        }
+        latestByLanguage = Map.copyOf(rebuilt);
+        return latestByLanguage;
+    }
+}
@@ -0,0 +1,7 @@
+package com.healthlink.domain.consent;
+
+/**
+ * Published when a new consent version is published so the in-memory version index can rebuild.
+ */
+public record ConsentVersionPublishedEvent(String consentVersion, String language) {
+}
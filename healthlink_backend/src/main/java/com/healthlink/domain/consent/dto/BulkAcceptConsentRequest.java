@@ -0,0 +1,15 @@
+package com.healthlink.domain.consent.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkAcceptConsentRequest {
+    @NotEmpty
+    @Size(max = 50)
+    private List<@Valid AcceptConsentRequest> consents;
+}
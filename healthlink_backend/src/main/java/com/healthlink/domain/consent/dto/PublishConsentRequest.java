@@ -0,0 +1,18 @@
+package com.healthlink.domain.consent.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class PublishConsentRequest {
+    @NotBlank
+    @Size(max = 50)
+    private String version;
+    @NotBlank
+    @Size(max = 10)
+    private String language;
+    @NotBlank
+    @Size(max = 8000)
+    private String content; // consent text (NO PHI)
+}
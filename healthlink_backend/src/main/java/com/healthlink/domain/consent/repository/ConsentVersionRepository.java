@@ -2,6 +2,7 @@ package com.healthlink.domain.consent.repository;
 
 import com.healthlink.domain.consent.entity.ConsentVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 import java.util.UUID;
@@ -12,4 +13,5 @@ public interface ConsentVersionRepository extends JpaRepository<ConsentVersion,
     Optional<ConsentVersion> findByConsentVersion(String consentVersion);
     Optional<ConsentVersion> findFirstByLanguageAndActiveTrueOrderByCreatedAtDesc(String language);
     Optional<ConsentVersion> findByConsentVersionAndLanguage(String consentVersion, String language);
+    List<ConsentVersion> findByConsentVersionIn(Collection<String> consentVersions);
 }
\ No newline at end of file
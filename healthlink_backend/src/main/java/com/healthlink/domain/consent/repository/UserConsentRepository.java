@@ -2,10 +2,18 @@ package com.healthlink.domain.consent.repository;
 
 import com.healthlink.domain.consent.entity.UserConsent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserConsentRepository extends JpaRepository<UserConsent, UUID> {
     Optional<UserConsent> findFirstByUserIdOrderByAcceptedAtDesc(UUID userId);
     boolean existsByUserIdAndConsentVersion(UUID userId, String consentVersion);
-}
\ No newline at end of file
+    List<UserConsent> findByUserIdAndConsentVersionIn(UUID userId, Collection<String> consentVersions);
+
+    @Query("select uc.consentVersion from UserConsent uc where uc.userId = :userId")
+    List<String> findConsentVersionsByUserId(@Param("userId") UUID userId);
+}
@@ -0,0 +1,9 @@
+package com.healthlink.domain.notification;
+
+/**
+ * Outbound channel used when low-priority notifications are coalesced into a digest.
+ */
+public enum DigestChannel {
+    PUSH,
+    EMAIL
+}
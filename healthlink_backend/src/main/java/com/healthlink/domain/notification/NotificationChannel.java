@@ -0,0 +1,10 @@
+package com.healthlink.domain.notification;
+
+/**
+ * Delivery channel recorded in the notification send ledger.
+ */
+public enum NotificationChannel {
+    IN_APP,
+    PUSH,
+    EMAIL
+}
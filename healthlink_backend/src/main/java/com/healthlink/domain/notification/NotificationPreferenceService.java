@@ -17,6 +17,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NotificationPreferenceService {
 
+    static final int MIN_DIGEST_WINDOW_MINUTES = 5;
+    static final int MAX_DIGEST_WINDOW_MINUTES = 240;
+
     private final NotificationPreferenceRepository repository;
 
     @Transactional(readOnly = true)
@@ -36,6 +39,16 @@ public class NotificationPreferenceService {
         if (request.getReminderOffsets() != null && !request.getReminderOffsets().isEmpty()) {
             pref.setReminderOffsets(request.getReminderOffsets().stream().map(String::valueOf).collect(Collectors.joining(",")));
         }
+        if (request.getDigestEnabled() != null) pref.setDigestEnabled(request.getDigestEnabled());
+        if (request.getDigestWindowMinutes() != null) {
+            int window = request.getDigestWindowMinutes();
+            if (window < MIN_DIGEST_WINDOW_MINUTES || window > MAX_DIGEST_WINDOW_MINUTES) {
+                throw new IllegalArgumentException("Digest window must be between "
+                        + MIN_DIGEST_WINDOW_MINUTES + " and " + MAX_DIGEST_WINDOW_MINUTES + " minutes");
+            }
+            pref.setDigestWindowMinutes(window);
+        }
+        if (request.getDigestChannel() != null) pref.setDigestChannel(request.getDigestChannel());
         repository.save(pref);
         return toResponse(pref);
     }
@@ -57,6 +70,9 @@ public class NotificationPreferenceService {
                 .paymentStatusEnabled(pref.isPaymentStatusEnabled())
                 .cancellationEnabled(pref.isCancellationEnabled())
                 .reminderOffsets(offsets)
+                .digestEnabled(pref.isDigestActive())
+                .digestWindowMinutes(pref.getDigestWindowMinutes())
+                .digestChannel(pref.getDigestChannel())
                 .build();
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import com.healthlink.domain.appointment.entity.AppointmentStatus;
 import com.healthlink.domain.appointment.repository.AppointmentRepository;
 import com.healthlink.domain.notification.entity.Notification;
 import com.healthlink.domain.notification.repository.NotificationRepository;
+import com.healthlink.domain.notification.service.NotificationSendLedger;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -16,6 +17,7 @@ import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -23,6 +25,7 @@ public class NotificationScheduler {
     private final SafeLogger log = SafeLogger.get(NotificationScheduler.class);
     private final AppointmentRepository appointmentRepository;
     private final NotificationRepository notificationRepository;
+    private final NotificationSendLedger sendLedger;
 
     private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm a");
 
@@ -92,7 +95,7 @@ public class NotificationScheduler {
 
     /**
      * Creates a notification entity for an appointment reminder.
-     * Uses message uniqueness to prevent duplicates (idempotent).
+     * Claims a ledger key derived from appointment and reminder offset (idempotent).
      * 
      * @return true if notification was created, false if duplicate
      */
@@ -108,11 +111,8 @@ public class NotificationScheduler {
             appt.getAppointmentTime().format(TIME_FORMATTER)
         );
         
-        // Check for duplicate notification (idempotent)
-        if (notificationRepository.existsByUserIdAndTypeAndMessage(
-                appt.getPatient().getId(),
-                NotificationType.APPOINTMENT_REMINDER,
-                message)) {
+        UUID reminderKey = NotificationSendLedger.keyFor("reminder", appt.getId().toString(), timing);
+        if (!sendLedger.claim(reminderKey, NotificationChannel.IN_APP, 1)) {
             return false;
         }
         
@@ -122,7 +122,12 @@ public class NotificationScheduler {
         notification.setMessage(message);
         notification.setScheduledAt(OffsetDateTime.now(ZoneOffset.UTC));
         
-        notificationRepository.save(notification);
+        try {
+            notificationRepository.save(notification);
+        } catch (RuntimeException e) {
+            sendLedger.release(reminderKey, NotificationChannel.IN_APP);
+            throw e;
+        }
         
         log.event("notification_created")
             .with("type", NotificationType.APPOINTMENT_REMINDER.name())
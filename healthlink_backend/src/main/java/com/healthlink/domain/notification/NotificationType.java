@@ -38,5 +38,17 @@ public enum NotificationType {
     /**
      * Payment verification needed (for staff)
      */
-    PAYMENT_VERIFICATION
+    PAYMENT_VERIFICATION;
+
+    /**
+     * Whether this type may be held back and coalesced into a digest
+     * for users who opted into digest mode.
+     */
+    public boolean isDigestible() {
+        return switch (this) {
+            case APPOINTMENT_REMINDER, APPOINTMENT_CONFIRMED, PAYMENT_STATUS, PAYMENT_VERIFIED,
+                    PRESCRIPTION_CREATED -> true;
+            default -> false;
+        };
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.healthlink.domain.notification.dto;
 
+import com.healthlink.domain.notification.DigestChannel;
 import lombok.Builder;
 import lombok.Data;
 import java.util.List;
@@ -13,4 +14,7 @@ public class NotificationPreferenceResponse {
     private boolean paymentStatusEnabled;
     private boolean cancellationEnabled;
     private List<Integer> reminderOffsets;
+    private boolean digestEnabled;
+    private Integer digestWindowMinutes;
+    private DigestChannel digestChannel;
 }
\ No newline at end of file
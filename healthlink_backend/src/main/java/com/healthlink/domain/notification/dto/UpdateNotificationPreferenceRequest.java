@@ -1,5 +1,6 @@
 package com.healthlink.domain.notification.dto;
 
+import com.healthlink.domain.notification.DigestChannel;
 import lombok.Data;
 import java.util.List;
 
@@ -9,4 +10,7 @@ public class UpdateNotificationPreferenceRequest {
     private Boolean paymentStatusEnabled;
     private Boolean cancellationEnabled;
     private List<Integer> reminderOffsets; // minutes list
+    private Boolean digestEnabled;
+    private Integer digestWindowMinutes; // 5-240
+    private DigestChannel digestChannel; // PUSH / EMAIL
 }
\ No newline at end of file
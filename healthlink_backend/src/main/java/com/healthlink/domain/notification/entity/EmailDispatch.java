@@ -1,6 +1,8 @@
 package com.healthlink.domain.notification.entity;
 
 import com.healthlink.common.entity.BaseEntity;
+import com.healthlink.security.encryption.Encrypted;
+import com.healthlink.security.encryption.FieldEncryptionConverter;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,29 +12,64 @@ import lombok.ToString;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
+/**
+ * Outbound email record. Doubles as the persisted send queue: rows are created
+ * PENDING with a rendered body and picked up by EmailDispatchWorker, which
+ * marks them SENT or reschedules them with backoff until they become FAILED.
+ */
 @Entity
 @Table(name = "email_dispatches", indexes = {
         @Index(name = "idx_email_dispatch_user", columnList = "user_id"),
-        @Index(name = "idx_email_dispatch_type", columnList = "email_type")
+        @Index(name = "idx_email_dispatch_type", columnList = "email_type"),
+        @Index(name = "idx_email_dispatch_due", columnList = "status, next_attempt_at")
 })
 @Getter
 @Setter
 @EqualsAndHashCode(callSuper = true)
-@ToString(callSuper = true)
+@ToString(callSuper = true, exclude = {"recipient", "body"})
 public class EmailDispatch extends BaseEntity {
 
-    @Column(name = "user_id", nullable = false)
-    private UUID userId;
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_SENT = "SENT";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Column(name = "user_id")
+    private UUID userId; // null for template emails addressed by email only
 
     @Column(name = "email_type", length = 60, nullable = false)
-    private String emailType; // APPROVAL_DECISION, ORG_APPROVAL_DECISION
+    private String emailType; // APPROVAL_DECISION, ORG_APPROVAL_DECISION, or template name
 
     @Column(name = "status", length = 20, nullable = false)
-    private String status; // SENT / FAILED
+    private String status; // PENDING / SENT / FAILED
 
     @Column(name = "error_message", length = 500)
     private String errorMessage;
 
     @Column(name = "attempted_at", nullable = false)
     private OffsetDateTime attemptedAt = OffsetDateTime.now();
+
+    @Column(name = "recipient", length = 512)
+    @Convert(converter = FieldEncryptionConverter.class)
+    @Encrypted
+    private String recipient;
+
+    @Column(name = "subject", length = 255)
+    private String subject;
+
+    @Column(name = "body", columnDefinition = "TEXT")
+    @Convert(converter = FieldEncryptionConverter.class)
+    @Encrypted
+    private String body; // rendered content; may carry OTPs or temporary passwords
+
+    @Column(name = "html")
+    private Boolean html = Boolean.TRUE;
+
+    @Column(name = "attempt_count")
+    private Integer attemptCount = 0;
+
+    @Column(name = "next_attempt_at")
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
 }
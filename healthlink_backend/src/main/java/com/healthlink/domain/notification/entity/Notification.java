@@ -3,6 +3,7 @@ package com.healthlink.domain.notification.entity;
 import com.healthlink.common.entity.BaseEntity;
 import com.healthlink.domain.notification.NotificationType;
 import com.healthlink.domain.notification.NotificationStatus;
+import com.healthlink.infrastructure.realtime.RealtimeEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -10,7 +11,10 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@EntityListeners(RealtimeEntityListener.class)
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notification_digest_pending", columnList = "digest_pending, user_id")
+})
 @Getter
 @Setter
 public class Notification extends BaseEntity {
@@ -40,4 +44,8 @@ public class Notification extends BaseEntity {
 
     @Column(name = "delivered_at")
     private OffsetDateTime deliveredAt;
+
+    // True while the outbound push/email is held for the user's next digest
+    @Column(name = "digest_pending")
+    private Boolean digestPending;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.healthlink.domain.notification.entity;
 
 import com.healthlink.common.entity.BaseEntity;
+import com.healthlink.domain.notification.DigestChannel;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -49,4 +50,19 @@ public class NotificationPreference extends BaseEntity {
 
     @Column(name = "system_notifications", nullable = false)
     private boolean systemNotifications = true;
+
+    // Digest mode: low-priority notifications are coalesced per window into one push/email
+    @Column(name = "digest_enabled")
+    private Boolean digestEnabled = Boolean.FALSE;
+
+    @Column(name = "digest_window_minutes")
+    private Integer digestWindowMinutes = 15;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "digest_channel", length = 10)
+    private DigestChannel digestChannel = DigestChannel.PUSH;
+
+    public boolean isDigestActive() {
+        return Boolean.TRUE.equals(digestEnabled);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.healthlink.domain.notification.entity;
+
+import com.healthlink.domain.notification.NotificationChannel;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One row per (notification, channel) that has been sent. The composite primary key is
+ * the idempotency key: NotificationSendLedger inserts with ON CONFLICT DO NOTHING, so only
+ * the first attempt to claim a channel wins. {@code sent_on} is the pruning bucket.
+ */
+@Entity
+@IdClass(NotificationSendRecord.Key.class)
+@Table(name = "notification_send_ledger", indexes = {
+        @Index(name = "idx_notification_send_ledger_sent_on", columnList = "sent_on")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class NotificationSendRecord {
+
+    @Id
+    @Column(name = "notification_id", nullable = false)
+    private UUID notificationId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "channel", nullable = false, length = 10)
+    private NotificationChannel channel;
+
+    @Column(name = "attempt", nullable = false)
+    private int attempt;
+
+    @Column(name = "sent_at", nullable = false)
+    private OffsetDateTime sentAt;
+
+    @Column(name = "sent_on", nullable = false)
+    private LocalDate sentOn;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private UUID notificationId;
+        private NotificationChannel channel;
+    }
+}
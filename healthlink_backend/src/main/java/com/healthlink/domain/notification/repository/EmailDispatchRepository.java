@@ -2,8 +2,11 @@ package com.healthlink.domain.notification.repository;
 
 import com.healthlink.domain.notification.entity.EmailDispatch;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +14,15 @@ import java.util.UUID;
 public interface EmailDispatchRepository extends JpaRepository<EmailDispatch, UUID> {
     List<EmailDispatch> findByUserIdOrderByAttemptedAtDesc(UUID userId);
     List<EmailDispatch> findByEmailTypeAndUserIdOrderByAttemptedAtDesc(String emailType, UUID userId);
+
+    // SKIP LOCKED lets several nodes drain the queue without picking the same rows
+    @Query(value = """
+            SELECT * FROM email_dispatches
+            WHERE status = 'PENDING'
+            AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailDispatch> lockDueBatch(@Param("now") OffsetDateTime now, @Param("limit") int limit);
 }
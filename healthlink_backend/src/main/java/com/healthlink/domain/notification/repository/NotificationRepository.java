@@ -3,12 +3,44 @@ package com.healthlink.domain.notification.repository;
 import com.healthlink.domain.notification.NotificationType;
 import com.healthlink.domain.notification.entity.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     List<Notification> findByUserIdAndDeliveredAtIsNullAndScheduledAtBefore(UUID userId, OffsetDateTime before);
     
     boolean existsByUserIdAndTypeAndMessage(UUID userId, NotificationType type, String message);
+
+    // Users whose digest window (opened by their oldest held notification) has data to flush
+    @Query("SELECT n.userId AS userId, MIN(n.createdAt) AS windowStart FROM Notification n " +
+           "WHERE n.digestPending = true GROUP BY n.userId")
+    List<PendingDigest> findPendingDigests();
+
+    // Takes every held row of the user in one statement. A concurrent flush blocks on the row
+    // locks and then sees digest_pending = false, so each row lands in exactly one digest
+    @Transactional
+    @Query(value = """
+            UPDATE notifications SET digest_pending = false
+            WHERE user_id = :userId AND digest_pending = true
+            RETURNING *
+            """, nativeQuery = true)
+    List<Notification> claimDigest(@Param("userId") UUID userId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.digestPending = true WHERE n.id IN :ids")
+    int restoreDigest(@Param("ids") Collection<UUID> ids);
+
+    interface PendingDigest {
+        UUID getUserId();
+        LocalDateTime getWindowStart();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.healthlink.domain.notification.repository;
+
+import com.healthlink.domain.notification.entity.NotificationSendRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface NotificationSendRecordRepository
+        extends JpaRepository<NotificationSendRecord, NotificationSendRecord.Key> {
+
+    /**
+     * Record a send. Returns 1 if this call claimed the (notification, channel) pair and
+     * 0 if it was already claimed; a concurrent uncommitted claim blocks until it resolves.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO notification_send_ledger (notification_id, channel, attempt, sent_at, sent_on)
+            VALUES (:notificationId, :channel, :attempt, now(), current_date)
+            ON CONFLICT (notification_id, channel) DO NOTHING
+            """, nativeQuery = true)
+    int claim(@Param("notificationId") UUID notificationId,
+              @Param("channel") String channel,
+              @Param("attempt") int attempt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM notification_send_ledger WHERE notification_id = :notificationId AND channel = :channel",
+            nativeQuery = true)
+    int release(@Param("notificationId") UUID notificationId, @Param("channel") String channel);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM notification_send_ledger WHERE sent_on < :cutoff", nativeQuery = true)
+    int deleteBySentOnBefore(@Param("cutoff") LocalDate cutoff);
+}
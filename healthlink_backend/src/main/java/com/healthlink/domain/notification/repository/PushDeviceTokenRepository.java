@@ -2,11 +2,34 @@ package com.healthlink.domain.notification.repository;
 
 import com.healthlink.domain.notification.entity.PushDeviceToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PushDeviceTokenRepository extends JpaRepository<PushDeviceToken, UUID> {
     List<PushDeviceToken> findByUserId(UUID userId);
+    List<PushDeviceToken> findByUserIdIn(Collection<UUID> userIds);
     Optional<PushDeviceToken> findByToken(String token);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PushDeviceToken t WHERE t.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PushDeviceToken t WHERE t.lastSeenAt < :cutoff")
+    int deleteByLastSeenAtBefore(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PushDeviceToken t SET t.lastSeenAt = :seenAt WHERE t.token IN :tokens")
+    int touchLastSeen(@Param("tokens") Collection<String> tokens, @Param("seenAt") Instant seenAt);
 }
@@ -28,7 +28,7 @@ import java.util.UUID;
 public class LegacyPushNotificationService {
 
     private final PushDeviceTokenRepository tokenRepository;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
 
     @Value("${fcm.server.key:}")
     private String fcmServerKey;
@@ -0,0 +1,123 @@
+package com.healthlink.domain.notification.service;
+
+import com.healthlink.domain.notification.DigestChannel;
+import com.healthlink.domain.notification.entity.Notification;
+import com.healthlink.domain.notification.entity.NotificationPreference;
+import com.healthlink.domain.notification.repository.NotificationPreferenceRepository;
+import com.healthlink.domain.notification.repository.NotificationRepository;
+import com.healthlink.domain.user.repository.UserRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import com.healthlink.service.notification.EmailService;
+import com.healthlink.service.notification.PushNotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Windowed aggregation stage for outbound notifications.
+ * <p>
+ * NotificationDeliveryWorker always stores the in-app notification, and outside digest mode
+ * that is all it does. For users in digest mode, low-priority types are also marked
+ * {@code digest_pending}; high-priority ones stay in-app only. The oldest held notification
+ * opens the user's window; once it has been open for {@code digestWindowMinutes}, every held
+ * notification is claimed in one {@code UPDATE … RETURNING} and the claimed rows are sent as
+ * a single push or email; if sending throws they are held again. State lives in the
+ * notifications table so any node can flush any user.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationDigestService {
+
+    static final int MAX_LISTED_ITEMS = 10;
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final UserRepository userRepository;
+    private final PushNotificationService pushNotificationService;
+    private final EmailService emailService;
+    private final SafeLogger log = SafeLogger.get(NotificationDigestService.class);
+
+    /**
+     * Whether a freshly stored notification goes into the user's digest: the user opted in
+     * and the type is low priority.
+     */
+    public boolean holdsForDigest(NotificationPreference preference, Notification notification, boolean highPriority) {
+        return preference.isDigestActive() && notification.getType().isDigestible() && !highPriority;
+    }
+
+    public void hold(Notification notification) {
+        notification.setDigestPending(true);
+        notificationRepository.save(notification);
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.notifications.digest.flush-interval-ms:60000}")
+    public void flushDueDigests() {
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationRepository.PendingDigest pending : notificationRepository.findPendingDigests()) {
+            NotificationPreference preference = preferenceRepository.findByUserId(pending.getUserId()).orElse(null);
+            int window = preference != null && preference.getDigestWindowMinutes() != null
+                    ? preference.getDigestWindowMinutes() : 15;
+            if (pending.getWindowStart().plusMinutes(window).isAfter(now)) {
+                continue;
+            }
+            try {
+                flushUser(pending.getUserId(), preference != null ? preference.getDigestChannel() : DigestChannel.PUSH);
+            } catch (Exception e) {
+                log.event("notification_digest_failed")
+                        .with("userId", pending.getUserId().toString())
+                        .with("error", e.getClass().getSimpleName())
+                        .log();
+            }
+        }
+    }
+
+    private void flushUser(UUID userId, DigestChannel channel) {
+        // The digest is built from exactly the rows this claim released, never from a separate read
+        List<Notification> held = new ArrayList<>(notificationRepository.claimDigest(userId));
+        if (held.isEmpty()) {
+            return;
+        }
+        held.sort(Comparator.comparing(Notification::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        String title = held.size() == 1 ? held.get(0).getTitle() : "You have " + held.size() + " new notifications";
+        String body = summarize(held);
+        try {
+            if (channel == DigestChannel.EMAIL) {
+                userRepository.findById(userId)
+                        .ifPresent(user -> emailService.sendSimpleEmail(user.getEmail(), "HealthLink - " + title, body));
+            } else {
+                pushNotificationService.sendToUser(userId, title, body,
+                        Map.of("type", "digest", "count", String.valueOf(held.size())));
+            }
+        } catch (RuntimeException e) {
+            // Hold the claimed rows again so the next flush retries them
+            notificationRepository.restoreDigest(held.stream().map(Notification::getId).toList());
+            throw e;
+        }
+
+        log.event("notification_digest_sent")
+                .with("userId", userId.toString())
+                .with("channel", channel.name())
+                .with("count", held.size())
+                .log();
+    }
+
+    static String summarize(List<Notification> held) {
+        StringBuilder sb = new StringBuilder();
+        held.stream().limit(MAX_LISTED_ITEMS).forEach(n -> {
+            if (sb.length() > 0) sb.append('\n');
+            sb.append("• ").append(n.getTitle() != null ? n.getTitle() : n.getMessage());
+        });
+        if (held.size() > MAX_LISTED_ITEMS) {
+            sb.append("\n…and ").append(held.size() - MAX_LISTED_ITEMS).append(" more");
+        }
+        return sb.toString();
+    }
+}
@@ -20,6 +20,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class NotificationSchedulerService {
 
+    private static final int IMMINENT_REMINDER_MINUTES = 15;
+
     private final RabbitTemplate rabbitTemplate;
     private final SafeLogger log = SafeLogger.get(NotificationSchedulerService.class);
 
@@ -108,7 +110,9 @@ public class NotificationSchedulerService {
                         "Your appointment is in " + minutes + " minutes",
                         Map.of(
                                 "appointmentId", appointmentId.toString(),
-                                "minutesBefore", String.valueOf(minutes)
+                                "minutesBefore", String.valueOf(minutes),
+                                // Imminent reminders must not wait for a digest window
+                                "priority", minutes <= IMMINENT_REMINDER_MINUTES ? "HIGH" : "NORMAL"
                         ),
                         reminderTime
                 );
@@ -0,0 +1,114 @@
+package com.healthlink.domain.notification.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthlink.domain.notification.NotificationChannel;
+import com.healthlink.domain.notification.repository.NotificationSendRecordRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exactly-once guard for outbound notification channels.
+ * <p>
+ * Every send first claims its (notification id, channel) key. The claim is a single
+ * INSERT ... ON CONFLICT DO NOTHING against {@code notification_send_ledger}, so a
+ * redelivered RabbitMQ message or an overlapping scheduler run loses the race instead of
+ * sending again. Keys already seen on this node are kept in a bounded LRU so replays are
+ * rejected without a round trip. Rows older than {@code healthlink.notifications.ledger.ttl-days}
+ * are dropped by day bucket.
+ */
+@Service
+public class NotificationSendLedger {
+
+    private final NotificationSendRecordRepository recordRepository;
+    private final SafeLogger log = SafeLogger.get(NotificationSendLedger.class);
+    private final Cache<String, Boolean> recentKeys;
+
+    @Value("${healthlink.notifications.ledger.ttl-days:14}")
+    private int ttlDays = 14;
+
+    public NotificationSendLedger(
+            NotificationSendRecordRepository recordRepository,
+            @Value("${healthlink.notifications.ledger.recent-keys:10000}") int recentKeyCapacity) {
+        this.recordRepository = recordRepository;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(recentKeyCapacity)
+                .expireAfterWrite(1, TimeUnit.HOURS)
+                .build();
+    }
+
+    /**
+     * Claim a channel for a notification.
+     *
+     * @return true if the caller should send, false if this channel was already sent
+     */
+    public boolean claim(UUID notificationId, NotificationChannel channel, int attempt) {
+        String key = key(notificationId, channel);
+        if (recentKeys.getIfPresent(key) != null) {
+            return false;
+        }
+
+        boolean claimed = recordRepository.claim(notificationId, channel.name(), attempt) == 1;
+        if (!claimed) {
+            // The winning claim is committed by the time ON CONFLICT resolves
+            recentKeys.put(key, Boolean.TRUE);
+            log.event("notification_send_duplicate")
+                    .with("notificationId", notificationId.toString())
+                    .with("channel", channel.name())
+                    .with("attempt", attempt)
+                    .log();
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Only remember our own claim once it is durable; a rollback must allow the retry
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentKeys.put(key, Boolean.TRUE);
+                }
+            });
+        } else {
+            recentKeys.put(key, Boolean.TRUE);
+        }
+        return claimed;
+    }
+
+    /**
+     * Give a claim back after the send it guarded failed, so the next attempt can proceed.
+     */
+    public void release(UUID notificationId, NotificationChannel channel) {
+        recentKeys.invalidate(key(notificationId, channel));
+        recordRepository.release(notificationId, channel.name());
+    }
+
+    /**
+     * Deterministic ledger id for notifications that have no natural id before they are
+     * stored, e.g. scheduler reminders keyed by appointment and reminder offset.
+     */
+    public static UUID keyFor(String... parts) {
+        return UUID.nameUUIDFromBytes(String.join(":", parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Scheduled(cron = "${healthlink.notifications.ledger.prune-cron:0 15 4 * * *}")
+    public void pruneExpired() {
+        LocalDate cutoff = LocalDate.now().minusDays(ttlDays);
+        int removed = recordRepository.deleteBySentOnBefore(cutoff);
+        if (removed > 0) {
+            log.event("notification_send_ledger_pruned")
+                    .with("removed", removed)
+                    .with("cutoff", cutoff.toString())
+                    .log();
+        }
+    }
+
+    private static String key(UUID notificationId, NotificationChannel channel) {
+        return notificationId + ":" + channel.name();
+    }
+}
@@ -1,6 +1,7 @@
 package com.healthlink.domain.organization.entity;
 
 import com.healthlink.common.entity.BaseEntity;
+import com.healthlink.domain.search.DoctorIndexEntityListener;
 import com.healthlink.domain.user.entity.Organization;
 import com.healthlink.domain.user.entity.Doctor;
 import jakarta.persistence.*;
@@ -10,6 +11,7 @@ import lombok.Setter;
 import java.math.BigDecimal;
 
 @Entity
+@EntityListeners(DoctorIndexEntityListener.class)
 @Table(name = "facilities", indexes = {
         @Index(name = "idx_facility_org", columnList = "organization_id"),
         @Index(name = "idx_facility_doctor", columnList = "doctor_owner_id")
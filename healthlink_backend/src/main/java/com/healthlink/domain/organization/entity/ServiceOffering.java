@@ -1,6 +1,7 @@
 package com.healthlink.domain.organization.entity;
 
 import com.healthlink.common.entity.BaseEntity;
+import com.healthlink.domain.search.DoctorIndexEntityListener;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,6 +9,7 @@ import lombok.Setter;
 import java.math.BigDecimal;
 
 @Entity
+@EntityListeners(DoctorIndexEntityListener.class)
 @Table(name = "service_offerings", indexes = {
         @Index(name = "idx_service_facility", columnList = "facility_id")
 })
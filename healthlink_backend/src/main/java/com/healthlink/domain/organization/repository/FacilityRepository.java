@@ -2,11 +2,13 @@ package com.healthlink.domain.organization.repository;
 
 import com.healthlink.domain.organization.entity.Facility;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface FacilityRepository extends JpaRepository<Facility, UUID> {
     List<Facility> findByOrganizationId(UUID organizationId);
     List<Facility> findByDoctorOwnerId(UUID doctorId);
+    List<Facility> findByDoctorOwnerIdIn(Collection<UUID> doctorIds);
     Integer countByOrganizationId(UUID organizationId);
 }
\ No newline at end of file
@@ -17,6 +17,8 @@ public class PrescriptionResponse {
     String body;
     List<String> medications;
     List<String> interactionWarnings;
+    // True when some medications were not checked before the lookup deadline
+    boolean interactionCheckPartial;
 
     OffsetDateTime createdAt;
 }
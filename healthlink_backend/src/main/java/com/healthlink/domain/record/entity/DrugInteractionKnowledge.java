@@ -0,0 +1,45 @@
+package com.healthlink.domain.record.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistent (L2) copy of the OpenFDA interaction text for one drug, keyed by the
+ * normalized drug name. Entries are served until {@code expires_at}; once past
+ * {@code refresh_after} a read still returns the stored text but triggers a background
+ * refresh. Only successful FDA lookups are stored, never the static fallback.
+ */
+@Entity
+@Table(name = "drug_interaction_cache", indexes = {
+        @Index(name = "idx_drug_interaction_cache_expires", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DrugInteractionKnowledge {
+
+    @Id
+    @Column(name = "drug_key", length = 160, nullable = false)
+    private String drugKey;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "drug_interaction_cache_entries", joinColumns = @JoinColumn(name = "drug_key"))
+    @OrderColumn(name = "position")
+    @Column(name = "interaction", columnDefinition = "TEXT")
+    private List<String> interactions = new ArrayList<>();
+
+    @Column(name = "fetched_at", nullable = false)
+    private OffsetDateTime fetchedAt;
+
+    @Column(name = "refresh_after", nullable = false)
+    private OffsetDateTime refreshAfter;
+
+    @Column(name = "expires_at", nullable = false)
+    private OffsetDateTime expiresAt;
+}
@@ -52,6 +52,10 @@ public class Prescription extends BaseEntity {
     @Column(name = "warning", length = 300)
     private List<String> interactionWarnings;
 
+    // Set when the interaction lookup hit its deadline; nullable for rows created before the flag
+    @Column(name = "interaction_check_partial")
+    private Boolean interactionCheckPartial;
+
     // e-signature removed per spec
     // createdAt provided by BaseEntity auditing (LocalDateTime)
 
@@ -0,0 +1,19 @@
+package com.healthlink.domain.record.repository;
+
+import com.healthlink.domain.record.entity.DrugInteractionKnowledge;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public interface DrugInteractionKnowledgeRepository extends JpaRepository<DrugInteractionKnowledge, String> {
+
+    List<DrugInteractionKnowledge> findByExpiresAtBefore(OffsetDateTime cutoff, Pageable pageable);
+
+    @Query("SELECT k.drugKey FROM DrugInteractionKnowledge k")
+    List<String> findAllDrugKeys();
+}
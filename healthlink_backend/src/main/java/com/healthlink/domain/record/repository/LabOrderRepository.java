@@ -2,12 +2,19 @@ package com.healthlink.domain.record.repository;
 
 import com.healthlink.domain.record.entity.LabOrder;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface LabOrderRepository extends JpaRepository<LabOrder, UUID> {
     List<LabOrder> findByPatientId(UUID patientId);
+
+    @Query("SELECT l.id AS id, l.orderName AS title FROM LabOrder l "
+            + "WHERE l.patientId = :patientId AND l.id IN :ids ORDER BY l.orderedAt DESC")
+    List<RecordTitleView> findTitles(@Param("patientId") UUID patientId, @Param("ids") Collection<UUID> ids);
 }
@@ -2,8 +2,11 @@ package com.healthlink.domain.record.repository;
 
 import com.healthlink.domain.record.entity.MedicalRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,4 +15,8 @@ public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, UU
     List<MedicalRecord> findByPatientIdOrderByCreatedAtDesc(UUID patientId);
     List<MedicalRecord> findByPatientId(UUID patientId);
     List<MedicalRecord> findByPatientIdAndRecordType(UUID patientId, String recordType);
+
+    @Query("SELECT r.id AS id, r.title AS title FROM MedicalRecord r "
+            + "WHERE r.patientId = :patientId AND r.id IN :ids ORDER BY r.createdAt DESC")
+    List<RecordTitleView> findTitles(@Param("patientId") UUID patientId, @Param("ids") Collection<UUID> ids);
 }
@@ -2,8 +2,11 @@ package com.healthlink.domain.record.repository;
 
 import com.healthlink.domain.record.entity.Prescription;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,4 +15,27 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, UUID
     List<Prescription> findByPatientIdOrderByCreatedAtDesc(UUID patientId);
     List<Prescription> findByAppointmentId(UUID appointmentId);
     List<Prescription> findByDoctorId(UUID doctorId);
+
+    @Query("SELECT p.id AS id, p.title AS title FROM Prescription p "
+            + "WHERE p.patientId = :patientId AND p.id IN :ids ORDER BY p.createdAt DESC")
+    List<RecordTitleView> findTitles(@Param("patientId") UUID patientId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Medication names ordered by how often they have been prescribed, most frequent first.
+     */
+    @Query(value = "SELECT m.medication FROM prescription_medications m " +
+            "GROUP BY m.medication ORDER BY COUNT(*) DESC LIMIT :limit", nativeQuery = true)
+    List<String> findMostPrescribedMedications(@Param("limit") int limit);
+
+    /**
+     * Medication names with their prescription counts, most frequent first.
+     */
+    @Query(value = "SELECT m.medication AS medication, COUNT(*) AS prescriptions FROM prescription_medications m " +
+            "GROUP BY m.medication ORDER BY COUNT(*) DESC LIMIT :limit", nativeQuery = true)
+    List<MedicationCount> findMedicationCounts(@Param("limit") int limit);
+
+    interface MedicationCount {
+        String getMedication();
+        Long getPrescriptions();
+    }
 }
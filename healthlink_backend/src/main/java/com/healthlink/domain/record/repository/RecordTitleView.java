@@ -0,0 +1,10 @@
+package com.healthlink.domain.record.repository;
+
+import java.util.UUID;
+
+/** Id and plaintext title of a record, read without loading (and decrypting) its PHI columns. */
+public interface RecordTitleView {
+    UUID getId();
+
+    String getTitle();
+}
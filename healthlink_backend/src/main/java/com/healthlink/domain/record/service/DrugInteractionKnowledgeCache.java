@@ -0,0 +1,253 @@
+package com.healthlink.domain.record.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthlink.domain.record.entity.DrugInteractionKnowledge;
+import com.healthlink.domain.record.repository.DrugInteractionKnowledgeRepository;
+import com.healthlink.domain.record.repository.PrescriptionRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier store for OpenFDA interaction text, keyed by normalized drug name.
+ * <p>
+ * L1 is a per-node Caffeine cache; L2 is the {@code drug_interaction_cache} table, so
+ * lookups survive restarts and are shared between nodes. L2 entries live for
+ * {@code ttl-days}; after {@code refresh-after-days} a read still serves the stored text
+ * and schedules one background refresh per key (refresh-ahead), so callers only wait on
+ * OpenFDA for drugs that have never been looked up.
+ */
+@Service
+public class DrugInteractionKnowledgeCache {
+
+    /** Result of a cache read; {@code stale} means the entry is past its refresh point. */
+    public record Lookup(List<String> interactions, boolean stale) {}
+
+    private final DrugInteractionKnowledgeRepository knowledgeRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final SafeLogger log = SafeLogger.get(DrugInteractionKnowledgeCache.class);
+    private final Cache<String, List<String>> l1Cache;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration refreshAfter;
+    private final Duration ttl;
+    private final Clock clock;
+
+    public DrugInteractionKnowledgeCache(
+            DrugInteractionKnowledgeRepository knowledgeRepository,
+            PrescriptionRepository prescriptionRepository,
+            @Value("${healthlink.drug-interactions.cache.l1-size:2000}") int l1Size,
+            @Value("${healthlink.drug-interactions.cache.l1-ttl-minutes:30}") int l1TtlMinutes,
+            @Value("${healthlink.drug-interactions.cache.refresh-after-days:7}") int refreshAfterDays,
+            @Value("${healthlink.drug-interactions.cache.ttl-days:30}") int ttlDays) {
+        this(knowledgeRepository, prescriptionRepository, l1Size, Duration.ofMinutes(l1TtlMinutes),
+                Duration.ofDays(refreshAfterDays), Duration.ofDays(ttlDays), Clock.systemUTC());
+    }
+
+    DrugInteractionKnowledgeCache(DrugInteractionKnowledgeRepository knowledgeRepository,
+                                  PrescriptionRepository prescriptionRepository,
+                                  int l1Size, Duration l1Ttl, Duration refreshAfter, Duration ttl, Clock clock) {
+        this.knowledgeRepository = knowledgeRepository;
+        this.prescriptionRepository = prescriptionRepository;
+        this.l1Cache = Caffeine.newBuilder()
+                .maximumSize(l1Size)
+                .expireAfterWrite(l1Ttl)
+                .build();
+        this.refreshAfter = refreshAfter;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Cache key for a drug name: Unicode-normalized, lower-case, punctuation folded to
+     * single spaces, so "Warfarin", " warfarin " and "WARFARIN-" share an entry.
+     */
+    public static String normalizeKey(String drugName) {
+        String folded = Normalizer.normalize(drugName, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return folded.replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * Read through L1 then L2. Expired L2 rows are treated as missing.
+     */
+    public Optional<Lookup> get(String key) {
+        List<String> cached = l1Cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(new Lookup(cached, false));
+        }
+        return knowledgeRepository.findById(key)
+                .filter(entry -> entry.getExpiresAt().isAfter(now()))
+                .map(this::promote);
+    }
+
+    /**
+     * Store a successful FDA lookup in both tiers.
+     */
+    public void put(String key, List<String> interactions) {
+        List<String> copy = List.copyOf(interactions);
+        l1Cache.put(key, copy);
+        try {
+            knowledgeRepository.save(toEntry(key, copy, now()));
+        } catch (Exception e) {
+            // L2 is an optimization; a failed write only costs a future API call
+            log.event("drug_interaction_cache_write_failed")
+                    .with("drug", key)
+                    .with("error", e.getClass().getSimpleName())
+                    .log();
+        }
+    }
+
+    /**
+     * Reload {@code key} in the background unless a refresh for it is already running.
+     * The loader returns empty when OpenFDA had no usable answer, which keeps the old entry.
+     */
+    public void refreshAsync(String key, Supplier<Optional<List<String>>> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        refreshExecutor.execute(() -> {
+            try {
+                loader.get().ifPresent(interactions -> put(key, interactions));
+            } catch (Exception e) {
+                log.event("drug_interaction_refresh_failed")
+                        .with("drug", key)
+                        .with("error", e.getClass().getSimpleName())
+                        .log();
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Load L2 rows for {@code keys} into L1 in one query.
+     *
+     * @return keys that have no live L2 row, or whose row is due for refresh
+     */
+    public List<String> preload(Collection<String> keys) {
+        List<String> missing = new ArrayList<>(keys);
+        OffsetDateTime now = now();
+        for (DrugInteractionKnowledge entry : knowledgeRepository.findAllById(keys)) {
+            if (entry.getExpiresAt().isAfter(now)) {
+                l1Cache.put(entry.getDrugKey(), List.copyOf(entry.getInteractions()));
+                if (entry.getRefreshAfter().isAfter(now)) {
+                    missing.remove(entry.getDrugKey());
+                }
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Normalized keys of the most-prescribed medications, most frequent first.
+     */
+    public List<String> mostPrescribedKeys(int limit) {
+        return prescriptionRepository.findMostPrescribedMedications(limit).stream()
+                .map(DrugInteractionKnowledgeCache::normalizeKey)
+                .filter(key -> !key.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Curated drug names with how often each was prescribed, for suggesting drug names without
+     * exposing what was typed into prescriptions. The vocabulary is the synonym table plus the
+     * keys OpenFDA recognised ({@code drug_interaction_cache}); the latter are only included once
+     * prescribed {@code minPrescriptions} times. A prescription counts towards the longest name
+     * its normalized text starts with, so "Warfarin 5 mg" counts for "warfarin".
+     *
+     * @param scanLimit how many distinct prescription strings to count, most frequent first
+     */
+    public Map<String, Long> drugVocabulary(int scanLimit, long minPrescriptions) {
+        Set<String> vocabulary = new HashSet<>(DrugSynonyms.names());
+        List<String> recognised = knowledgeRepository.findAllDrugKeys();
+        vocabulary.addAll(recognised);
+
+        Map<String, Long> counts = new HashMap<>();
+        for (PrescriptionRepository.MedicationCount medication : prescriptionRepository.findMedicationCounts(scanLimit)) {
+            String name = longestKnownPrefix(normalizeKey(medication.getMedication()), vocabulary);
+            if (name != null && medication.getPrescriptions() != null) {
+                counts.merge(name, medication.getPrescriptions(), Long::sum);
+            }
+        }
+
+        Map<String, Long> result = new HashMap<>();
+        DrugSynonyms.names().forEach(name -> result.put(name, counts.getOrDefault(name, 0L)));
+        for (String key : recognised) {
+            long prescriptions = counts.getOrDefault(key, 0L);
+            if (prescriptions >= minPrescriptions) {
+                result.put(key, prescriptions);
+            }
+        }
+        return result;
+    }
+
+    private static String longestKnownPrefix(String normalized, Set<String> vocabulary) {
+        String match = null;
+        for (int end = normalized.indexOf(' '); ; end = normalized.indexOf(' ', end + 1)) {
+            String candidate = end < 0 ? normalized : normalized.substring(0, end);
+            if (vocabulary.contains(candidate)) {
+                match = candidate;
+            }
+            if (end < 0) {
+                return match;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${healthlink.drug-interactions.cache.prune-cron:0 30 3 * * *}")
+    public void pruneExpired() {
+        List<DrugInteractionKnowledge> expired = knowledgeRepository.findByExpiresAtBefore(now(), PageRequest.of(0, 500));
+        if (!expired.isEmpty()) {
+            knowledgeRepository.deleteAll(expired);
+            log.event("drug_interaction_cache_pruned").with("count", expired.size()).log();
+        }
+    }
+
+    private Lookup promote(DrugInteractionKnowledge entry) {
+        List<String> interactions = List.copyOf(entry.getInteractions());
+        l1Cache.put(entry.getDrugKey(), interactions);
+        return new Lookup(interactions, !entry.getRefreshAfter().isAfter(now()));
+    }
+
+    private DrugInteractionKnowledge toEntry(String key, List<String> interactions, OffsetDateTime now) {
+        DrugInteractionKnowledge entry = new DrugInteractionKnowledge();
+        entry.setDrugKey(key);
+        entry.setInteractions(new ArrayList<>(interactions));
+        entry.setFetchedAt(now);
+        entry.setRefreshAfter(now.plus(refreshAfter));
+        entry.setExpiresAt(now.plus(ttl));
+        return entry;
+    }
+
+    private OffsetDateTime now() {
+        return OffsetDateTime.now(clock);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -1,5 +1,7 @@
 package com.healthlink.domain.record.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.healthlink.domain.record.dto.DrugInteractionRequest;
 import com.healthlink.domain.record.dto.DrugInteractionResponse;
 import com.healthlink.infrastructure.logging.SafeLogger;
@@ -7,7 +9,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -15,9 +19,12 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 /**
  * Drug interaction checking service using OpenFDA with parallel fetching and severity classification.
+ * Pairs are found with a {@link DrugNameMatcher} built over the listed drugs and their synonyms,
+ * so each label text is scanned once instead of once per other drug.
  * <p>
  * <strong>HIPAA Compliance:</strong>
  * <ul>
@@ -35,6 +42,11 @@ public class DrugInteractionService {
     
     private final ExecutorService executorService = Executors.newFixedThreadPool(5);
 
+    // Matchers are keyed by the exact medication list; patients re-check the same lists
+    private final Cache<String, DrugNameMatcher> matchers = Caffeine.newBuilder()
+            .maximumSize(256)
+            .build();
+
     // High-risk drugs requiring special attention
     private static final Set<String> HIGH_RISK_DRUGS = Set.of(
             "warfarin", "heparin", "digoxin", "lithium", "phenytoin", 
@@ -46,6 +58,10 @@ public class DrugInteractionService {
                 .orElse(List.of())
                 .stream()
                 .filter(Objects::nonNull)
+                .filter(drug -> !drug.isBlank())
+                .collect(Collectors.toMap(DrugInteractionKnowledgeCache::normalizeKey, drug -> drug,
+                        (first, duplicate) -> first, LinkedHashMap::new))
+                .values().stream()
                 .toList();
         
         if (drugs.isEmpty()) {
@@ -80,40 +96,36 @@ public class DrugInteractionService {
                 .map(CompletableFuture::join)
                 .toList();
 
-        // Cross-reference pairwise interactions
+        // One automaton pass per label text finds every listed drug it mentions
+        DrugNameMatcher matcher = matchers.get(matcherKey(allData), k -> DrugNameMatcher.forDrugs(
+                allData.stream().map(DrugInteractionData::drugName).toList()));
+        int n = allData.size();
+        // mentions[a * n + b]: texts from drug a's label that mention drug b
+        List<List<String>> mentions = new ArrayList<>(Collections.nCopies(n * n, null));
+        for (int a = 0; a < n; a++) {
+            for (String text : allData.get(a).interactions()) {
+                BitSet mentioned = matcher.match(text);
+                for (int b = mentioned.nextSetBit(0); b >= 0; b = mentioned.nextSetBit(b + 1)) {
+                    if (b == a) continue;
+                    if (mentions.get(a * n + b) == null) mentions.set(a * n + b, new ArrayList<>());
+                    mentions.get(a * n + b).add(text);
+                }
+            }
+        }
+
         List<String> interactingPairs = new ArrayList<>();
         List<String> warnings = new ArrayList<>();
-        Set<String> processedPairs = new HashSet<>();
-
-        for (int i = 0; i < allData.size(); i++) {
-            DrugInteractionData dataA = allData.get(i);
-            
-            for (int j = i + 1; j < allData.size(); j++) {
-                DrugInteractionData dataB = allData.get(j);
-                String pairKey = createPairKey(dataA.drugName, dataB.drugName);
-                
-                if (processedPairs.contains(pairKey)) continue;
-                processedPairs.add(pairKey);
-
-                // Check if drugB mentioned in drugA's interactions or vice versa
-                boolean interactionFound = dataA.interactions.stream()
-                        .anyMatch(text -> text.toLowerCase().contains(dataB.drugName.toLowerCase()))
-                        || dataB.interactions.stream()
-                        .anyMatch(text -> text.toLowerCase().contains(dataA.drugName.toLowerCase()));
-
-                if (interactionFound) {
-                    String pairLabel = dataA.drugName + " + " + dataB.drugName;
-                    interactingPairs.add(pairLabel);
-                    
-                    // Extract relevant warnings mentioning both drugs
-                    dataA.interactions.stream()
-                            .filter(text -> text.toLowerCase().contains(dataB.drugName.toLowerCase()))
-                            .forEach(text -> warnings.add("[" + pairLabel + "] " + text));
-                    
-                    dataB.interactions.stream()
-                            .filter(text -> text.toLowerCase().contains(dataA.drugName.toLowerCase()))
-                            .forEach(text -> warnings.add("[" + pairLabel + "] " + text));
-                }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                List<String> aMentionsB = mentions.get(i * n + j);
+                List<String> bMentionsA = mentions.get(j * n + i);
+                if (aMentionsB == null && bMentionsA == null) continue;
+
+                String pairLabel = allData.get(i).drugName() + " + " + allData.get(j).drugName();
+                interactingPairs.add(pairLabel);
+                // Relevant warnings, drug A's label first
+                if (aMentionsB != null) aMentionsB.forEach(text -> warnings.add("[" + pairLabel + "] " + text));
+                if (bMentionsA != null) bMentionsA.forEach(text -> warnings.add("[" + pairLabel + "] " + text));
             }
         }
 
@@ -136,9 +148,8 @@ public class DrugInteractionService {
                 .build();
     }
 
-    private String createPairKey(String drugA, String drugB) {
-        List<String> sorted = List.of(drugA.toLowerCase(), drugB.toLowerCase()).stream().sorted().toList();
-        return sorted.get(0) + "|" + sorted.get(1);
+    private static String matcherKey(List<DrugInteractionData> data) {
+        return data.stream().map(DrugInteractionData::drugName).collect(Collectors.joining("\u0000"));
     }
 
     private boolean isHighRisk(String drugName) {
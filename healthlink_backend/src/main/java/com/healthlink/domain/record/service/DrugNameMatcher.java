@@ -0,0 +1,137 @@
+package com.healthlink.domain.record.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Aho–Corasick automaton over the names and synonyms of a fixed list of drugs.
+ * <p>
+ * Built once per medication list; {@link #match(String)} then finds every listed drug
+ * mentioned in a label text in a single pass, however many drugs are listed. Text and
+ * patterns are normalized with {@link DrugInteractionKnowledgeCache#normalizeKey} and
+ * padded with spaces, so only whole words match ("aspirin" matches "Aspirin-containing"
+ * but "insulin" does not match "insulinoma").
+ */
+public final class DrugNameMatcher {
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<BitSet> outputs = new ArrayList<>();
+    private int[] failure;
+    private final int drugCount;
+
+    private DrugNameMatcher(int drugCount) {
+        this.drugCount = drugCount;
+        newState();
+    }
+
+    /**
+     * Matcher for {@code drugs}; match results are indices into this list.
+     */
+    public static DrugNameMatcher forDrugs(List<String> drugs) {
+        DrugNameMatcher matcher = new DrugNameMatcher(drugs.size());
+        for (int i = 0; i < drugs.size(); i++) {
+            for (String term : termsFor(drugs.get(i))) {
+                matcher.add(" " + term + " ", i);
+            }
+        }
+        matcher.buildFailureLinks();
+        return matcher;
+    }
+
+    /**
+     * Indices of the drugs mentioned in {@code text}.
+     */
+    public BitSet match(String text) {
+        BitSet found = new BitSet(drugCount);
+        String normalized = " " + DrugInteractionKnowledgeCache.normalizeKey(text) + " ";
+        int state = 0;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            Integer next;
+            while ((next = transitions.get(state).get(c)) == null && state != 0) {
+                state = failure[state];
+            }
+            state = next != null ? next : 0;
+            found.or(outputs.get(state));
+        }
+        return found;
+    }
+
+    /**
+     * Search terms for one drug: its normalized name, the name without a trailing
+     * strength ("metformin 500 mg" -> "metformin"), and known synonyms of either.
+     */
+    static Set<String> termsFor(String drugName) {
+        Set<String> terms = new LinkedHashSet<>();
+        String key = DrugInteractionKnowledgeCache.normalizeKey(drugName);
+        if (key.isEmpty()) {
+            return terms;
+        }
+        terms.add(key);
+        terms.add(withoutStrength(key));
+        for (String term : List.copyOf(terms)) {
+            terms.addAll(DrugSynonyms.synonymsOf(term));
+        }
+        terms.remove("");
+        return terms;
+    }
+
+    private static String withoutStrength(String key) {
+        String[] tokens = key.split(" ");
+        StringBuilder base = new StringBuilder();
+        for (String token : tokens) {
+            if (Character.isDigit(token.charAt(0))) {
+                break;
+            }
+            if (base.length() > 0) base.append(' ');
+            base.append(token);
+        }
+        return base.toString();
+    }
+
+    private void add(String pattern, int drugIndex) {
+        int state = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            if (next == null) {
+                next = newState();
+                transitions.get(state).put(c, next);
+            }
+            state = next;
+        }
+        outputs.get(state).set(drugIndex);
+    }
+
+    private int newState() {
+        transitions.add(new HashMap<>());
+        outputs.add(new BitSet());
+        return transitions.size() - 1;
+    }
+
+    private void buildFailureLinks() {
+        failure = new int[transitions.size()];
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(state).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[state];
+                Integer target;
+                while ((target = transitions.get(fallback).get(edge.getKey())) == null && fallback != 0) {
+                    fallback = failure[fallback];
+                }
+                failure[child] = target != null && target != child ? target : 0;
+                outputs.get(child).or(outputs.get(failure[child]));
+                queue.add(child);
+            }
+        }
+    }
+}
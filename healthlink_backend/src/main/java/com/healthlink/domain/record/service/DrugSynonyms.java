@@ -0,0 +1,74 @@
+package com.healthlink.domain.record.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Brand, generic and class names that FDA label text commonly uses for the same drug.
+ * Every name in a group is a synonym of every other, so a prescription for "Coumadin"
+ * is matched by a label mentioning "warfarin" and vice versa. Names are stored normalized.
+ */
+final class DrugSynonyms {
+
+    private static final List<Set<String>> GROUPS = List.of(
+            Set.of("warfarin", "coumadin", "jantoven"),
+            Set.of("aspirin", "acetylsalicylic acid", "asa"),
+            Set.of("acetaminophen", "paracetamol", "tylenol"),
+            Set.of("ibuprofen", "advil", "motrin"),
+            Set.of("naproxen", "aleve", "naprosyn"),
+            Set.of("sildenafil", "viagra", "revatio"),
+            Set.of("tadalafil", "cialis"),
+            Set.of("nitroglycerin", "glyceryl trinitrate", "nitrostat"),
+            Set.of("metformin", "glucophage"),
+            Set.of("digoxin", "lanoxin"),
+            Set.of("amiodarone", "cordarone", "pacerone"),
+            Set.of("clopidogrel", "plavix"),
+            Set.of("atorvastatin", "lipitor"),
+            Set.of("simvastatin", "zocor"),
+            Set.of("lisinopril", "zestril", "prinivil"),
+            Set.of("amlodipine", "norvasc"),
+            Set.of("levothyroxine", "synthroid"),
+            Set.of("omeprazole", "prilosec"),
+            Set.of("fluoxetine", "prozac"),
+            Set.of("sertraline", "zoloft"),
+            Set.of("lithium", "lithobid"),
+            Set.of("phenytoin", "dilantin"),
+            Set.of("methotrexate", "trexall"),
+            Set.of("heparin", "unfractionated heparin"),
+            Set.of("ciprofloxacin", "cipro"),
+            Set.of("clarithromycin", "biaxin"),
+            Set.of("fluconazole", "diflucan"),
+            Set.of("verapamil", "calan"),
+            Set.of("quinidine", "quinidex"),
+            Set.of("furosemide", "lasix")
+    );
+
+    private static final Map<String, Set<String>> BY_NAME = index();
+
+    private DrugSynonyms() {
+    }
+
+    /**
+     * All names in {@code normalizedName}'s group (including itself), or an empty set when none are known.
+     */
+    static Set<String> synonymsOf(String normalizedName) {
+        return BY_NAME.getOrDefault(normalizedName, Set.of());
+    }
+
+    /**
+     * Every known name, normalized.
+     */
+    static Set<String> names() {
+        return BY_NAME.keySet();
+    }
+
+    private static Map<String, Set<String>> index() {
+        Map<String, Set<String>> byName = new HashMap<>();
+        for (Set<String> group : GROUPS) {
+            group.forEach(name -> byName.put(name, group));
+        }
+        return Map.copyOf(byName);
+    }
+}
@@ -0,0 +1,113 @@
+package com.healthlink.domain.record.service;
+
+import com.healthlink.infrastructure.logging.SafeLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fetches FDA interaction text for every medication of a request in parallel.
+ * <p>
+ * Each lookup runs on its own virtual thread, gated by one node-wide semaphore
+ * ({@code max-concurrent}) so bursts of prescriptions cannot flood OpenFDA. All lookups
+ * of a request share one deadline: whatever has not finished by then is cancelled and
+ * reported as unchecked, and the caller gets the partial result instead of waiting.
+ */
+@Component
+public class InteractionLookupStage {
+
+    /**
+     * Warnings from every medication that answered in time, in medication order and
+     * without duplicates, plus the medications that could not be checked.
+     */
+    public record InteractionLookup(List<String> warnings, List<String> uncheckedMedications) {
+        public boolean partial() {
+            return !uncheckedMedications.isEmpty();
+        }
+    }
+
+    private final OpenFdaDrugInteractionClient interactionClient;
+    private final Semaphore permits;
+    private final Duration deadline;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SafeLogger log = SafeLogger.get(InteractionLookupStage.class);
+
+    @Autowired
+    public InteractionLookupStage(
+            OpenFdaDrugInteractionClient interactionClient,
+            @Value("${healthlink.drug-interactions.lookup.max-concurrent:32}") int maxConcurrent,
+            @Value("${healthlink.drug-interactions.lookup.deadline-ms:3000}") long deadlineMs) {
+        this(interactionClient, maxConcurrent, Duration.ofMillis(deadlineMs));
+    }
+
+    InteractionLookupStage(OpenFdaDrugInteractionClient interactionClient, int maxConcurrent, Duration deadline) {
+        this.interactionClient = interactionClient;
+        this.permits = new Semaphore(maxConcurrent);
+        this.deadline = deadline;
+    }
+
+    public InteractionLookup lookup(List<String> medications) {
+        Map<String, Future<List<String>>> tasks = new LinkedHashMap<>();
+        for (String medication : medications) {
+            tasks.computeIfAbsent(medication, m -> executor.submit(() -> fetch(m)));
+        }
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Set<String> warnings = new LinkedHashSet<>();
+        List<String> unchecked = new ArrayList<>();
+        for (Map.Entry<String, Future<List<String>>> task : tasks.entrySet()) {
+            try {
+                List<String> found = task.getValue().get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (found != null) {
+                    warnings.addAll(found);
+                }
+            } catch (TimeoutException | ExecutionException e) {
+                task.getValue().cancel(true);
+                unchecked.add(task.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                tasks.values().forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Interrupted while checking drug interactions", e);
+            }
+        }
+
+        if (!unchecked.isEmpty()) {
+            log.event("interaction_lookup_partial")
+               .with("medicationCount", tasks.size())
+               .with("uncheckedCount", unchecked.size())
+               .with("deadlineMs", deadline.toMillis())
+               .log();
+        }
+        return new InteractionLookup(List.copyOf(warnings), List.copyOf(unchecked));
+    }
+
+    private List<String> fetch(String medication) throws InterruptedException {
+        permits.acquire();
+        try {
+            return interactionClient.fetchInteractions(medication);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -3,6 +3,7 @@ package com.healthlink.domain.record.service;
 import com.healthlink.domain.record.dto.LabOrderResponse;
 import com.healthlink.domain.record.entity.LabOrder;
 import com.healthlink.domain.record.repository.LabOrderRepository;
+import com.healthlink.search.SearchIndexService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 public class LabOrderService {
 
     private final LabOrderRepository labOrderRepository;
+    private final SearchIndexService searchIndexService;
 
     public LabOrderResponse createLabOrder(UUID patientId, String orderName, String description) {
         LabOrder labOrder = new LabOrder();
@@ -24,6 +26,7 @@ public class LabOrderService {
         labOrder.setOrderName(orderName);
         labOrder.setDescription(description);
         LabOrder saved = labOrderRepository.save(labOrder);
+        searchIndexService.index(saved);
         return toResponse(saved);
     }
 
@@ -4,6 +4,7 @@ import com.healthlink.domain.record.dto.MedicalRecordRequest;
 import com.healthlink.domain.record.dto.MedicalRecordResponse;
 import com.healthlink.domain.record.entity.MedicalRecord;
 import com.healthlink.domain.record.repository.MedicalRecordRepository;
+import com.healthlink.search.SearchIndexService;
 import com.healthlink.security.annotation.PhiAccess;
 import com.healthlink.security.model.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
@@ -30,7 +31,9 @@ public class MedicalRecordService {
 
     private final MedicalRecordRepository repository;
     private final com.healthlink.domain.appointment.repository.AppointmentRepository appointmentRepository;
+    private final SearchIndexService searchIndexService;
 
+    @Transactional
     public MedicalRecordResponse create(MedicalRecordRequest request) {
         enforcePatientOwnership(request.getPatientId());
         MedicalRecord record = new MedicalRecord();
@@ -40,6 +43,7 @@ public class MedicalRecordService {
         record.setDetails(request.getDetails());
         record.setAttachmentUrl(request.getAttachmentUrl());
         MedicalRecord saved = repository.save(record);
+        searchIndexService.index(saved);
         analyticsRecord(com.healthlink.analytics.AnalyticsEventType.MEDICAL_RECORD_CREATED, currentActor(),
                 saved.getId().toString(), "patient=" + saved.getPatientId());
         return toResponse(saved);
@@ -65,6 +69,7 @@ public class MedicalRecordService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public MedicalRecordResponse update(UUID id, MedicalRecordRequest request) {
         MedicalRecord record = repository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Record not found"));
@@ -74,17 +79,20 @@ public class MedicalRecordService {
         record.setDetails(request.getDetails());
         record.setAttachmentUrl(request.getAttachmentUrl());
         MedicalRecord saved = repository.save(record);
+        searchIndexService.index(saved);
         analyticsRecord(com.healthlink.analytics.AnalyticsEventType.MEDICAL_RECORD_UPDATED, currentActor(),
                 saved.getId().toString(), "patient=" + saved.getPatientId());
         evictCache(record.getPatientId());
         return toResponse(saved);
     }
 
+    @Transactional
     public void delete(UUID id) {
         MedicalRecord record = repository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Record not found"));
         enforcePatientOwnership(record.getPatientId());
         repository.delete(record);
+        searchIndexService.remove(SearchIndexService.MEDICAL_RECORD, id);
         analyticsRecord(com.healthlink.analytics.AnalyticsEventType.MEDICAL_RECORD_UPDATED, currentActor(),
                 id.toString(), "deleted=true");
         evictCache(record.getPatientId());
@@ -138,6 +146,7 @@ public class MedicalRecordService {
     }
 
     // Added structured creation method required by EncounterController
+    @Transactional
     public MedicalRecordResponse createStructuredRecord(UUID patientId, UUID doctorId, String recordType,
             String details) {
         enforcePatientOwnership(patientId);
@@ -148,6 +157,7 @@ public class MedicalRecordService {
         record.setTitle(recordType);
         record.setDetails(details);
         MedicalRecord saved = repository.save(record);
+        searchIndexService.index(saved);
         analyticsRecord(com.healthlink.analytics.AnalyticsEventType.MEDICAL_RECORD_CREATED, currentActor(),
                 saved.getId().toString(), "structured=true");
         evictCache(patientId);
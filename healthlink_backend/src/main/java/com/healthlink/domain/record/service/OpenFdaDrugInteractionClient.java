@@ -1,120 +1,75 @@
 package com.healthlink.domain.record.service;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.healthlink.infrastructure.logging.SafeLogger;
+import com.healthlink.infrastructure.openfda.OpenFdaClient;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.http.MediaType;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
-import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Production-grade OpenFDA drug interaction client with:
- * - Two-tier caching (Caffeine L1 + Redis L2 via @Cacheable)
- * - Exponential backoff retry (3 attempts)
+ * - Two-tier caching via DrugInteractionKnowledgeCache (Caffeine L1 + PostgreSQL L2,
+ *   refresh-ahead, warm start with the most-prescribed drugs)
+ * - Shared pooled OpenFdaClient (connection reuse, in-flight coalescing, retry with backoff)
  * - Circuit breaker fallback
  * - Structured error logging (SafeLogger)
  */
 @Component
 @RequiredArgsConstructor
-@SuppressWarnings({"rawtypes", "unchecked"}) // Raw Map types necessary for dynamic JSON parsing from external API
 public class OpenFdaDrugInteractionClient {
 
-    private final WebClient.Builder webClientBuilder;
+    // Static high-risk interaction database (production would use local DB), keyed like the knowledge cache
+    private static final Map<String, List<String>> KNOWN_INTERACTIONS = Stream.of(
+            Map.entry("Warfarin", List.of("Avoid: Aspirin, NSAIDs (bleeding risk)", "Monitor INR with antibiotics")),
+            Map.entry("Aspirin", List.of("Caution: Warfarin, other anticoagulants")),
+            Map.entry("Sildenafil", List.of("CONTRAINDICATED: Nitrates (severe hypotension)")),
+            Map.entry("Metformin", List.of("Adjust dose with renal impairment", "Avoid: Contrast dye (lactic acidosis risk)")),
+            Map.entry("Digoxin", List.of("Monitor levels with: Amiodarone, Verapamil, Quinidine"))
+    ).collect(Collectors.toUnmodifiableMap(
+            entry -> DrugInteractionKnowledgeCache.normalizeKey(entry.getKey()), Map.Entry::getValue));
+
+    private final OpenFdaClient openFdaClient;
+    private final DrugInteractionKnowledgeCache knowledgeCache;
     private final SafeLogger log = SafeLogger.get(OpenFdaDrugInteractionClient.class);
 
-    @Value("${external.openfda.base-url:https://api.fda.gov/drug/druglabel.json}")
-    private String baseUrl;
-
-    @Value("${external.openfda.api-key:#{null}}")
-    private String apiKey;
-
-    // L1 Caffeine cache (in-memory, short TTL for hot paths)
-    private final Cache<String, List<String>> l1Cache = Caffeine.newBuilder()
-            .maximumSize(500)
-            .expireAfterWrite(5, TimeUnit.MINUTES)
-            .build();
+    @Value("${healthlink.drug-interactions.cache.warm-top:100}")
+    private int warmTop = 100;
 
     /**
-     * Fetch drug interactions with two-tier caching and resilience.
-     * L1: Caffeine (5min), L2: Redis (1 hour via @Cacheable).
+     * Fetch drug interactions, served from the knowledge cache when possible.
+     * Stale cache entries are returned immediately and refreshed in the background.
      */
-    @Cacheable(value = "drugInteractions", key = "#drugName", unless = "#result == null || #result.isEmpty()")
     public List<String> fetchInteractions(String drugName) {
-        // Check L1 cache first
-        List<String> cached = l1Cache.getIfPresent(drugName.toLowerCase());
-        if (cached != null) {
-            log.event("openfda_l1_cache_hit").with("drug", drugName).log();
-            return cached;
+        String key = DrugInteractionKnowledgeCache.normalizeKey(drugName);
+        Optional<DrugInteractionKnowledgeCache.Lookup> cached = knowledgeCache.get(key);
+        if (cached.isPresent()) {
+            log.event("openfda_cache_hit").with("drug", drugName).with("stale", cached.get().stale()).log();
+            if (cached.get().stale()) {
+                knowledgeCache.refreshAsync(key, () -> lookupFda(drugName));
+            }
+            return cached.get().interactions();
         }
 
-        log.event("openfda_api_call").with("drug", drugName).log();
-        
         try {
-            WebClient client = webClientBuilder
-                    .baseUrl(baseUrl)
-                    .defaultHeader("User-Agent", "HealthLink/1.0")
-                    .build();
-
-            Mono<Map> mono = client.get()
-                    .uri(uriBuilder -> {
-                        uriBuilder.queryParam("search", "openfda.brand_name:\"" + drugName + "\"")
-                                  .queryParam("limit", 1);
-                        if (apiKey != null && !apiKey.isEmpty()) {
-                            uriBuilder.queryParam("api_key", apiKey);
-                        }
-                        return uriBuilder.build();
-                    })
-                    .accept(MediaType.APPLICATION_JSON)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError(), resp -> {
-                        log.event("openfda_client_error")
-                           .with("status", String.valueOf(resp.statusCode().value()))
-                           .with("drug", drugName)
-                           .log();
-                        return Mono.error(new IllegalArgumentException("Invalid drug name or query"));
-                    })
-                    .onStatus(status -> status.is5xxServerError(), resp -> {
-                        log.event("openfda_server_error")
-                           .with("status", String.valueOf(resp.statusCode().value()))
-                           .with("drug", drugName)
-                           .log();
-                        return Mono.error(new RuntimeException("OpenFDA service unavailable"));
-                    })
-                    .bodyToMono(Map.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .retryWhen(Retry.backoff(3, Duration.ofSeconds(1))
-                            .maxBackoff(Duration.ofSeconds(5))
-                            .filter(throwable -> !(throwable instanceof IllegalArgumentException)));
-
-            Map body = mono.block();
-            if (body == null || !body.containsKey("results")) {
+            Optional<List<String>> fresh = lookupFda(drugName);
+            if (fresh.isEmpty()) {
                 log.event("openfda_no_results").with("drug", drugName).log();
-                return fallbackInteractions(drugName);
+                return fallbackInteractions(key);
             }
 
-            List<Map> results = (List<Map>) body.get("results");
-            if (results.isEmpty()) {
-                return fallbackInteractions(drugName);
-            }
-
-            // Extract drug_interactions field from label
-            Map firstResult = results.get(0);
-            List<String> interactions = extractInteractions(firstResult);
-            
-            // Populate L1 cache
-            l1Cache.put(drugName.toLowerCase(), interactions);
+            List<String> interactions = fresh.get();
+            knowledgeCache.put(key, interactions);
             
             log.event("openfda_success")
                .with("drug", drugName)
@@ -131,29 +86,51 @@ public class OpenFdaDrugInteractionClient {
                .with("drug", drugName)
                .with("error", e.getClass().getSimpleName())
                .log();
-            return fallbackInteractions(drugName);
+            return fallbackInteractions(key);
+        }
+    }
+
+    /**
+     * Warm the cache with the most-prescribed drugs: stored entries are loaded into L1 in
+     * one query, and drugs with no entry (or a stale one) are fetched in the background.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<String> keys = knowledgeCache.mostPrescribedKeys(warmTop);
+            List<String> toFetch = knowledgeCache.preload(keys);
+            toFetch.forEach(key -> knowledgeCache.refreshAsync(key, () -> lookupFda(key)));
+            log.event("drug_interaction_cache_warmed")
+               .with("drugs", keys.size())
+               .with("fetching", toFetch.size())
+               .log();
+        } catch (Exception e) {
+            log.event("drug_interaction_cache_warm_failed").with("error", e.getClass().getSimpleName()).log();
         }
     }
 
-    private List<String> extractInteractions(Map drugLabel) {
+    private Optional<List<String>> lookupFda(String drugName) {
+        return openFdaClient.fetchLabelBlocking(drugName).map(this::extractInteractions);
+    }
+
+    private List<String> extractInteractions(JsonNode drugLabel) {
         try {
             List<String> interactions = new ArrayList<>();
             
             // OpenFDA structure: results[0].drug_interactions[0] (array of strings)
-            if (drugLabel.containsKey("drug_interactions")) {
-                List<String> rawInteractions = (List<String>) drugLabel.get("drug_interactions");
-                if (rawInteractions != null && !rawInteractions.isEmpty()) {
-                    // Limit to first 5 interactions to avoid excessive data
-                    interactions.addAll(rawInteractions.stream().limit(5).toList());
+            JsonNode rawInteractions = drugLabel.path("drug_interactions");
+            if (rawInteractions.isArray()) {
+                // Limit to first 5 interactions to avoid excessive data
+                for (int i = 0; i < rawInteractions.size() && interactions.size() < 5; i++) {
+                    interactions.add(rawInteractions.get(i).asText());
                 }
             }
             
             // Fallback: check warnings field
-            if (interactions.isEmpty() && drugLabel.containsKey("warnings")) {
-                List<String> warnings = (List<String>) drugLabel.get("warnings");
-                if (warnings != null && !warnings.isEmpty()) {
-                    interactions.add("See warnings: " + warnings.get(0).substring(0, Math.min(100, warnings.get(0).length())));
-                }
+            JsonNode warnings = drugLabel.path("warnings");
+            if (interactions.isEmpty() && warnings.isArray() && !warnings.isEmpty()) {
+                String first = warnings.get(0).asText();
+                interactions.add("See warnings: " + first.substring(0, Math.min(100, first.length())));
             }
             
             return interactions.isEmpty() ? List.of("No specific interactions documented in FDA label") : interactions;
@@ -164,22 +141,13 @@ public class OpenFdaDrugInteractionClient {
         }
     }
 
-    private List<String> fallbackInteractions(String drugName) {
-        // Static high-risk interaction database (production would use local DB)
-        Map<String, List<String>> knownInteractions = Map.of(
-                "warfarin", List.of("Avoid: Aspirin, NSAIDs (bleeding risk)", "Monitor INR with antibiotics"),
-                "aspirin", List.of("Caution: Warfarin, other anticoagulants"),
-                "sildenafil", List.of("CONTRAINDICATED: Nitrates (severe hypotension)"),
-                "metformin", List.of("Adjust dose with renal impairment", "Avoid: Contrast dye (lactic acidosis risk)"),
-                "digoxin", List.of("Monitor levels with: Amiodarone, Verapamil, Quinidine")
-        );
-
-        List<String> staticResult = knownInteractions.get(drugName.toLowerCase());
+    private List<String> fallbackInteractions(String drugKey) {
+        List<String> staticResult = KNOWN_INTERACTIONS.get(drugKey);
         if (staticResult != null) {
-            log.event("openfda_fallback_used").with("drug", drugName).log();
+            log.event("openfda_fallback_used").with("drug", drugKey).log();
             return staticResult;
         }
 
-        return List.of("No cached interaction data. Consult pharmacist for " + drugName);
+        return List.of("No cached interaction data. Consult pharmacist for " + drugKey);
     }
 }
@@ -6,6 +6,7 @@ import com.healthlink.domain.record.entity.Prescription;
 import com.healthlink.domain.record.entity.PrescriptionTemplate;
 import com.healthlink.domain.record.repository.PrescriptionRepository;
 import com.healthlink.domain.record.repository.PrescriptionTemplateRepository;
+import com.healthlink.search.SearchIndexService;
 import com.healthlink.security.annotation.PhiAccess;
 import com.healthlink.security.model.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
@@ -27,7 +28,8 @@ public class PrescriptionService {
 
     private final PrescriptionRepository repository;
     private final PrescriptionTemplateRepository templateRepository;
-    private final OpenFdaDrugInteractionClient interactionClient;
+    private final InteractionLookupStage interactionLookup;
+    private final SearchIndexService searchIndexService;
 
     @Transactional
     public PrescriptionResponse create(PrescriptionRequest request) {
@@ -54,12 +56,16 @@ public class PrescriptionService {
         List<String> meds = request.getMedications() == null ? List.of()
                 : sanitizeMedications(request.getMedications());
         p.setMedications(meds);
-        List<String> warnings = new ArrayList<>();
-        for (String m : meds) {
-            warnings.addAll(interactionClient.fetchInteractions(m));
+        InteractionLookupStage.InteractionLookup lookup = interactionLookup.lookup(meds);
+        List<String> warnings = new ArrayList<>(lookup.warnings());
+        if (lookup.partial()) {
+            warnings.add(truncate("Interaction check incomplete for: "
+                    + String.join(", ", lookup.uncheckedMedications()) + ". Verify manually.", 300));
         }
-        p.setInteractionWarnings(warnings.stream().distinct().collect(Collectors.toList()));
+        p.setInteractionWarnings(warnings);
+        p.setInteractionCheckPartial(lookup.partial());
         Prescription saved = repository.save(p);
+        searchIndexService.index(saved);
         analyticsRecord(com.healthlink.analytics.AnalyticsEventType.PRESCRIPTION_CREATED, currentActor(),
                 saved.getId().toString(), "patient=" + saved.getPatientId());
         return toResponse(saved);
@@ -107,6 +113,10 @@ public class PrescriptionService {
         return meds.stream().map(m -> m.trim().toLowerCase()).filter(m -> !m.isBlank()).collect(Collectors.toList());
     }
 
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength - 1) + "…";
+    }
+
     private void enforceDoctorRole() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || auth.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_DOCTOR"))) {
@@ -144,6 +154,7 @@ public class PrescriptionService {
                 .body(p.getBody())
                 .medications(meds)
                 .interactionWarnings(warnings)
+                .interactionCheckPartial(Boolean.TRUE.equals(p.getInteractionCheckPartial()))
                 .createdAt(toUtc(p.getCreatedAt()))
                 .build();
     }
@@ -0,0 +1,10 @@
+package com.healthlink.domain.search;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A write that changes what the search document of {@code doctorId} should contain.
+ * Published by {@link DoctorIndexEntityListener} and indexed after commit.
+ */
+public record DoctorIndexChangedEvent(UUID doctorId, Instant changedAt) {}
@@ -0,0 +1,47 @@
+package com.healthlink.domain.search;
+
+import com.healthlink.domain.organization.entity.Facility;
+import com.healthlink.domain.organization.entity.ServiceOffering;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.security.encryption.SpringContext;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * JPA listener turning doctor, facility and service offering writes into
+ * {@link DoctorIndexChangedEvent}s for the doctor whose search document they feed.
+ * Facilities owned by an organization are not part of any doctor's document and are ignored.
+ * Instantiated by Hibernate, hence the lazy bean lookup.
+ */
+public class DoctorIndexEntityListener {
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        UUID doctorId = switch (entity) {
+            case Doctor doctor -> doctor.getId();
+            case Facility facility -> ownerId(facility);
+            case ServiceOffering offering -> offering.getFacility() != null ? ownerId(offering.getFacility()) : null;
+            default -> null;
+        };
+        if (doctorId == null) {
+            return;
+        }
+        try {
+            SpringContext.getBean(ApplicationEventPublisher.class)
+                    .publishEvent(new DoctorIndexChangedEvent(doctorId, Instant.now()));
+        } catch (IllegalStateException e) {
+            // No Spring context (plain JPA tooling) - nothing to index
+        }
+    }
+
+    private static UUID ownerId(Facility facility) {
+        return facility.getDoctorOwner() != null ? facility.getDoctorOwner().getId() : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.healthlink.domain.search.controller;
+
+import com.healthlink.domain.search.dto.NearbyDoctorResponse;
+import com.healthlink.domain.search.service.NearbyDoctorIndex;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Doctors near a location
+ * Served from an in-memory geohash grid, with or without Elasticsearch
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Doctor Search", description = "Search and discover doctors")
+public class NearbyDoctorController {
+
+    private final NearbyDoctorIndex nearbyDoctorIndex;
+
+    /**
+     * Nearest verified doctors with their distance in km
+     * limit defaults to 10 (max 50) and radiusKm to 25 (max 100); openNow keeps only facilities
+     * open at the moment
+     */
+    @GetMapping("/doctors/nearby")
+    @Operation(summary = "Find the nearest doctors to a location")
+    @PreAuthorize("hasAnyRole('PATIENT','DOCTOR','ADMIN')")
+    public ResponseEntity<List<NearbyDoctorResponse>> nearby(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) String specialty,
+            @RequestParam(defaultValue = "false") boolean openNow) {
+        return ResponseEntity.ok(nearbyDoctorIndex.nearest(latitude, longitude, limit, radiusKm, specialty, openNow));
+    }
+}
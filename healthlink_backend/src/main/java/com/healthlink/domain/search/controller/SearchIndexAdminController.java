@@ -0,0 +1,48 @@
+package com.healthlink.domain.search.controller;
+
+import com.healthlink.domain.search.service.DoctorBulkIndexer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Admin operations on the doctor search index
+ */
+@RestController
+@RequestMapping("/api/v1/admin/search")
+@RequiredArgsConstructor
+@Tag(name = "Search Index Admin", description = "Rebuild and monitor the doctor search index")
+@ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "true", matchIfMissing = false)
+public class SearchIndexAdminController {
+
+    private final DoctorBulkIndexer bulkIndexer;
+
+    /**
+     * Start a blue/green reindex; 409 if one is already running
+     */
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild the doctor index in the background")
+    public ResponseEntity<DoctorBulkIndexer.ReindexStatus> reindex() {
+        HttpStatus status = bulkIndexer.startReindex() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(bulkIndexer.status());
+    }
+
+    /**
+     * Progress of the current or last reindex
+     */
+    @GetMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Doctor reindex progress")
+    public ResponseEntity<DoctorBulkIndexer.ReindexStatus> reindexStatus() {
+        return ResponseEntity.ok(bulkIndexer.status());
+    }
+}
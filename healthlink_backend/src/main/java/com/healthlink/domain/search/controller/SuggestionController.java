@@ -0,0 +1,44 @@
+package com.healthlink.domain.search.controller;
+
+import com.healthlink.domain.search.dto.Suggestion;
+import com.healthlink.domain.search.dto.SuggestionType;
+import com.healthlink.domain.search.service.SuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Autocomplete for the search box
+ * Served from memory, with or without Elasticsearch
+ */
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Doctor Search", description = "Search and discover doctors")
+public class SuggestionController {
+
+    private final SuggestionService suggestionService;
+
+    /**
+     * Suggestions for a typed prefix, grouped by type
+     * Matches the start of any word, so "ahm" finds "Sara Ahmed". types is a comma-separated
+     * subset of DOCTOR, SPECIALTY, FACILITY, DRUG (default all); limit applies per type (default 5, max 20)
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete doctors, specialties, facilities and drugs")
+    @PreAuthorize("hasAnyRole('PATIENT','DOCTOR','ADMIN')")
+    public ResponseEntity<Map<SuggestionType, List<Suggestion>>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Set<SuggestionType> types,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(suggestionService.suggest(prefix, types, limit));
+    }
+}
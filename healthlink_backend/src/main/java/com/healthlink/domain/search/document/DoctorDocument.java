@@ -8,6 +8,8 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.GeoPointField;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -16,11 +18,12 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(indexName = "doctors")
+@Document(indexName = "doctors", createIndex = false) // An alias; generations are created by DoctorBulkIndexer
 public class DoctorDocument {
 
     @Id
-    private String id; // UUID as string
+    @Field(type = FieldType.Keyword)
+    private String id; // UUID as string; also the search_after tie-breaker
 
     @Field(type = FieldType.Text)
     private String name;
@@ -85,6 +88,9 @@ public class DoctorDocument {
     @Field(type = FieldType.Keyword)
     private String feeCurrency;
 
+    @GeoPointField
+    private GeoPoint location; // First facility with coordinates, for geo_distance filters and sorting
+
     @Field(type = FieldType.Nested, includeInParent = true)
     private List<FacilitySummaryDocument> facilities;
 
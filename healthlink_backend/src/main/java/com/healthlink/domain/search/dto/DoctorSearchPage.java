@@ -0,0 +1,34 @@
+package com.healthlink.domain.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of doctor search results. Pass {@code nextSearchAfter} back as the request's
+ * {@code searchAfter} to read the next page; it is null on the last page. Facets are only
+ * computed for the first page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorSearchPage {
+    private List<DoctorSearchResponse> items;
+    private long totalHits;
+    private List<Object> nextSearchAfter;
+    private Map<String, List<FacetBucket>> facets;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetBucket {
+        private String key;
+        private long count;
+    }
+}
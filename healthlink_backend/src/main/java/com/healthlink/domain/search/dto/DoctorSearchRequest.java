@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,5 +18,12 @@ public class DoctorSearchRequest {
     private String area;
     private Double minRating;
     private Boolean availableOnly;
-    private String sortBy; // rating, experience, fee
+    private Double minFee;
+    private Double maxFee;
+    private Double latitude;
+    private Double longitude;
+    private Double radiusKm;
+    private String sortBy; // rating, experience, fee, distance, relevance
+    private Integer pageSize;
+    private List<Object> searchAfter; // nextSearchAfter of the previous page
 }
@@ -0,0 +1,29 @@
+package com.healthlink.domain.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * A doctor near the searched point, with the facility that is closest and its distance.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyDoctorResponse {
+    private String doctorId;
+    private String name;
+    private String specialty;
+    private Double averageRating;
+    private Integer totalReviews;
+    private BigDecimal consultationFee;
+    private String facilityId;
+    private String facilityName;
+    private String city;
+    private double distanceKm;
+    private boolean openNow;
+}
@@ -0,0 +1,19 @@
+package com.healthlink.domain.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One autocomplete suggestion. {@code id} is the doctor or facility id and is null for
+ * specialties and drugs, which are plain text.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+    private String text;
+    private String id;
+}
@@ -0,0 +1,11 @@
+package com.healthlink.domain.search.dto;
+
+/**
+ * Groups returned by the autocomplete endpoint.
+ */
+public enum SuggestionType {
+    DOCTOR,
+    SPECIALTY,
+    FACILITY,
+    DRUG
+}
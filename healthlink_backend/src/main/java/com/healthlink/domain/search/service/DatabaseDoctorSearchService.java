@@ -0,0 +1,222 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.organization.entity.Facility;
+import com.healthlink.domain.organization.repository.FacilityRepository;
+import com.healthlink.domain.search.dto.DoctorSearchPage;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+import com.healthlink.domain.search.dto.DoctorSearchResponse;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import com.healthlink.domain.user.repository.DoctorTextSearchRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Doctor search served by PostgreSQL when Elasticsearch is disabled.
+ * <p>
+ * Free text is matched with {@code pg_trgm} (substring and typo-tolerant similarity on
+ * specialization and name) and full-text search (specialization and bio), all answered from GIN
+ * indexes, and ranked by similarity plus {@code ts_rank}. Pages are read with a keyset cursor on
+ * {@code (sort key, id)}, so deep pages cost the same as the first. Only the ids of one page come
+ * back from the ranking query; the doctors and their facilities are then loaded in two batch
+ * queries. Facets and distance search need Elasticsearch.
+ * <p>
+ * Pages are served through {@link DoctorSearchCache}; a cache hit does not open a transaction.
+ */
+@Service
+@ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class DatabaseDoctorSearchService implements DoctorSearchEngine {
+
+    private final DoctorTextSearchRepository textSearchRepository;
+    private final DoctorRepository doctorRepository;
+    private final FacilityRepository facilityRepository;
+    private final TransactionOperations transactions;
+    private final DoctorSearchCache searchCache;
+
+    @Autowired
+    public DatabaseDoctorSearchService(DoctorTextSearchRepository textSearchRepository,
+                                       DoctorRepository doctorRepository,
+                                       FacilityRepository facilityRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       DoctorSearchCache searchCache) {
+        this(textSearchRepository, doctorRepository, facilityRepository, readOnly(transactionManager), searchCache);
+    }
+
+    DatabaseDoctorSearchService(DoctorTextSearchRepository textSearchRepository, DoctorRepository doctorRepository,
+                                FacilityRepository facilityRepository, TransactionOperations transactions,
+                                DoctorSearchCache searchCache) {
+        this.textSearchRepository = textSearchRepository;
+        this.doctorRepository = doctorRepository;
+        this.facilityRepository = facilityRepository;
+        this.transactions = transactions;
+        this.searchCache = searchCache;
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    @Override
+    public DoctorSearchPage searchPage(DoctorSearchRequest request) {
+        return searchCache.get("page", request, normalized -> transactions.execute(tx -> search(normalized)));
+    }
+
+    private DoctorSearchPage search(DoctorSearchRequest request) {
+        if (request.getLatitude() != null || request.getLongitude() != null || request.getRadiusKm() != null
+                || "distance".equals(request.getSortBy())) {
+            throw new IllegalArgumentException("Distance search requires Elasticsearch");
+        }
+        BigDecimal minFee = fee(request.getMinFee());
+        BigDecimal maxFee = fee(request.getMaxFee());
+        if (minFee != null && maxFee != null && minFee.compareTo(maxFee) > 0) {
+            throw new IllegalArgumentException("minFee must not exceed maxFee");
+        }
+        int pageSize = pageSize(request.getPageSize());
+        Cursor after = Cursor.of(request.getSearchAfter());
+        String text = normalize(request.getQuery());
+        String sortBy = sortBy(request.getSortBy(), text != null);
+
+        List<Object[]> rows = text != null
+                ? textSearchRepository.searchByText(text, "%" + escapeLike(text) + "%",
+                        normalize(request.getSpecialty()), normalize(request.getCity()), areaPattern(request.getArea()),
+                        request.getMinRating(), minFee, maxFee, sortBy, after.sortKey(), after.id(), pageSize)
+                : textSearchRepository.browse(
+                        normalize(request.getSpecialty()), normalize(request.getCity()), areaPattern(request.getArea()),
+                        request.getMinRating(), minFee, maxFee, sortBy, after.sortKey(), after.id(), pageSize);
+
+        List<UUID> ids = rows.stream().map(row -> toUuid(row[0])).toList();
+        List<Object> nextSearchAfter = null;
+        if (!rows.isEmpty() && rows.size() == pageSize) {
+            Object[] last = rows.get(rows.size() - 1);
+            // The sort key travels as a string so JSON number parsing cannot change it
+            nextSearchAfter = List.of(toBigDecimal(last[1]).toPlainString(), toUuid(last[0]).toString());
+        }
+
+        return DoctorSearchPage.builder()
+                .items(load(ids))
+                .totalHits(rows.isEmpty() ? 0 : ((Number) rows.get(0)[2]).longValue())
+                .nextSearchAfter(nextSearchAfter)
+                .facets(Collections.emptyMap())
+                .build();
+    }
+
+    private List<DoctorSearchResponse> load(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Doctor> doctors = doctorRepository.findWithQualificationsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+        Map<UUID, List<Facility>> facilities = facilityRepository.findByDoctorOwnerIdIn(ids).stream()
+                .collect(Collectors.groupingBy(f -> f.getDoctorOwner().getId()));
+        // Keep the ranking order; a doctor deleted between the two queries is skipped
+        return ids.stream()
+                .filter(doctors::containsKey)
+                .map(id -> toResponse(doctors.get(id), facilities.getOrDefault(id, List.of())))
+                .toList();
+    }
+
+    private DoctorSearchResponse toResponse(Doctor doctor, List<Facility> facilities) {
+        return DoctorSearchResponse.builder()
+                .id(doctor.getId().toString())
+                .name(doctor.getFullName())
+                .photoUrl(doctor.getProfilePictureUrl())
+                .specialty(doctor.getSpecialization())
+                .qualifications(String.join(", ", doctor.getQualifications()))
+                .experienceYears(doctor.getYearsOfExperience())
+                .city(facilities.isEmpty() ? null : facilities.get(0).getCity())
+                .area(facilities.isEmpty() ? null : facilities.get(0).getTown())
+                .averageRating(doctor.getAverageRating())
+                .totalReviews(doctor.getTotalReviews())
+                .consultationFee(doctor.getConsultationFee())
+                .facilityNames(facilities.stream().map(Facility::getName).toList())
+                .languages(List.of())
+                .services(List.of())
+                .isAvailable(true)
+                .isAvailableForTelemedicine(true)
+                .build();
+    }
+
+    /** Keyset position after the last row of the previous page; both parts null for the first page. */
+    private record Cursor(BigDecimal sortKey, UUID id) {
+        static Cursor of(List<Object> searchAfter) {
+            if (searchAfter == null || searchAfter.isEmpty()) {
+                return new Cursor(null, null);
+            }
+            if (searchAfter.size() != 2 || searchAfter.get(0) == null || searchAfter.get(1) == null) {
+                throw new IllegalArgumentException("searchAfter must be the nextSearchAfter of a previous page");
+            }
+            try {
+                return new Cursor(new BigDecimal(searchAfter.get(0).toString()), UUID.fromString(searchAfter.get(1).toString()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("searchAfter must be the nextSearchAfter of a previous page", e);
+            }
+        }
+    }
+
+    private static String sortBy(String sortBy, boolean hasText) {
+        if (sortBy == null) {
+            return hasText ? "relevance" : "rating";
+        }
+        return switch (sortBy) {
+            case "relevance", "rating", "experience", "fee" -> sortBy;
+            default -> "rating";
+        };
+    }
+
+    private static int pageSize(Integer pageSize) {
+        if (pageSize == null) {
+            return DoctorSearchQueryBuilder.DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        return Math.min(pageSize, DoctorSearchQueryBuilder.MAX_PAGE_SIZE);
+    }
+
+    private static BigDecimal fee(Double fee) {
+        if (fee == null) {
+            return null;
+        }
+        if (fee < 0) {
+            throw new IllegalArgumentException("Fee bounds must not be negative");
+        }
+        return BigDecimal.valueOf(fee);
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Case-insensitive substring match on the facility town, like the Elasticsearch area filter. */
+    private static String areaPattern(String area) {
+        String normalized = normalize(area);
+        return normalized == null ? null : "%" + escapeLike(normalized) + "%";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static UUID toUuid(Object value) {
+        return value instanceof UUID uuid ? uuid : UUID.fromString(value.toString());
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,347 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.search.document.DoctorDocument;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rebuilds the doctor search index from the database without taking search offline.
+ * <p>
+ * Searches read the {@code doctors} alias. A reindex fills a fresh, timestamped index and then
+ * moves the alias to it in one atomic request, so readers see either the old or the new index
+ * in full; the old index is deleted afterwards. If any document fails, the new index is dropped
+ * and the alias stays where it was.
+ * <p>
+ * Listed doctors (approved, active, not deleted) are read through an id cursor, {@code batch-size}
+ * at a time, and each page fetches its qualifications, facilities and offerings in three queries.
+ * Pages go to Elasticsearch through the {@code _bulk} API on {@code parallelism} writer threads;
+ * reading waits when that many bulk requests are in flight. Progress is logged per page and available from {@link #status()}.
+ * <p>
+ * {@link DoctorIncrementalIndexer} holds its updates while a reindex runs and applies them to
+ * the new index once the alias has moved.
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "true", matchIfMissing = false)
+public class DoctorBulkIndexer {
+
+    public static final String ALIAS = "doctors";
+
+    private static final DateTimeFormatter GENERATION = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSS").withZone(ZoneOffset.UTC);
+
+    public enum State { IDLE, RUNNING, COMPLETED, FAILED }
+
+    /** One page of the id cursor and the documents built for it. */
+    private record Batch(List<UUID> ids, List<IndexQuery> queries) {}
+
+    /** Progress of the current or last reindex. */
+    public record ReindexStatus(State state, String index, long indexed, long failed,
+                                Instant startedAt, Instant finishedAt, String error) {}
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorDocumentAssembler documentAssembler;
+    private final ElasticsearchOperations operations;
+    private final TransactionOperations transactions;
+    private final int batchSize;
+    private final int parallelism;
+    private final Clock clock;
+    private final ExecutorService writers;
+    private final ExecutorService coordinator;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile State state = State.IDLE;
+    private volatile String index;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private final SafeLogger log = SafeLogger.get(DoctorBulkIndexer.class);
+
+    @Autowired
+    public DoctorBulkIndexer(
+            DoctorRepository doctorRepository,
+            DoctorDocumentAssembler documentAssembler,
+            ElasticsearchOperations operations,
+            PlatformTransactionManager transactionManager,
+            @Value("${healthlink.search.bulk.batch-size:500}") int batchSize,
+            @Value("${healthlink.search.bulk.parallelism:4}") int parallelism) {
+        this(doctorRepository, documentAssembler, operations, readOnly(transactionManager), batchSize, parallelism, Clock.systemUTC());
+    }
+
+    DoctorBulkIndexer(DoctorRepository doctorRepository, DoctorDocumentAssembler documentAssembler,
+                      ElasticsearchOperations operations, TransactionOperations transactions,
+                      int batchSize, int parallelism, Clock clock) {
+        if (batchSize < 1 || parallelism < 1) {
+            throw new IllegalArgumentException("batch-size and parallelism must be positive");
+        }
+        this.doctorRepository = doctorRepository;
+        this.documentAssembler = documentAssembler;
+        this.operations = operations;
+        this.transactions = transactions;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.clock = clock;
+        this.writers = Executors.newFixedThreadPool(parallelism, Thread.ofPlatform().name("doctor-bulk-", 0).daemon().factory());
+        this.coordinator = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("doctor-reindex").daemon().factory());
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * Starts a reindex in the background.
+     *
+     * @return false if one is already running
+     */
+    public boolean startReindex() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        coordinator.execute(() -> {
+            try {
+                runReindex();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Reindexes on the calling thread.
+     *
+     * @throws IllegalStateException if a reindex is already running
+     */
+    public ReindexStatus reindex() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A doctor reindex is already running");
+        }
+        try {
+            return runReindex();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public ReindexStatus status() {
+        return new ReindexStatus(state, index, indexed.get(), failed.get(), startedAt, finishedAt, error);
+    }
+
+    /**
+     * Creates an empty generation behind the alias when neither exists yet, so single-document
+     * writes have somewhere to go before the first reindex.
+     */
+    public void initializeAlias() {
+        if (operations.indexOps(IndexCoordinates.of(ALIAS)).exists()) {
+            return;
+        }
+        String generation = nextIndexName();
+        createIndex(generation);
+        operations.indexOps(IndexCoordinates.of(ALIAS)).alias(new AliasActions(
+                new AliasAction.Add(AliasActionParameters.builder().withIndices(generation).withAliases(ALIAS).build())));
+        log.event("doctor_index_alias_created").with("index", generation).log();
+    }
+
+    private ReindexStatus runReindex() {
+        String target = nextIndexName();
+        begin(target);
+        try {
+            createIndex(target);
+            copyDoctors(IndexCoordinates.of(target));
+            if (failed.get() > 0) {
+                throw new IllegalStateException(failed.get() + " doctor documents failed to index");
+            }
+            operations.indexOps(IndexCoordinates.of(target)).refresh();
+            swapAlias(target);
+            finish(State.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteQuietly(target);
+            finish(State.FAILED, "interrupted");
+        } catch (Exception e) {
+            deleteQuietly(target);
+            finish(State.FAILED, e.getMessage());
+        }
+        return status();
+    }
+
+    private void copyDoctors(IndexCoordinates target) throws InterruptedException, ExecutionException {
+        Semaphore inFlight = new Semaphore(parallelism);
+        List<Future<?>> writes = new ArrayList<>();
+        UUID after = null;
+        while (failed.get() == 0) {
+            UUID cursor = after;
+            Batch batch = transactions.execute(tx -> readBatch(cursor));
+            if (batch == null || batch.ids().isEmpty()) {
+                break;
+            }
+            after = batch.ids().get(batch.ids().size() - 1);
+            inFlight.acquire();
+            writes.add(writers.submit(() -> {
+                try {
+                    write(batch.queries(), target);
+                } finally {
+                    inFlight.release();
+                }
+            }));
+            if (batch.ids().size() < batchSize) {
+                break;
+            }
+        }
+        for (Future<?> write : writes) {
+            write.get();
+        }
+    }
+
+    private Batch readBatch(UUID after) {
+        PageRequest page = PageRequest.of(0, batchSize);
+        List<UUID> ids = after == null
+                ? doctorRepository.findIdsForIndexing(page)
+                : doctorRepository.findIdsForIndexingAfter(after, page);
+        if (ids.isEmpty()) {
+            return new Batch(ids, List.of());
+        }
+        // Re-checked here: a doctor can be delisted between the cursor page and this read
+        List<Doctor> doctors = doctorRepository.findWithQualificationsByIdIn(ids).stream()
+                .filter(SuggestionService::listed)
+                .toList();
+        List<IndexQuery> queries = documentAssembler.assemble(doctors).stream()
+                .map(document -> new IndexQueryBuilder().withId(document.getId()).withObject(document).build())
+                .toList();
+        return new Batch(ids, queries);
+    }
+
+    private void write(List<IndexQuery> page, IndexCoordinates target) {
+        try {
+            operations.bulkIndex(page, target);
+            indexed.addAndGet(page.size());
+        } catch (BulkFailureException e) {
+            int failures = e.getFailedDocuments().size();
+            failed.addAndGet(failures);
+            indexed.addAndGet(page.size() - failures);
+        } catch (RuntimeException e) {
+            failed.addAndGet(page.size());
+            log.warn("Doctor bulk request to {} failed: {}", target.getIndexName(), e.getMessage());
+        }
+        log.event("doctor_reindex_progress")
+           .with("index", target.getIndexName())
+           .with("indexed", indexed.get())
+           .with("failed", failed.get())
+           .log();
+    }
+
+    private void createIndex(String name) {
+        IndexOperations template = operations.indexOps(DoctorDocument.class);
+        operations.indexOps(IndexCoordinates.of(name))
+                .create(template.createSettings(), template.createMapping(DoctorDocument.class));
+    }
+
+    private void swapAlias(String target) {
+        IndexOperations aliasOps = operations.indexOps(IndexCoordinates.of(ALIAS));
+        Set<String> previous = aliasedIndices(aliasOps);
+        List<AliasAction> actions = new ArrayList<>();
+        if (previous.isEmpty() && aliasOps.exists()) {
+            // Deployments from before the alias have a concrete "doctors" index; drop it in the same request
+            actions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(ALIAS).build()));
+        }
+        for (String old : previous) {
+            actions.add(new AliasAction.Remove(AliasActionParameters.builder().withIndices(old).withAliases(ALIAS).build()));
+        }
+        actions.add(new AliasAction.Add(AliasActionParameters.builder().withIndices(target).withAliases(ALIAS).build()));
+        aliasOps.alias(new AliasActions(actions.toArray(AliasAction[]::new)));
+        previous.forEach(this::deleteQuietly);
+    }
+
+    private Set<String> aliasedIndices(IndexOperations aliasOps) {
+        try {
+            return aliasOps.getAliases(ALIAS).keySet();
+        } catch (RuntimeException e) {
+            // Elasticsearch answers 404 when the alias does not exist yet
+            return Set.of();
+        }
+    }
+
+    private void deleteQuietly(String name) {
+        try {
+            operations.indexOps(IndexCoordinates.of(name)).delete();
+        } catch (RuntimeException e) {
+            log.warn("Could not delete doctor index {}: {}", name, e.getMessage());
+        }
+    }
+
+    private String nextIndexName() {
+        return ALIAS + "-" + GENERATION.format(clock.instant());
+    }
+
+    private void begin(String target) {
+        index = target;
+        indexed.set(0);
+        failed.set(0);
+        startedAt = clock.instant();
+        finishedAt = null;
+        error = null;
+        state = State.RUNNING;
+        log.event("doctor_reindex_started").with("index", target).log();
+    }
+
+    private void finish(State result, String message) {
+        finishedAt = clock.instant();
+        error = message;
+        state = result;
+        log.event("doctor_reindex_finished")
+           .with("index", index)
+           .with("state", result.name())
+           .with("indexed", indexed.get())
+           .with("failed", failed.get())
+           .with("durationMs", finishedAt.toEpochMilli() - startedAt.toEpochMilli())
+           .with("error", message)
+           .log();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        writers.shutdownNow();
+    }
+}
@@ -0,0 +1,114 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.organization.entity.Facility;
+import com.healthlink.domain.organization.entity.ServiceOffering;
+import com.healthlink.domain.organization.repository.FacilityRepository;
+import com.healthlink.domain.organization.repository.ServiceOfferingRepository;
+import com.healthlink.domain.search.document.DoctorDocument;
+import com.healthlink.domain.user.entity.Doctor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Builds search documents for doctors, fetching facilities and service offerings for a whole
+ * batch of doctors in two queries instead of one per doctor and per facility.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "true", matchIfMissing = false)
+public class DoctorDocumentAssembler {
+
+    private final FacilityRepository facilityRepository;
+    private final ServiceOfferingRepository serviceOfferingRepository;
+
+    public DoctorDocument assemble(Doctor doctor) {
+        return assemble(List.of(doctor)).get(0);
+    }
+
+    /**
+     * @return one document per doctor, in the order given
+     */
+    public List<DoctorDocument> assemble(List<Doctor> doctors) {
+        if (doctors.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> doctorIds = doctors.stream().map(Doctor::getId).toList();
+        Map<UUID, List<Facility>> facilitiesByDoctor = facilityRepository.findByDoctorOwnerIdIn(doctorIds).stream()
+                .collect(Collectors.groupingBy(f -> f.getDoctorOwner().getId()));
+
+        List<UUID> facilityIds = facilitiesByDoctor.values().stream()
+                .flatMap(List::stream)
+                .map(Facility::getId)
+                .toList();
+        Map<UUID, List<ServiceOffering>> offeringsByFacility = facilityIds.isEmpty()
+                ? Map.of()
+                : serviceOfferingRepository.findByFacilityIdIn(facilityIds).stream()
+                        .collect(Collectors.groupingBy(o -> o.getFacility().getId()));
+
+        return doctors.stream()
+                .map(d -> toDocument(d, facilitiesByDoctor.getOrDefault(d.getId(), List.of()), offeringsByFacility))
+                .toList();
+    }
+
+    private DoctorDocument toDocument(Doctor doctor, List<Facility> facilities,
+                                      Map<UUID, List<ServiceOffering>> offeringsByFacility) {
+        List<String> facilityNames = facilities.stream().map(Facility::getName).collect(Collectors.toList());
+
+        List<String> services = new ArrayList<>();
+        List<DoctorDocument.FacilitySummaryDocument> facilityDocs = new ArrayList<>();
+
+        for (Facility f : facilities) {
+            List<ServiceOffering> offerings = offeringsByFacility.getOrDefault(f.getId(), Collections.emptyList());
+            services.addAll(offerings.stream().map(ServiceOffering::getName).collect(Collectors.toList()));
+
+            facilityDocs.add(DoctorDocument.FacilitySummaryDocument.builder()
+                    .id(f.getId().toString())
+                    .name(f.getName())
+                    .address(f.getAddress())
+                    .city(f.getCity())
+                    .phoneNumber(f.getPhoneNumber())
+                    .latitude(f.getLatitude())
+                    .longitude(f.getLongitude())
+                    .build());
+        }
+
+        Facility located = facilities.stream()
+                .filter(f -> f.getLatitude() != null && f.getLongitude() != null)
+                .findFirst()
+                .orElse(null);
+        Double fee = doctor.getConsultationFee() != null ? doctor.getConsultationFee().doubleValue() : null;
+
+        return DoctorDocument.builder()
+                .id(doctor.getId().toString())
+                .name(doctor.getFullName())
+                .photoUrl(doctor.getProfilePictureUrl())
+                .email(doctor.getEmail())
+                .specialty(doctor.getSpecialization())
+                .qualifications(String.join(", ", doctor.getQualifications()))
+                .bio(doctor.getBio())
+                .experienceYears(doctor.getYearsOfExperience())
+                // City and location come from the doctor's first facility
+                .city(facilities.isEmpty() ? null : facilities.get(0).getCity())
+                .location(located != null ? new GeoPoint(located.getLatitude(), located.getLongitude()) : null)
+                .averageRating(doctor.getAverageRating())
+                .totalReviews(doctor.getTotalReviews())
+                .consultationFee(doctor.getConsultationFee())
+                .minConsultationFee(fee)
+                .maxConsultationFee(fee)
+                .facilityNames(facilityNames)
+                .services(services.stream().distinct().collect(Collectors.toList()))
+                .isAvailable(true) // Default to true for now, logic needed for schedule
+                .isAvailableForTelemedicine(true) // Default
+                .facilities(facilityDocs)
+                .build();
+    }
+}
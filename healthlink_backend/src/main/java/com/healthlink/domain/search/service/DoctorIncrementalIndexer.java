@@ -0,0 +1,205 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.search.DoctorIndexChangedEvent;
+import com.healthlink.domain.search.document.DoctorDocument;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps doctor search documents fresh between reindexes.
+ * <p>
+ * Committed doctor, facility and service offering writes arrive as {@link DoctorIndexChangedEvent}s
+ * and are coalesced per doctor. A doctor is written once no change has arrived for
+ * {@code debounce-ms}, or at the latest {@code max-delay-ms} after its first pending change, so a
+ * burst of edits costs one update. Due doctors go to Elasticsearch as partial-document upserts in
+ * one {@code _bulk} request per {@code batch-size}; fields this service does not build are left
+ * untouched. Doctors that are no longer listed (see {@link SuggestionService#listed}) or no longer
+ * exist are removed from the index.
+ * <p>
+ * While {@link DoctorBulkIndexer} runs, changes are held and applied to the new index after the
+ * alias swap. A failed bulk request puts its doctors back in the queue.
+ * <p>
+ * Metrics: {@code healthlink.search.index.pending} (doctors waiting),
+ * {@code healthlink.search.index.oldest.pending} (seconds since the oldest waiting change),
+ * {@code healthlink.search.index.lag} (change-to-indexed time) and
+ * {@code healthlink.search.index.updates} (tag {@code result}).
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "true", matchIfMissing = false)
+public class DoctorIncrementalIndexer {
+
+    private record Pending(Instant firstChangedAt, Instant lastChangedAt) {
+        Pending merge(Pending other) {
+            return new Pending(
+                    firstChangedAt.isBefore(other.firstChangedAt) ? firstChangedAt : other.firstChangedAt,
+                    lastChangedAt.isAfter(other.lastChangedAt) ? lastChangedAt : other.lastChangedAt);
+        }
+    }
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorDocumentAssembler documentAssembler;
+    private final ElasticsearchOperations operations;
+    private final DoctorBulkIndexer bulkIndexer;
+    private final TransactionOperations transactions;
+    private final Duration debounce;
+    private final Duration maxDelay;
+    private final int batchSize;
+    private final Clock clock;
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final Timer lag;
+    private final Counter updated;
+    private final Counter failed;
+    private final SafeLogger log = SafeLogger.get(DoctorIncrementalIndexer.class);
+
+    @Autowired
+    public DoctorIncrementalIndexer(
+            DoctorRepository doctorRepository,
+            DoctorDocumentAssembler documentAssembler,
+            ElasticsearchOperations operations,
+            DoctorBulkIndexer bulkIndexer,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${healthlink.search.incremental.debounce-ms:2000}") long debounceMs,
+            @Value("${healthlink.search.incremental.max-delay-ms:30000}") long maxDelayMs,
+            @Value("${healthlink.search.incremental.batch-size:200}") int batchSize) {
+        this(doctorRepository, documentAssembler, operations, bulkIndexer, readOnly(transactionManager), meterRegistry,
+                Duration.ofMillis(debounceMs), Duration.ofMillis(maxDelayMs), batchSize, Clock.systemUTC());
+    }
+
+    DoctorIncrementalIndexer(DoctorRepository doctorRepository, DoctorDocumentAssembler documentAssembler,
+                             ElasticsearchOperations operations, DoctorBulkIndexer bulkIndexer,
+                             TransactionOperations transactions, MeterRegistry meterRegistry,
+                             Duration debounce, Duration maxDelay, int batchSize, Clock clock) {
+        this.doctorRepository = doctorRepository;
+        this.documentAssembler = documentAssembler;
+        this.operations = operations;
+        this.bulkIndexer = bulkIndexer;
+        this.transactions = transactions;
+        this.debounce = debounce;
+        this.maxDelay = maxDelay;
+        this.batchSize = batchSize;
+        this.clock = clock;
+        Gauge.builder("healthlink.search.index.pending", pending, Map::size)
+                .description("Doctors with changes not yet written to the search index")
+                .register(meterRegistry);
+        Gauge.builder("healthlink.search.index.oldest.pending", this, DoctorIncrementalIndexer::oldestPendingSeconds)
+                .description("Seconds since the oldest change not yet written to the search index")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.lag = Timer.builder("healthlink.search.index.lag")
+                .description("Time from a committed change to its search index update")
+                .register(meterRegistry);
+        this.updated = Counter.builder("healthlink.search.index.updates").tag("result", "success").register(meterRegistry);
+        this.failed = Counter.builder("healthlink.search.index.updates").tag("result", "failure").register(meterRegistry);
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorIndexChangedEvent event) {
+        pending.merge(event.doctorId(), new Pending(event.changedAt(), event.changedAt()), Pending::merge);
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.search.incremental.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty() || bulkIndexer.isRunning()) {
+            return;
+        }
+        Map<UUID, Pending> due;
+        while (!(due = takeDue(clock.instant())).isEmpty()) {
+            if (!write(due)) {
+                return;
+            }
+        }
+    }
+
+    private Map<UUID, Pending> takeDue(Instant now) {
+        Map<UUID, Pending> due = new LinkedHashMap<>();
+        for (Map.Entry<UUID, Pending> entry : pending.entrySet()) {
+            if (due.size() >= batchSize) {
+                break;
+            }
+            Pending change = entry.getValue();
+            boolean quiet = !now.isBefore(change.lastChangedAt().plus(debounce));
+            boolean overdue = !now.isBefore(change.firstChangedAt().plus(maxDelay));
+            // remove(key, value) skips doctors that changed again since we looked
+            if ((quiet || overdue) && pending.remove(entry.getKey(), change)) {
+                due.put(entry.getKey(), change);
+            }
+        }
+        return due;
+    }
+
+    private boolean write(Map<UUID, Pending> due) {
+        IndexCoordinates alias = IndexCoordinates.of(DoctorBulkIndexer.ALIAS);
+        try {
+            List<DoctorDocument> documents = transactions.execute(tx -> documentAssembler.assemble(
+                    doctorRepository.findWithQualificationsByIdIn(due.keySet()).stream()
+                            .filter(SuggestionService::listed)
+                            .toList()));
+            List<UpdateQuery> updates = documents.stream()
+                    .map(document -> UpdateQuery.builder(document.getId())
+                            .withDocument(operations.getElasticsearchConverter().mapObject(document))
+                            .withDocAsUpsert(true)
+                            .build())
+                    .toList();
+            if (!updates.isEmpty()) {
+                operations.bulkUpdate(updates, alias);
+            }
+            Set<String> found = documents.stream().map(DoctorDocument::getId).collect(Collectors.toSet());
+            due.keySet().stream()
+                    .map(UUID::toString)
+                    .filter(id -> !found.contains(id))
+                    .forEach(id -> operations.delete(id, alias));
+        } catch (RuntimeException e) {
+            due.forEach((doctorId, change) -> pending.merge(doctorId, change, Pending::merge));
+            failed.increment(due.size());
+            log.warn("Incremental doctor index update failed for {} doctors: {}", due.size(), e.getMessage());
+            return false;
+        }
+        Instant now = clock.instant();
+        due.values().forEach(change -> lag.record(Duration.between(change.firstChangedAt(), now)));
+        updated.increment(due.size());
+        return true;
+    }
+
+    private double oldestPendingSeconds() {
+        Instant now = clock.instant();
+        return pending.values().stream()
+                .map(Pending::firstChangedAt)
+                .min(Instant::compareTo)
+                .map(oldest -> Duration.between(oldest, now).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+}
@@ -0,0 +1,281 @@
+package com.healthlink.domain.search.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthlink.domain.search.DoctorIndexChangedEvent;
+import com.healthlink.domain.search.dto.DoctorSearchPage;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Short-lived cache of doctor search pages, shared by both search engines.
+ * <p>
+ * Requests are first normalized (trimmed, whitespace collapsed, free text and area lower-cased,
+ * defaults filled in) and the normalized request is both the cache key and what the engine runs,
+ * so "Cardiologist  Lahore" and "cardiologist lahore" share one entry and get identical results.
+ * Distance searches are not cached: their coordinates rarely repeat.
+ * <p>
+ * Every committed {@link DoctorIndexChangedEvent} advances a generation that is part of the key,
+ * so older entries stop being read and age out within {@code ttl-ms}. The TTL also bounds how
+ * long a page can lag behind the Elasticsearch incremental indexer.
+ * <p>
+ * Entries live in Caffeine on each node. With {@code redis-enabled}, pages are also shared through
+ * Redis under the same TTL, and the generation is a Redis counter that every node increments on
+ * its own changes and re-reads every {@code generation-poll-ms}. Redis errors degrade to the
+ * local tier for {@value #REDIS_RETRY_SECONDS} seconds.
+ * <p>
+ * Metric: {@code healthlink.search.cache.requests} (tag {@code result}: local_hit, redis_hit,
+ * miss, bypass).
+ */
+@Component
+public class DoctorSearchCache {
+
+    static final String GENERATION_KEY = "search:doctors:generation";
+    private static final String PAGE_KEY_PREFIX = "search:doctors:page:";
+    static final long REDIS_RETRY_SECONDS = 30;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private record Key(String variant, long sharedGeneration, long localGeneration, DoctorSearchRequest request) {}
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final long generationPollNanos;
+    private final LongSupplier nanoClock;
+    private final Cache<Key, DoctorSearchPage> pages;
+    // Bumped on every local change, so this node never reads its own stale entries
+    private final AtomicLong localGeneration = new AtomicLong();
+    // The Redis counter as last seen; always 0 without Redis
+    private final AtomicLong sharedGeneration = new AtomicLong();
+    private final AtomicLong unsentIncrements = new AtomicLong();
+    private volatile long generationReadAtNanos;
+    private volatile long redisRetryAtNanos;
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter bypassed;
+    private final SafeLogger log = SafeLogger.get(DoctorSearchCache.class);
+
+    @Autowired
+    public DoctorSearchCache(
+            RedisTemplate<String, String> redisTemplate,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${healthlink.search.cache.redis-enabled:false}") boolean redisEnabled,
+            @Value("${healthlink.search.cache.ttl-ms:30000}") long ttlMs,
+            @Value("${healthlink.search.cache.max-entries:10000}") long maxEntries,
+            @Value("${healthlink.search.cache.generation-poll-ms:1000}") long generationPollMs) {
+        this(redisEnabled ? redisTemplate : null, objectMapper, meterRegistry, Duration.ofMillis(ttlMs), maxEntries,
+                Duration.ofMillis(generationPollMs), System::nanoTime);
+    }
+
+    DoctorSearchCache(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                      Duration ttl, long maxEntries, Duration generationPoll, LongSupplier nanoClock) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.generationPollNanos = generationPoll.toNanos();
+        this.nanoClock = nanoClock;
+        this.generationReadAtNanos = nanoClock.getAsLong() - generationPollNanos;
+        this.redisRetryAtNanos = nanoClock.getAsLong();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl.isZero() ? Duration.ofNanos(1) : ttl)
+                .ticker(nanoClock::getAsLong)
+                .build();
+        this.localHits = counter(meterRegistry, "local_hit");
+        this.redisHits = counter(meterRegistry, "redis_hit");
+        this.misses = counter(meterRegistry, "miss");
+        this.bypassed = counter(meterRegistry, "bypass");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("healthlink.search.cache.requests")
+                .description("Doctor search requests by cache outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The cached page for the normalized request, or the result of running {@code search} on it.
+     * {@code variant} separates result shapes of the same request (for example with and without facets).
+     */
+    public DoctorSearchPage get(String variant, DoctorSearchRequest request,
+                                Function<DoctorSearchRequest, DoctorSearchPage> search) {
+        DoctorSearchRequest normalized = normalize(request);
+        if (ttl.isZero() || normalized.getLatitude() != null || normalized.getLongitude() != null) {
+            bypassed.increment();
+            return search.apply(normalized);
+        }
+        long shared = currentSharedGeneration();
+        Key key = new Key(variant, shared, localGeneration.get(), normalized);
+        DoctorSearchPage cached = pages.getIfPresent(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached;
+        }
+        String redisKey = redisUsable() ? redisKey(key) : null;
+        DoctorSearchPage fromRedis = readShared(redisKey);
+        if (fromRedis != null) {
+            redisHits.increment();
+            pages.put(key, fromRedis);
+            return fromRedis;
+        }
+        misses.increment();
+        DoctorSearchPage page = search.apply(normalized);
+        pages.put(key, page);
+        writeShared(redisKey, page);
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorIndexChangedEvent event) {
+        localGeneration.incrementAndGet();
+        if (redisTemplate == null) {
+            return;
+        }
+        unsentIncrements.incrementAndGet();
+        if (redisUsable()) {
+            syncSharedGeneration();
+        }
+    }
+
+    /**
+     * Same search, spelled canonically. Only rewrites that cannot change results: free text and
+     * area are matched case-insensitively by both engines, specialty and city are not.
+     */
+    static DoctorSearchRequest normalize(DoctorSearchRequest request) {
+        Integer pageSize = request.getPageSize();
+        if (pageSize == null) {
+            pageSize = DoctorSearchQueryBuilder.DEFAULT_PAGE_SIZE;
+        } else if (pageSize > DoctorSearchQueryBuilder.MAX_PAGE_SIZE) {
+            pageSize = DoctorSearchQueryBuilder.MAX_PAGE_SIZE;
+        }
+        return DoctorSearchRequest.builder()
+                .query(lowerCase(collapse(request.getQuery())))
+                .specialty(collapse(request.getSpecialty()))
+                .city(collapse(request.getCity()))
+                .area(lowerCase(collapse(request.getArea())))
+                .minRating(request.getMinRating())
+                .availableOnly(Boolean.TRUE.equals(request.getAvailableOnly()) ? Boolean.TRUE : null)
+                .minFee(request.getMinFee())
+                .maxFee(request.getMaxFee())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .radiusKm(request.getRadiusKm())
+                .sortBy(collapse(request.getSortBy()))
+                .pageSize(pageSize)
+                .searchAfter(request.getSearchAfter() == null || request.getSearchAfter().isEmpty()
+                        ? null : new ArrayList<>(request.getSearchAfter()))
+                .build();
+    }
+
+    private static String collapse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(value.trim()).replaceAll(" ");
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private long currentSharedGeneration() {
+        if (redisUsable() && nanoClock.getAsLong() - generationReadAtNanos >= generationPollNanos) {
+            syncSharedGeneration();
+        }
+        return sharedGeneration.get();
+    }
+
+    /** Sends increments not yet in Redis, or re-reads the counter when there are none. */
+    private void syncSharedGeneration() {
+        long increments = unsentIncrements.getAndSet(0);
+        try {
+            Long value;
+            if (increments > 0) {
+                value = redisTemplate.opsForValue().increment(GENERATION_KEY, increments);
+            } else {
+                String stored = redisTemplate.opsForValue().get(GENERATION_KEY);
+                value = stored == null ? 0L : Long.parseLong(stored);
+            }
+            if (value != null) {
+                sharedGeneration.set(value);
+            }
+            generationReadAtNanos = nanoClock.getAsLong();
+        } catch (RuntimeException e) {
+            unsentIncrements.addAndGet(increments);
+            redisFailed(e);
+        }
+    }
+
+    private DoctorSearchPage readShared(String redisKey) {
+        if (redisKey == null) {
+            return null;
+        }
+        try {
+            String json = redisTemplate.opsForValue().get(redisKey);
+            return json == null ? null : objectMapper.readValue(json, DoctorSearchPage.class);
+        } catch (JsonProcessingException e) {
+            return null;
+        } catch (RuntimeException e) {
+            redisFailed(e);
+            return null;
+        }
+    }
+
+    private void writeShared(String redisKey, DoctorSearchPage page) {
+        if (redisKey == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(page),
+                    ttl.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (JsonProcessingException e) {
+            log.warn("Doctor search page not shared: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            redisFailed(e);
+        }
+    }
+
+    private String redisKey(Key key) {
+        try {
+            String signature = key.variant() + '\n' + objectMapper.writeValueAsString(key.request());
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(signature.getBytes(StandardCharsets.UTF_8));
+            return PAGE_KEY_PREFIX + key.sharedGeneration() + ':' + HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private boolean redisUsable() {
+        return redisTemplate != null && nanoClock.getAsLong() - redisRetryAtNanos >= 0;
+    }
+
+    private void redisFailed(RuntimeException e) {
+        redisRetryAtNanos = nanoClock.getAsLong() + TimeUnit.SECONDS.toNanos(REDIS_RETRY_SECONDS);
+        log.warn("Doctor search cache using the local tier only for {}s: {}", REDIS_RETRY_SECONDS, e.getMessage());
+    }
+}
@@ -0,0 +1,20 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.search.dto.DoctorSearchPage;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+
+/**
+ * Paged doctor search. {@link DoctorSearchService} answers from Elasticsearch when
+ * {@code spring.data.elasticsearch.repositories.enabled=true}; otherwise
+ * {@link DatabaseDoctorSearchService} answers from PostgreSQL.
+ * <p>
+ * The {@code nextSearchAfter} of a page is only meaningful to the engine that produced it.
+ */
+public interface DoctorSearchEngine {
+
+    /**
+     * @throws IllegalArgumentException if the request has inconsistent bounds or coordinates,
+     *                                  or uses a filter this engine cannot apply
+     */
+    DoctorSearchPage searchPage(DoctorSearchRequest request);
+}
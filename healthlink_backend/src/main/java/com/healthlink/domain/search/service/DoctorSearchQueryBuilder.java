@@ -0,0 +1,286 @@
+package com.healthlink.domain.search.service;
+
+import co.elastic.clients.elasticsearch._types.DistanceUnit;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.AggregationRange;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the single Elasticsearch request behind a doctor search.
+ * <p>
+ * Every filter is a non-scoring clause of one bool query, so Elasticsearch does all of the
+ * narrowing and the service no longer post-filters in Java. Only the free-text part scores.
+ * Pages are read with {@code search_after} on the sort values of the last hit, with the doctor
+ * id as tie-breaker so pages never overlap. Facet counts ride along on the first page only.
+ * <p>
+ * Each method adds its clause only when given a value, so callers can chain them blindly:
+ * <pre>
+ * DoctorSearchQueryBuilder.create().specialty("Cardiology").minRating(4.0).within(24.86, 67.0, 10).build();
+ * </pre>
+ */
+public final class DoctorSearchQueryBuilder {
+
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    static final int FACET_SIZE = 20;
+
+    public static final String FACET_SPECIALTY = "specialty";
+    public static final String FACET_CITY = "city";
+    public static final String FACET_RATING = "rating";
+    public static final String FACET_FEE = "fee";
+
+    private final List<Query> filters = new ArrayList<>();
+    private Query textQuery;
+    private Double latitude;
+    private Double longitude;
+    private String sortBy;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private List<Object> searchAfter;
+    private boolean facets = true;
+
+    private DoctorSearchQueryBuilder() {
+    }
+
+    public static DoctorSearchQueryBuilder create() {
+        return new DoctorSearchQueryBuilder();
+    }
+
+    /**
+     * Maps every field of the request onto the builder.
+     *
+     * @throws IllegalArgumentException if the request has inconsistent bounds or coordinates
+     */
+    public static DoctorSearchQueryBuilder from(DoctorSearchRequest request) {
+        DoctorSearchQueryBuilder builder = create()
+                .text(request.getQuery())
+                .specialty(request.getSpecialty())
+                .city(request.getCity())
+                .area(request.getArea())
+                .feeBetween(request.getMinFee(), request.getMaxFee())
+                .minRating(request.getMinRating())
+                .availableOnly(request.getAvailableOnly())
+                .sortBy(request.getSortBy())
+                .pageSize(request.getPageSize())
+                .searchAfter(request.getSearchAfter());
+        if (request.getLatitude() != null || request.getLongitude() != null) {
+            builder.within(request.getLatitude(), request.getLongitude(), request.getRadiusKm());
+        } else if (request.getRadiusKm() != null) {
+            throw new IllegalArgumentException("radiusKm requires latitude and longitude");
+        }
+        return builder;
+    }
+
+    /** Matches the doctor's name and qualifications, and specialty by substring. */
+    public DoctorSearchQueryBuilder text(String query) {
+        if (isBlank(query)) {
+            return this;
+        }
+        String text = query.trim();
+        textQuery = Query.of(q -> q.bool(b -> b
+                .should(s -> s.match(m -> m.field("name").query(text).fuzziness("AUTO")))
+                .should(s -> s.wildcard(w -> w.field("specialty").value(contains(text)).caseInsensitive(true)))
+                .should(s -> s.match(m -> m.field("qualifications").query(text)))
+                .minimumShouldMatch("1")));
+        return this;
+    }
+
+    public DoctorSearchQueryBuilder specialty(String specialty) {
+        if (!isBlank(specialty)) {
+            filters.add(Query.of(q -> q.term(t -> t.field("specialty").value(specialty))));
+        }
+        return this;
+    }
+
+    public DoctorSearchQueryBuilder city(String city) {
+        if (!isBlank(city)) {
+            filters.add(Query.of(q -> q.term(t -> t.field("city").value(city))));
+        }
+        return this;
+    }
+
+    /** Case-insensitive substring match, as areas are often typed partially ("Clifton" for "Clifton Block 5"). */
+    public DoctorSearchQueryBuilder area(String area) {
+        if (!isBlank(area)) {
+            filters.add(Query.of(q -> q.wildcard(w -> w.field("area").value(contains(area.trim())).caseInsensitive(true))));
+        }
+        return this;
+    }
+
+    /**
+     * Keeps doctors whose fee range overlaps [minFee, maxFee], i.e. who offer at least one
+     * consultation within the budget.
+     */
+    public DoctorSearchQueryBuilder feeBetween(Double minFee, Double maxFee) {
+        if (minFee != null && minFee < 0 || maxFee != null && maxFee < 0) {
+            throw new IllegalArgumentException("Fee bounds must not be negative");
+        }
+        if (minFee != null && maxFee != null && minFee > maxFee) {
+            throw new IllegalArgumentException("minFee must not exceed maxFee");
+        }
+        if (minFee != null) {
+            filters.add(Query.of(q -> q.range(r -> r.number(n -> n.field("maxConsultationFee").gte(minFee)))));
+        }
+        if (maxFee != null) {
+            filters.add(Query.of(q -> q.range(r -> r.number(n -> n.field("minConsultationFee").lte(maxFee)))));
+        }
+        return this;
+    }
+
+    public DoctorSearchQueryBuilder minRating(Double minRating) {
+        if (minRating != null) {
+            filters.add(Query.of(q -> q.range(r -> r.number(n -> n.field("averageRating").gte(minRating)))));
+        }
+        return this;
+    }
+
+    public DoctorSearchQueryBuilder availableOnly(Boolean availableOnly) {
+        if (Boolean.TRUE.equals(availableOnly)) {
+            filters.add(Query.of(q -> q.term(t -> t.field("isAvailable").value(true))));
+        }
+        return this;
+    }
+
+    /**
+     * Keeps doctors practising within {@code radiusKm} of the point and makes distance sorting
+     * available. Without a radius the point is only used for sorting.
+     */
+    public DoctorSearchQueryBuilder within(Double latitude, Double longitude, Double radiusKm) {
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("latitude/longitude out of range");
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+        if (radiusKm != null) {
+            if (radiusKm <= 0) {
+                throw new IllegalArgumentException("radiusKm must be positive");
+            }
+            filters.add(Query.of(q -> q.geoDistance(g -> g
+                    .field("location")
+                    .distance(radiusKm + "km")
+                    .location(l -> l.latlon(ll -> ll.lat(latitude).lon(longitude))))));
+        }
+        return this;
+    }
+
+    /** rating (default), experience, fee, distance, or relevance (default when searching by text). */
+    public DoctorSearchQueryBuilder sortBy(String sortBy) {
+        this.sortBy = sortBy;
+        return this;
+    }
+
+    public DoctorSearchQueryBuilder pageSize(Integer pageSize) {
+        if (pageSize != null) {
+            if (pageSize < 1) {
+                throw new IllegalArgumentException("pageSize must be positive");
+            }
+            this.pageSize = Math.min(pageSize, MAX_PAGE_SIZE);
+        }
+        return this;
+    }
+
+    /** Sort values of the last hit of the previous page; facets are skipped for follow-up pages. */
+    public DoctorSearchQueryBuilder searchAfter(List<Object> searchAfter) {
+        if (searchAfter != null && !searchAfter.isEmpty()) {
+            this.searchAfter = List.copyOf(searchAfter);
+            this.facets = false;
+        }
+        return this;
+    }
+
+    public DoctorSearchQueryBuilder withoutFacets() {
+        this.facets = false;
+        return this;
+    }
+
+    /** The bool query on its own: all filters, plus the text query when one was given. */
+    public Query query() {
+        BoolQuery.Builder bool = new BoolQuery.Builder().filter(filters);
+        if (textQuery != null) {
+            bool.must(textQuery);
+        }
+        return Query.of(q -> q.bool(bool.build()));
+    }
+
+    public List<SortOptions> sorts() {
+        List<SortOptions> sorts = new ArrayList<>();
+        String sort = sortBy != null ? sortBy : (textQuery != null ? "relevance" : "rating");
+        switch (sort) {
+            case "relevance" -> sorts.add(SortOptions.of(s -> s.score(sc -> sc.order(SortOrder.Desc))));
+            case "experience" -> sorts.add(fieldSort("experienceYears", SortOrder.Desc));
+            case "fee" -> sorts.add(fieldSort("minConsultationFee", SortOrder.Asc));
+            case "distance" -> {
+                if (latitude == null) {
+                    throw new IllegalArgumentException("Sorting by distance requires latitude and longitude");
+                }
+                sorts.add(SortOptions.of(s -> s.geoDistance(g -> g
+                        .field("location")
+                        .location(l -> l.latlon(ll -> ll.lat(latitude).lon(longitude)))
+                        .order(SortOrder.Asc)
+                        .unit(DistanceUnit.Kilometers))));
+            }
+            default -> sorts.add(fieldSort("averageRating", SortOrder.Desc));
+        }
+        sorts.add(fieldSort("id", SortOrder.Asc));
+        return sorts;
+    }
+
+    public Map<String, Aggregation> aggregations() {
+        Map<String, Aggregation> aggregations = new LinkedHashMap<>();
+        aggregations.put(FACET_SPECIALTY, Aggregation.of(a -> a.terms(t -> t.field("specialty").size(FACET_SIZE))));
+        aggregations.put(FACET_CITY, Aggregation.of(a -> a.terms(t -> t.field("city").size(FACET_SIZE))));
+        aggregations.put(FACET_RATING, Aggregation.of(a -> a.range(r -> r
+                .field("averageRating")
+                .ranges(range("4.5+", 4.5, null), range("4+", 4.0, null), range("3+", 3.0, null)))));
+        aggregations.put(FACET_FEE, Aggregation.of(a -> a.range(r -> r
+                .field("minConsultationFee")
+                .ranges(range("<1000", null, 1000.0), range("1000-2500", 1000.0, 2500.0),
+                        range("2500-5000", 2500.0, 5000.0), range("5000+", 5000.0, null)))));
+        return aggregations;
+    }
+
+    public NativeQuery build() {
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(query())
+                .withSort(sorts())
+                .withPageable(PageRequest.of(0, pageSize))
+                .withTrackTotalHits(true);
+        if (searchAfter != null) {
+            builder.withSearchAfter(searchAfter);
+        }
+        if (facets) {
+            aggregations().forEach(builder::withAggregation);
+        }
+        return builder.build();
+    }
+
+    private static SortOptions fieldSort(String field, SortOrder order) {
+        return SortOptions.of(s -> s.field(f -> f.field(field).order(order)));
+    }
+
+    private static AggregationRange range(String key, Double from, Double to) {
+        return AggregationRange.of(r -> r.key(key).from(from).to(to));
+    }
+
+    private static String contains(String value) {
+        return "*" + value.replace("\\", "\\\\").replace("*", "\\*").replace("?", "\\?") + "*";
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,106 +1,98 @@
 package com.healthlink.domain.search.service;
 
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
 import com.healthlink.domain.search.document.DoctorDocument;
 import com.healthlink.domain.search.dto.DoctorProfileResponse;
+import com.healthlink.domain.search.dto.DoctorSearchPage;
 import com.healthlink.domain.search.dto.DoctorSearchRequest;
 import com.healthlink.domain.search.dto.DoctorSearchResponse;
 import com.healthlink.domain.search.repository.DoctorSearchRepository;
-import com.healthlink.domain.organization.entity.Facility;
-import com.healthlink.domain.organization.entity.ServiceOffering;
-import com.healthlink.domain.organization.repository.FacilityRepository;
-import com.healthlink.domain.organization.repository.ServiceOfferingRepository;
 import com.healthlink.domain.user.entity.Doctor;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
 @RequiredArgsConstructor
 @ConditionalOnProperty(prefix = "spring.data.elasticsearch.repositories", name = "enabled", havingValue = "true", matchIfMissing = false)
-public class DoctorSearchService {
+public class DoctorSearchService implements DoctorSearchEngine {
 
     private final DoctorSearchRepository searchRepository;
-    private final FacilityRepository facilityRepository;
-    private final ServiceOfferingRepository serviceOfferingRepository;
+    private final DoctorDocumentAssembler documentAssembler;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final DoctorSearchCache searchCache;
 
     /**
-     * Search doctors with multiple filters
-     * Uses repository query methods for simple filtering
+     * Search doctors with multiple filters; returns the first page only.
+     * See {@link #searchPage} for pagination and facets.
      */
     public List<DoctorSearchResponse> searchDoctors(DoctorSearchRequest request) {
-        List<DoctorDocument> results = new ArrayList<>();
-
-        // Determine sort order
-        Sort sort = determineSorting(request.getSortBy());
-
-        // Apply filters using repository methods
-        if (request.getQuery() != null && !request.getQuery().isBlank()) {
-            results = searchRepository.findByNameContainingOrSpecialtyContaining(request.getQuery(), request.getQuery());
-        } else if (request.getSpecialty() != null && request.getCity() != null) {
-            results = searchRepository.findBySpecialtyAndCityOrderByAverageRatingDesc(
-                    request.getSpecialty(), request.getCity()
-            );
-        } else if (request.getSpecialty() != null) {
-            results = searchRepository.findBySpecialtyOrderByAverageRatingDesc(request.getSpecialty());
-        } else if (request.getCity() != null) {
-            results = searchRepository.findByCityOrderByAverageRatingDesc(request.getCity());
-        } else if (request.getMinRating() != null) {
-            results = searchRepository.findByAverageRatingGreaterThanEqualOrderByAverageRatingDesc(
-                    request.getMinRating()
-            );
-        } else if (Boolean.TRUE.equals(request.getAvailableOnly())) {
-            results = searchRepository.findByIsAvailableTrueOrderByAverageRatingDesc();
-        } else {
-            // Return all doctors sorted by rating
-            results = StreamSupport.stream(searchRepository.findAll(sort).spliterator(), false)
-                    .collect(Collectors.toList());
-        }
+        return searchCache.get("list", request,
+                normalized -> search(DoctorSearchQueryBuilder.from(normalized).withoutFacets())).getItems();
+    }
 
-        // Post-filter for additional criteria
-        if (request.getArea() != null) {
-            String area = request.getArea().toLowerCase();
-            results = results.stream()
-                    .filter(doc -> doc.getArea() != null && doc.getArea().toLowerCase().contains(area))
-                    .collect(Collectors.toList());
-        }
+    /**
+     * Search doctors with every filter applied by Elasticsearch in one bool query, paged with
+     * search_after and with facet counts on the first page.
+     *
+     * @throws IllegalArgumentException if the request has inconsistent bounds or coordinates
+     */
+    @Override
+    public DoctorSearchPage searchPage(DoctorSearchRequest request) {
+        return searchCache.get("page", request, normalized -> search(DoctorSearchQueryBuilder.from(normalized)));
+    }
 
-        if (request.getMinRating() != null && request.getSpecialty() == null) {
-            double minRating = request.getMinRating();
-            results = results.stream()
-                    .filter(doc -> doc.getAverageRating() != null && doc.getAverageRating() >= minRating)
-                    .collect(Collectors.toList());
-        }
+    private DoctorSearchPage search(DoctorSearchQueryBuilder queryBuilder) {
+        NativeQuery query = queryBuilder.build();
+        SearchHits<DoctorDocument> hits = elasticsearchOperations.search(query, DoctorDocument.class);
 
-        if (Boolean.TRUE.equals(request.getAvailableOnly()) && request.getSpecialty() != null) {
-            results = results.stream()
-                    .filter(doc -> Boolean.TRUE.equals(doc.getIsAvailable()))
-                    .collect(Collectors.toList());
+        List<DoctorSearchResponse> items = hits.getSearchHits().stream()
+                .map(hit -> toResponse(hit.getContent()))
+                .collect(Collectors.toList());
+        List<Object> nextSearchAfter = null;
+        if (!hits.getSearchHits().isEmpty() && hits.getSearchHits().size() == query.getPageable().getPageSize()) {
+            nextSearchAfter = hits.getSearchHit(hits.getSearchHits().size() - 1).getSortValues();
         }
 
-        return results.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return DoctorSearchPage.builder()
+                .items(items)
+                .totalHits(hits.getTotalHits())
+                .nextSearchAfter(nextSearchAfter)
+                .facets(toFacets(hits))
+                .build();
     }
 
-    private Sort determineSorting(String sortBy) {
-        if (sortBy == null) {
-            sortBy = "rating";
+    private Map<String, List<DoctorSearchPage.FacetBucket>> toFacets(SearchHits<DoctorDocument> hits) {
+        if (!(hits.getAggregations() instanceof ElasticsearchAggregations aggregations)) {
+            return Collections.emptyMap();
         }
-        return switch (sortBy) {
-            case "experience" -> Sort.by(Sort.Direction.DESC, "experienceYears");
-            case "fee" -> Sort.by(Sort.Direction.ASC, "consultationFee");
-            default -> Sort.by(Sort.Direction.DESC, "averageRating");
-        };
+        Map<String, List<DoctorSearchPage.FacetBucket>> facets = new LinkedHashMap<>();
+        aggregations.aggregationsAsMap().forEach((name, aggregation) -> {
+            Aggregate aggregate = aggregation.aggregation().getAggregate();
+            if (aggregate.isSterms()) {
+                facets.put(name, aggregate.sterms().buckets().array().stream()
+                        .map(b -> new DoctorSearchPage.FacetBucket(b.key().stringValue(), b.docCount()))
+                        .collect(Collectors.toList()));
+            } else if (aggregate.isRange()) {
+                facets.put(name, aggregate.range().buckets().array().stream()
+                        .map(b -> new DoctorSearchPage.FacetBucket(b.key(), b.docCount()))
+                        .collect(Collectors.toList()));
+            }
+        });
+        return facets;
     }
 
     /**
@@ -209,48 +201,6 @@ public class DoctorSearchService {
      * Index a doctor entity
      */
     public void indexDoctor(Doctor doctor) {
-        List<Facility> facilities = facilityRepository.findByDoctorOwnerId(doctor.getId());
-        List<String> facilityNames = facilities.stream().map(Facility::getName).collect(Collectors.toList());
-        
-        List<String> services = new ArrayList<>();
-        List<DoctorDocument.FacilitySummaryDocument> facilityDocs = new ArrayList<>();
-
-        for (Facility f : facilities) {
-            List<ServiceOffering> offerings = serviceOfferingRepository.findByFacilityId(f.getId());
-            services.addAll(offerings.stream().map(ServiceOffering::getName).collect(Collectors.toList()));
-
-            facilityDocs.add(DoctorDocument.FacilitySummaryDocument.builder()
-                    .id(f.getId().toString())
-                    .name(f.getName())
-                    .address(f.getAddress())
-                    .city(f.getCity())
-                    .phoneNumber(f.getPhoneNumber())
-                    .latitude(f.getLatitude())
-                    .longitude(f.getLongitude())
-                    .build());
-        }
-
-        DoctorDocument doc = DoctorDocument.builder()
-                .id(doctor.getId().toString())
-                .name(doctor.getFullName())
-                .photoUrl(doctor.getProfilePictureUrl())
-                .email(doctor.getEmail())
-                .specialty(doctor.getSpecialization())
-                .qualifications(String.join(", ", doctor.getQualifications()))
-                .bio(doctor.getBio())
-                .experienceYears(doctor.getYearsOfExperience())
-                // City/Area not in Doctor entity? 
-                // Maybe derive from first facility?
-                .averageRating(doctor.getAverageRating())
-                .totalReviews(doctor.getTotalReviews())
-                .consultationFee(doctor.getConsultationFee())
-                .facilityNames(facilityNames)
-                .services(services.stream().distinct().collect(Collectors.toList()))
-                .isAvailable(true) // Default to true for now, logic needed for schedule
-                .isAvailableForTelemedicine(true) // Default
-                .facilities(facilityDocs)
-                .build();
-
-        searchRepository.save(doc);
+        searchRepository.save(documentAssembler.assemble(doctor));
     }
 }
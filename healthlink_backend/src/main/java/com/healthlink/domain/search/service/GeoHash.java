@@ -0,0 +1,64 @@
+package com.healthlink.domain.search.service;
+
+/**
+ * Integer geohash with 25 bits (the precision of a 5-character geohash string, cells of about
+ * 4.9 km by 4.9 km at the equator). Longitude and latitude bits are interleaved longitude first,
+ * exactly as in base32 geohashes, so a cell's hash equals its geohash string decoded as a number.
+ * Cells are also addressed by column and row, which makes neighbours a step of one away.
+ */
+final class GeoHash {
+
+    static final int LON_BITS = 13;
+    static final int LAT_BITS = 12;
+    static final int COLUMNS = 1 << LON_BITS;
+    static final int ROWS = 1 << LAT_BITS;
+    static final double CELL_LON_DEGREES = 360.0 / COLUMNS;
+    static final double CELL_LAT_DEGREES = 180.0 / ROWS;
+    static final double EARTH_RADIUS_KM = 6371.0;
+    static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180;
+
+    private GeoHash() {
+    }
+
+    static int column(double longitude) {
+        return Math.min(COLUMNS - 1, Math.max(0, (int) ((longitude + 180) / CELL_LON_DEGREES)));
+    }
+
+    static int row(double latitude) {
+        return Math.min(ROWS - 1, Math.max(0, (int) ((latitude + 90) / CELL_LAT_DEGREES)));
+    }
+
+    static long hash(double latitude, double longitude) {
+        return hash(column(longitude), row(latitude));
+    }
+
+    static long hash(int column, int row) {
+        long hash = 0;
+        for (int bit = 0; bit < LON_BITS + LAT_BITS; bit++) {
+            int value = bit % 2 == 0
+                    ? column >> (LON_BITS - 1 - bit / 2)
+                    : row >> (LAT_BITS - 1 - bit / 2);
+            hash = (hash << 1) | (value & 1);
+        }
+        return hash;
+    }
+
+    /** Cell width in km at a latitude; cells narrow towards the poles. */
+    static double cellWidthKm(double latitude) {
+        double clamped = Math.min(89.9, Math.abs(latitude));
+        return CELL_LON_DEGREES * KM_PER_DEGREE * Math.cos(Math.toRadians(clamped));
+    }
+
+    static double cellHeightKm() {
+        return CELL_LAT_DEGREES * KM_PER_DEGREE;
+    }
+
+    /** Great-circle distance in km (haversine). */
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,314 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.organization.entity.Facility;
+import com.healthlink.domain.organization.repository.FacilityRepository;
+import com.healthlink.domain.search.DoctorIndexChangedEvent;
+import com.healthlink.domain.search.dto.NearbyDoctorResponse;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Nearest verified doctors to a point, answered from an in-memory geohash grid
+ * ({@link GeoHash}) over the coordinates of doctor-owned facilities.
+ * <p>
+ * A lookup reads the query's cell and then rings of neighbouring cells, and stops once the
+ * {@code limit} nearest doctors are known to be closer than any unread cell, or the rings cover
+ * {@code radiusKm}. A city-wide query reads a few hundred cells at most. Each doctor is returned
+ * once, at their closest facility. {@code openNow} keeps only facilities open at the current time
+ * in {@code healthlink.search.nearby.time-zone}, using the same 09:00-17:00 default as slot listing.
+ * <p>
+ * Sources are loaded at startup and every {@code refresh-interval-ms}; in between, committed
+ * doctor and facility writes arrive as {@link DoctorIndexChangedEvent}s and only those doctors
+ * are re-read on the next {@code flush-interval-ms}. Lookups read an immutable grid that is
+ * swapped after each change.
+ * <p>
+ * Metric: {@code healthlink.search.nearby.locations} (indexed facilities).
+ */
+@Service
+public class NearbyDoctorIndex {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+    static final double DEFAULT_RADIUS_KM = 25;
+    static final double MAX_RADIUS_KM = 100;
+    private static final LocalTime DEFAULT_OPENING = LocalTime.of(9, 0);
+    private static final LocalTime DEFAULT_CLOSING = LocalTime.of(17, 0);
+
+    private record Listing(UUID doctorId, String name, String specialty, Double averageRating, Integer totalReviews,
+                           BigDecimal consultationFee) {}
+
+    private record Location(Listing doctor, UUID facilityId, String facilityName, String city,
+                            double latitude, double longitude, BigDecimal consultationFee,
+                            LocalTime opening, LocalTime closing) {}
+
+    private record Candidate(Location location, double distanceKm, boolean openNow) {}
+
+    private final DoctorRepository doctorRepository;
+    private final FacilityRepository facilityRepository;
+    private final TransactionOperations transactions;
+    private final Clock clock;
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    // Guarded by this; lookups only read the cells map
+    private final Map<UUID, List<Location>> locationsByDoctor = new HashMap<>();
+    private volatile Map<Long, Location[]> cells = Map.of();
+    private volatile int locationCount;
+    private final SafeLogger log = SafeLogger.get(NearbyDoctorIndex.class);
+
+    @Autowired
+    public NearbyDoctorIndex(DoctorRepository doctorRepository,
+                             FacilityRepository facilityRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${healthlink.search.nearby.time-zone:Asia/Karachi}") String timeZone) {
+        this(doctorRepository, facilityRepository, readOnly(transactionManager), meterRegistry,
+                Clock.system(ZoneId.of(timeZone)));
+    }
+
+    NearbyDoctorIndex(DoctorRepository doctorRepository, FacilityRepository facilityRepository,
+                      TransactionOperations transactions, MeterRegistry meterRegistry, Clock clock) {
+        this.doctorRepository = doctorRepository;
+        this.facilityRepository = facilityRepository;
+        this.transactions = transactions;
+        this.clock = clock;
+        Gauge.builder("healthlink.search.nearby.locations", this, index -> index.locationCount)
+                .description("Doctor facilities in the nearby-doctor grid")
+                .register(meterRegistry);
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * Up to {@code limit} doctors within {@code radiusKm} of the point, nearest first.
+     */
+    public List<NearbyDoctorResponse> nearest(double latitude, double longitude, Integer limit, Double radiusKm,
+                                              String specialty, boolean openNow) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        double radius = radiusKm == null ? DEFAULT_RADIUS_KM : radiusKm;
+        if (radius <= 0 || radius > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + MAX_RADIUS_KM);
+        }
+        String wantedSpecialty = specialty == null || specialty.isBlank() ? null : specialty.trim();
+        LocalTime now = LocalTime.now(clock);
+
+        Map<Long, Location[]> grid = cells;
+        Map<UUID, Candidate> closest = new HashMap<>();
+        int column = GeoHash.column(longitude);
+        int row = GeoHash.row(latitude);
+        for (int ring = 0; ; ring++) {
+            for (long cell : ring(column, row, ring)) {
+                Location[] locations = grid.get(cell);
+                if (locations == null) {
+                    continue;
+                }
+                for (Location location : locations) {
+                    if (wantedSpecialty != null && !wantedSpecialty.equalsIgnoreCase(location.doctor().specialty())) {
+                        continue;
+                    }
+                    boolean open = isOpen(location, now);
+                    if (openNow && !open) {
+                        continue;
+                    }
+                    double distance = GeoHash.distanceKm(latitude, longitude, location.latitude(), location.longitude());
+                    if (distance <= radius) {
+                        closest.merge(location.doctor().doctorId(), new Candidate(location, distance, open),
+                                (a, b) -> a.distanceKm() <= b.distanceKm() ? a : b);
+                    }
+                }
+            }
+            // Every unread cell is at least this far away
+            double covered = ring * Math.min(GeoHash.cellHeightKm(),
+                    GeoHash.cellWidthKm(Math.abs(latitude) + (ring + 1) * GeoHash.CELL_LAT_DEGREES));
+            if (covered >= radius || ring >= GeoHash.ROWS
+                    || closest.values().stream().filter(c -> c.distanceKm() <= covered).count() >= size) {
+                break;
+            }
+        }
+        return closest.values().stream()
+                .sorted(Comparator.comparingDouble(Candidate::distanceKm))
+                .limit(size)
+                .map(NearbyDoctorIndex::toResponse)
+                .toList();
+    }
+
+    /** Cells on the square ring at Chebyshev distance {@code ring}; columns wrap at the antimeridian. */
+    private static List<Long> ring(int column, int row, int ring) {
+        if (ring == 0) {
+            return List.of(GeoHash.hash(column, row));
+        }
+        List<Long> hashes = new ArrayList<>(8 * ring);
+        for (int dx = -ring; dx <= ring; dx++) {
+            addCell(hashes, column + dx, row - ring);
+            addCell(hashes, column + dx, row + ring);
+        }
+        for (int dy = -ring + 1; dy < ring; dy++) {
+            addCell(hashes, column - ring, row + dy);
+            addCell(hashes, column + ring, row + dy);
+        }
+        return hashes;
+    }
+
+    private static void addCell(List<Long> hashes, int column, int row) {
+        if (row >= 0 && row < GeoHash.ROWS) {
+            hashes.add(GeoHash.hash(Math.floorMod(column, GeoHash.COLUMNS), row));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorIndexChangedEvent event) {
+        changed.add(event.doctorId());
+    }
+
+    /** Reloads every listed doctor's facilities; the first run happens at startup. */
+    @Scheduled(fixedDelayString = "${healthlink.search.nearby.refresh-interval-ms:900000}")
+    public synchronized void refresh() {
+        // Changes committed while loading stay queued and are re-read by the next flush
+        Set<UUID> covered = new HashSet<>(changed);
+        changed.removeAll(covered);
+        try {
+            Map<UUID, List<Location>> loaded = new HashMap<>();
+            transactions.executeWithoutResult(tx -> {
+                Map<UUID, List<Facility>> facilitiesByDoctor = facilityRepository.findAll().stream()
+                        .filter(facility -> facility.getDoctorOwner() != null)
+                        .collect(Collectors.groupingBy(facility -> facility.getDoctorOwner().getId()));
+                for (Doctor doctor : doctorRepository.findAllVerifiedAndApproved()) {
+                    putLocations(loaded, doctor, facilitiesByDoctor.getOrDefault(doctor.getId(), List.of()));
+                }
+            });
+            locationsByDoctor.clear();
+            locationsByDoctor.putAll(loaded);
+            rebuild();
+        } catch (RuntimeException e) {
+            changed.addAll(covered);
+            log.warn("Nearby doctor index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /** Re-reads doctors changed since the last flush, with their facilities, and rebuilds. */
+    @Scheduled(fixedDelayString = "${healthlink.search.nearby.flush-interval-ms:5000}",
+            initialDelayString = "${healthlink.search.nearby.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<UUID> ids = new HashSet<>(changed);
+        changed.removeAll(ids);
+        try {
+            transactions.executeWithoutResult(tx -> {
+                Map<UUID, List<Facility>> facilitiesByDoctor = facilityRepository.findByDoctorOwnerIdIn(ids).stream()
+                        .collect(Collectors.groupingBy(facility -> facility.getDoctorOwner().getId()));
+                Map<UUID, Doctor> found = doctorRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+                for (UUID id : ids) {
+                    locationsByDoctor.remove(id);
+                    Doctor doctor = found.get(id);
+                    if (doctor != null && SuggestionService.listed(doctor)) {
+                        putLocations(locationsByDoctor, doctor, facilitiesByDoctor.getOrDefault(id, List.of()));
+                    }
+                }
+            });
+            rebuild();
+        } catch (RuntimeException e) {
+            changed.addAll(ids);
+            log.warn("Nearby doctor index update failed for {} doctors: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        Map<Long, List<Location>> grouped = new HashMap<>();
+        int count = 0;
+        for (List<Location> locations : locationsByDoctor.values()) {
+            for (Location location : locations) {
+                grouped.computeIfAbsent(GeoHash.hash(location.latitude(), location.longitude()), cell -> new ArrayList<>())
+                        .add(location);
+                count++;
+            }
+        }
+        Map<Long, Location[]> built = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((cell, locations) -> built.put(cell, locations.toArray(Location[]::new)));
+        cells = built;
+        locationCount = count;
+    }
+
+    private static void putLocations(Map<UUID, List<Location>> target, Doctor doctor, List<Facility> facilities) {
+        Listing listing = new Listing(doctor.getId(), SuggestionService.doctorName(doctor), doctor.getSpecialization(),
+                doctor.getAverageRating(), doctor.getTotalReviews(), doctor.getConsultationFee());
+        List<Location> locations = facilities.stream()
+                .filter(facility -> facility.isActive() && facility.getLatitude() != null && facility.getLongitude() != null)
+                .map(facility -> new Location(listing, facility.getId(), facility.getName(), facility.getCity(),
+                        facility.getLatitude(), facility.getLongitude(), facility.getConsultationFee(),
+                        parseTime(facility.getOpeningTime(), DEFAULT_OPENING),
+                        parseTime(facility.getClosingTime(), DEFAULT_CLOSING)))
+                .toList();
+        if (!locations.isEmpty()) {
+            target.put(doctor.getId(), locations);
+        }
+    }
+
+    private static boolean isOpen(Location location, LocalTime now) {
+        return !now.isBefore(location.opening()) && now.isBefore(location.closing());
+    }
+
+    private static LocalTime parseTime(String value, LocalTime fallback) {
+        try {
+            return value != null ? LocalTime.parse(value) : fallback;
+        } catch (RuntimeException e) {
+            return fallback;
+        }
+    }
+
+    private static NearbyDoctorResponse toResponse(Candidate candidate) {
+        Location location = candidate.location();
+        Listing doctor = location.doctor();
+        return NearbyDoctorResponse.builder()
+                .doctorId(doctor.doctorId().toString())
+                .name(doctor.name())
+                .specialty(doctor.specialty())
+                .averageRating(doctor.averageRating())
+                .totalReviews(doctor.totalReviews())
+                .consultationFee(location.consultationFee() != null ? location.consultationFee() : doctor.consultationFee())
+                .facilityId(location.facilityId().toString())
+                .facilityName(location.facilityName())
+                .city(location.city())
+                .distanceKm(BigDecimal.valueOf(candidate.distanceKm()).setScale(2, RoundingMode.HALF_UP).doubleValue())
+                .openNow(candidate.openNow())
+                .build();
+    }
+}
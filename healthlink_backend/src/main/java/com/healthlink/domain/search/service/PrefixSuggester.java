@@ -0,0 +1,201 @@
+package com.healthlink.domain.search.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable weighted prefix index: the highest-weight entries whose text, or any word-suffix of
+ * it, starts with a prefix.
+ * <p>
+ * Keys live in one sorted array, so a prefix is a contiguous range found with two binary
+ * searches. A range-max tree over the key weights (two ints per key) then yields the top
+ * {@code k} of the range in O(k log n) without visiting the rest, which is what a weighted trie or
+ * FST would answer, at a fixed few bytes per key instead of a node per character.
+ * <p>
+ * "Sara Ahmed" is keyed as "sara ahmed" and "ahmed", so typing a surname finds the doctor;
+ * an entry reached through several keys is returned once.
+ */
+public final class PrefixSuggester {
+
+    /** One suggestible item; {@code id} may be null for entries that are plain text. */
+    public record Entry(String text, String id, double weight) {}
+
+    // Rough heap cost used for the memory budget: String header + array, and per-key slots
+    static final int KEY_OVERHEAD_BYTES = 56;
+    static final int ENTRY_OVERHEAD_BYTES = 160;
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final PrefixSuggester EMPTY = new PrefixSuggester(new String[0], new int[0], new Entry[0]);
+
+    private final String[] keys;
+    private final int[] entryOf;
+    private final Entry[] entries;
+    private final int[] tree;
+
+    private PrefixSuggester(String[] keys, int[] entryOf, Entry[] entries) {
+        this.keys = keys;
+        this.entryOf = entryOf;
+        this.entries = entries;
+        int n = keys.length;
+        this.tree = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            tree[n + i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public static PrefixSuggester empty() {
+        return EMPTY;
+    }
+
+    public static PrefixSuggester build(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        Entry[] entryArray = entries.toArray(Entry[]::new);
+        List<KeyRef> refs = new ArrayList<>();
+        for (int e = 0; e < entryArray.length; e++) {
+            for (String key : keysFor(entryArray[e].text())) {
+                refs.add(new KeyRef(key, e));
+            }
+        }
+        refs.sort(Comparator.comparing(KeyRef::key).thenComparingInt(KeyRef::entry));
+        String[] keys = new String[refs.size()];
+        int[] entryOf = new int[refs.size()];
+        for (int i = 0; i < refs.size(); i++) {
+            keys[i] = refs.get(i).key();
+            entryOf[i] = refs.get(i).entry();
+        }
+        return new PrefixSuggester(keys, entryOf, entryArray);
+    }
+
+    /**
+     * Up to {@code limit} distinct entries matching {@code prefix}, highest weight first; ties go
+     * to the alphabetically first key.
+     */
+    public List<Entry> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || keys.length == 0 || limit < 1) {
+            return List.of();
+        }
+        int from = lowerBound(normalized);
+        int to = lowerBound(normalized + Character.MAX_VALUE);
+        if (from >= to) {
+            return List.of();
+        }
+        List<Entry> result = new ArrayList<>(limit);
+        Set<Integer> seen = new HashSet<>();
+        PriorityQueue<int[]> ranges = new PriorityQueue<>((a, b) -> a[2] == b[2] ? 0 : better(a[2], b[2]) == a[2] ? -1 : 1);
+        ranges.add(new int[]{from, to, argMax(from, to)});
+        while (!ranges.isEmpty() && result.size() < limit) {
+            int[] range = ranges.poll();
+            int best = range[2];
+            if (seen.add(entryOf[best])) {
+                result.add(entries[entryOf[best]]);
+            }
+            if (range[0] < best) {
+                ranges.add(new int[]{range[0], best, argMax(range[0], best)});
+            }
+            if (best + 1 < range[1]) {
+                ranges.add(new int[]{best + 1, range[1], argMax(best + 1, range[1])});
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (Entry entry : entries) {
+            bytes += estimatedBytes(entry);
+        }
+        return bytes;
+    }
+
+    /** Heap estimate for one entry and all of its keys, used to fit a memory budget before building. */
+    static long estimatedBytes(Entry entry) {
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * entry.text().length();
+        for (String key : keysFor(entry.text())) {
+            bytes += KEY_OVERHEAD_BYTES + 2L * key.length();
+        }
+        return bytes;
+    }
+
+    /** Lower-cased, accent-folded words joined by single spaces. */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    /** The normalized text and every suffix of it that starts at a word. */
+    static List<String> keysFor(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>();
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private int lowerBound(String key) {
+        int index = Arrays.binarySearch(keys, key);
+        if (index >= 0) {
+            // Keys repeat when two entries share a text; step back to the first
+            while (index > 0 && keys[index - 1].equals(key)) {
+                index--;
+            }
+            return index;
+        }
+        return -index - 1;
+    }
+
+    /** Key index with the highest entry weight in [from, to). */
+    private int argMax(int from, int to) {
+        int n = keys.length;
+        int best = -1;
+        for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = better(best, tree[l++]);
+            }
+            if ((r & 1) == 1) {
+                best = better(best, tree[--r]);
+            }
+        }
+        return best;
+    }
+
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        int cmp = Double.compare(entries[entryOf[a]].weight(), entries[entryOf[b]].weight());
+        return cmp > 0 || cmp == 0 && a < b ? a : b;
+    }
+
+    private record KeyRef(String key, int entry) {}
+}
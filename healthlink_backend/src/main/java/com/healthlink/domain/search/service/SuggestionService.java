@@ -0,0 +1,330 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.organization.entity.Facility;
+import com.healthlink.domain.organization.repository.FacilityRepository;
+import com.healthlink.domain.record.service.DrugInteractionKnowledgeCache;
+import com.healthlink.domain.search.DoctorIndexChangedEvent;
+import com.healthlink.domain.search.dto.Suggestion;
+import com.healthlink.domain.search.dto.SuggestionType;
+import com.healthlink.domain.search.service.PrefixSuggester.Entry;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.enums.ApprovalStatus;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Autocomplete over doctor names, specialties, facility names and drug names, answered from memory.
+ * Drug names come from the curated vocabulary of {@link DrugInteractionKnowledgeCache#drugVocabulary},
+ * never from prescription text, and are weighted by how often they are prescribed.
+ * <p>
+ * Sources are loaded once at startup and again every {@code refresh-interval-ms}; between full
+ * loads, committed doctor, facility and service offering writes arrive as
+ * {@link DoctorIndexChangedEvent}s and only the changed doctors and their facilities are re-read
+ * on the next {@code flush-interval-ms}. Each load swaps in new immutable {@link PrefixSuggester}s,
+ * so lookups never wait on a rebuild.
+ * <p>
+ * The estimated size of all suggesters is capped by {@code max-memory-bytes}. Over budget, entries
+ * are admitted by their weight relative to the heaviest entry of the same type, so every type keeps
+ * its best entries.
+ * <p>
+ * Metrics: {@code healthlink.search.suggest.entries} and {@code healthlink.search.suggest.bytes}.
+ */
+@Service
+public class SuggestionService {
+
+    static final int DEFAULT_LIMIT = 5;
+    static final int MAX_LIMIT = 20;
+    static final int MAX_PREFIX_LENGTH = 100;
+
+    private record DoctorSource(Entry name, String specialty, List<Entry> facilities) {}
+
+    private final DoctorRepository doctorRepository;
+    private final FacilityRepository facilityRepository;
+    private final DrugInteractionKnowledgeCache drugKnowledge;
+    private final TransactionOperations transactions;
+    private final long maxMemoryBytes;
+    private final int drugLimit;
+    private final long drugMinPrescriptions;
+    private final Set<UUID> changed = ConcurrentHashMap.newKeySet();
+    // Guarded by this; lookups only read the suggesters map
+    private final Map<UUID, DoctorSource> doctors = new HashMap<>();
+    private List<Entry> organizationFacilities = List.of();
+    private List<Entry> drugs = List.of();
+    private volatile Map<SuggestionType, PrefixSuggester> suggesters = Map.of();
+    private volatile long estimatedBytes;
+    private final SafeLogger log = SafeLogger.get(SuggestionService.class);
+
+    @Autowired
+    public SuggestionService(DoctorRepository doctorRepository,
+                             FacilityRepository facilityRepository,
+                             DrugInteractionKnowledgeCache drugKnowledge,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${healthlink.search.suggest.max-memory-bytes:33554432}") long maxMemoryBytes,
+                             @Value("${healthlink.search.suggest.drug-limit:5000}") int drugLimit,
+                             @Value("${healthlink.search.suggest.drug-min-prescriptions:5}") long drugMinPrescriptions) {
+        this(doctorRepository, facilityRepository, drugKnowledge, readOnly(transactionManager), meterRegistry,
+                maxMemoryBytes, drugLimit, drugMinPrescriptions);
+    }
+
+    SuggestionService(DoctorRepository doctorRepository, FacilityRepository facilityRepository,
+                      DrugInteractionKnowledgeCache drugKnowledge, TransactionOperations transactions,
+                      MeterRegistry meterRegistry, long maxMemoryBytes, int drugLimit, long drugMinPrescriptions) {
+        this.doctorRepository = doctorRepository;
+        this.facilityRepository = facilityRepository;
+        this.drugKnowledge = drugKnowledge;
+        this.transactions = transactions;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.drugLimit = drugLimit;
+        this.drugMinPrescriptions = drugMinPrescriptions;
+        Gauge.builder("healthlink.search.suggest.entries", this, SuggestionService::entryCount)
+                .description("Entries held by the autocomplete suggesters")
+                .register(meterRegistry);
+        Gauge.builder("healthlink.search.suggest.bytes", this, service -> service.estimatedBytes)
+                .description("Estimated heap used by the autocomplete suggesters")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    /**
+     * Up to {@code limit} suggestions per requested type (all types when none are given), best first.
+     */
+    public Map<SuggestionType, List<Suggestion>> suggest(String prefix, Set<SuggestionType> types, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (prefix != null && prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("prefix must be at most " + MAX_PREFIX_LENGTH + " characters");
+        }
+        Map<SuggestionType, PrefixSuggester> current = suggesters;
+        Map<SuggestionType, List<Suggestion>> result = new EnumMap<>(SuggestionType.class);
+        for (SuggestionType type : types == null || types.isEmpty() ? Set.of(SuggestionType.values()) : types) {
+            result.put(type, current.getOrDefault(type, PrefixSuggester.empty()).suggest(prefix, size).stream()
+                    .map(entry -> new Suggestion(entry.text(), entry.id()))
+                    .toList());
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorIndexChangedEvent event) {
+        changed.add(event.doctorId());
+    }
+
+    /** Reloads every source; the first run happens at startup. */
+    @Scheduled(fixedDelayString = "${healthlink.search.suggest.refresh-interval-ms:900000}")
+    public synchronized void refresh() {
+        // Changes committed while loading stay queued and are re-read by the next flush
+        Set<UUID> covered = new HashSet<>(changed);
+        changed.removeAll(covered);
+        try {
+            Map<UUID, DoctorSource> loaded = new HashMap<>();
+            List<Entry> orgFacilities = new ArrayList<>();
+            transactions.executeWithoutResult(tx -> {
+                Map<UUID, List<Entry>> facilitiesByDoctor = new HashMap<>();
+                for (Facility facility : facilityRepository.findAll()) {
+                    if (!suggestible(facility)) {
+                        continue;
+                    }
+                    if (facility.getDoctorOwner() == null) {
+                        orgFacilities.add(facilityEntry(facility));
+                    } else {
+                        facilitiesByDoctor.computeIfAbsent(facility.getDoctorOwner().getId(), id -> new ArrayList<>())
+                                .add(facilityEntry(facility));
+                    }
+                }
+                for (Doctor doctor : doctorRepository.findAllVerifiedAndApproved()) {
+                    loaded.put(doctor.getId(), source(doctor, facilitiesByDoctor.getOrDefault(doctor.getId(), List.of())));
+                }
+            });
+            List<Entry> drugEntries = drugKnowledge.drugVocabulary(drugLimit, drugMinPrescriptions).entrySet().stream()
+                    .map(drug -> new Entry(drugLabel(drug.getKey()), null, drug.getValue()))
+                    .toList();
+            doctors.clear();
+            doctors.putAll(loaded);
+            organizationFacilities = orgFacilities;
+            drugs = drugEntries;
+            rebuild();
+        } catch (RuntimeException e) {
+            changed.addAll(covered);
+            log.warn("Autocomplete refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /** Re-reads doctors changed since the last flush, with their facilities, and rebuilds. */
+    @Scheduled(fixedDelayString = "${healthlink.search.suggest.flush-interval-ms:5000}",
+            initialDelayString = "${healthlink.search.suggest.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<UUID> ids = new HashSet<>(changed);
+        changed.removeAll(ids);
+        try {
+            transactions.executeWithoutResult(tx -> {
+                Map<UUID, List<Entry>> facilitiesByDoctor = facilityRepository.findByDoctorOwnerIdIn(ids).stream()
+                        .filter(SuggestionService::suggestible)
+                        .collect(Collectors.groupingBy(facility -> facility.getDoctorOwner().getId(),
+                                Collectors.mapping(SuggestionService::facilityEntry, Collectors.toList())));
+                Map<UUID, Doctor> found = doctorRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Doctor::getId, Function.identity()));
+                for (UUID id : ids) {
+                    Doctor doctor = found.get(id);
+                    if (doctor == null || !listed(doctor)) {
+                        doctors.remove(id);
+                    } else {
+                        doctors.put(id, source(doctor, facilitiesByDoctor.getOrDefault(id, List.of())));
+                    }
+                }
+            });
+            rebuild();
+        } catch (RuntimeException e) {
+            changed.addAll(ids);
+            log.warn("Autocomplete update failed for {} doctors: {}", ids.size(), e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        Map<SuggestionType, List<Entry>> byType = new EnumMap<>(SuggestionType.class);
+        byType.put(SuggestionType.DOCTOR, doctors.values().stream()
+                .map(DoctorSource::name)
+                .filter(Objects::nonNull)
+                .toList());
+        byType.put(SuggestionType.SPECIALTY, specialties());
+        List<Entry> facilities = new ArrayList<>(organizationFacilities);
+        doctors.values().forEach(doctor -> facilities.addAll(doctor.facilities()));
+        byType.put(SuggestionType.FACILITY, facilities);
+        byType.put(SuggestionType.DRUG, drugs);
+
+        Map<SuggestionType, List<Entry>> admitted = withinBudget(byType);
+        Map<SuggestionType, PrefixSuggester> built = new EnumMap<>(SuggestionType.class);
+        long bytes = 0;
+        for (Map.Entry<SuggestionType, List<Entry>> type : admitted.entrySet()) {
+            PrefixSuggester suggester = PrefixSuggester.build(type.getValue());
+            built.put(type.getKey(), suggester);
+            bytes += suggester.estimatedBytes();
+        }
+        suggesters = built;
+        estimatedBytes = bytes;
+    }
+
+    /** Specialties as doctors spelled them, weighted by how many listed doctors have them. */
+    private List<Entry> specialties() {
+        Map<String, String> labels = new LinkedHashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (DoctorSource doctor : doctors.values()) {
+            String key = PrefixSuggester.normalize(doctor.specialty());
+            if (!key.isEmpty()) {
+                labels.putIfAbsent(key, doctor.specialty().trim());
+                counts.merge(key, 1, Integer::sum);
+            }
+        }
+        return labels.entrySet().stream()
+                .map(label -> new Entry(label.getValue(), null, counts.get(label.getKey())))
+                .toList();
+    }
+
+    private Map<SuggestionType, List<Entry>> withinBudget(Map<SuggestionType, List<Entry>> byType) {
+        record Candidate(SuggestionType type, Entry entry, double share, long bytes) {}
+        List<Candidate> candidates = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<SuggestionType, List<Entry>> type : byType.entrySet()) {
+            double max = type.getValue().stream().mapToDouble(Entry::weight).max().orElse(1);
+            for (Entry entry : type.getValue()) {
+                long bytes = PrefixSuggester.estimatedBytes(entry);
+                candidates.add(new Candidate(type.getKey(), entry, max > 0 ? entry.weight() / max : 0, bytes));
+                total += bytes;
+            }
+        }
+        if (total <= maxMemoryBytes) {
+            return byType;
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::share).reversed());
+        Map<SuggestionType, List<Entry>> admitted = new EnumMap<>(SuggestionType.class);
+        long used = 0;
+        int dropped = 0;
+        for (Candidate candidate : candidates) {
+            if (used + candidate.bytes() > maxMemoryBytes) {
+                dropped++;
+                continue;
+            }
+            used += candidate.bytes();
+            admitted.computeIfAbsent(candidate.type(), type -> new ArrayList<>()).add(candidate.entry());
+        }
+        log.warn("Autocomplete memory budget of {} bytes reached; left out {} entries", maxMemoryBytes, dropped);
+        return admitted;
+    }
+
+    private static DoctorSource source(Doctor doctor, List<Entry> facilities) {
+        String name = doctorName(doctor);
+        double rating = doctor.getAverageRating() == null ? 0 : doctor.getAverageRating();
+        int reviews = doctor.getTotalReviews() == null ? 0 : doctor.getTotalReviews();
+        Entry nameEntry = name == null ? null
+                : new Entry(name, doctor.getId().toString(), 1 + rating * Math.log1p(reviews));
+        return new DoctorSource(nameEntry, doctor.getSpecialization(), facilities);
+    }
+
+    // Not User#getFullName: it falls back to the email address, which must not be suggested
+    static String doctorName(Doctor doctor) {
+        if (doctor.getFirstName() != null && doctor.getLastName() != null) {
+            return doctor.getFirstName() + " " + doctor.getLastName();
+        }
+        String fullName = doctor.getFullName();
+        return fullName == null || fullName.equals(doctor.getEmail()) ? null : fullName;
+    }
+
+    // Vocabulary names are stored normalized; "acetylsalicylic acid" reads as "Acetylsalicylic acid"
+    static String drugLabel(String name) {
+        return name.isEmpty() ? name : Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Entry facilityEntry(Facility facility) {
+        return new Entry(facility.getName().trim(), facility.getId().toString(), 1);
+    }
+
+    private static boolean suggestible(Facility facility) {
+        return facility.isActive() && facility.getName() != null && !facility.getName().isBlank();
+    }
+
+    static boolean listed(Doctor doctor) {
+        return doctor.getApprovalStatus() == ApprovalStatus.APPROVED
+                && Boolean.TRUE.equals(doctor.getIsActive())
+                && !doctor.isDeleted();
+    }
+
+    private int entryCount() {
+        return suggesters.values().stream().mapToInt(PrefixSuggester::size).sum();
+    }
+}
@@ -1,5 +1,6 @@
 package com.healthlink.domain.user.entity;
 
+import com.healthlink.domain.search.DoctorIndexEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -15,6 +16,7 @@ import java.util.Set;
  */
 @Entity
 @DiscriminatorValue("DOCTOR")
+@EntityListeners(DoctorIndexEntityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -1,11 +1,14 @@
 package com.healthlink.domain.user.repository;
 
 import com.healthlink.domain.user.entity.Doctor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,4 +33,15 @@ public interface DoctorRepository extends JpaRepository<Doctor, UUID> {
     
     @Query("SELECT d FROM Doctor d WHERE (LOWER(d.specialization) LIKE LOWER(CONCAT('%', :query, '%'))) AND d.approvalStatus = 'APPROVED' AND d.isActive = true AND d.deletedAt IS NULL")
     List<Doctor> searchDoctors(@Param("query") String query);
+
+    /** First page of the id cursor used by bulk search indexing; only listed doctors are indexed. */
+    @Query("SELECT d.id FROM Doctor d WHERE d.approvalStatus = 'APPROVED' AND d.isActive = true AND d.deletedAt IS NULL ORDER BY d.id")
+    List<UUID> findIdsForIndexing(Pageable pageable);
+
+    /** Next page of the id cursor, after the last id of the previous page. */
+    @Query("SELECT d.id FROM Doctor d WHERE d.id > :after AND d.approvalStatus = 'APPROVED' AND d.isActive = true AND d.deletedAt IS NULL ORDER BY d.id")
+    List<UUID> findIdsForIndexingAfter(@Param("after") UUID after, Pageable pageable);
+
+    @EntityGraph(attributePaths = "qualifications")
+    List<Doctor> findWithQualificationsByIdIn(Collection<UUID> ids);
 }
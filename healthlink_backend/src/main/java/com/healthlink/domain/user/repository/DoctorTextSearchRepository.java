@@ -0,0 +1,127 @@
+package com.healthlink.domain.user.repository;
+
+import com.healthlink.domain.user.entity.Doctor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * PostgreSQL doctor search used when Elasticsearch is disabled.
+ * <p>
+ * Text matching goes through the {@code pg_trgm} and full-text GIN indexes created by
+ * {@code DoctorSearchIndexInitializer}; the indexed expressions below must stay identical to the
+ * ones in that class or the planner falls back to a sequential scan. First and last names are
+ * encrypted at rest, so only {@code specialization}, {@code full_name} and {@code bio} are
+ * searchable here.
+ * <p>
+ * Each row is {@code [id, sortKey, total]}. Results are ordered by {@code sortKey DESC, id} and
+ * paged with a keyset cursor: pass the last row's {@code sortKey} and {@code id} as
+ * {@code afterKey}/{@code afterId}, or nulls for the first page. {@code sortKey} is rounded to
+ * six decimals so it survives a round trip through JSON unchanged. {@code total} counts every
+ * match, not just the rows after the cursor.
+ */
+public interface DoctorTextSearchRepository extends Repository<Doctor, UUID> {
+
+    String SEARCHABLE = """
+            d.user_type = 'DOCTOR' AND d.approval_status = 'APPROVED' AND d.is_active = true AND d.deleted_at IS NULL
+            """;
+
+    String FILTERS = """
+            AND (CAST(:specialty AS text) IS NULL OR lower(d.specialization) = CAST(:specialty AS text))
+            AND (CAST(:city AS text) IS NULL OR EXISTS (
+                    SELECT 1 FROM facilities f WHERE f.doctor_owner_id = d.id AND lower(f.city) = CAST(:city AS text)))
+            AND (CAST(:area AS text) IS NULL OR EXISTS (
+                    SELECT 1 FROM facilities f WHERE f.doctor_owner_id = d.id AND lower(f.town) LIKE CAST(:area AS text)))
+            AND (CAST(:minRating AS double precision) IS NULL OR d.average_rating >= CAST(:minRating AS double precision))
+            AND (CAST(:minFee AS numeric) IS NULL OR d.consultation_fee >= CAST(:minFee AS numeric))
+            AND (CAST(:maxFee AS numeric) IS NULL OR d.consultation_fee <= CAST(:maxFee AS numeric))
+            """;
+
+    // Doctors without a fee sort after every priced doctor when sorting by fee
+    String SORT_KEY_BY_FIELD = """
+                   WHEN 'rating' THEN CAST(COALESCE(d.average_rating, 0) AS double precision)
+                   WHEN 'experience' THEN CAST(COALESCE(d.years_of_experience, 0) AS double precision)
+                   WHEN 'fee' THEN -CAST(COALESCE(d.consultation_fee, 1000000000) AS double precision)
+            """;
+
+    String KEYSET = """
+            ) ranked
+            WHERE CAST(:afterKey AS numeric) IS NULL
+               OR ranked.sort_key < CAST(:afterKey AS numeric)
+               OR (ranked.sort_key = CAST(:afterKey AS numeric) AND ranked.id > CAST(:afterId AS uuid))
+            ORDER BY ranked.sort_key DESC, ranked.id
+            LIMIT :limit
+            """;
+
+    /**
+     * Doctors whose specialization or name contains or resembles {@code query}, or whose
+     * specialization and bio match it as words. {@code sortBy} "relevance" ranks by trigram
+     * similarity plus full-text rank.
+     *
+     * @param query   lower-cased search text
+     * @param pattern {@code query} escaped for LIKE and wrapped in {@code %}
+     */
+    @Query(value = """
+            SELECT ranked.id, ranked.sort_key, ranked.total FROM (
+                SELECT d.id AS id,
+                       round(CAST(CASE :sortBy
+            """ + SORT_KEY_BY_FIELD + """
+                           ELSE GREATEST(similarity(lower(COALESCE(d.specialization, '')), :query),
+                                         similarity(lower(COALESCE(d.full_name, '')), :query))
+                                + ts_rank(to_tsvector('simple', COALESCE(d.specialization, '') || ' ' || COALESCE(d.bio, '')),
+                                          plainto_tsquery('simple', :query))
+                       END AS numeric), 6) AS sort_key,
+                       COUNT(*) OVER () AS total
+                FROM users d
+                WHERE
+            """ + SEARCHABLE + """
+                  AND (lower(d.specialization) LIKE :pattern
+                       OR lower(d.full_name) LIKE :pattern
+                       OR lower(d.specialization) % :query
+                       OR lower(d.full_name) % :query
+                       OR to_tsvector('simple', COALESCE(d.specialization, '') || ' ' || COALESCE(d.bio, ''))
+                          @@ plainto_tsquery('simple', :query))
+            """ + FILTERS + KEYSET, nativeQuery = true)
+    List<Object[]> searchByText(@Param("query") String query,
+                                @Param("pattern") String pattern,
+                                @Param("specialty") String specialty,
+                                @Param("city") String city,
+                                @Param("area") String area,
+                                @Param("minRating") Double minRating,
+                                @Param("minFee") BigDecimal minFee,
+                                @Param("maxFee") BigDecimal maxFee,
+                                @Param("sortBy") String sortBy,
+                                @Param("afterKey") BigDecimal afterKey,
+                                @Param("afterId") UUID afterId,
+                                @Param("limit") int limit);
+
+    /**
+     * Doctors matching the filters alone; any {@code sortBy} other than experience or fee sorts
+     * by rating.
+     */
+    @Query(value = """
+            SELECT ranked.id, ranked.sort_key, ranked.total FROM (
+                SELECT d.id AS id,
+                       round(CAST(CASE :sortBy
+            """ + SORT_KEY_BY_FIELD + """
+                           ELSE CAST(COALESCE(d.average_rating, 0) AS double precision)
+                       END AS numeric), 6) AS sort_key,
+                       COUNT(*) OVER () AS total
+                FROM users d
+                WHERE
+            """ + SEARCHABLE + FILTERS + KEYSET, nativeQuery = true)
+    List<Object[]> browse(@Param("specialty") String specialty,
+                          @Param("city") String city,
+                          @Param("area") String area,
+                          @Param("minRating") Double minRating,
+                          @Param("minFee") BigDecimal minFee,
+                          @Param("maxFee") BigDecimal maxFee,
+                          @Param("sortBy") String sortBy,
+                          @Param("afterKey") BigDecimal afterKey,
+                          @Param("afterId") UUID afterId,
+                          @Param("limit") int limit);
+}
@@ -4,11 +4,13 @@ import com.healthlink.domain.video.dto.InitiateCallRequest;
 import com.healthlink.domain.video.dto.VideoCallResponse;
 import com.healthlink.domain.video.dto.WebRTCTokenResponse;
 import com.healthlink.domain.video.service.VideoCallService;
+import com.healthlink.exception.VideoCallCapacityException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -37,4 +39,18 @@ public class VideoCallController {
             @RequestParam String userId) {
         return ResponseEntity.ok(videoCallService.getWebRTCToken(sessionId, userId));
     }
+
+    /**
+     * Janus is saturated: 202 with Retry-After so the client retries the same request
+     * instead of waiting on a timeout.
+     */
+    @ExceptionHandler(VideoCallCapacityException.class)
+    public ResponseEntity<VideoCallResponse> callCapacityReached(VideoCallCapacityException ex) {
+        return ResponseEntity.accepted()
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(VideoCallResponse.builder()
+                        .appointmentId(ex.getAppointmentId())
+                        .status("QUEUED")
+                        .build());
+    }
 }
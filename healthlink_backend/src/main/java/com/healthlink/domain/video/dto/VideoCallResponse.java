@@ -12,6 +12,7 @@ public class VideoCallResponse {
     private UUID id;
     private UUID appointmentId;
     private String sessionId;
+    private Long roomId;
     private String status;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
@@ -29,6 +29,12 @@ public class VideoCall extends BaseEntity {
     @Column(name = "janus_handle_id")
     private Long janusHandleId;
 
+    @Column(name = "janus_node", length = 100)
+    private String janusNode;
+
+    @Column(name = "janus_room_id")
+    private Long janusRoomId;
+
     @Column(name = "room_secret")
     private String roomSecret;
 
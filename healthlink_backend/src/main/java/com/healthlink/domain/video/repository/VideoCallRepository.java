@@ -2,12 +2,23 @@ package com.healthlink.domain.video.repository;
 
 import com.healthlink.domain.video.entity.VideoCall;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface VideoCallRepository extends JpaRepository<VideoCall, UUID> {
     Optional<VideoCall> findByAppointmentId(UUID appointmentId);
+
+    /**
+     * [janusNode, count] of calls started since {@code since} and not ended.
+     */
+    @Query("select v.janusNode, count(v) from VideoCall v "
+            + "where v.endedAt is null and v.startedAt >= :since group by v.janusNode")
+    List<Object[]> countOpenCallsByJanusNode(@Param("since") LocalDateTime since);
 }
@@ -8,13 +8,16 @@ import com.healthlink.domain.video.dto.VideoCallResponse;
 import com.healthlink.domain.video.dto.WebRTCTokenResponse;
 import com.healthlink.domain.video.entity.VideoCall;
 import com.healthlink.domain.video.repository.VideoCallRepository;
-import com.healthlink.infrastructure.video.JanusService;
+import com.healthlink.infrastructure.video.JanusCluster;
+import com.healthlink.infrastructure.video.JanusRoomPool;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
@@ -26,13 +29,12 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
-@Transactional
 public class VideoCallService {
 
     private final VideoCallRepository videoCallRepository;
     private final AppointmentRepository appointmentRepository;
-    private final JanusService janusService;
+    private final JanusCluster janusCluster;
+    private final TransactionOperations transactions;
 
     @Value("${healthlink.webrtc.signaling.url:ws://localhost:8080/signaling}")
     private String signalingUrl;
@@ -55,9 +57,54 @@ public class VideoCallService {
     @Value("${healthlink.webrtc.ice-servers[1].credential:healthlink_turn_secret_2025}")
     private String turnCredential;
 
+    @Autowired
+    public VideoCallService(VideoCallRepository videoCallRepository,
+                            AppointmentRepository appointmentRepository,
+                            JanusCluster janusCluster,
+                            PlatformTransactionManager transactionManager) {
+        this(videoCallRepository, appointmentRepository, janusCluster, new TransactionTemplate(transactionManager));
+    }
+
+    VideoCallService(VideoCallRepository videoCallRepository, AppointmentRepository appointmentRepository,
+                     JanusCluster janusCluster, TransactionOperations transactions) {
+        this.videoCallRepository = videoCallRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.janusCluster = janusCluster;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Checks and records run in two short transactions. Admission in between can wait up to
+     * {@code max-queue-wait-ms} for a setup slot, so it must not hold a database connection.
+     */
     public VideoCallResponse initiateCall(InitiateCallRequest request) {
-        Appointment appointment = appointmentRepository.findById(request.getAppointmentId())
+        VideoCallResponse existing = transactions.execute(tx -> {
+            Appointment appointment = findCallableAppointment(request.getAppointmentId());
+            return videoCallRepository.findByAppointmentId(appointment.getId()).map(this::mapToResponse).orElse(null);
+        });
+        if (existing != null) {
+            return existing;
+        }
+
+        // Least-loaded Janus node with capacity; throws VideoCallCapacityException when saturated.
+        // The room comes from that node's warm pool and is only created on demand when the pool is empty.
+        JanusCluster.Placement placement = janusCluster.placeCall(request.getAppointmentId());
+        try {
+            return transactions.execute(tx -> mapToResponse(videoCallRepository.save(
+                    newCall(findAppointment(request.getAppointmentId()), placement))));
+        } catch (RuntimeException e) {
+            janusCluster.release(placement);
+            throw e;
+        }
+    }
+
+    private Appointment findAppointment(UUID appointmentId) {
+        return appointmentRepository.findById(appointmentId)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
+    }
+
+    private Appointment findCallableAppointment(UUID appointmentId) {
+        Appointment appointment = findAppointment(appointmentId);
 
         if (appointment.getPatientCheckInTime() == null) {
             throw new RuntimeException("Patient must check in before starting the call");
@@ -66,32 +113,22 @@ public class VideoCallService {
         if (staffRequired(appointment) && appointment.getStaffCheckInTime() == null) {
             throw new RuntimeException("Assigned staff must check in before starting the call");
         }
+        return appointment;
+    }
 
-        // Check if call already exists
-        if (videoCallRepository.findByAppointmentId(appointment.getId()).isPresent()) {
-            return mapToResponse(videoCallRepository.findByAppointmentId(appointment.getId()).get());
-        }
-
-        // Create Janus Session
-        Long sessionId = janusService.createSession();
-        Long handleId = janusService.attachPlugin(sessionId);
-
-        // Create Room (using appointment ID hash as room ID for simplicity, or random)
-        Long roomId = Math.abs(appointment.getId().getMostSignificantBits());
-        String secret = UUID.randomUUID().toString();
-        janusService.createRoom(sessionId, handleId, roomId, secret);
-
+    private static VideoCall newCall(Appointment appointment, JanusCluster.Placement placement) {
+        JanusRoomPool.JanusRoom room = placement.room();
         VideoCall videoCall = new VideoCall();
         videoCall.setAppointment(appointment);
         videoCall.setAssignedStaff(appointment.getAssignedStaff());
-        videoCall.setJanusSessionId(sessionId);
-        videoCall.setJanusHandleId(handleId);
-        videoCall.setRoomSecret(secret);
+        videoCall.setJanusNode(placement.node());
+        videoCall.setJanusSessionId(room.sessionId());
+        videoCall.setJanusHandleId(room.handleId());
+        videoCall.setJanusRoomId(room.roomId());
+        videoCall.setRoomSecret(room.secret());
         videoCall.setStartedAt(LocalDateTime.now());
         videoCall.setStaffJoinedAt(appointment.getStaffCheckInTime());
-
-        VideoCall savedCall = videoCallRepository.save(videoCall);
-        return mapToResponse(savedCall);
+        return videoCall;
     }
 
     public WebRTCTokenResponse getWebRTCToken(String sessionId, String userId) {
@@ -150,6 +187,7 @@ public class VideoCallService {
                 .id(call.getId())
                 .appointmentId(call.getAppointment().getId())
                 .sessionId(call.getJanusSessionId().toString())
+                .roomId(call.getJanusRoomId())
                 .status(status)
                 .startTime(call.getStartedAt())
                 .endTime(call.getEndedAt())
@@ -0,0 +1,26 @@
+package com.healthlink.domain.webhook;
+
+/**
+ * Result of a single webhook delivery attempt, as recorded in the attempt ledger.
+ */
+public enum WebhookAttemptOutcome {
+    /**
+     * Subscriber answered 2xx
+     */
+    DELIVERED,
+
+    /**
+     * Request failed; another attempt is scheduled on the backoff tier
+     */
+    RETRY_SCHEDULED,
+
+    /**
+     * Request not sent because the subscriber's circuit is open; deferred without using an attempt
+     */
+    CIRCUIT_OPEN,
+
+    /**
+     * Final attempt failed or the subscription is gone; the message was dead-lettered
+     */
+    FAILED
+}
@@ -2,28 +2,39 @@ package com.healthlink.domain.webhook;
 
 import com.healthlink.domain.webhook.dto.WebhookDeliveryMessage;
 import com.healthlink.domain.webhook.entity.PublishedEvent;
+import com.healthlink.domain.webhook.entity.PublishedEventDelivery;
+import com.healthlink.domain.webhook.repository.PublishedEventDeliveryRepository;
 import com.healthlink.domain.webhook.repository.PublishedEventRepository;
-import com.healthlink.domain.webhook.repository.WebhookSubscriptionRepository;
 import com.healthlink.infrastructure.logging.SafeLogger;
 import com.healthlink.infrastructure.messaging.RabbitMQConfig;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.OffsetDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Webhook publisher service - publishes events to RabbitMQ for async delivery.
+ * <p>
+ * Each event is written once, with one PublishedEventDelivery row per subscriber saved
+ * as a JDBC batch, and published to the broker once after the caller's transaction
+ * commits. WebhookDeliveryWorker expands the message to the subscribers recorded for
+ * the event, so publish cost no longer grows with the number of subscribers.
  */
 @Service
 @RequiredArgsConstructor
 public class WebhookPublisherService {
 
-    private final WebhookSubscriptionRepository subscriptionRepository;
+    private final WebhookSubscriptionIndex subscriptionIndex;
     private final PublishedEventRepository eventRepository;
+    private final PublishedEventDeliveryRepository deliveryRepository;
     private final RabbitTemplate rabbitTemplate;
     private final SafeLogger log = SafeLogger.get(WebhookPublisherService.class);
 
@@ -34,9 +45,9 @@ public class WebhookPublisherService {
 
     @Transactional
     public void publish(EventType type, String referenceId, Map<String, Object> additionalData) {
-        var subscriptions = subscriptionRepository.findByEventTypeAndActiveTrue(type);
-        
-        if (subscriptions.isEmpty()) {
+        List<UUID> subscriberIds = subscriptionIndex.subscribersFor(type);
+
+        if (subscriberIds.isEmpty()) {
             log.event("webhook_no_subscribers")
                .with("eventType", type.name())
                .with("referenceId", referenceId)
@@ -47,38 +58,42 @@ public class WebhookPublisherService {
         log.event("webhook_publish")
            .with("eventType", type.name())
            .with("referenceId", referenceId)
-           .with("subscriberCount", String.valueOf(subscriptions.size()))
+           .with("subscriberCount", String.valueOf(subscriberIds.size()))
            .log();
 
-        subscriptions.forEach(subscription -> {
-            // Create event record
-            PublishedEvent event = new PublishedEvent();
-            event.setEventType(type);
-            event.setReferenceId(referenceId);
-            event.setTargetUrl(subscription.getTargetUrl());
-            event.setDeliveryStatus(WebhookDeliveryStatus.PENDING);
-            event.setDeliveryAttempts(0);
-            PublishedEvent savedEvent = eventRepository.save(event);
+        // Create event record
+        PublishedEvent event = new PublishedEvent();
+        event.setEventType(type);
+        event.setReferenceId(referenceId);
+        event.setDeliveryStatus(WebhookDeliveryStatus.PENDING);
+        event.setDeliveryAttempts(0);
+        PublishedEvent savedEvent = eventRepository.save(event);
+
+        deliveryRepository.saveAll(subscriberIds.stream().map(subscriptionId -> {
+            PublishedEventDelivery delivery = new PublishedEventDelivery();
+            delivery.setEventId(savedEvent.getId());
+            delivery.setSubscriptionId(subscriptionId);
+            return delivery;
+        }).toList());
 
-            // Prepare payload
-            Map<String, Object> payload = new HashMap<>();
-            payload.put("eventType", type.name());
-            payload.put("eventId", savedEvent.getId().toString());
-            payload.put("referenceId", referenceId);
-            payload.put("timestamp", OffsetDateTime.now().toString());
-            payload.putAll(additionalData);
+        // Prepare payload
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("eventType", type.name());
+        payload.put("eventId", savedEvent.getId().toString());
+        payload.put("referenceId", referenceId);
+        payload.put("timestamp", OffsetDateTime.now().toString());
+        payload.putAll(additionalData);
 
-            // Enqueue for async delivery
-            WebhookDeliveryMessage message = WebhookDeliveryMessage.builder()
-                    .eventId(savedEvent.getId())
-                    .subscriptionId(subscription.getId())
-                    .targetUrl(subscription.getTargetUrl())
-                    .eventType(type.name())
-                    .payload(payload)
-                    .attemptNumber(1)
-                    .scheduledAt(OffsetDateTime.now())
-                    .build();
+        // One message per event; no subscriptionId means "all subscribers recorded for the event"
+        WebhookDeliveryMessage message = WebhookDeliveryMessage.builder()
+                .eventId(savedEvent.getId())
+                .eventType(type.name())
+                .payload(payload)
+                .attemptNumber(1)
+                .scheduledAt(OffsetDateTime.now())
+                .build();
 
+        afterCommit(() -> {
             rabbitTemplate.convertAndSend(
                     RabbitMQConfig.WEBHOOK_EXCHANGE,
                     RabbitMQConfig.WEBHOOK_ROUTING_KEY,
@@ -87,8 +102,21 @@ public class WebhookPublisherService {
 
             log.event("webhook_enqueued")
                .with("eventId", savedEvent.getId().toString())
-               .with("subscriptionId", subscription.getId().toString())
+               .with("subscriberCount", String.valueOf(subscriberIds.size()))
                .log();
         });
     }
-}
\ No newline at end of file
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
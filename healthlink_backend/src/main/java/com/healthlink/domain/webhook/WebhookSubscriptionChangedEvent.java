@@ -0,0 +1,10 @@
+package com.healthlink.domain.webhook;
+
+import java.util.UUID;
+
+/**
+ * Published when a webhook subscription is created, changed or removed so the
+ * in-memory subscription index can rebuild.
+ */
+public record WebhookSubscriptionChangedEvent(UUID subscriptionId) {
+}
@@ -1,13 +1,20 @@
 package com.healthlink.domain.webhook;
 
+import com.healthlink.domain.webhook.dto.WebhookDeliveryAttemptResponse;
 import com.healthlink.domain.webhook.dto.WebhookSubscriptionResponse;
+import com.healthlink.domain.webhook.entity.WebhookDeliveryAttempt;
 import com.healthlink.domain.webhook.entity.WebhookSubscription;
+import com.healthlink.domain.webhook.repository.WebhookDeliveryAttemptRepository;
 import com.healthlink.domain.webhook.repository.WebhookSubscriptionRepository;
 import com.healthlink.security.model.CustomUserDetails;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.UUID;
@@ -17,6 +24,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class WebhookSubscriptionController {
     private final WebhookSubscriptionRepository repository;
+    private final WebhookDeliveryAttemptRepository attemptRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int MAX_BATCH_SIZE = 100;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('DOCTOR','ORGANIZATION','ADMIN')")
@@ -34,7 +45,12 @@ public class WebhookSubscriptionController {
         CustomUserDetails cud = (CustomUserDetails) auth.getPrincipal();
         req.setId(null); // ensure new
         req.setOwnerUserId(cud.getId());
-        return toDto(repository.save(req));
+        if (req.getBatchSize() != null && (req.getBatchSize() < 1 || req.getBatchSize() > MAX_BATCH_SIZE)) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + MAX_BATCH_SIZE);
+        }
+        WebhookSubscription saved = repository.save(req);
+        eventPublisher.publishEvent(new WebhookSubscriptionChangedEvent(saved.getId()));
+        return toDto(saved);
     }
 
     @DeleteMapping("/{id}")
@@ -44,16 +60,46 @@ public class WebhookSubscriptionController {
         repository.findById(id).ifPresent(sub -> {
             if (sub.getOwnerUserId().equals(cud.getId())) {
                 repository.delete(sub);
+                eventPublisher.publishEvent(new WebhookSubscriptionChangedEvent(sub.getId()));
             }
         });
     }
     
+    @GetMapping("/{id}/attempts")
+    @PreAuthorize("hasAnyRole('DOCTOR','ORGANIZATION','ADMIN')")
+    public List<WebhookDeliveryAttemptResponse> attempts(Authentication auth, @PathVariable UUID id,
+                                                         @RequestParam(defaultValue = "50") int limit) {
+        CustomUserDetails cud = (CustomUserDetails) auth.getPrincipal();
+        WebhookSubscription sub = repository.findById(id)
+            .filter(s -> s.getOwnerUserId().equals(cud.getId()))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Subscription not found"));
+        int pageSize = Math.max(1, Math.min(limit, 200));
+        return attemptRepository.findBySubscriptionIdOrderByAttemptedAtDesc(sub.getId(), PageRequest.of(0, pageSize))
+            .stream()
+            .map(this::toDto)
+            .toList();
+    }
+
+    private WebhookDeliveryAttemptResponse toDto(WebhookDeliveryAttempt attempt) {
+        return WebhookDeliveryAttemptResponse.builder()
+            .eventId(attempt.getEventId())
+            .attemptNumber(attempt.getAttemptNumber())
+            .outcome(attempt.getOutcome())
+            .httpStatus(attempt.getHttpStatus())
+            .durationMs(attempt.getDurationMs())
+            .errorMessage(attempt.getErrorMessage())
+            .attemptedAt(attempt.getAttemptedAt())
+            .nextAttemptAt(attempt.getNextAttemptAt())
+            .build();
+    }
+
     private WebhookSubscriptionResponse toDto(WebhookSubscription entity) {
         return WebhookSubscriptionResponse.builder()
             .id(entity.getId())
             .eventType(entity.getEventType())
             .targetUrl(entity.getTargetUrl())
             .active(entity.isActive())
+            .batchSize(entity.getBatchSize())
             .createdAt(entity.getCreatedAt())
             .updatedAt(entity.getUpdatedAt())
             .build();
@@ -0,0 +1,54 @@
+package com.healthlink.domain.webhook;
+
+import com.healthlink.domain.webhook.entity.WebhookSubscription;
+import com.healthlink.domain.webhook.repository.WebhookSubscriptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of active webhook subscription ids by event type, so publishing an
+ * event does not query webhook_subscriptions. Rebuilt after a local subscription change
+ * commits, and periodically to pick up changes made on other nodes.
+ */
+@Component
+@RequiredArgsConstructor
+public class WebhookSubscriptionIndex {
+
+    private final WebhookSubscriptionRepository subscriptionRepository;
+    private volatile Map<EventType, List<UUID>> subscribersByType;
+
+    public List<UUID> subscribersFor(EventType type) {
+        Map<EventType, List<UUID>> snapshot = subscribersByType;
+        if (snapshot == null) {
+            snapshot = rebuild();
+        }
+        return snapshot.getOrDefault(type, List.of());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSubscriptionChanged(WebhookSubscriptionChangedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.webhooks.subscription-index-refresh-ms:60000}")
+    public void refresh() {
+        rebuild();
+    }
+
+    synchronized Map<EventType, List<UUID>> rebuild() {
+        Map<EventType, List<UUID>> rebuilt = new EnumMap<>(EventType.class);
+        rebuilt.putAll(subscriptionRepository.findByActiveTrue().stream()
+                .collect(Collectors.groupingBy(WebhookSubscription::getEventType,
+                        Collectors.mapping(WebhookSubscription::getId, Collectors.toUnmodifiableList()))));
+        subscribersByType = rebuilt;
+        return rebuilt;
+    }
+}
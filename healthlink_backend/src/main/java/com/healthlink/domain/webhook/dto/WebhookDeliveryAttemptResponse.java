@@ -0,0 +1,24 @@
+package com.healthlink.domain.webhook.dto;
+
+import com.healthlink.domain.webhook.WebhookAttemptOutcome;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for one row of a subscription's delivery-attempt history.
+ */
+@Data
+@Builder
+public class WebhookDeliveryAttemptResponse {
+    private UUID eventId;
+    private int attemptNumber;
+    private WebhookAttemptOutcome outcome;
+    private Integer httpStatus;
+    private Long durationMs;
+    private String errorMessage;
+    private OffsetDateTime attemptedAt;
+    private OffsetDateTime nextAttemptAt;
+}
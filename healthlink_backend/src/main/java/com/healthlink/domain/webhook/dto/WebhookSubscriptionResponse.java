@@ -18,6 +18,7 @@ public class WebhookSubscriptionResponse {
     private EventType eventType;
     private String targetUrl;
     private boolean active;
+    private Integer batchSize;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
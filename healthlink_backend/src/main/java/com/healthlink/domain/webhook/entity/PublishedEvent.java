@@ -8,6 +8,12 @@ import lombok.Getter;
 import lombok.Setter;
 import java.time.OffsetDateTime;
 
+/**
+ * One row per published event. Per-subscriber delivery state lives in
+ * PublishedEventDelivery; WebhookDeliveryWorker rolls it up into delivery_status and
+ * delivered_at after each batch. target_url, delivery_attempts and last_error_message
+ * are only populated by rows written before fan-out-once publishing.
+ */
 @Entity
 @Table(name = "published_events")
 @Getter
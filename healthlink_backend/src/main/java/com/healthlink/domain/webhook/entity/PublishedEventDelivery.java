@@ -0,0 +1,43 @@
+package com.healthlink.domain.webhook.entity;
+
+import com.healthlink.common.entity.BaseEntity;
+import com.healthlink.domain.webhook.WebhookDeliveryStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Join row between a published event and one subscriber, carrying that subscriber's
+ * delivery state. Written in one batch when the event is published.
+ */
+@Entity
+@Table(name = "published_event_deliveries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_published_event_delivery", columnNames = {"event_id", "subscription_id"})
+}, indexes = {
+        @Index(name = "idx_published_event_delivery_subscription", columnList = "subscription_id")
+})
+@Getter
+@Setter
+public class PublishedEventDelivery extends BaseEntity {
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Column(name = "subscription_id", nullable = false)
+    private UUID subscriptionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "delivery_status", nullable = false, length = 20)
+    private WebhookDeliveryStatus deliveryStatus = WebhookDeliveryStatus.PENDING;
+
+    @Column(name = "delivery_attempts")
+    private Integer deliveryAttempts = 0;
+
+    @Column(name = "delivered_at")
+    private OffsetDateTime deliveredAt;
+
+    @Column(name = "last_error_message", length = 1000)
+    private String lastErrorMessage;
+}
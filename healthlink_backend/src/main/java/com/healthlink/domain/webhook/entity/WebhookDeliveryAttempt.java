@@ -0,0 +1,51 @@
+package com.healthlink.domain.webhook.entity;
+
+import com.healthlink.common.entity.BaseEntity;
+import com.healthlink.domain.webhook.WebhookAttemptOutcome;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Append-only ledger of webhook delivery attempts, one row per try, so subscribers and
+ * operators can see why and when a subscription's deliveries failed or were deferred.
+ */
+@Entity
+@Table(name = "webhook_delivery_attempts", indexes = {
+        @Index(name = "idx_webhook_attempt_subscription", columnList = "subscription_id, attempted_at"),
+        @Index(name = "idx_webhook_attempt_event", columnList = "event_id")
+})
+@Getter
+@Setter
+public class WebhookDeliveryAttempt extends BaseEntity {
+
+    @Column(name = "event_id", nullable = false)
+    private UUID eventId;
+
+    @Column(name = "subscription_id", nullable = false)
+    private UUID subscriptionId;
+
+    @Column(name = "attempt_number", nullable = false)
+    private int attemptNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "outcome", nullable = false, length = 20)
+    private WebhookAttemptOutcome outcome;
+
+    @Column(name = "http_status")
+    private Integer httpStatus;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "attempted_at", nullable = false)
+    private OffsetDateTime attemptedAt = OffsetDateTime.now();
+
+    @Column(name = "next_attempt_at")
+    private OffsetDateTime nextAttemptAt;
+}
@@ -28,4 +28,11 @@ public class WebhookSubscription extends BaseEntity {
 
     @Column(name = "active", nullable = false)
     private boolean active = true;
+
+    @Column(name = "batch_size")
+    private Integer batchSize; // opt-in: deliver up to N events per POST; null = one event per POST
+
+    public boolean isBatchDelivery() {
+        return batchSize != null && batchSize > 1;
+    }
 }
\ No newline at end of file
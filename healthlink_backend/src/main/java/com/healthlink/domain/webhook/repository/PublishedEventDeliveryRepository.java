@@ -0,0 +1,11 @@
+package com.healthlink.domain.webhook.repository;
+
+import com.healthlink.domain.webhook.entity.PublishedEventDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PublishedEventDeliveryRepository extends JpaRepository<PublishedEventDelivery, UUID> {
+    List<PublishedEventDelivery> findByEventIdIn(Collection<UUID> eventIds);
+}
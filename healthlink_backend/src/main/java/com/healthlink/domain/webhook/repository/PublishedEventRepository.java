@@ -2,7 +2,39 @@ package com.healthlink.domain.webhook.repository;
 
 import com.healthlink.domain.webhook.entity.PublishedEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.UUID;
 
 public interface PublishedEventRepository extends JpaRepository<PublishedEvent, UUID> {
+
+    /**
+     * Derive each event's delivery_status from its subscriber rows: PENDING or RETRYING while any
+     * subscriber still is, otherwise FAILED if any failed, otherwise DELIVERED with the time of the
+     * last delivery.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE published_events e SET
+                delivery_status = s.status,
+                delivered_at = s.delivered_at
+            FROM (
+                SELECT d.event_id,
+                       CASE WHEN bool_or(d.delivery_status = 'PENDING') THEN 'PENDING'
+                            WHEN bool_or(d.delivery_status = 'RETRYING') THEN 'RETRYING'
+                            WHEN bool_or(d.delivery_status = 'FAILED') THEN 'FAILED'
+                            ELSE 'DELIVERED' END AS status,
+                       CASE WHEN bool_and(d.delivery_status = 'DELIVERED') THEN MAX(d.delivered_at) END AS delivered_at
+                FROM published_event_deliveries d
+                WHERE d.event_id IN (:eventIds)
+                GROUP BY d.event_id
+            ) s
+            WHERE e.id = s.event_id
+            """, nativeQuery = true)
+    int rollUpDeliveryStatus(@Param("eventIds") Collection<UUID> eventIds);
 }
\ No newline at end of file
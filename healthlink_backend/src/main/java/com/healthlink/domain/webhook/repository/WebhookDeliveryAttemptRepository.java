@@ -0,0 +1,12 @@
+package com.healthlink.domain.webhook.repository;
+
+import com.healthlink.domain.webhook.entity.WebhookDeliveryAttempt;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.List;
+import java.util.UUID;
+
+public interface WebhookDeliveryAttemptRepository extends JpaRepository<WebhookDeliveryAttempt, UUID> {
+    List<WebhookDeliveryAttempt> findBySubscriptionIdOrderByAttemptedAtDesc(UUID subscriptionId, Pageable pageable);
+    List<WebhookDeliveryAttempt> findByEventIdOrderByAttemptedAtAsc(UUID eventId);
+}
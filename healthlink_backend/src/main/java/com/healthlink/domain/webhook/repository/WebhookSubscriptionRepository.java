@@ -8,5 +8,6 @@ import java.util.UUID;
 
 public interface WebhookSubscriptionRepository extends JpaRepository<WebhookSubscription, UUID> {
     List<WebhookSubscription> findByEventTypeAndActiveTrue(EventType eventType);
+    List<WebhookSubscription> findByActiveTrue();
     List<WebhookSubscription> findByOwnerUserId(UUID ownerUserId);
 }
\ No newline at end of file
@@ -65,6 +65,12 @@ public class GlobalExceptionHandler {
         return build(status, status.getReasonPhrase(), reason, null);
     }
 
+    /** Services reject invalid client input (search filters, page sizes, cursors) with IllegalArgumentException. */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Bad Request", sanitize(ex.getMessage()), null);
+    }
+
     @ExceptionHandler(IllegalStateException.class)
     public ResponseEntity<ErrorResponse> handleIllegalState(IllegalStateException ex) {
         return build(HttpStatus.CONFLICT, "Illegal State", ex.getMessage(), null);
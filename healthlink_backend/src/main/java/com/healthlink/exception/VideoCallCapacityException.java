@@ -0,0 +1,27 @@
+package com.healthlink.exception;
+
+import java.util.UUID;
+
+/**
+ * Thrown when no Janus node can take another call right now, either because every node is at
+ * its room limit or because call setups are queued beyond the allowed wait.
+ * VideoCallController answers it with HTTP 202 and a Retry-After header.
+ */
+public class VideoCallCapacityException extends RuntimeException {
+    private final UUID appointmentId;
+    private final long retryAfterSeconds;
+
+    public VideoCallCapacityException(UUID appointmentId, long retryAfterSeconds) {
+        super("Video call capacity reached, retry in " + retryAfterSeconds + "s");
+        this.appointmentId = appointmentId;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public UUID getAppointmentId() {
+        return appointmentId;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,219 @@
+package com.healthlink.infrastructure.email;
+
+import com.healthlink.domain.notification.entity.EmailDispatch;
+import com.healthlink.domain.notification.repository.EmailDispatchRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Drains the persisted EmailDispatch queue.
+ * <p>
+ * Each poll claims up to {@code healthlink.mail.dispatch.batch-size} due rows in a short
+ * transaction by pushing their {@code next_attempt_at} out by {@code lease-ms}, then sends
+ * them over a single pooled SMTP connection with no transaction or row lock held. Outcomes
+ * are written in a second short transaction; rows of a node that dies mid-batch become due
+ * again when the lease runs out. A rejected recipient is rescheduled with exponential backoff
+ * (base delay doubled per attempt, capped) and marked FAILED after
+ * {@code healthlink.mail.dispatch.max-attempts}. When the transport itself fails, the rest of
+ * the batch backs off with the failed message instead of being retried on the next poll.
+ */
+@Component
+public class EmailDispatchWorker {
+
+    private final SafeLogger log = SafeLogger.get(EmailDispatchWorker.class);
+    private final EmailDispatchRepository dispatchRepository;
+    private final SmtpTransportPool transportPool;
+    private final JavaMailSenderImpl mailSender;
+    private final TransactionOperations transactions;
+
+    @Value("${healthlink.mail.from:noreply@healthlink.com}")
+    private String fromEmail;
+
+    @Value("${healthlink.mail.from-name:HealthLink Platform}")
+    private String fromName;
+
+    @Value("${healthlink.mail.dispatch.batch-size:50}")
+    private int batchSize = 50;
+
+    @Value("${healthlink.mail.dispatch.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    @Value("${healthlink.mail.dispatch.base-backoff-ms:30000}")
+    private long baseBackoffMs = 30000;
+
+    @Value("${healthlink.mail.dispatch.max-backoff-ms:3600000}")
+    private long maxBackoffMs = 3600000;
+
+    @Value("${healthlink.mail.dispatch.lease-ms:300000}")
+    private long leaseMs = 300000;
+
+    @Autowired
+    public EmailDispatchWorker(EmailDispatchRepository dispatchRepository,
+                               SmtpTransportPool transportPool,
+                               JavaMailSenderImpl mailSender,
+                               PlatformTransactionManager transactionManager) {
+        this(dispatchRepository, transportPool, mailSender, new TransactionTemplate(transactionManager));
+    }
+
+    EmailDispatchWorker(EmailDispatchRepository dispatchRepository, SmtpTransportPool transportPool,
+                        JavaMailSenderImpl mailSender, TransactionOperations transactions) {
+        this.dispatchRepository = dispatchRepository;
+        this.transportPool = transportPool;
+        this.mailSender = mailSender;
+        this.transactions = transactions;
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.mail.dispatch.poll-interval-ms:1000}")
+    public void dispatchDue() {
+        List<EmailDispatch> due = claimDueBatch();
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int[] cursor = {0};
+        try {
+            transportPool.execute(transport -> {
+                for (; cursor[0] < due.size(); cursor[0]++) {
+                    EmailDispatch dispatch = due.get(cursor[0]);
+                    try {
+                        MimeMessage message = toMimeMessage(dispatch);
+                        message.saveChanges();
+                        transport.sendMessage(message, message.getAllRecipients());
+                        markSent(dispatch);
+                    } catch (AddressException | SendFailedException e) {
+                        // Rejected recipient: the SMTP session is still usable for the rest of the batch
+                        scheduleRetry(dispatch, e);
+                    }
+                }
+            });
+        } catch (MessagingException | RuntimeException e) {
+            // The transport failed at the cursor (or before connecting); the rest was never attempted
+            if (cursor[0] < due.size()) {
+                scheduleRetry(due.get(cursor[0]), e);
+                deferRest(due, cursor[0]);
+            }
+            log.event("email_batch_interrupted")
+                    .with("sent", cursor[0])
+                    .with("remaining", due.size() - cursor[0] - 1)
+                    .with("error", e.getClass().getSimpleName())
+                    .log();
+        }
+
+        transactions.executeWithoutResult(tx -> dispatchRepository.saveAll(due));
+    }
+
+    /**
+     * Lock due rows just long enough to lease them: moving {@code next_attempt_at} past the
+     * lease keeps other nodes off them while this one sends without holding the locks.
+     */
+    private List<EmailDispatch> claimDueBatch() {
+        List<EmailDispatch> due = transactions.execute(tx -> {
+            OffsetDateTime now = OffsetDateTime.now();
+            List<EmailDispatch> locked = dispatchRepository.lockDueBatch(now, batchSize);
+            if (locked.isEmpty()) {
+                return locked;
+            }
+            OffsetDateTime leaseUntil = now.plus(Duration.ofMillis(leaseMs));
+            locked.forEach(dispatch -> dispatch.setNextAttemptAt(leaseUntil));
+            dispatchRepository.saveAll(locked);
+            return locked;
+        });
+        return due != null ? due : List.of();
+    }
+
+    /**
+     * Messages after a transport failure back off together with the failed one. They were never
+     * attempted, so their attempt count is left alone.
+     */
+    private void deferRest(List<EmailDispatch> due, int failedIndex) {
+        EmailDispatch failed = due.get(failedIndex);
+        // A failed message that ran out of attempts has no retry time; fall back to the base delay
+        OffsetDateTime retryAt = failed.getNextAttemptAt() != null
+                ? failed.getNextAttemptAt() : OffsetDateTime.now().plus(backoff(1));
+        due.subList(failedIndex + 1, due.size()).forEach(dispatch -> dispatch.setNextAttemptAt(retryAt));
+    }
+
+    private MimeMessage toMimeMessage(EmailDispatch dispatch) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        try {
+            helper.setFrom(fromEmail, fromName);
+        } catch (UnsupportedEncodingException e) {
+            helper.setFrom(fromEmail);
+        }
+        helper.setTo(dispatch.getRecipient());
+        helper.setSubject(dispatch.getSubject());
+        helper.setText(dispatch.getBody(), !Boolean.FALSE.equals(dispatch.getHtml()));
+        return message;
+    }
+
+    private void markSent(EmailDispatch dispatch) {
+        OffsetDateTime now = OffsetDateTime.now();
+        dispatch.setAttemptCount(attempts(dispatch) + 1);
+        dispatch.setAttemptedAt(now);
+        dispatch.setSentAt(now);
+        dispatch.setNextAttemptAt(null);
+        dispatch.setErrorMessage(null);
+        dispatch.setStatus(EmailDispatch.STATUS_SENT);
+        log.event("email_sent")
+                .with("template", dispatch.getEmailType())
+                .with("dispatchId", dispatch.getId())
+                .log();
+    }
+
+    void scheduleRetry(EmailDispatch dispatch, Exception error) {
+        int attempt = attempts(dispatch) + 1;
+        OffsetDateTime now = OffsetDateTime.now();
+        dispatch.setAttemptCount(attempt);
+        dispatch.setAttemptedAt(now);
+        dispatch.setErrorMessage(truncate(error.getMessage()));
+        if (attempt >= maxAttempts) {
+            dispatch.setStatus(EmailDispatch.STATUS_FAILED);
+            dispatch.setNextAttemptAt(null);
+            log.event("email_send_failed")
+                    .with("template", dispatch.getEmailType())
+                    .with("dispatchId", dispatch.getId())
+                    .with("attempts", attempt)
+                    .with("error", error.getClass().getSimpleName())
+                    .log();
+            return;
+        }
+        dispatch.setNextAttemptAt(now.plus(backoff(attempt)));
+        log.event("email_send_retry_scheduled")
+                .with("template", dispatch.getEmailType())
+                .with("dispatchId", dispatch.getId())
+                .with("attempt", attempt)
+                .log();
+    }
+
+    Duration backoff(int attempt) {
+        long delay = baseBackoffMs << Math.min(attempt - 1, 20);
+        return Duration.ofMillis(Math.min(delay, maxBackoffMs));
+    }
+
+    private static int attempts(EmailDispatch dispatch) {
+        return dispatch.getAttemptCount() != null ? dispatch.getAttemptCount() : 0;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
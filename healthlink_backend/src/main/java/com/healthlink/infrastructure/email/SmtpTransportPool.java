@@ -0,0 +1,122 @@
+package com.healthlink.infrastructure.email;
+
+import com.healthlink.infrastructure.logging.SafeLogger;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small pool of connected SMTP transports shared by email dispatch.
+ * <p>
+ * JavaMailSender opens and closes a transport per send call; under reminder bursts
+ * that means one SMTP handshake (plus STARTTLS/AUTH) per email. This pool keeps up to
+ * {@code healthlink.mail.pool.max-connections} transports open, validates them on borrow
+ * and closes the ones left idle past {@code healthlink.mail.pool.idle-timeout-ms}.
+ */
+@Component
+public class SmtpTransportPool {
+
+    private final SafeLogger log = SafeLogger.get(SmtpTransportPool.class);
+    private final JavaMailSenderImpl mailSender;
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final long idleTimeoutMs;
+
+    public SmtpTransportPool(
+            JavaMailSenderImpl mailSender,
+            @Value("${healthlink.mail.pool.max-connections:2}") int maxConnections,
+            @Value("${healthlink.mail.pool.idle-timeout-ms:60000}") long idleTimeoutMs) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(maxConnections);
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    @FunctionalInterface
+    public interface TransportCallback {
+        void doWithTransport(Transport transport) throws MessagingException;
+    }
+
+    /**
+     * Run the callback on a pooled transport. The transport is returned to the pool on
+     * success and discarded if the callback fails, since the SMTP session state is unknown.
+     */
+    public void execute(TransportCallback callback) throws MessagingException {
+        try {
+            if (!permits.tryAcquire(30, TimeUnit.SECONDS)) {
+                throw new MessagingException("Timed out waiting for a pooled SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted waiting for a pooled SMTP connection", e);
+        }
+
+        Transport transport = null;
+        try {
+            transport = borrow();
+            callback.doWithTransport(transport);
+            idle.addFirst(new PooledTransport(transport, System.currentTimeMillis()));
+            transport = null;
+        } finally {
+            if (transport != null) {
+                closeQuietly(transport);
+            }
+            permits.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.mail.pool.idle-timeout-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMs;
+        PooledTransport oldest;
+        while ((oldest = idle.peekLast()) != null && oldest.releasedAt() < cutoff) {
+            if (idle.removeLastOccurrence(oldest)) {
+                closeQuietly(oldest.transport());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled.transport());
+        }
+    }
+
+    private Transport borrow() throws MessagingException {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            // isConnected() issues an SMTP NOOP, so servers that dropped us are detected here
+            if (pooled.transport().isConnected()) {
+                return pooled.transport();
+            }
+            closeQuietly(pooled.transport());
+        }
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                mailSender.getUsername(), mailSender.getPassword());
+        log.event("smtp_connection_opened")
+                .with("host", mailSender.getHost())
+                .log();
+        return transport;
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Ignoring error closing SMTP transport: {}", e.getMessage());
+        }
+    }
+
+    private record PooledTransport(Transport transport, long releasedAt) {
+    }
+}
@@ -0,0 +1,70 @@
+package com.healthlink.infrastructure.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulkhead for the shared RestTemplate: caps in-flight requests per destination host so a
+ * single slow endpoint (typically a webhook subscriber) cannot occupy every caller thread.
+ * Callers over the limit wait up to {@code acquire-timeout-ms} and then fail fast with a
+ * ResourceAccessException, which existing callers already treat as an I/O failure.
+ */
+@Component
+public class OutboundHostLimiter implements ClientHttpRequestInterceptor {
+
+    private final OutboundHostPolicies policies;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    @Value("${healthlink.http.outbound.acquire-timeout-ms:2000}")
+    private long acquireTimeoutMs = 2000;
+
+    public OutboundHostLimiter(OutboundHostPolicies policies, MeterRegistry meterRegistry) {
+        this.policies = policies;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String host = request.getURI().getHost() != null ? request.getURI().getHost() : "unknown";
+        Semaphore semaphore = permits.computeIfAbsent(host, this::register);
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                meterRegistry.counter("healthlink.http.outbound.rejected", "host", host).increment();
+                throw new ResourceAccessException("Outbound concurrency limit reached for host " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceAccessException("Interrupted waiting for outbound permit to " + host);
+        }
+        try {
+            return execution.execute(request, body);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private Semaphore register(String host) {
+        int limit = policies.forHost(host).maxConcurrent();
+        Semaphore semaphore = new Semaphore(limit);
+        Gauge.builder("healthlink.http.outbound.in_flight", semaphore, s -> limit - s.availablePermits())
+                .description("Outbound requests in flight per destination host")
+                .tag("host", host)
+                .register(meterRegistry);
+        return semaphore;
+    }
+}
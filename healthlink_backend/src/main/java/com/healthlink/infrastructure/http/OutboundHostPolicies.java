@@ -0,0 +1,76 @@
+package com.healthlink.infrastructure.http;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-destination limits for the shared outbound HTTP client.
+ * <p>
+ * Every host gets {@code default-max-per-host} concurrent requests and
+ * {@code default-response-timeout-ms}; {@code healthlink.http.outbound.hosts} overrides
+ * either per host as {@code host=maxConcurrent:responseTimeoutMs}, comma separated.
+ */
+@Component
+public class OutboundHostPolicies {
+
+    public record HostPolicy(int maxConcurrent, long responseTimeoutMs) {
+    }
+
+    private final HostPolicy defaults;
+    private final Map<String, HostPolicy> overrides;
+
+    public OutboundHostPolicies(
+            @Value("${healthlink.http.outbound.default-max-per-host:20}") int defaultMaxPerHost,
+            @Value("${healthlink.http.outbound.default-response-timeout-ms:10000}") long defaultResponseTimeoutMs,
+            @Value("${healthlink.http.outbound.hosts:}") String hostOverrides) {
+        this.defaults = new HostPolicy(defaultMaxPerHost, defaultResponseTimeoutMs);
+        this.overrides = parse(hostOverrides, defaults);
+    }
+
+    public HostPolicy forHost(String host) {
+        if (host == null) {
+            return defaults;
+        }
+        return overrides.getOrDefault(host.toLowerCase(Locale.ROOT), defaults);
+    }
+
+    /**
+     * Largest concurrency any host may use; the connection pool's per-route cap is sized to it.
+     */
+    public int maxConcurrentAnyHost() {
+        return overrides.values().stream()
+                .mapToInt(HostPolicy::maxConcurrent)
+                .reduce(defaults.maxConcurrent(), Math::max);
+    }
+
+    static Map<String, HostPolicy> parse(String spec, HostPolicy defaults) {
+        Map<String, HostPolicy> result = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return result;
+        }
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Invalid outbound host policy: " + trimmed);
+            }
+            String host = trimmed.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+            String[] limits = trimmed.substring(eq + 1).split(":");
+            try {
+                int maxConcurrent = limits[0].isBlank() ? defaults.maxConcurrent() : Integer.parseInt(limits[0].trim());
+                long timeoutMs = limits.length > 1 ? Long.parseLong(limits[1].trim()) : defaults.responseTimeoutMs();
+                result.put(host, new HostPolicy(maxConcurrent, timeoutMs));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid outbound host policy: " + trimmed, e);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,55 @@
+package com.healthlink.infrastructure.http;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes connection pool state per destination host
+ * ({@code healthlink.http.outbound.pool.leased|available|pending}, tag {@code host}).
+ * Request latency per host comes from Spring's {@code http.client.requests} timer, whose
+ * {@code client.name} tag is the target host.
+ */
+@Component
+public class OutboundPoolMetrics {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final MultiGauge leased;
+    private final MultiGauge available;
+    private final MultiGauge pending;
+
+    public OutboundPoolMetrics(PoolingHttpClientConnectionManager connectionManager, MeterRegistry meterRegistry) {
+        this.connectionManager = connectionManager;
+        this.leased = MultiGauge.builder("healthlink.http.outbound.pool.leased")
+                .description("Pooled connections currently in use").register(meterRegistry);
+        this.available = MultiGauge.builder("healthlink.http.outbound.pool.available")
+                .description("Idle keep-alive connections ready for reuse").register(meterRegistry);
+        this.pending = MultiGauge.builder("healthlink.http.outbound.pool.pending")
+                .description("Requests waiting for a pooled connection").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.http.outbound.metrics-interval-ms:15000}")
+    public void refresh() {
+        List<MultiGauge.Row<?>> leasedRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> availableRows = new ArrayList<>();
+        List<MultiGauge.Row<?>> pendingRows = new ArrayList<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            PoolStats stats = connectionManager.getStats(route);
+            Tags tags = Tags.of("host", route.getTargetHost().getHostName());
+            leasedRows.add(MultiGauge.Row.of(tags, stats.getLeased()));
+            availableRows.add(MultiGauge.Row.of(tags, stats.getAvailable()));
+            pendingRows.add(MultiGauge.Row.of(tags, stats.getPending()));
+        }
+        leased.register(leasedRows, true);
+        available.register(availableRows, true);
+        pending.register(pendingRows, true);
+    }
+}
@@ -2,14 +2,19 @@ package com.healthlink.infrastructure.messaging;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * RabbitMQ configuration for async workers (webhooks, notifications).
  * Only active when 'rabbitmq' profile is enabled.
@@ -24,6 +29,17 @@ public class RabbitMQConfig {
     public static final String WEBHOOK_ROUTING_KEY = "webhook.delivery";
     public static final String WEBHOOK_DLQ = "healthlink.webhooks.dlq";
     public static final String WEBHOOK_DLX = "healthlink.webhooks.dlx";
+    public static final String WEBHOOK_DLQ_ROUTING_KEY = "webhook.failed";
+
+    /**
+     * Backoff tier: a failed delivery is parked on {@code healthlink.webhooks.retry.<level>}
+     * with a per-message TTL, then dead-lettered back onto the main webhook exchange.
+     */
+    public static final String WEBHOOK_RETRY_EXCHANGE = "healthlink.webhooks.retry";
+    public static final String WEBHOOK_RETRY_QUEUE_PREFIX = "healthlink.webhooks.retry.";
+    public static final String WEBHOOK_RETRY_ROUTING_KEY_PREFIX = "webhook.retry.";
+    public static final int WEBHOOK_RETRY_LEVELS = 4;
+    public static final String WEBHOOK_LISTENER_FACTORY = "webhookListenerContainerFactory";
 
     public static final String NOTIFICATION_QUEUE = "healthlink.notifications";
     public static final String NOTIFICATION_EXCHANGE = "healthlink.notifications.exchange";
@@ -43,12 +59,32 @@ public class RabbitMQConfig {
         return template;
     }
 
+    /**
+     * Webhook consumers receive up to {@code consumer-batch-size} messages at a time so
+     * deliveries to batch-enabled subscribers can be combined into one POST.
+     */
+    @Bean(WEBHOOK_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory webhookListenerContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${healthlink.webhooks.consumer-batch-size:50}") int batchSize,
+            @Value("${healthlink.webhooks.consumer-batch-wait-ms:500}") long receiveTimeoutMs) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        return factory;
+    }
+
     // Webhook Queue and Exchange
     @Bean
     public Queue webhookQueue() {
         return QueueBuilder.durable(WEBHOOK_QUEUE)
                 .withArgument("x-dead-letter-exchange", WEBHOOK_DLX)
-                .withArgument("x-dead-letter-routing-key", "webhook.failed")
+                .withArgument("x-dead-letter-routing-key", WEBHOOK_DLQ_ROUTING_KEY)
                 .build();
     }
 
@@ -74,7 +110,28 @@ public class RabbitMQConfig {
 
     @Bean
     public Binding webhookDLQBinding(Queue webhookDLQ, DirectExchange webhookDLX) {
-        return BindingBuilder.bind(webhookDLQ).to(webhookDLX).with("webhook.failed");
+        return BindingBuilder.bind(webhookDLQ).to(webhookDLX).with(WEBHOOK_DLQ_ROUTING_KEY);
+    }
+
+    @Bean
+    public DirectExchange webhookRetryExchange() {
+        return new DirectExchange(WEBHOOK_RETRY_EXCHANGE);
+    }
+
+    @Bean
+    public Declarables webhookRetryQueues(DirectExchange webhookRetryExchange) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int level = 1; level <= WEBHOOK_RETRY_LEVELS; level++) {
+            // No consumer: messages only leave by expiring back onto the delivery queue
+            Queue queue = QueueBuilder.durable(WEBHOOK_RETRY_QUEUE_PREFIX + level)
+                    .withArgument("x-dead-letter-exchange", WEBHOOK_EXCHANGE)
+                    .withArgument("x-dead-letter-routing-key", WEBHOOK_ROUTING_KEY)
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(webhookRetryExchange)
+                    .with(WEBHOOK_RETRY_ROUTING_KEY_PREFIX + level));
+        }
+        return new Declarables(declarables);
     }
 
     // Notification Queue and Exchange
@@ -1,17 +1,21 @@
 package com.healthlink.infrastructure.notification;
 
+import com.healthlink.domain.notification.NotificationChannel;
 import com.healthlink.domain.notification.NotificationStatus;
 import com.healthlink.domain.notification.dto.NotificationDeliveryMessage;
 import com.healthlink.domain.notification.entity.Notification;
 import com.healthlink.domain.notification.entity.NotificationPreference;
 import com.healthlink.domain.notification.repository.NotificationPreferenceRepository;
 import com.healthlink.domain.notification.repository.NotificationRepository;
+import com.healthlink.domain.notification.service.NotificationDigestService;
+import com.healthlink.domain.notification.service.NotificationSendLedger;
 import com.healthlink.infrastructure.logging.SafeLogger;
 import com.healthlink.infrastructure.messaging.RabbitMQConfig;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
@@ -21,7 +25,10 @@ import java.util.UUID;
  * Implements:
  * - User preference filtering
  * - In-app notification storage
- * - Idempotency (no duplicate sends)
+ * - Digest hold for low-priority types when the user opted in (see NotificationDigestService);
+ *   everything else stays in-app only
+ * - Idempotency per channel via NotificationSendLedger; the listener runs in one
+ *   transaction so a failed delivery also rolls back its ledger claims
  */
 @Component
 @Profile("rabbitmq")
@@ -30,9 +37,16 @@ public class NotificationDeliveryWorker {
 
     private final NotificationRepository notificationRepository;
     private final NotificationPreferenceRepository preferenceRepository;
+    private final NotificationDigestService digestService;
+    private final NotificationSendLedger sendLedger;
     private final SafeLogger log = SafeLogger.get(NotificationDeliveryWorker.class);
 
+    /** Metadata flag that bypasses digest mode, e.g. for imminent appointment reminders. */
+    public static final String PRIORITY_KEY = "priority";
+    public static final String PRIORITY_HIGH = "HIGH";
+
     @RabbitListener(queues = RabbitMQConfig.NOTIFICATION_QUEUE)
+    @Transactional
     public void processNotification(NotificationDeliveryMessage message) {
         log.event("notification_delivery_attempt")
                 .with("notificationId", message.getNotificationId().toString())
@@ -40,8 +54,8 @@ public class NotificationDeliveryWorker {
                 .with("type", message.getType().name())
                 .log();
 
-        // Check if notification already exists (idempotency)
-        if (notificationRepository.existsById(message.getNotificationId())) {
+        int attempt = message.getAttemptNumber() != null ? message.getAttemptNumber() : 1;
+        if (!sendLedger.claim(message.getNotificationId(), NotificationChannel.IN_APP, attempt)) {
             log.event("notification_already_delivered")
                     .with("notificationId", message.getNotificationId().toString())
                     .log();
@@ -67,6 +81,11 @@ public class NotificationDeliveryWorker {
         // Deliver in-app notification
         try {
             Notification notification = createNotification(message, NotificationStatus.UNREAD);
+            // A digest hold counts as the push-channel effect; the digest flush claims its own rows
+            if (digestService.holdsForDigest(preference, notification, isHighPriority(message))
+                    && sendLedger.claim(notification.getId(), NotificationChannel.PUSH, attempt)) {
+                digestService.hold(notification);
+            }
 
             log.event("notification_delivered")
                     .with("notificationId", notification.getId().toString())
@@ -94,6 +113,11 @@ public class NotificationDeliveryWorker {
         };
     }
 
+    private boolean isHighPriority(NotificationDeliveryMessage message) {
+        return message.getMetadata() != null
+                && PRIORITY_HIGH.equalsIgnoreCase(message.getMetadata().get(PRIORITY_KEY));
+    }
+
     private Notification createNotification(NotificationDeliveryMessage message, NotificationStatus status) {
         Notification notification = new Notification();
         notification.setId(message.getNotificationId());
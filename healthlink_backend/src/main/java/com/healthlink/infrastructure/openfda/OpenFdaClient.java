@@ -1,44 +1,137 @@
 package com.healthlink.infrastructure.openfda;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import org.springframework.cache.annotation.Cacheable;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * The single OpenFDA HTTP client for the application.
+ * <p>
+ * - One WebClient on a dedicated Reactor Netty connection pool, so lookups reuse
+ *   keep-alive connections instead of connecting per call
+ * - Bounded concurrency: the pool holds at most {@code max-concurrent} connections and
+ *   queues further requests (bounded, waiting at most {@code pending-timeout-ms}),
+ *   acting as a non-blocking semaphore in front of OpenFDA's rate limit
+ * - In-flight coalescing: concurrent lookups of the same drug share one request
+ * - Retry with backoff on 5xx and I/O errors; "no match" (404) resolves to empty
+ */
 @Component
 public class OpenFdaClient {
 
+    private static final String DRUG_LABEL_PATH = "/drug/label.json";
+
+    private final SafeLogger log = SafeLogger.get(OpenFdaClient.class);
+    private final ConnectionProvider connectionProvider;
     private final WebClient webClient;
+    private final String apiKey;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Map<String, Mono<JsonNode>> inFlight = new ConcurrentHashMap<>();
 
-    public OpenFdaClient() {
-        this.webClient = WebClient.builder()
-                .baseUrl("https://api.fda.gov/drug/interaction.json")
+    public OpenFdaClient(
+            WebClient.Builder webClientBuilder,
+            @Value("${healthlink.integration.openfda.api-url:https://api.fda.gov}") String apiUrl,
+            @Value("${healthlink.integration.openfda.api-key:#{null}}") String apiKey,
+            @Value("${healthlink.integration.openfda.max-concurrent:10}") int maxConcurrent,
+            @Value("${healthlink.integration.openfda.pending-timeout-ms:5000}") long pendingTimeoutMs,
+            @Value("${healthlink.integration.openfda.timeout-ms:10000}") long timeoutMs,
+            @Value("${healthlink.integration.openfda.max-retries:3}") int maxRetries) {
+        this.connectionProvider = ConnectionProvider.builder("openfda")
+                .maxConnections(maxConcurrent)
+                .pendingAcquireMaxCount(maxConcurrent * 20)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(30))
+                .evictInBackground(Duration.ofSeconds(60))
+                .build();
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.webClient = webClientBuilder.clone()
+                .baseUrl(apiUrl)
+                .defaultHeader("User-Agent", "HealthLink/1.0")
+                .clientConnector(new ReactorClientHttpConnector(
+                        HttpClient.create(connectionProvider).responseTimeout(timeout)))
                 .build();
+        this.apiKey = apiKey;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * First drug label whose brand name matches, or an empty Mono when OpenFDA has none.
+     * Errors other than "not found" are propagated after retries.
+     */
+    public Mono<JsonNode> fetchLabel(String drugName) {
+        String key = normalize(drugName);
+        return inFlight.computeIfAbsent(key, k -> requestLabel(k)
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
     }
 
-    @Cacheable(value = "drugInteractions", key = "#drugA + ':' + #drugB")
-    public Optional<JsonNode> checkInteraction(String drugA, String drugB) {
+    /**
+     * Blocking variant for servlet-side callers.
+     */
+    public Optional<JsonNode> fetchLabelBlocking(String drugName) {
+        return fetchLabel(drugName).blockOptional(timeout.multipliedBy(maxRetries + 2L));
+    }
+
+    private Mono<JsonNode> requestLabel(String drugName) {
+        log.event("openfda_api_call").with("drug", drugName).log();
         return webClient.get()
-                .uri(uriBuilder -> uriBuilder
-                        .queryParam("search", String.format("drug1:%s+AND+drug2:%s", drugA, drugB))
-                        .build())
+                .uri(uriBuilder -> {
+                    uriBuilder.path(DRUG_LABEL_PATH)
+                            .queryParam("search", "openfda.brand_name:\"" + drugName + "\"")
+                            .queryParam("limit", 1);
+                    if (apiKey != null && !apiKey.isEmpty()) {
+                        uriBuilder.queryParam("api_key", apiKey);
+                    }
+                    return uriBuilder.build();
+                })
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .onStatus(status -> status.isError(), this::mapError)
                 .bodyToMono(JsonNode.class)
-                .timeout(Duration.ofSeconds(5))
-                .onErrorResume(e -> Mono.empty())
-                .blockOptional();
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    if (e.getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+                        return Mono.empty(); // OpenFDA answers 404 when the search matches nothing
+                    }
+                    if (e.getStatusCode().is4xxClientError()) {
+                        log.event("openfda_client_error")
+                                .with("status", String.valueOf(e.getStatusCode().value()))
+                                .with("drug", drugName)
+                                .log();
+                        return Mono.error(new IllegalArgumentException("Invalid drug name or query", e));
+                    }
+                    return Mono.error(e);
+                })
+                .retryWhen(Retry.backoff(maxRetries, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(5))
+                        .filter(throwable -> !(throwable instanceof IllegalArgumentException)))
+                .flatMap(body -> {
+                    JsonNode results = body.path("results");
+                    return results.isArray() && !results.isEmpty() ? Mono.just(results.get(0)) : Mono.empty();
+                });
+    }
+
+    static String normalize(String drugName) {
+        return drugName.trim().toLowerCase(Locale.ROOT);
     }
 
-    private Mono<? extends Throwable> mapError(ClientResponse response) {
-        return response.bodyToMono(String.class)
-                .map(body -> new IllegalStateException("OpenFDA error status=" + response.statusCode() + " body=" + body));
+    @PreDestroy
+    public void shutdown() {
+        connectionProvider.dispose();
     }
 }
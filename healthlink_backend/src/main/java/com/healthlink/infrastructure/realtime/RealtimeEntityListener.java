@@ -0,0 +1,65 @@
+package com.healthlink.infrastructure.realtime;
+
+import com.healthlink.domain.appointment.entity.Appointment;
+import com.healthlink.domain.notification.entity.Notification;
+import com.healthlink.security.encryption.SpringContext;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JPA listener turning notification and appointment writes into {@link RealtimeEvent}s.
+ * Events are only relayed after the surrounding transaction commits
+ * (see {@link RealtimeRelay#onRealtimeEvent}), so rolled-back writes never reach clients.
+ * Instantiated by Hibernate, hence the lazy bean lookup.
+ */
+public class RealtimeEntityListener {
+
+    @PostPersist
+    public void onCreated(Object entity) {
+        if (entity instanceof Notification notification) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("id", notification.getId());
+            payload.put("type", notification.getType());
+            payload.put("title", notification.getTitle());
+            payload.put("status", notification.getStatus());
+            publish(new RealtimeEvent(notification.getUserId(), RealtimeEvent.NOTIFICATIONS, payload));
+        } else if (entity instanceof Appointment appointment) {
+            onAppointmentChanged(appointment);
+        }
+    }
+
+    @PostUpdate
+    public void onUpdated(Object entity) {
+        if (entity instanceof Appointment appointment) {
+            onAppointmentChanged(appointment);
+        }
+    }
+
+    private void onAppointmentChanged(Appointment appointment) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("appointmentId", appointment.getId());
+        payload.put("status", appointment.getStatus());
+        payload.put("appointmentTime", appointment.getAppointmentTime());
+        if (appointment.getPatient() != null) {
+            publish(new RealtimeEvent(appointment.getPatient().getId(), RealtimeEvent.APPOINTMENTS, payload));
+        }
+        if (appointment.getDoctor() != null) {
+            publish(new RealtimeEvent(appointment.getDoctor().getId(), RealtimeEvent.APPOINTMENTS, payload));
+        }
+    }
+
+    private void publish(RealtimeEvent event) {
+        if (event.userId() == null) {
+            return;
+        }
+        try {
+            SpringContext.getBean(ApplicationEventPublisher.class).publishEvent(event);
+        } catch (IllegalStateException e) {
+            // No Spring context (plain JPA tooling) - nothing to relay to
+        }
+    }
+}
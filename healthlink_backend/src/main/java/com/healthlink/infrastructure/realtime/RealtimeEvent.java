@@ -0,0 +1,18 @@
+package com.healthlink.infrastructure.realtime;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A change a specific user should see without polling.
+ * Delivered to {@code /user/queue/{destination}} for that user's STOMP sessions.
+ *
+ * @param userId      recipient
+ * @param destination queue name under the user prefix, e.g. "notifications"
+ * @param payload     JSON-serialisable body (no PHI beyond what the REST endpoint returns)
+ */
+public record RealtimeEvent(UUID userId, String destination, Map<String, Object> payload) {
+
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String APPOINTMENTS = "appointments";
+}
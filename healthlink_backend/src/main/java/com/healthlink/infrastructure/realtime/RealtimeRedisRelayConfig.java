@@ -0,0 +1,30 @@
+package com.healthlink.infrastructure.realtime;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes this node to the realtime Redis channel so events raised on any node
+ * reach STOMP sessions held here. Only active when the Redis relay is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "healthlink.realtime.redis-relay.enabled", havingValue = "true")
+public class RealtimeRedisRelayConfig {
+
+    @Bean
+    public RedisMessageListenerContainer realtimeRelayListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        RealtimeRelay relay) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> relay.onRelayedMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(RealtimeRelay.REDIS_CHANNEL));
+        return container;
+    }
+}
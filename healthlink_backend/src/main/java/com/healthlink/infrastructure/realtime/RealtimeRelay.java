@@ -0,0 +1,78 @@
+package com.healthlink.infrastructure.realtime;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Routes {@link RealtimeEvent}s to STOMP user destinations.
+ * <p>
+ * Single node: events go straight to the local broker. With
+ * {@code healthlink.realtime.redis-relay.enabled=true} every event is published on a Redis
+ * channel instead and each node delivers it to whichever of the user's sessions it holds
+ * (see {@link RealtimeRedisRelayConfig}).
+ */
+@Component
+public class RealtimeRelay {
+
+    public static final String REDIS_CHANNEL = "healthlink:realtime";
+
+    private final SafeLogger log = SafeLogger.get(RealtimeRelay.class);
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisRelayEnabled;
+
+    public RealtimeRelay(SimpMessagingTemplate messagingTemplate,
+                         @Nullable RedisTemplate<String, String> redisTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${healthlink.realtime.redis-relay.enabled:false}") boolean redisRelayEnabled) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisRelayEnabled = redisRelayEnabled && redisTemplate != null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRealtimeEvent(RealtimeEvent event) {
+        if (!redisRelayEnabled) {
+            deliverLocally(event);
+            return;
+        }
+        try {
+            redisTemplate.convertAndSend(REDIS_CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Redis unavailable: this node's sessions still get the event
+            log.event("realtime_relay_publish_failed")
+                    .with("destination", event.destination())
+                    .with("error", e.getClass().getSimpleName())
+                    .log();
+            deliverLocally(event);
+        }
+    }
+
+    /**
+     * Called for events received from the Redis channel.
+     */
+    void onRelayedMessage(String json) {
+        try {
+            deliverLocally(objectMapper.readValue(json, RealtimeEvent.class));
+        } catch (JsonProcessingException e) {
+            log.event("realtime_relay_decode_failed")
+                    .with("error", e.getClass().getSimpleName())
+                    .log();
+        }
+    }
+
+    void deliverLocally(RealtimeEvent event) {
+        // No-op when the user has no session on this node
+        messagingTemplate.convertAndSendToUser(event.userId().toString(), "/queue/" + event.destination(),
+                event.payload());
+    }
+}
@@ -0,0 +1,87 @@
+package com.healthlink.infrastructure.realtime;
+
+import com.healthlink.security.jwt.JwtService;
+import com.healthlink.security.model.CustomUserDetails;
+import com.healthlink.security.service.CustomUserDetailsService;
+import com.healthlink.security.token.AccessTokenBlacklistService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Authenticates STOMP sessions with the same access tokens the REST API accepts.
+ * <p>
+ * The token is checked once on CONNECT (signature, expiry, JTI blacklist, forced logout);
+ * the session principal is the user id so {@code convertAndSendToUser(userId, ...)} resolves.
+ * Every later frame needs that principal, and subscriptions are limited to the caller's own
+ * {@code /user/...} destinations. Clients only listen: nothing handles inbound messages, and a
+ * SEND would go straight to the broker and into another user's queue, so SEND is always refused.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final AccessTokenBlacklistService accessTokenBlacklistService;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+        StompCommand command = accessor.getCommand();
+        if (command == StompCommand.CONNECT || command == StompCommand.STOMP) {
+            accessor.setUser(authenticate(accessor.getFirstNativeHeader("Authorization")));
+            return message;
+        }
+        if (command == StompCommand.DISCONNECT) {
+            return message;
+        }
+        if (command == StompCommand.SEND) {
+            throw new MessageDeliveryException("Client messages not permitted");
+        }
+        if (accessor.getUser() == null) {
+            throw new MessageDeliveryException("Not authenticated");
+        }
+        if (command == StompCommand.SUBSCRIBE) {
+            String destination = accessor.getDestination();
+            if (destination == null || !destination.startsWith("/user/queue/")) {
+                throw new MessageDeliveryException("Subscription not permitted");
+            }
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Missing bearer token");
+        }
+        String jwt = authHeader.substring(7);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(jwtService.extractUsername(jwt));
+        if (!jwtService.isTokenValid(jwt, userDetails)
+                || accessTokenBlacklistService.isBlacklisted(jwtService.extractJti(jwt))
+                || !(userDetails instanceof CustomUserDetails customUser)) {
+            throw new MessageDeliveryException("Invalid token");
+        }
+        if (customUser.getTokensRevokedAt() != null) {
+            Date issuedAt = jwtService.extractClaim(jwt, Claims::getIssuedAt);
+            if (issuedAt != null && issuedAt.toInstant().isBefore(customUser.getTokensRevokedAt())) {
+                throw new MessageDeliveryException("Token revoked");
+            }
+        }
+        return new UsernamePasswordAuthenticationToken(customUser.getId().toString(), null, customUser.getAuthorities());
+    }
+}
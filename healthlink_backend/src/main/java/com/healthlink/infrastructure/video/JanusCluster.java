@@ -0,0 +1,255 @@
+package com.healthlink.infrastructure.video;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthlink.domain.video.repository.VideoCallRepository;
+import com.healthlink.exception.VideoCallCapacityException;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control and placement of video calls across the configured Janus nodes.
+ * <p>
+ * A call goes to the least-utilized node that is below {@code max-rooms-per-node}. Each node
+ * limits call setups with a token bucket ({@code setup-rate-per-second}, bursts up to
+ * {@code setup-burst}); setups beyond that wait in the node's queue, in arrival order, for at
+ * most {@code max-queue-wait-ms}. When no node can start the call within that wait, the caller
+ * gets a {@link VideoCallCapacityException} with a retry-after instead of a slow Janus timeout.
+ * <p>
+ * Room counts come from open video_calls rows, re-read every {@code load-refresh-ms} so nodes
+ * behind several backend instances stay in step; admissions in between count locally. Calls are
+ * not ended explicitly yet, so a call counts as open for {@code active-call-window-minutes}.
+ * <p>
+ * {@code healthlink.webrtc.janus.nodes} lists the nodes (http(s):// for REST, ws(s):// for
+ * WebSocket); when empty, the single node is the {@link JanusService} bean.
+ * <p>
+ * Warm-session keepalives run on their own thread every {@code keepalive-interval-ms}. On the
+ * shared {@code @Scheduled} thread a slow SMTP, HTTP or bulk-index job could delay them past
+ * Janus' 60s session_timeout, and every warm session and pooled room would be lost.
+ */
+@Component
+public class JanusCluster {
+
+    /** Where a call was placed: the node name and the room it got there. */
+    public record Placement(String node, JanusRoomPool.JanusRoom room) {}
+
+    static final String DEFAULT_NODE = "default";
+    static final Duration DEFAULT_KEEPALIVE_INTERVAL = Duration.ofSeconds(25);
+
+    private final List<JanusNode> nodes;
+    private final List<JanusWebSocketTransport> ownedTransports;
+    private final VideoCallRepository videoCallRepository;
+    private final int queueCapacity;
+    private final Duration maxQueueWait;
+    private final long fullRetryAfterSeconds;
+    private final Duration activeCallWindow;
+    private final Duration keepAliveInterval;
+    private final ScheduledExecutorService keepAliveScheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("janus-keepalive").daemon().factory());
+    private final SafeLogger log = SafeLogger.get(JanusCluster.class);
+
+    @Autowired
+    public JanusCluster(
+            JanusService defaultJanus,
+            RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            VideoCallRepository videoCallRepository,
+            @Value("${healthlink.webrtc.janus.nodes:}") String nodeUrls,
+            @Value("${healthlink.webrtc.janus.max-rooms-per-node:200}") int maxRoomsPerNode,
+            @Value("${healthlink.webrtc.janus.request-timeout-ms:5000}") long requestTimeoutMs,
+            @Value("${healthlink.webrtc.janus.pool.sessions:2}") int poolSessions,
+            @Value("${healthlink.webrtc.janus.pool.rooms:4}") int poolRooms,
+            @Value("${healthlink.webrtc.janus.keepalive-interval-ms:25000}") long keepAliveIntervalMs,
+            @Value("${healthlink.webrtc.admission.setup-rate-per-second:10}") int setupRatePerSecond,
+            @Value("${healthlink.webrtc.admission.setup-burst:20}") int setupBurst,
+            @Value("${healthlink.webrtc.admission.queue-capacity:50}") int queueCapacity,
+            @Value("${healthlink.webrtc.admission.max-queue-wait-ms:2000}") long maxQueueWaitMs,
+            @Value("${healthlink.webrtc.admission.full-retry-after-seconds:15}") long fullRetryAfterSeconds,
+            @Value("${healthlink.webrtc.admission.active-call-window-minutes:60}") long activeCallWindowMinutes) {
+        this.ownedTransports = new ArrayList<>();
+        this.nodes = new ArrayList<>();
+        this.videoCallRepository = videoCallRepository;
+        this.queueCapacity = queueCapacity;
+        this.maxQueueWait = Duration.ofMillis(maxQueueWaitMs);
+        this.fullRetryAfterSeconds = fullRetryAfterSeconds;
+        this.activeCallWindow = Duration.ofMinutes(activeCallWindowMinutes);
+        this.keepAliveInterval = Duration.ofMillis(keepAliveIntervalMs);
+
+        List<String> urls = Arrays.stream(nodeUrls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (urls.isEmpty()) {
+            nodes.add(node(DEFAULT_NODE, defaultJanus, maxRoomsPerNode, poolSessions, poolRooms, setupRatePerSecond, setupBurst));
+        }
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(i);
+            JanusService client;
+            if (url.startsWith("ws://") || url.startsWith("wss://")) {
+                JanusWebSocketTransport transport = new JanusWebSocketTransport(url, requestTimeoutMs, objectMapper);
+                ownedTransports.add(transport);
+                client = new JanusService(restTemplate, null, transport);
+            } else {
+                client = new JanusService(restTemplate, url, null);
+            }
+            nodes.add(node("janus-" + (i + 1), client, maxRoomsPerNode, poolSessions, poolRooms, setupRatePerSecond, setupBurst));
+        }
+    }
+
+    JanusCluster(List<JanusNode> nodes, VideoCallRepository videoCallRepository, int queueCapacity,
+                 Duration maxQueueWait, long fullRetryAfterSeconds, Duration activeCallWindow) {
+        this.nodes = List.copyOf(nodes);
+        this.ownedTransports = List.of();
+        this.videoCallRepository = videoCallRepository;
+        this.queueCapacity = queueCapacity;
+        this.maxQueueWait = maxQueueWait;
+        this.fullRetryAfterSeconds = fullRetryAfterSeconds;
+        this.activeCallWindow = activeCallWindow;
+        this.keepAliveInterval = DEFAULT_KEEPALIVE_INTERVAL;
+    }
+
+    static JanusNode node(String name, JanusService client, int maxRooms, int poolSessions, int poolRooms,
+                          int setupRatePerSecond, int setupBurst) {
+        Bucket setupBucket = Bucket.builder()
+                .addLimit(Bandwidth.builder()
+                        .capacity(setupBurst)
+                        .refillGreedy(setupRatePerSecond, Duration.ofSeconds(1))
+                        .build())
+                .build();
+        return new JanusNode(name, client, new JanusRoomPool(client, poolSessions, poolRooms), maxRooms, setupBucket);
+    }
+
+    /**
+     * Admits the call on the least-loaded node that can start it within the queue wait and
+     * takes a room there.
+     *
+     * @throws VideoCallCapacityException if no node can take the call now
+     */
+    public Placement placeCall(UUID appointmentId) {
+        JanusNode node = admit(appointmentId);
+        try {
+            return new Placement(node.name(), node.pool().acquire());
+        } catch (RuntimeException e) {
+            node.releaseRoom();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives back a placement whose call was never recorded: frees the room slot and destroys
+     * the room, best effort.
+     */
+    public void release(Placement placement) {
+        JanusRoomPool.JanusRoom room = placement.room();
+        nodes.stream()
+                .filter(node -> node.name().equals(placement.node()))
+                .findFirst()
+                .ifPresent(node -> {
+                    node.releaseRoom();
+                    node.client().destroyRoom(room.sessionId(), room.handleId(), room.roomId(), room.secret());
+                });
+    }
+
+    public List<JanusNode> nodes() {
+        return nodes;
+    }
+
+    private JanusNode admit(UUID appointmentId) {
+        List<JanusNode> candidates = nodes.stream()
+                .filter(node -> !node.isFull())
+                .sorted(Comparator.comparingDouble(JanusNode::utilization).thenComparingInt(JanusNode::queued))
+                .toList();
+        for (JanusNode node : candidates) {
+            if (!node.tryEnqueue(queueCapacity)) {
+                continue;
+            }
+            try {
+                // Reserves the next free token only if it frees up within the wait, then parks until it does
+                if (node.setupBucket().asBlocking().tryConsume(1, maxQueueWait) && node.tryReserveRoom()) {
+                    return node;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for video call admission", e);
+            } finally {
+                node.dequeue();
+            }
+        }
+
+        long retryAfterSeconds = retryAfterSeconds(candidates);
+        log.event("video_call_admission_rejected")
+           .with("appointmentId", appointmentId != null ? appointmentId.toString() : null)
+           .with("availableNodes", candidates.size())
+           .with("retryAfterSeconds", retryAfterSeconds)
+           .log();
+        throw new VideoCallCapacityException(appointmentId, retryAfterSeconds);
+    }
+
+    private long retryAfterSeconds(List<JanusNode> candidates) {
+        if (candidates.isEmpty()) {
+            return fullRetryAfterSeconds;
+        }
+        long nanos = candidates.stream()
+                .mapToLong(node -> node.setupBucket().estimateAbilityToConsume(1).getNanosToWaitForRefill())
+                .min()
+                .orElse(0);
+        return Math.max(1, Duration.ofNanos(nanos).toSeconds() + 1);
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.webrtc.admission.load-refresh-ms:5000}")
+    public void syncLoad() {
+        Map<String, Integer> openCalls = new HashMap<>();
+        for (Object[] row : videoCallRepository.countOpenCallsByJanusNode(LocalDateTime.now().minus(activeCallWindow))) {
+            if (row[0] != null) {
+                openCalls.put((String) row[0], ((Number) row[1]).intValue());
+            }
+        }
+        nodes.forEach(node -> node.syncActiveRooms(openCalls.getOrDefault(node.name(), 0)));
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.webrtc.janus.pool.refill-interval-ms:10000}")
+    public void refillPools() {
+        nodes.forEach(node -> node.pool().refill());
+    }
+
+    @PostConstruct
+    public void startKeepAlive() {
+        long intervalMs = keepAliveInterval.toMillis();
+        keepAliveScheduler.scheduleWithFixedDelay(this::keepAlive, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void keepAlive() {
+        for (JanusNode node : nodes) {
+            try {
+                node.pool().keepAlive();
+            } catch (RuntimeException e) {
+                // An escaping exception would cancel the fixed-delay task for good
+                log.event("janus_keepalive_failed").with("node", node.name()).with("error", e.getClass().getSimpleName()).log();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        keepAliveScheduler.shutdownNow();
+        nodes.forEach(node -> node.pool().shutdown());
+        ownedTransports.forEach(JanusWebSocketTransport::shutdown);
+    }
+}
@@ -0,0 +1,98 @@
+package com.healthlink.infrastructure.video;
+
+import io.github.bucket4j.Bucket;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One Janus node as seen by {@link JanusCluster}: its client and room pool, how many rooms
+ * it is hosting, and the admission state for call setups on it (a token bucket limiting the
+ * setup rate, and the number of setups waiting for a token).
+ */
+public class JanusNode {
+
+    private final String name;
+    private final JanusService client;
+    private final JanusRoomPool pool;
+    private final int maxRooms;
+    private final Bucket setupBucket;
+    private final AtomicInteger activeRooms = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    JanusNode(String name, JanusService client, JanusRoomPool pool, int maxRooms, Bucket setupBucket) {
+        this.name = name;
+        this.client = client;
+        this.pool = pool;
+        this.maxRooms = maxRooms;
+        this.setupBucket = setupBucket;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    JanusService client() {
+        return client;
+    }
+
+    JanusRoomPool pool() {
+        return pool;
+    }
+
+    Bucket setupBucket() {
+        return setupBucket;
+    }
+
+    public int activeRooms() {
+        return activeRooms.get();
+    }
+
+    public int maxRooms() {
+        return maxRooms;
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    /** Share of the room limit in use, for least-loaded routing. */
+    double utilization() {
+        return (double) activeRooms.get() / maxRooms;
+    }
+
+    boolean isFull() {
+        return activeRooms.get() >= maxRooms;
+    }
+
+    /** Takes a room slot unless the node is at its limit. */
+    boolean tryReserveRoom() {
+        int current;
+        do {
+            current = activeRooms.get();
+            if (current >= maxRooms) {
+                return false;
+            }
+        } while (!activeRooms.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    void releaseRoom() {
+        activeRooms.updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    void syncActiveRooms(int openCalls) {
+        activeRooms.set(openCalls);
+    }
+
+    boolean tryEnqueue(int capacity) {
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void dequeue() {
+        queued.decrementAndGet();
+    }
+}
@@ -0,0 +1,154 @@
+package com.healthlink.infrastructure.video;
+
+import com.healthlink.infrastructure.logging.SafeLogger;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warm Janus sessions and pre-created videorooms on one Janus node, so starting a call needs no
+ * Janus round trip. {@link JanusCluster} owns one pool per node and drives its refill and keepalive.
+ * <ul>
+ *     <li>{@code pool.sessions} sessions, each with a videoroom handle attached, are kept open and
+ *     kept alive; rooms are created through them instead of through a new session per call</li>
+ *     <li>{@code pool.rooms} rooms with random ids and secrets wait to be handed out by {@link #acquire()}</li>
+ * </ul>
+ * When the pool is empty (cold start, Janus hiccup, burst of calls) {@link #acquire()} falls back to
+ * creating the room on demand. A session Janus no longer knows is dropped together with the rooms
+ * created through it, since that usually means Janus restarted and the rooms are gone too.
+ */
+public class JanusRoomPool {
+
+    /** A videoroom ready for a call, with the control session and handle that created it. */
+    public record JanusRoom(Long sessionId, Long handleId, Long roomId, String secret) {}
+
+    private record ControlHandle(Long sessionId, Long handleId) {}
+
+    private final JanusService janusService;
+    private final int sessionTarget;
+    private final int roomTarget;
+    private final List<ControlHandle> handles = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<JanusRoom> rooms = new LinkedBlockingQueue<>();
+    private final AtomicInteger nextHandle = new AtomicInteger();
+    private final SafeLogger log = SafeLogger.get(JanusRoomPool.class);
+
+    public JanusRoomPool(JanusService janusService, int sessionTarget, int roomTarget) {
+        this.janusService = janusService;
+        this.sessionTarget = sessionTarget;
+        this.roomTarget = roomTarget;
+    }
+
+    /**
+     * A pre-created room if one is waiting, otherwise a room created now on a warm
+     * (or, failing that, new) session.
+     */
+    public JanusRoom acquire() {
+        JanusRoom room = rooms.poll();
+        if (room != null) {
+            return room;
+        }
+        log.event("janus_room_pool_miss").with("warmSessions", handles.size()).log();
+        ControlHandle handle = nextHandle();
+        room = newRoom(handle != null ? handle : openHandle());
+        if (!janusService.allocateRoom(room.sessionId(), room.handleId(), room.roomId(), room.secret())) {
+            throw new RuntimeException("Failed to create Janus room");
+        }
+        return room;
+    }
+
+    public void refill() {
+        if (!janusService.isConfigured()) {
+            return;
+        }
+        try {
+            while (handles.size() < sessionTarget) {
+                openHandle();
+            }
+            while (rooms.size() < roomTarget) {
+                ControlHandle handle = nextHandle();
+                if (handle == null) {
+                    return;
+                }
+                JanusRoom room = newRoom(handle);
+                if (!janusService.allocateRoom(room.sessionId(), room.handleId(), room.roomId(), room.secret())) {
+                    return;
+                }
+                rooms.add(room);
+            }
+        } catch (RuntimeException e) {
+            // Retried on the next tick; acquire() still works on demand meanwhile
+            log.event("janus_pool_refill_failed").with("error", e.getClass().getSimpleName()).log();
+        }
+    }
+
+    /**
+     * Janus drops sessions that are silent for {@code session_timeout} (60s by default).
+     */
+    public void keepAlive() {
+        for (ControlHandle handle : handles) {
+            boolean alive;
+            try {
+                alive = janusService.keepAlive(handle.sessionId());
+            } catch (RuntimeException e) {
+                // Unreachable is not the same as gone; the session survives until Janus' timeout
+                log.event("janus_keepalive_failed").with("error", e.getClass().getSimpleName()).log();
+                continue;
+            }
+            if (!alive) {
+                handles.remove(handle);
+                rooms.removeIf(room -> room.sessionId().equals(handle.sessionId()));
+                log.event("janus_session_lost").with("sessionId", handle.sessionId()).log();
+            }
+        }
+    }
+
+    int idleRooms() {
+        return rooms.size();
+    }
+
+    int warmSessions() {
+        return handles.size();
+    }
+
+    public void shutdown() {
+        if (!janusService.isConfigured()) {
+            return;
+        }
+        JanusRoom room;
+        while ((room = rooms.poll()) != null) {
+            janusService.destroyRoom(room.sessionId(), room.handleId(), room.roomId(), room.secret());
+        }
+        handles.forEach(handle -> janusService.destroySession(handle.sessionId()));
+        handles.clear();
+    }
+
+    private ControlHandle openHandle() {
+        Long sessionId = janusService.createSession();
+        ControlHandle handle = new ControlHandle(sessionId, janusService.attachPlugin(sessionId));
+        // Handles beyond the target are used once and left to Janus' session timeout
+        if (handles.size() < sessionTarget) {
+            handles.add(handle);
+        }
+        return handle;
+    }
+
+    /** Round-robin over the warm handles, or null when there are none. */
+    private ControlHandle nextHandle() {
+        List<ControlHandle> snapshot = List.copyOf(handles);
+        if (snapshot.isEmpty()) {
+            return null;
+        }
+        return snapshot.get(Math.floorMod(nextHandle.getAndIncrement(), snapshot.size()));
+    }
+
+    private static JanusRoom newRoom(ControlHandle handle) {
+        // Browsers read room ids as JavaScript numbers, so stay below 2^53
+        long roomId = ThreadLocalRandom.current().nextLong(1, 1L << 53);
+        return new JanusRoom(handle.sessionId(), handle.handleId(), roomId, UUID.randomUUID().toString());
+    }
+}
@@ -1,5 +1,7 @@
 package com.healthlink.infrastructure.video;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
@@ -10,6 +12,15 @@ import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import com.healthlink.infrastructure.logging.SafeLogger;
 
+/**
+ * Janus Gateway client for the videoroom plugin.
+ * <p>
+ * Requests go over the REST API ({@code healthlink.webrtc.janus.url}) unless a
+ * {@link JanusWebSocketTransport} is active ({@code healthlink.webrtc.janus.transport: websocket}),
+ * in which case they share one persistent WebSocket and session/handle ids travel in the
+ * message body instead of the URL. Warm sessions and pre-created rooms are managed per node
+ * by {@link JanusRoomPool}, and calls are placed through {@link JanusCluster}.
+ */
 @Service
 @Primary
 public class JanusService {
@@ -19,9 +30,33 @@ public class JanusService {
     private String janusUrl;
 
     private final RestTemplate restTemplate;
-    
+    private final JanusWebSocketTransport webSocket;
+
     public JanusService(RestTemplate restTemplate) {
+        this(restTemplate, (JanusWebSocketTransport) null);
+    }
+
+    @Autowired
+    public JanusService(RestTemplate restTemplate, ObjectProvider<JanusWebSocketTransport> webSocket) {
+        this(restTemplate, webSocket.getIfAvailable());
+    }
+
+    JanusService(RestTemplate restTemplate, JanusWebSocketTransport webSocket) {
+        this(restTemplate, null, webSocket);
+    }
+
+    /** Client for one node of a Janus cluster; see {@link JanusCluster}. */
+    JanusService(RestTemplate restTemplate, String janusUrl, JanusWebSocketTransport webSocket) {
         this.restTemplate = restTemplate;
+        this.janusUrl = janusUrl;
+        this.webSocket = webSocket;
+    }
+
+    /**
+     * @return false when no Janus endpoint is configured, so callers can skip background work
+     */
+    public boolean isConfigured() {
+        return webSocket != null || (janusUrl != null && !janusUrl.isBlank());
     }
 
     @SuppressWarnings("unchecked")
@@ -30,8 +65,8 @@ public class JanusService {
         Map<String, Object> request = new HashMap<>();
         request.put("janus", "create");
         request.put("transaction", generateTransactionId());
-        Map<String, Object> response = restTemplate.postForObject(janusUrl, request, Map.class);
-        
+        Map<String, Object> response = send(null, null, request);
+
         if (response != null && "success".equals(response.get("janus"))) {
             Map<String, Object> data = (Map<String, Object>) response.get("data");
             log.info("Janus session created in {} ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
@@ -44,12 +79,11 @@ public class JanusService {
     @SuppressWarnings("unchecked")
     public Long attachPlugin(Long sessionId) {
         long start = System.nanoTime();
-        String url = janusUrl + "/" + sessionId;
         Map<String, Object> request = new HashMap<>();
         request.put("janus", "attach");
         request.put("plugin", "janus.plugin.videoroom");
         request.put("transaction", generateTransactionId());
-        Map<String, Object> response = restTemplate.postForObject(url, request, Map.class);
+        Map<String, Object> response = send(sessionId, null, request);
 
         if (response != null && "success".equals(response.get("janus"))) {
             Map<String, Object> data = (Map<String, Object>) response.get("data");
@@ -60,28 +94,109 @@ public class JanusService {
         throw new RuntimeException("Failed to attach Janus plugin");
     }
 
-    public void createRoom(Long sessionId, Long handleId, Long roomId, String secret) {
-        String url = janusUrl + "/" + sessionId + "/" + handleId;
-        
+    /**
+     * Creates a videoroom through the given control handle.
+     *
+     * @return whether Janus accepted the room
+     */
+    public boolean allocateRoom(Long sessionId, Long handleId, Long roomId, String secret) {
         Map<String, Object> body = new HashMap<>();
         body.put("request", "create");
         body.put("room", roomId);
         body.put("secret", secret);
         body.put("publishers", 2); // Doctor + Patient
 
+        Map<String, Object> response = sendMessage(sessionId, handleId, body);
+        if (response == null) {
+            log.warn("Janus room creation no response for room {}", String.valueOf(roomId));
+            return false;
+        } else if (!"ack".equals(response.get("janus")) && !"success".equals(response.get("janus"))) {
+            log.warn("Janus room creation unexpected status {} for room {}", String.valueOf(response.get("janus")), String.valueOf(roomId));
+            return false;
+        } else if (pluginErrorCode(response) != null) {
+            log.warn("Janus room creation rejected with code {} for room {}", String.valueOf(pluginErrorCode(response)), String.valueOf(roomId));
+            return false;
+        }
+        log.info("Janus room creation requested for room {}", String.valueOf(roomId));
+        return true;
+    }
+
+    /** Videoroom errors arrive inside a "success" reply, as plugindata.data.error_code. */
+    @SuppressWarnings("unchecked")
+    private static Object pluginErrorCode(Map<String, Object> response) {
+        if (!(response.get("plugindata") instanceof Map<?, ?> pluginData)
+                || !(pluginData.get("data") instanceof Map<?, ?> data)) {
+            return null;
+        }
+        return ((Map<String, Object>) data).get("error_code");
+    }
+
+    /**
+     * Best effort; rooms that fail to be destroyed disappear when Janus restarts.
+     */
+    public void destroyRoom(Long sessionId, Long handleId, Long roomId, String secret) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("request", "destroy");
+        body.put("room", roomId);
+        body.put("secret", secret);
+        try {
+            sendMessage(sessionId, handleId, body);
+        } catch (RuntimeException e) {
+            log.warn("Janus room destroy failed for room {}", String.valueOf(roomId));
+        }
+    }
+
+    /**
+     * Resets Janus' session timeout.
+     *
+     * @return false if Janus no longer knows the session (timed out, or Janus restarted)
+     */
+    public boolean keepAlive(Long sessionId) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("janus", "keepalive");
+        request.put("transaction", generateTransactionId());
+        Map<String, Object> response = send(sessionId, null, request);
+        return response != null && "ack".equals(response.get("janus"));
+    }
+
+    public void destroySession(Long sessionId) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("janus", "destroy");
+        request.put("transaction", generateTransactionId());
+        try {
+            send(sessionId, null, request);
+        } catch (RuntimeException e) {
+            log.warn("Janus session destroy failed for session {}", String.valueOf(sessionId));
+        }
+    }
+
+    private Map<String, Object> sendMessage(Long sessionId, Long handleId, Map<String, Object> body) {
         Map<String, Object> request = new HashMap<>();
         request.put("janus", "message");
         request.put("body", body);
         request.put("transaction", generateTransactionId());
+        return send(sessionId, handleId, request);
+    }
 
-        @SuppressWarnings("unchecked") Map<String,Object> response = restTemplate.postForObject(url, request, Map.class);
-        if (response == null) {
-            log.warn("Janus room creation no response for room {}", String.valueOf(roomId));
-        } else if (!"ack".equals(response.get("janus")) && !"success".equals(response.get("janus"))) {
-            log.warn("Janus room creation unexpected status {} for room {}", String.valueOf(response.get("janus")), String.valueOf(roomId));
-        } else {
-            log.info("Janus room creation requested for room {}", String.valueOf(roomId));
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> send(Long sessionId, Long handleId, Map<String, Object> request) {
+        if (webSocket != null) {
+            if (sessionId != null) {
+                request.put("session_id", sessionId);
+            }
+            if (handleId != null) {
+                request.put("handle_id", handleId);
+            }
+            return webSocket.send(request);
+        }
+        String url = janusUrl;
+        if (sessionId != null) {
+            url += "/" + sessionId;
+        }
+        if (handleId != null) {
+            url += "/" + handleId;
         }
+        return restTemplate.postForObject(url, request, Map.class);
     }
 
     private String generateTransactionId() {
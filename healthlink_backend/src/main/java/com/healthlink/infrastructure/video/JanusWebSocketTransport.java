@@ -0,0 +1,165 @@
+package com.healthlink.infrastructure.video;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One persistent WebSocket to Janus ({@code janus-protocol}), used by {@link JanusService}
+ * instead of a REST round trip per request.
+ * <p>
+ * Replies are matched to requests by transaction id. Plugin messages are first acknowledged
+ * with an {@code ack}; the caller waits for the actual plugin reply. The socket is opened
+ * lazily and re-opened on the next request after it drops. Janus destroys the sessions
+ * created over a socket when it closes, which {@link JanusRoomPool} notices on its next
+ * keepalive.
+ */
+@Component
+@ConditionalOnProperty(name = "healthlink.webrtc.janus.transport", havingValue = "websocket")
+public class JanusWebSocketTransport {
+
+    private record Pending(CompletableFuture<Map<String, Object>> reply, boolean pluginMessage) {}
+
+    private static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {};
+
+    private final URI uri;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final SafeLogger log = SafeLogger.get(JanusWebSocketTransport.class);
+    private WebSocket socket;
+
+    @Autowired
+    public JanusWebSocketTransport(
+            @Value("${healthlink.webrtc.janus.ws-url:ws://janus:8188}") String url,
+            @Value("${healthlink.webrtc.janus.request-timeout-ms:5000}") long timeoutMs,
+            ObjectMapper objectMapper) {
+        this.uri = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /**
+     * Sends {@code request} (which must carry a {@code transaction}) and waits for its reply.
+     *
+     * @throws IllegalStateException if the socket cannot be opened or Janus does not answer in time
+     */
+    public Map<String, Object> send(Map<String, Object> request) {
+        String transaction = (String) request.get("transaction");
+        Pending call = new Pending(new CompletableFuture<>(), "message".equals(request.get("janus")));
+        pending.put(transaction, call);
+        try {
+            String json = objectMapper.writeValueAsString(request);
+            // java.net.http.WebSocket allows one outstanding send at a time
+            synchronized (this) {
+                connection().sendText(json, true).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return call.reply().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Janus request is not serializable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for Janus", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("No reply from Janus for " + request.get("janus"), e);
+        } finally {
+            pending.remove(transaction);
+        }
+    }
+
+    private synchronized WebSocket connection() throws InterruptedException, ExecutionException, TimeoutException {
+        if (socket == null || socket.isOutputClosed() || socket.isInputClosed()) {
+            socket = httpClient.newWebSocketBuilder()
+                    .subprotocols("janus-protocol")
+                    .connectTimeout(timeout)
+                    .buildAsync(uri, new Listener())
+                    .get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.event("janus_websocket_connected").log();
+        }
+        return socket;
+    }
+
+    void onMessage(String json) {
+        Map<String, Object> message;
+        try {
+            message = objectMapper.readValue(json, JSON_MAP);
+        } catch (JsonProcessingException e) {
+            log.event("janus_websocket_unreadable").log();
+            return;
+        }
+        Object transaction = message.get("transaction");
+        Pending call = transaction != null ? pending.get(transaction.toString()) : null;
+        if (call == null) {
+            // Asynchronous events (webrtcup, hangup, timeout...) are not consumed by the backend
+            return;
+        }
+        if (call.pluginMessage() && "ack".equals(message.get("janus"))) {
+            return;
+        }
+        call.reply().complete(message);
+    }
+
+    private synchronized void onClosed(WebSocket closed, Throwable cause) {
+        if (socket == closed) {
+            socket = null;
+        }
+        IllegalStateException failure = new IllegalStateException("Janus WebSocket closed", cause);
+        pending.values().forEach(call -> call.reply().completeExceptionally(failure));
+        log.event("janus_websocket_closed").log();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (socket != null) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
+            socket = null;
+        }
+    }
+
+    private class Listener implements WebSocket.Listener {
+
+        private final StringBuilder frame = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            frame.append(data);
+            if (last) {
+                onMessage(frame.toString());
+                frame.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            onClosed(webSocket, null);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            onClosed(webSocket, error);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.healthlink.infrastructure.webhook;
+
+import com.healthlink.infrastructure.logging.SafeLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-subscription circuit breaker for webhook delivery.
+ * <p>
+ * After {@code failure-threshold} consecutive failures the circuit opens and deliveries to
+ * that subscription are deferred without an HTTP call for {@code open-duration-ms}. The next
+ * delivery after that is let through as a single probe: success closes the circuit, failure
+ * re-opens it. State is per node, which is enough to stop one consumer hammering a dead host.
+ */
+@Component
+@Profile("rabbitmq")
+public class WebhookCircuitBreaker {
+
+    private final SafeLogger log = SafeLogger.get(WebhookCircuitBreaker.class);
+    private final Map<UUID, Circuit> circuits = new ConcurrentHashMap<>();
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+
+    @Autowired
+    public WebhookCircuitBreaker(
+            @Value("${healthlink.webhooks.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${healthlink.webhooks.circuit.open-duration-ms:60000}") long openDurationMs) {
+        this(failureThreshold, openDurationMs, System::currentTimeMillis);
+    }
+
+    WebhookCircuitBreaker(int failureThreshold, long openDurationMs, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if a request to this subscription may be sent now
+     */
+    public boolean allowRequest(UUID subscriptionId) {
+        Circuit circuit = circuits.get(subscriptionId);
+        if (circuit == null) {
+            return true;
+        }
+        synchronized (circuit) {
+            if (circuit.openUntil == 0) {
+                return true;
+            }
+            if (clock.getAsLong() < circuit.openUntil || circuit.probeInFlight) {
+                return false;
+            }
+            circuit.probeInFlight = true;
+            return true;
+        }
+    }
+
+    public void recordSuccess(UUID subscriptionId) {
+        Circuit circuit = circuits.remove(subscriptionId);
+        if (circuit != null && circuit.openUntil != 0) {
+            log.event("webhook_circuit_closed").with("subscriptionId", subscriptionId.toString()).log();
+        }
+    }
+
+    public void recordFailure(UUID subscriptionId) {
+        Circuit circuit = circuits.computeIfAbsent(subscriptionId, id -> new Circuit());
+        synchronized (circuit) {
+            circuit.consecutiveFailures++;
+            boolean wasProbe = circuit.probeInFlight;
+            circuit.probeInFlight = false;
+            if (wasProbe || circuit.consecutiveFailures >= failureThreshold) {
+                circuit.openUntil = clock.getAsLong() + openDurationMs;
+                log.event("webhook_circuit_opened")
+                        .with("subscriptionId", subscriptionId.toString())
+                        .with("consecutiveFailures", circuit.consecutiveFailures)
+                        .log();
+            }
+        }
+    }
+
+    /**
+     * Milliseconds until an open circuit admits its probe, 0 when closed or already due.
+     */
+    public long remainingOpenMs(UUID subscriptionId) {
+        Circuit circuit = circuits.get(subscriptionId);
+        if (circuit == null) {
+            return 0;
+        }
+        synchronized (circuit) {
+            return Math.max(0, circuit.openUntil - clock.getAsLong());
+        }
+    }
+
+    private static final class Circuit {
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean probeInFlight;
+    }
+}
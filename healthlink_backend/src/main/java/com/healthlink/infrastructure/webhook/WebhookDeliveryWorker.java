@@ -1,36 +1,55 @@
 package com.healthlink.infrastructure.webhook;
 
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.healthlink.domain.webhook.WebhookAttemptOutcome;
 import com.healthlink.domain.webhook.WebhookDeliveryStatus;
 import com.healthlink.domain.webhook.dto.WebhookDeliveryMessage;
-import com.healthlink.domain.webhook.entity.PublishedEvent;
+import com.healthlink.domain.webhook.entity.PublishedEventDelivery;
+import com.healthlink.domain.webhook.entity.WebhookDeliveryAttempt;
 import com.healthlink.domain.webhook.entity.WebhookSubscription;
+import com.healthlink.domain.webhook.repository.PublishedEventDeliveryRepository;
 import com.healthlink.domain.webhook.repository.PublishedEventRepository;
+import com.healthlink.domain.webhook.repository.WebhookDeliveryAttemptRepository;
 import com.healthlink.domain.webhook.repository.WebhookSubscriptionRepository;
 import com.healthlink.infrastructure.logging.SafeLogger;
 import com.healthlink.infrastructure.messaging.RabbitMQConfig;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * RabbitMQ consumer for async webhook delivery.
  * Only active when 'rabbitmq' profile is enabled.
  * Implements:
- * - HMAC SHA256 signature verification
- * - Exponential backoff retry (max 5 attempts)
+ * - Fan-out: a message without subscriptionId is expanded to every PENDING
+ *   PublishedEventDelivery row of its event; retries carry their subscriptionId
+ * - HMAC SHA256 signature over the canonical JSON bytes actually sent (WebhookPayloadSigner)
+ * - Opt-in batch delivery: up to {@code batchSize} events per POST, each with its own signature
+ * - Exponential backoff with jitter via TTL delay queues (WebhookRetryScheduler), max 5 attempts
+ * - Per-subscription circuit breaker; deliveries to an open circuit are deferred, not attempted
+ * - Outcome tracked per delivery: an unexpected error requeues only deliveries not yet settled
+ * - Delivery-attempt ledger (webhook_delivery_attempts), queryable per subscription
+ * - Per-event status rolled up from its subscriber rows into published_events after each batch
  * - Dead-letter queue for permanent failures
  */
 @Component
@@ -38,135 +57,385 @@ import java.util.Base64;
 @RequiredArgsConstructor
 public class WebhookDeliveryWorker {
 
+    private final PublishedEventDeliveryRepository deliveryRepository;
     private final PublishedEventRepository eventRepository;
     private final WebhookSubscriptionRepository subscriptionRepository;
-    private final RabbitTemplate rabbitTemplate;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final WebhookDeliveryAttemptRepository attemptRepository;
+    private final WebhookRetryScheduler retryScheduler;
+    private final WebhookCircuitBreaker circuitBreaker;
+    private final WebhookPayloadSigner payloadSigner;
+    private final RestTemplate restTemplate;
     private final SafeLogger log = SafeLogger.get(WebhookDeliveryWorker.class);
 
-    private static final int MAX_RETRY_ATTEMPTS = 5;
+    static final int MAX_RETRY_ATTEMPTS = 5;
     private static final String SIGNATURE_HEADER = "X-HealthLink-Signature";
     private static final String TIMESTAMP_HEADER = "X-HealthLink-Timestamp";
+    private static final String BATCH_SIZE_HEADER = "X-HealthLink-Batch-Size";
 
-    @RabbitListener(queues = RabbitMQConfig.WEBHOOK_QUEUE)
-    public void processWebhookDelivery(WebhookDeliveryMessage message) {
-        log.event("webhook_delivery_attempt")
-                .with("eventId", message.getEventId().toString())
-                .with("subscriptionId", message.getSubscriptionId().toString())
-                .with("attempt", String.valueOf(message.getAttemptNumber()))
-                .log();
+    /**
+     * One event inside a batch POST. {@code payload} is embedded as the same canonical bytes
+     * that {@code signature} covers, so each event verifies exactly like a single delivery.
+     */
+    record BatchEntry(String eventId, String eventType, String timestamp, String signature,
+                      @JsonRawValue String payload) {
+    }
+
+    record BatchEnvelope(List<BatchEntry> events) {
+    }
+
+    /** One subscriber's copy of an event; settled once its outcome is persisted or it is queued again. */
+    private static final class Delivery {
+        private final WebhookDeliveryMessage message;
+        private final PublishedEventDelivery state;
+        private final int attempt;
+        private boolean settled;
+
+        Delivery(WebhookDeliveryMessage message, PublishedEventDelivery state, int attempt) {
+            this.message = message;
+            this.state = state;
+            this.attempt = attempt;
+        }
+
+        WebhookDeliveryMessage message() {
+            return message;
+        }
 
-        PublishedEvent event = eventRepository.findById(message.getEventId()).orElse(null);
-        if (event == null) {
-            log.event("webhook_event_not_found").with("eventId", message.getEventId().toString()).log();
+        PublishedEventDelivery state() {
+            return state;
+        }
+
+        int attempt() {
+            return attempt;
+        }
+    }
+
+    private record DeliveryKey(UUID eventId, UUID subscriptionId) {
+    }
+
+    private record PostResult(boolean delivered, Integer httpStatus, String error, long durationMs) {
+    }
+
+    private record SignedRequest(byte[] body, HttpHeaders headers) {
+    }
+
+    @RabbitListener(queues = RabbitMQConfig.WEBHOOK_QUEUE, containerFactory = RabbitMQConfig.WEBHOOK_LISTENER_FACTORY)
+    public void processWebhookDeliveries(List<WebhookDeliveryMessage> messages) {
+        Map<DeliveryKey, PublishedEventDelivery> states = deliveryRepository
+                .findByEventIdIn(messages.stream().map(WebhookDeliveryMessage::getEventId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(d -> new DeliveryKey(d.getEventId(), d.getSubscriptionId()),
+                        Function.identity()));
+
+        Map<UUID, List<WebhookDeliveryMessage>> bySubscription = expand(messages, states.values()).stream()
+                .collect(Collectors.groupingBy(WebhookDeliveryMessage::getSubscriptionId, LinkedHashMap::new,
+                        Collectors.toList()));
+
+        // The batch is acked as a whole, so a failure for one subscriber must not escape
+        bySubscription.forEach((subscriptionId, group) -> {
+            List<Delivery> deliveries = prepare(subscriptionId, group, states);
+            try {
+                deliverToSubscription(subscriptionId, deliveries);
+            } catch (RuntimeException e) {
+                requeueUnsettled(subscriptionId, deliveries, e);
+            }
+        });
+
+        rollUpEventStatus(states.values());
+    }
+
+    /** Bring published_events.delivery_status in line with the subscriber rows just updated. */
+    private void rollUpEventStatus(Collection<PublishedEventDelivery> states) {
+        List<UUID> eventIds = states.stream().map(PublishedEventDelivery::getEventId).distinct().toList();
+        if (eventIds.isEmpty()) {
             return;
         }
+        try {
+            eventRepository.rollUpDeliveryStatus(eventIds);
+        } catch (RuntimeException e) {
+            // Only the summary column lags; the next batch touching these events corrects it
+            log.event("webhook_event_status_rollup_failed")
+                    .with("events", eventIds.size())
+                    .with("error", e.getClass().getSimpleName())
+                    .log();
+        }
+    }
 
-        WebhookSubscription subscription = subscriptionRepository.findById(message.getSubscriptionId()).orElse(null);
-        if (subscription == null || !subscription.isActive()) {
-            log.event("webhook_subscription_inactive").with("subscriptionId", message.getSubscriptionId().toString())
+    /**
+     * Turn per-event messages into one message per subscriber still PENDING for that event.
+     * Rows already delivered, failed or being retried are skipped, so a redelivered fan-out
+     * message does not send twice.
+     */
+    static List<WebhookDeliveryMessage> expand(List<WebhookDeliveryMessage> messages,
+                                               Collection<PublishedEventDelivery> states) {
+        Map<UUID, List<PublishedEventDelivery>> pendingByEvent = states.stream()
+                .filter(d -> d.getDeliveryStatus() == WebhookDeliveryStatus.PENDING)
+                .collect(Collectors.groupingBy(PublishedEventDelivery::getEventId));
+
+        List<WebhookDeliveryMessage> expanded = new ArrayList<>();
+        for (WebhookDeliveryMessage message : messages) {
+            if (message.getSubscriptionId() != null) {
+                expanded.add(message);
+                continue;
+            }
+            for (PublishedEventDelivery pending : pendingByEvent.getOrDefault(message.getEventId(), List.of())) {
+                expanded.add(WebhookDeliveryMessage.builder()
+                        .eventId(message.getEventId())
+                        .subscriptionId(pending.getSubscriptionId())
+                        .eventType(message.getEventType())
+                        .payload(message.getPayload())
+                        .attemptNumber(1)
+                        .scheduledAt(message.getScheduledAt())
+                        .build());
+            }
+        }
+        return expanded;
+    }
+
+    private List<Delivery> prepare(UUID subscriptionId, List<WebhookDeliveryMessage> group,
+                                   Map<DeliveryKey, PublishedEventDelivery> states) {
+        List<Delivery> deliveries = new ArrayList<>(group.size());
+        for (WebhookDeliveryMessage message : group) {
+            int attempt = attemptOf(message);
+            log.event("webhook_delivery_attempt")
+                    .with("eventId", message.getEventId().toString())
+                    .with("subscriptionId", subscriptionId.toString())
+                    .with("attempt", String.valueOf(attempt))
                     .log();
-            event.setDeliveryStatus(WebhookDeliveryStatus.FAILED);
-            event.setDeliveryAttempts(event.getDeliveryAttempts() + 1);
-            eventRepository.save(event);
+            PublishedEventDelivery state = states.get(new DeliveryKey(message.getEventId(), subscriptionId));
+            if (state == null) {
+                log.event("webhook_event_not_found").with("eventId", message.getEventId().toString()).log();
+                continue;
+            }
+            deliveries.add(new Delivery(message, state, attempt));
+        }
+        return deliveries;
+    }
+
+    private void deliverToSubscription(UUID subscriptionId, List<Delivery> deliveries) {
+        if (deliveries.isEmpty()) {
             return;
         }
 
+        WebhookSubscription subscription = subscriptionRepository.findById(subscriptionId).orElse(null);
+        if (subscription == null || !subscription.isActive()) {
+            log.event("webhook_subscription_inactive").with("subscriptionId", subscriptionId.toString()).log();
+            for (Delivery delivery : deliveries) {
+                PublishedEventDelivery state = delivery.state();
+                state.setDeliveryStatus(WebhookDeliveryStatus.FAILED);
+                state.setDeliveryAttempts(state.getDeliveryAttempts() + 1);
+                deliveryRepository.save(state);
+                recordAttempt(delivery.message(), delivery.attempt(), WebhookAttemptOutcome.FAILED,
+                        null, null, "Subscription inactive", null);
+                delivery.settled = true;
+            }
+            return;
+        }
+
+        if (subscription.isBatchDelivery()) {
+            for (int from = 0; from < deliveries.size(); from += subscription.getBatchSize()) {
+                List<Delivery> chunk = deliveries.subList(from, Math.min(from + subscription.getBatchSize(), deliveries.size()));
+                deliverUnit(subscription, chunk, () -> signBatch(subscription, chunk));
+            }
+        } else {
+            for (Delivery delivery : deliveries) {
+                deliverUnit(subscription, List.of(delivery), () -> signSingle(subscription, delivery));
+            }
+        }
+    }
+
+    /**
+     * One POST and its bookkeeping. An unexpected error requeues only the deliveries of this
+     * POST whose outcome was not yet persisted; the rest of the group carries on.
+     * <p>
+     * The request is built and signed before the circuit check. A half-open circuit admits one
+     * probe that only ends when its outcome is recorded, so nothing that can throw may run
+     * between admission and {@link #complete}.
+     */
+    private void deliverUnit(WebhookSubscription subscription, List<Delivery> unit, Supplier<SignedRequest> sign) {
         try {
-            // Generate signature
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            String signature = generateSignature(message.getPayload().toString(), subscription.getSecret(), timestamp);
+            SignedRequest request = sign.get();
+            if (admit(subscription, unit)) {
+                complete(subscription, unit, post(subscription, request));
+            }
+        } catch (RuntimeException e) {
+            requeueUnsettled(subscription.getId(), unit, e);
+        }
+    }
+
+    private void requeueUnsettled(UUID subscriptionId, List<Delivery> deliveries, RuntimeException error) {
+        List<Delivery> unsettled = deliveries.stream().filter(delivery -> !delivery.settled).toList();
+        log.event("webhook_delivery_requeued")
+                .with("subscriptionId", subscriptionId.toString())
+                .with("messages", unsettled.size())
+                .with("error", error.getClass().getSimpleName())
+                .log();
+        for (Delivery delivery : unsettled) {
+            retryScheduler.schedule(delivery.message(), delivery.attempt());
+            delivery.settled = true;
+        }
+    }
+
+    /**
+     * Circuit check before each POST. When open, the deliveries are parked again at their
+     * current attempt instead of spending one on a subscriber that is known to be down.
+     */
+    private boolean admit(WebhookSubscription subscription, List<Delivery> deliveries) {
+        if (circuitBreaker.allowRequest(subscription.getId())) {
+            return true;
+        }
+        for (Delivery delivery : deliveries) {
+            OffsetDateTime nextAttemptAt = retryScheduler.schedule(delivery.message(), delivery.attempt());
+            delivery.settled = true;
+            delivery.state().setDeliveryStatus(WebhookDeliveryStatus.RETRYING);
+            deliveryRepository.save(delivery.state());
+            recordAttempt(delivery.message(), delivery.attempt(), WebhookAttemptOutcome.CIRCUIT_OPEN,
+                    null, null, null, nextAttemptAt);
+        }
+        return false;
+    }
+
+    private SignedRequest signSingle(WebhookSubscription subscription, Delivery delivery) {
+        WebhookDeliveryMessage message = delivery.message();
+        byte[] body = payloadSigner.canonicalPayload(message.getEventId(), message.getPayload());
+        WebhookPayloadSigner.Signature signature =
+                payloadSigner.sign(subscription.getId(), subscription.getSecret(), message.getEventId(), body);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(SIGNATURE_HEADER, signature.value());
+        headers.set(TIMESTAMP_HEADER, signature.timestamp());
+        headers.set("X-HealthLink-Event-Type", message.getEventType());
+        headers.set("X-HealthLink-Event-Id", message.getEventId().toString());
+        return new SignedRequest(body, headers);
+    }
 
-            // Prepare HTTP request
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Content-Type", "application/json");
-            headers.set(SIGNATURE_HEADER, signature);
-            headers.set(TIMESTAMP_HEADER, timestamp);
-            headers.set("X-HealthLink-Event-Type", message.getEventType());
-            headers.set("X-HealthLink-Event-Id", message.getEventId().toString());
+    private SignedRequest signBatch(WebhookSubscription subscription, List<Delivery> chunk) {
+        List<BatchEntry> entries = new ArrayList<>(chunk.size());
+        for (Delivery delivery : chunk) {
+            WebhookDeliveryMessage message = delivery.message();
+            byte[] payload = payloadSigner.canonicalPayload(message.getEventId(), message.getPayload());
+            WebhookPayloadSigner.Signature signature =
+                    payloadSigner.sign(subscription.getId(), subscription.getSecret(), message.getEventId(), payload);
+            entries.add(new BatchEntry(message.getEventId().toString(), message.getEventType(),
+                    signature.timestamp(), signature.value(), new String(payload, StandardCharsets.UTF_8)));
+        }
+        byte[] body = payloadSigner.toCanonicalJson(new BatchEnvelope(entries));
+        WebhookPayloadSigner.Signature envelopeSignature = payloadSigner.signNow(subscription.getSecret(), body);
 
-            HttpEntity<String> entity = new HttpEntity<>(message.getPayload().toString(), headers);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(SIGNATURE_HEADER, envelopeSignature.value());
+        headers.set(TIMESTAMP_HEADER, envelopeSignature.timestamp());
+        headers.set(BATCH_SIZE_HEADER, String.valueOf(entries.size()));
+        return new SignedRequest(body, headers);
+    }
 
-            // Deliver webhook
+    private PostResult post(WebhookSubscription subscription, SignedRequest request) {
+        long startedAt = System.currentTimeMillis();
+        try {
             ResponseEntity<String> response = restTemplate.exchange(
                     subscription.getTargetUrl(),
                     HttpMethod.POST,
-                    entity,
+                    new HttpEntity<>(request.body(), request.headers()),
                     String.class);
+            int status = response.getStatusCode().value();
+            boolean delivered = response.getStatusCode().is2xxSuccessful();
+            return new PostResult(delivered, status, delivered ? null : "HTTP " + status,
+                    System.currentTimeMillis() - startedAt);
+        } catch (HttpStatusCodeException e) {
+            return new PostResult(false, e.getStatusCode().value(), "HTTP " + e.getStatusCode().value(),
+                    System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            return new PostResult(false, null, e.getClass().getSimpleName() + ": " + e.getMessage(),
+                    System.currentTimeMillis() - startedAt);
+        }
+    }
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                event.setDeliveryStatus(WebhookDeliveryStatus.DELIVERED);
-                event.setDeliveredAt(OffsetDateTime.now());
-                event.setDeliveryAttempts(message.getAttemptNumber());
-                eventRepository.save(event);
-
-                log.event("webhook_delivered")
-                        .with("eventId", message.getEventId().toString())
-                        .with("statusCode", String.valueOf(response.getStatusCode().value()))
-                        .log();
-            } else {
-                handleDeliveryFailure(event, message, "HTTP " + response.getStatusCode().value());
-            }
+    private void complete(WebhookSubscription subscription, List<Delivery> deliveries, PostResult result) {
+        if (!result.delivered()) {
+            circuitBreaker.recordFailure(subscription.getId());
+            deliveries.forEach(delivery -> handleDeliveryFailure(delivery, result));
+            return;
+        }
 
-        } catch (Exception e) {
-            handleDeliveryFailure(event, message, e.getClass().getSimpleName() + ": " + e.getMessage());
+        circuitBreaker.recordSuccess(subscription.getId());
+        for (Delivery delivery : deliveries) {
+            PublishedEventDelivery state = delivery.state();
+            state.setDeliveryStatus(WebhookDeliveryStatus.DELIVERED);
+            state.setDeliveredAt(OffsetDateTime.now());
+            state.setDeliveryAttempts(delivery.attempt());
+            state.setLastErrorMessage(null);
+            deliveryRepository.save(state);
+            delivery.settled = true;
+            recordAttempt(delivery.message(), delivery.attempt(), WebhookAttemptOutcome.DELIVERED,
+                    result.httpStatus(), result.durationMs(), null, null);
+
+            log.event("webhook_delivered")
+                    .with("eventId", delivery.message().getEventId().toString())
+                    .with("statusCode", String.valueOf(result.httpStatus()))
+                    .with("batchSize", deliveries.size())
+                    .log();
         }
     }
 
-    private void handleDeliveryFailure(PublishedEvent event, WebhookDeliveryMessage message, String errorReason) {
-        int nextAttempt = message.getAttemptNumber() + 1;
-        event.setDeliveryAttempts(nextAttempt);
+    private void handleDeliveryFailure(Delivery delivery, PostResult result) {
+        WebhookDeliveryMessage message = delivery.message();
+        PublishedEventDelivery state = delivery.state();
+        int attempt = delivery.attempt();
+        state.setDeliveryAttempts(attempt);
+        state.setLastErrorMessage(truncate(result.error()));
 
-        if (nextAttempt < MAX_RETRY_ATTEMPTS) {
-            // Exponential backoff: 1s, 2s, 4s, 8s, 16s
-            long delaySeconds = (long) Math.pow(2, nextAttempt - 1);
+        if (attempt < MAX_RETRY_ATTEMPTS) {
+            message.setAttemptNumber(attempt + 1);
+            OffsetDateTime nextAttemptAt = retryScheduler.schedule(message, attempt);
+            delivery.settled = true;
 
-            event.setDeliveryStatus(WebhookDeliveryStatus.PENDING);
-            eventRepository.save(event);
+            state.setDeliveryStatus(WebhookDeliveryStatus.RETRYING);
+            deliveryRepository.save(state);
+            recordAttempt(message, attempt, WebhookAttemptOutcome.RETRY_SCHEDULED, result.httpStatus(),
+                    result.durationMs(), result.error(), nextAttemptAt);
 
             log.event("webhook_retry_scheduled")
                     .with("eventId", message.getEventId().toString())
-                    .with("nextAttempt", String.valueOf(nextAttempt))
-                    .with("delaySeconds", String.valueOf(delaySeconds))
-                    .with("reason", errorReason)
+                    .with("nextAttempt", String.valueOf(attempt + 1))
+                    .with("reason", result.error())
                     .log();
-
-            // Requeue with delay (using RabbitMQ delayed message plugin or TTL queue)
-            message.setAttemptNumber(nextAttempt);
-            message.setScheduledAt(OffsetDateTime.now().plusSeconds(delaySeconds));
-
-            // Note: For production, use RabbitMQ delayed message plugin
-            // For now, simple requeue (immediate retry - should be enhanced)
-            rabbitTemplate.convertAndSend(
-                    RabbitMQConfig.WEBHOOK_EXCHANGE,
-                    RabbitMQConfig.WEBHOOK_ROUTING_KEY,
-                    message);
         } else {
             // Max retries exhausted - move to DLQ
-            event.setDeliveryStatus(WebhookDeliveryStatus.FAILED);
-            eventRepository.save(event);
+            state.setDeliveryStatus(WebhookDeliveryStatus.FAILED);
+            deliveryRepository.save(state);
+            recordAttempt(message, attempt, WebhookAttemptOutcome.FAILED, result.httpStatus(),
+                    result.durationMs(), result.error(), null);
+            retryScheduler.deadLetter(message);
+            delivery.settled = true;
 
             log.event("webhook_delivery_failed_permanently")
                     .with("eventId", message.getEventId().toString())
-                    .with("reason", errorReason)
+                    .with("reason", result.error())
                     .log();
-
-            // Message will automatically go to DLQ on exception throw
-            throw new RuntimeException("Max webhook delivery attempts reached for event " + message.getEventId());
         }
     }
 
-    private String generateSignature(String payload, String secret, String timestamp) {
-        try {
-            String signaturePayload = timestamp + "." + payload;
-            Mac mac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKeySpec = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            mac.init(secretKeySpec);
-            byte[] hash = mac.doFinal(signaturePayload.getBytes(StandardCharsets.UTF_8));
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (Exception e) {
-            log.event("webhook_signature_generation_failed").with("error", e.getMessage()).log();
-            throw new RuntimeException("Failed to generate webhook signature", e);
-        }
+    private void recordAttempt(WebhookDeliveryMessage message, int attempt, WebhookAttemptOutcome outcome,
+                               Integer httpStatus, Long durationMs, String errorMessage, OffsetDateTime nextAttemptAt) {
+        WebhookDeliveryAttempt record = new WebhookDeliveryAttempt();
+        record.setEventId(message.getEventId());
+        record.setSubscriptionId(message.getSubscriptionId());
+        record.setAttemptNumber(attempt);
+        record.setOutcome(outcome);
+        record.setHttpStatus(httpStatus);
+        record.setDurationMs(durationMs);
+        record.setErrorMessage(truncate(errorMessage));
+        record.setNextAttemptAt(nextAttemptAt);
+        attemptRepository.save(record);
+    }
+
+    private static int attemptOf(WebhookDeliveryMessage message) {
+        return message.getAttemptNumber() != null ? message.getAttemptNumber() : 1;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
     }
 }
@@ -0,0 +1,118 @@
+package com.healthlink.infrastructure.webhook;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Canonical serialization and HMAC signing for webhook bodies.
+ * <p>
+ * Payloads are written once per event as canonical JSON (object keys sorted, no
+ * whitespace) and those exact bytes are both signed and sent, so subscribers verify
+ * {@code HMAC-SHA256(secret, timestamp + "." + body)} over the raw request body.
+ * Canonical bytes are cached per event and signatures per (subscription, event, SHA-256 of
+ * the secret) for {@code signature-ttl-ms}, which is kept below a typical 5 minute replay
+ * window so retries after that are re-signed with a fresh timestamp.
+ */
+@Component
+@Profile("rabbitmq")
+public class WebhookPayloadSigner {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    public record Signature(String timestamp, String value) {
+    }
+
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final Cache<UUID, byte[]> canonicalPayloads;
+    private final Cache<String, Signature> signatures;
+
+    public WebhookPayloadSigner(@Value("${healthlink.webhooks.signing.signature-ttl-ms:240000}") long signatureTtlMs) {
+        this.canonicalPayloads = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.signatures = Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(Duration.ofMillis(signatureTtlMs))
+                .build();
+    }
+
+    /**
+     * Canonical JSON bytes for an event payload, serialized at most once per event.
+     */
+    public byte[] canonicalPayload(UUID eventId, Map<String, Object> payload) {
+        return canonicalPayloads.get(eventId, id -> toCanonicalJson(payload));
+    }
+
+    /**
+     * Signature of an event body for one subscriber, reused while it is fresh.
+     */
+    public Signature sign(UUID subscriptionId, String secret, UUID eventId, byte[] body) {
+        // Secret digest in the key so a rotated secret never reuses an old signature
+        String key = subscriptionId + ":" + eventId + ":" + secretFingerprint(secret);
+        return signatures.get(key, k -> signNow(secret, body));
+    }
+
+    /**
+     * Uncached signature with the current timestamp, e.g. for a batch envelope.
+     */
+    public Signature signNow(String secret, byte[] body) {
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        return new Signature(timestamp, hmac(secret, timestamp, body));
+    }
+
+    public byte[] toCanonicalJson(Object value) {
+        try {
+            return canonicalMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Webhook payload is not serializable", e);
+        }
+    }
+
+    /** SHA-256 of the secret; unlike {@code hashCode()} two secrets cannot realistically collide. */
+    static String secretFingerprint(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    static String hmac(String secret, String timestamp, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '.');
+            return Base64.getEncoder().encodeToString(mac.doFinal(body));
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to generate webhook signature", e);
+        }
+    }
+}
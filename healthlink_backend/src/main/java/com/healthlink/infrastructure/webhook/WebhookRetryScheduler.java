@@ -0,0 +1,81 @@
+package com.healthlink.infrastructure.webhook;
+
+import com.healthlink.domain.webhook.dto.WebhookDeliveryMessage;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import com.healthlink.infrastructure.messaging.RabbitMQConfig;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Parks webhook deliveries on the TTL backoff tier declared in RabbitMQConfig.
+ * <p>
+ * Level {@code n} waits roughly {@code delays-ms[n-1]}, spread by +/- {@code jitter} so a
+ * subscriber outage does not bring every parked message back in the same instant. The
+ * TTL is set per message; each level queue only holds messages of similar delay, so
+ * head-of-line expiry lag is bounded by the jitter window.
+ */
+@Component
+@Profile("rabbitmq")
+public class WebhookRetryScheduler {
+
+    private final SafeLogger log = SafeLogger.get(WebhookRetryScheduler.class);
+    private final RabbitTemplate rabbitTemplate;
+
+    @Value("${healthlink.webhooks.retry.delays-ms:15000,60000,300000,1800000}")
+    private long[] delaysMs = {15000, 60000, 300000, 1800000};
+
+    @Value("${healthlink.webhooks.retry.jitter:0.2}")
+    private double jitter = 0.2;
+
+    public WebhookRetryScheduler(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    /**
+     * Publish the message to the backoff queue for {@code level} (1-based, clamped to the
+     * declared levels) and return when it is expected back on the delivery queue.
+     */
+    public OffsetDateTime schedule(WebhookDeliveryMessage message, int level) {
+        int clamped = Math.max(1, Math.min(level, RabbitMQConfig.WEBHOOK_RETRY_LEVELS));
+        Duration delay = delayFor(clamped);
+        OffsetDateTime dueAt = OffsetDateTime.now().plus(delay);
+        message.setScheduledAt(dueAt);
+
+        rabbitTemplate.convertAndSend(
+                RabbitMQConfig.WEBHOOK_RETRY_EXCHANGE,
+                RabbitMQConfig.WEBHOOK_RETRY_ROUTING_KEY_PREFIX + clamped,
+                message,
+                amqpMessage -> {
+                    amqpMessage.getMessageProperties().setExpiration(String.valueOf(delay.toMillis()));
+                    return amqpMessage;
+                });
+
+        log.event("webhook_retry_parked")
+                .with("eventId", message.getEventId().toString())
+                .with("subscriptionId", message.getSubscriptionId().toString())
+                .with("level", clamped)
+                .with("delayMs", delay.toMillis())
+                .log();
+        return dueAt;
+    }
+
+    /**
+     * Route a message that exhausted its attempts to the webhook DLQ. Done explicitly
+     * because the batch listener acknowledges or rejects whole batches, not single messages.
+     */
+    public void deadLetter(WebhookDeliveryMessage message) {
+        rabbitTemplate.convertAndSend(RabbitMQConfig.WEBHOOK_DLX, RabbitMQConfig.WEBHOOK_DLQ_ROUTING_KEY, message);
+    }
+
+    Duration delayFor(int level) {
+        long base = delaysMs[Math.min(level, delaysMs.length) - 1];
+        double factor = 1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble();
+        return Duration.ofMillis(Math.max(1, Math.round(base * factor)));
+    }
+}
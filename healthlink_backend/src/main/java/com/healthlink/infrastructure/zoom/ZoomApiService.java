@@ -1,6 +1,8 @@
 package com.healthlink.infrastructure.zoom;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.healthlink.domain.appointment.entity.Appointment;
+import com.healthlink.domain.appointment.repository.ZoomMeetingPoolRepository;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,48 +11,62 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Zoom API Service for creating and managing Zoom meetings
  * Uses Zoom REST API v2 with OAuth 2.0 Server-to-Server authentication
+ * <p>
+ * Booking latency is kept off Zoom where possible: the OAuth token comes from
+ * {@link ZoomTokenCache}, a meeting is taken from the pre-provisioned pool before one is
+ * created, and {@link ZoomCircuitBreaker} stops calls while Zoom is failing. When no meeting
+ * can be had, {@link #createMeeting} returns null and the caller defers provisioning to
+ * {@link ZoomMeetingProvisioner}.
  */
 @Service
 @Slf4j
 public class ZoomApiService {
 
     private final RestTemplate restTemplate;
-
-    @Value("${healthlink.zoom.account-id:}")
-    private String accountId;
-
-    @Value("${healthlink.zoom.client-id:}")
-    private String clientId;
-
-    @Value("${healthlink.zoom.client-secret:}")
-    private String clientSecret;
+    private final ZoomTokenCache tokenCache;
+    private final ZoomCircuitBreaker circuitBreaker;
+    private final ZoomMeetingPoolRepository poolRepository;
 
     @Value("${healthlink.zoom.enabled:false}")
     private boolean zoomEnabled;
 
-    private static final String ZOOM_TOKEN_URL = "https://zoom.us/oauth/token";
-    private static final String ZOOM_API_BASE_URL = "https://api.zoom.us/v2";
+    @Value("${healthlink.zoom.api-base-url:https://api.zoom.us/v2}")
+    private String apiBaseUrl = "https://api.zoom.us/v2";
+
     private static final String ZOOM_MEETING_TYPE_SCHEDULED = "2";
+    private static final String ZOOM_MEETING_TYPE_RECURRING_NO_FIXED_TIME = "3";
+    static final String POOL_TOPIC = "HealthLink consultation";
 
-    public ZoomApiService(RestTemplate restTemplate) {
+    public ZoomApiService(RestTemplate restTemplate, ZoomTokenCache tokenCache,
+                          ZoomCircuitBreaker circuitBreaker, ZoomMeetingPoolRepository poolRepository) {
         this.restTemplate = restTemplate;
+        this.tokenCache = tokenCache;
+        this.circuitBreaker = circuitBreaker;
+        this.poolRepository = poolRepository;
+    }
+
+    public boolean isEnabled() {
+        return zoomEnabled;
     }
 
     /**
-     * Create a Zoom meeting for an appointment
+     * Get a Zoom meeting for an appointment: a pooled one if available, otherwise a new one.
+     *
+     * @return the meeting, or null if Zoom is disabled, unreachable or its circuit is open
      */
     public ZoomMeetingResponse createMeeting(CreateZoomMeetingRequest request) {
         if (!zoomEnabled) {
@@ -58,104 +74,162 @@ public class ZoomApiService {
             return null;
         }
 
-        try {
-            String accessToken = getAccessToken();
-            if (accessToken == null) {
-                log.error("Failed to obtain Zoom access token");
-                return null;
-            }
+        ZoomMeetingResponse pooled = claimPooledMeeting(request);
+        if (pooled != null) {
+            return pooled;
+        }
 
-            // Convert LocalDateTime to Zoom's expected format (UTC)
-            ZonedDateTime startTime = request.getStartTime()
-                    .atZone(ZoneId.systemDefault())
-                    .withZoneSameInstant(ZoneId.of("UTC"));
-
-            int durationMinutes = request.getDurationMinutes() != null 
-                    ? request.getDurationMinutes() 
-                    : 30;
-
-            // Build meeting request
-            Map<String, Object> meetingRequest = new HashMap<>();
-            meetingRequest.put("topic", request.getTopic());
-            meetingRequest.put("type", ZOOM_MEETING_TYPE_SCHEDULED);
-            meetingRequest.put("start_time", startTime.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
-            meetingRequest.put("duration", durationMinutes);
-            meetingRequest.put("timezone", "UTC");
-            meetingRequest.put("password", generateMeetingPassword());
-            meetingRequest.put("settings", Map.of(
-                    "host_video", true,
-                    "participant_video", true,
-                    "join_before_host", false,
-                    "mute_upon_entry", false,
-                    "waiting_room", false,
-                    "auto_recording", "none",
-                    "approval_type", 0 // Automatically approve
-            ));
+        int durationMinutes = request.getDurationMinutes() != null ? request.getDurationMinutes() : 30;
+        Map<String, Object> meetingRequest = meetingBody(request.getTopic(), ZOOM_MEETING_TYPE_SCHEDULED);
+        meetingRequest.put("start_time", toZoomTime(request.getStartTime()));
+        meetingRequest.put("duration", durationMinutes);
+        meetingRequest.put("timezone", "UTC");
+        meetingRequest.put("password", generateMeetingPassword());
+        return postMeeting(meetingRequest);
+    }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(accessToken);
+    /**
+     * Create an unscheduled meeting for the pre-provisioned pool.
+     *
+     * @return the meeting, or null if Zoom is unreachable or its circuit is open
+     */
+    public ZoomMeetingResponse createPoolMeeting() {
+        Map<String, Object> meetingRequest = meetingBody(POOL_TOPIC, ZOOM_MEETING_TYPE_RECURRING_NO_FIXED_TIME);
+        meetingRequest.put("password", generateMeetingPassword());
+        return postMeeting(meetingRequest);
+    }
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(meetingRequest, headers);
+    /**
+     * Write an appointment's topic and time onto a pooled meeting and return the meeting
+     * as Zoom now reports it (with a fresh start URL).
+     */
+    public ZoomMeetingResponse updateMeetingDetails(String meetingId, String topic,
+                                                    LocalDateTime startTime, Integer durationMinutes) {
+        if (!circuitBreaker.allowRequest()) {
+            return null;
+        }
+        try {
+            Map<String, Object> patch = new HashMap<>();
+            patch.put("topic", topic);
+            patch.put("type", ZOOM_MEETING_TYPE_SCHEDULED);
+            patch.put("start_time", toZoomTime(startTime));
+            patch.put("duration", durationMinutes != null ? durationMinutes : 30);
+            patch.put("timezone", "UTC");
+            restTemplate.exchange(apiBaseUrl + "/meetings/" + meetingId, HttpMethod.PATCH,
+                    new HttpEntity<>(patch, jsonHeaders()), Void.class);
+            ResponseEntity<ZoomMeetingResponse> response = restTemplate.exchange(apiBaseUrl + "/meetings/" + meetingId,
+                    HttpMethod.GET, new HttpEntity<>(jsonHeaders()), ZoomMeetingResponse.class);
+            circuitBreaker.recordSuccess();
+            return response.getBody();
+        } catch (Exception e) {
+            recordFailure(e);
+            log.error("Error updating pooled Zoom meeting: {}", meetingId, e);
+            return null;
+        }
+    }
 
-            String url = ZOOM_API_BASE_URL + "/users/me/meetings";
+    private ZoomMeetingResponse claimPooledMeeting(CreateZoomMeetingRequest request) {
+        try {
+            return poolRepository.claimNext(request.getAppointmentId(), entry -> {
+                entry.setTopic(request.getTopic());
+                entry.setStartTime(request.getStartTime());
+                entry.setDurationMinutes(request.getDurationMinutes());
+            }).map(entry -> {
+                ZoomMeetingResponse meeting = new ZoomMeetingResponse();
+                meeting.setId(Long.valueOf(entry.getMeetingId()));
+                meeting.setTopic(request.getTopic());
+                meeting.setJoinUrl(entry.getJoinUrl());
+                meeting.setStartUrl(entry.getStartUrl());
+                meeting.setPassword(entry.getPassword());
+                log.info("Pooled Zoom meeting {} assigned", entry.getMeetingId());
+                return meeting;
+            }).orElse(null);
+        } catch (Exception e) {
+            log.warn("Zoom meeting pool unavailable: {}", e.getClass().getSimpleName());
+            return null;
+        }
+    }
+
+    private ZoomMeetingResponse postMeeting(Map<String, Object> meetingRequest) {
+        if (!circuitBreaker.allowRequest()) {
+            log.warn("Zoom circuit open. Skipping meeting creation.");
+            return null;
+        }
+        try {
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(meetingRequest, jsonHeaders());
             ResponseEntity<ZoomMeetingResponse> response = restTemplate.exchange(
-                    url,
+                    apiBaseUrl + "/users/me/meetings",
                     HttpMethod.POST,
                     entity,
                     ZoomMeetingResponse.class
             );
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                circuitBreaker.recordSuccess();
                 ZoomMeetingResponse meeting = response.getBody();
                 log.info("Zoom meeting created successfully: {}", meeting.getId());
                 return meeting;
-            } else {
-                log.error("Failed to create Zoom meeting. Status: {}", response.getStatusCode());
-                return null;
             }
+            circuitBreaker.recordFailure();
+            log.error("Failed to create Zoom meeting. Status: {}", response.getStatusCode());
+            return null;
 
         } catch (Exception e) {
+            recordFailure(e);
             log.error("Error creating Zoom meeting", e);
             return null;
         }
     }
 
-    /**
-     * Get OAuth 2.0 access token using Server-to-Server OAuth
-     */
-    private String getAccessToken() {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-            
-            // Basic Auth: Base64(clientId:clientSecret)
-            String credentials = clientId + ":" + clientSecret;
-            String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
-            headers.set("Authorization", "Basic " + encodedCredentials);
+    private Map<String, Object> meetingBody(String topic, String type) {
+        Map<String, Object> meetingRequest = new HashMap<>();
+        meetingRequest.put("topic", topic);
+        meetingRequest.put("type", type);
+        meetingRequest.put("settings", Map.of(
+                "host_video", true,
+                "participant_video", true,
+                "join_before_host", false,
+                "mute_upon_entry", false,
+                "waiting_room", false,
+                "auto_recording", "none",
+                "approval_type", 0 // Automatically approve
+        ));
+        return meetingRequest;
+    }
 
-            String requestBody = "grant_type=account_credentials&account_id=" + accountId;
+    private HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(tokenCache.getToken());
+        return headers;
+    }
 
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+    private void recordFailure(Exception e) {
+        if (e instanceof HttpClientErrorException.Unauthorized) {
+            tokenCache.invalidate();
+        }
+        circuitBreaker.recordFailure();
+    }
 
-            ResponseEntity<ZoomTokenResponse> response = restTemplate.exchange(
-                    ZOOM_TOKEN_URL,
-                    HttpMethod.POST,
-                    entity,
-                    ZoomTokenResponse.class
-            );
+    public static String consultationTopic(String doctorName, String patientName) {
+        return String.format("Consultation: Dr. %s - %s", doctorName, patientName);
+    }
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return response.getBody().getAccessToken();
-            } else {
-                log.error("Failed to get Zoom access token. Status: {}", response.getStatusCode());
-                return null;
-            }
+    /**
+     * Copy a meeting's join details onto an appointment.
+     */
+    public static void applyTo(Appointment appointment, ZoomMeetingResponse meeting) {
+        appointment.setZoomMeetingId(String.valueOf(meeting.getId()));
+        appointment.setZoomMeetingUrl(meeting.getJoinUrl());
+        appointment.setZoomMeetingPassword(meeting.getPassword());
+        appointment.setZoomJoinUrl(meeting.getJoinUrl());
+        appointment.setZoomStartUrl(meeting.getStartUrl());
+    }
 
-        } catch (Exception e) {
-            log.error("Error obtaining Zoom access token", e);
-            return null;
-        }
+    private static String toZoomTime(LocalDateTime startTime) {
+        // Convert LocalDateTime to Zoom's expected format (UTC)
+        ZonedDateTime utc = startTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneId.of("UTC"));
+        return utc.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
     }
 
     /**
@@ -174,22 +248,17 @@ public class ZoomApiService {
      * Delete a Zoom meeting
      */
     public boolean deleteMeeting(String meetingId) {
-        if (!zoomEnabled || meetingId == null) {
+        if (!zoomEnabled || meetingId == null || !circuitBreaker.allowRequest()) {
             return false;
         }
 
         try {
-            String accessToken = getAccessToken();
-            if (accessToken == null) {
-                return false;
-            }
-
             HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(accessToken);
+            headers.setBearerAuth(tokenCache.getToken());
 
             HttpEntity<Void> entity = new HttpEntity<>(headers);
 
-            String url = ZOOM_API_BASE_URL + "/meetings/" + meetingId;
+            String url = apiBaseUrl + "/meetings/" + meetingId;
             ResponseEntity<Void> response = restTemplate.exchange(
                     url,
                     HttpMethod.DELETE,
@@ -197,9 +266,11 @@ public class ZoomApiService {
                     Void.class
             );
 
+            circuitBreaker.recordSuccess();
             return response.getStatusCode().is2xxSuccessful();
 
         } catch (Exception e) {
+            recordFailure(e);
             log.error("Error deleting Zoom meeting: {}", meetingId, e);
             return false;
         }
@@ -212,6 +283,7 @@ public class ZoomApiService {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class CreateZoomMeetingRequest {
+        private UUID appointmentId;
         private String topic;
         private LocalDateTime startTime;
         private Integer durationMinutes;
@@ -0,0 +1,78 @@
+package com.healthlink.infrastructure.zoom;
+
+import com.healthlink.infrastructure.logging.SafeLogger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker in front of the Zoom API.
+ * <p>
+ * After {@code failure-threshold} consecutive failed calls the circuit opens and Zoom is not
+ * called for {@code open-duration-ms}; bookings get a pooled meeting or are queued for
+ * deferred provisioning instead. The first call after that is a single probe: success
+ * closes the circuit, failure re-opens it.
+ */
+@Component
+public class ZoomCircuitBreaker {
+
+    private final SafeLogger log = SafeLogger.get(ZoomCircuitBreaker.class);
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean probeInFlight;
+
+    @Autowired
+    public ZoomCircuitBreaker(
+            @Value("${healthlink.zoom.circuit.failure-threshold:3}") int failureThreshold,
+            @Value("${healthlink.zoom.circuit.open-duration-ms:30000}") long openDurationMs) {
+        this(failureThreshold, openDurationMs, System::currentTimeMillis);
+    }
+
+    ZoomCircuitBreaker(int failureThreshold, long openDurationMs, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if a Zoom call may be made now
+     */
+    public synchronized boolean allowRequest() {
+        if (openUntil == 0) {
+            return true;
+        }
+        if (clock.getAsLong() < openUntil || probeInFlight) {
+            return false;
+        }
+        probeInFlight = true;
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        if (openUntil != 0) {
+            log.event("zoom_circuit_closed").log();
+        }
+        consecutiveFailures = 0;
+        openUntil = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        boolean wasProbe = probeInFlight;
+        probeInFlight = false;
+        if (wasProbe || consecutiveFailures >= failureThreshold) {
+            openUntil = clock.getAsLong() + openDurationMs;
+            log.event("zoom_circuit_opened").with("consecutiveFailures", consecutiveFailures).log();
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return openUntil != 0 && clock.getAsLong() < openUntil;
+    }
+}
@@ -0,0 +1,120 @@
+package com.healthlink.infrastructure.zoom;
+
+import com.healthlink.domain.appointment.entity.Appointment;
+import com.healthlink.domain.appointment.entity.AppointmentStatus;
+import com.healthlink.domain.appointment.entity.ZoomMeetingPoolEntry;
+import com.healthlink.domain.appointment.repository.AppointmentRepository;
+import com.healthlink.domain.appointment.repository.ZoomMeetingPoolRepository;
+import com.healthlink.infrastructure.logging.SafeLogger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Background side of Zoom provisioning, so bookings never wait on Zoom:
+ * <ul>
+ *     <li>keeps {@code pool.target-size} unclaimed meetings in {@code zoom_meeting_pool}</li>
+ *     <li>writes the appointment's topic and time onto claimed pool meetings</li>
+ *     <li>creates meetings for appointments booked while Zoom was unavailable</li>
+ * </ul>
+ * Every step stops at the first failure and is retried on the next tick; ZoomApiService's
+ * circuit breaker keeps a Zoom outage from turning into a burst of calls.
+ */
+@Component
+@RequiredArgsConstructor
+public class ZoomMeetingProvisioner {
+
+    private final ZoomApiService zoomApiService;
+    private final ZoomMeetingPoolRepository poolRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SafeLogger log = SafeLogger.get(ZoomMeetingProvisioner.class);
+
+    @Value("${healthlink.zoom.pool.target-size:5}")
+    private int targetSize = 5;
+
+    @Scheduled(fixedDelayString = "${healthlink.zoom.pool.refill-interval-ms:60000}")
+    public void refillPool() {
+        if (!zoomApiService.isEnabled() || targetSize <= 0) {
+            return;
+        }
+        long missing = targetSize - poolRepository.countByClaimedAtIsNull();
+        int created = 0;
+        for (; created < missing; created++) {
+            ZoomApiService.ZoomMeetingResponse meeting = zoomApiService.createPoolMeeting();
+            if (meeting == null) {
+                break;
+            }
+            ZoomMeetingPoolEntry entry = new ZoomMeetingPoolEntry();
+            entry.setMeetingId(String.valueOf(meeting.getId()));
+            entry.setJoinUrl(meeting.getJoinUrl());
+            entry.setStartUrl(meeting.getStartUrl());
+            entry.setPassword(meeting.getPassword());
+            poolRepository.save(entry);
+        }
+        if (created > 0) {
+            log.event("zoom_pool_refilled").with("created", created).with("target", targetSize).log();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.zoom.pool.sync-interval-ms:15000}")
+    @Transactional
+    public void syncClaimedMeetings() {
+        if (!zoomApiService.isEnabled()) {
+            return;
+        }
+        for (ZoomMeetingPoolEntry entry : poolRepository.findTop20ByDetailsSyncedFalseOrderByClaimedAtAsc()) {
+            Appointment appointment = appointmentRepository.findById(entry.getAppointmentId()).orElse(null);
+            if (appointment == null) {
+                // Either the booking has not committed yet, or it rolled back after claiming
+                if (entry.getClaimedAt().isBefore(LocalDateTime.now().minusMinutes(10))) {
+                    entry.setDetailsSynced(true);
+                }
+                continue;
+            }
+            ZoomApiService.ZoomMeetingResponse meeting = zoomApiService.updateMeetingDetails(
+                    entry.getMeetingId(), entry.getTopic(), entry.getStartTime(), entry.getDurationMinutes());
+            if (meeting == null) {
+                return;
+            }
+            if (meeting.getStartUrl() != null) {
+                appointment.setZoomStartUrl(meeting.getStartUrl());
+            }
+            entry.setDetailsSynced(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.zoom.deferred-interval-ms:30000}")
+    @Transactional
+    public void provisionDeferred() {
+        if (!zoomApiService.isEnabled()) {
+            return;
+        }
+        for (Appointment appointment : appointmentRepository.findTop20ByZoomProvisioningPendingTrueOrderByAppointmentTimeAsc()) {
+            if (appointment.getStatus() == AppointmentStatus.CANCELLED) {
+                appointment.setZoomProvisioningPending(false);
+                continue;
+            }
+            ZoomApiService.ZoomMeetingResponse meeting = zoomApiService.createMeeting(
+                    ZoomApiService.CreateZoomMeetingRequest.builder()
+                            .appointmentId(appointment.getId())
+                            .topic(ZoomApiService.consultationTopic(appointment.getDoctor().getFullName(),
+                                    appointment.getPatient().getFullName()))
+                            .startTime(appointment.getAppointmentTime())
+                            .durationMinutes((int) Duration.between(
+                                    appointment.getAppointmentTime(), appointment.getEndTime()).toMinutes())
+                            .timezone("UTC")
+                            .build());
+            if (meeting == null) {
+                return;
+            }
+            ZoomApiService.applyTo(appointment, meeting);
+            appointment.setZoomProvisioningPending(false);
+            log.event("zoom_deferred_provisioned").with("appointmentId", appointment.getId().toString()).log();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.healthlink.infrastructure.zoom;
+
+import com.healthlink.infrastructure.logging.SafeLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Server-to-Server OAuth token for the Zoom API, fetched once and shared.
+ * <p>
+ * Zoom tokens live for an hour. The cached token is returned until it is within
+ * {@code refresh-margin-seconds} of expiry. The scheduled check renews it up to two check
+ * intervals before that point, so the renewal happens on a tick that precedes it and booking
+ * requests normally never wait on the token endpoint. Concurrent callers that do find it
+ * expired share a single refresh. The check runs on its own thread, not the shared
+ * {@code @Scheduled} one, where a slow SMTP or bulk-index job could hold it past that point.
+ */
+@Component
+public class ZoomTokenCache {
+
+    private record CachedToken(String value, long fetchedAtMs, long refreshAtMs) {}
+
+    private final RestTemplate restTemplate;
+    private final String tokenUrl;
+    private final String accountId;
+    private final String clientId;
+    private final String clientSecret;
+    private final long refreshMarginMs;
+    private final long checkIntervalMs;
+    private final LongSupplier clock;
+    private final SafeLogger log = SafeLogger.get(ZoomTokenCache.class);
+    private final ScheduledExecutorService refreshScheduler =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("zoom-token-refresh").daemon().factory());
+    private volatile CachedToken token;
+
+    @Value("${healthlink.zoom.enabled:false}")
+    private boolean zoomEnabled;
+
+    @Autowired
+    public ZoomTokenCache(
+            RestTemplate restTemplate,
+            @Value("${healthlink.zoom.token-url:https://zoom.us/oauth/token}") String tokenUrl,
+            @Value("${healthlink.zoom.account-id:}") String accountId,
+            @Value("${healthlink.zoom.client-id:}") String clientId,
+            @Value("${healthlink.zoom.client-secret:}") String clientSecret,
+            @Value("${healthlink.zoom.token-refresh-margin-seconds:300}") long refreshMarginSeconds,
+            @Value("${healthlink.zoom.token-check-interval-ms:60000}") long checkIntervalMs) {
+        this(restTemplate, tokenUrl, accountId, clientId, clientSecret, refreshMarginSeconds * 1000,
+                checkIntervalMs, System::currentTimeMillis);
+    }
+
+    ZoomTokenCache(RestTemplate restTemplate, String tokenUrl, String accountId, String clientId,
+                   String clientSecret, long refreshMarginMs, long checkIntervalMs, LongSupplier clock) {
+        this.restTemplate = restTemplate;
+        this.tokenUrl = tokenUrl;
+        this.accountId = accountId;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.refreshMarginMs = refreshMarginMs;
+        this.checkIntervalMs = checkIntervalMs;
+        this.clock = clock;
+    }
+
+    /**
+     * A token valid for at least the refresh margin, fetching one if needed.
+     *
+     * @throws IllegalStateException if Zoom does not issue a token
+     */
+    public String getToken() {
+        CachedToken current = token;
+        if (isFresh(current)) {
+            return current.value();
+        }
+        synchronized (this) {
+            if (!isFresh(token)) {
+                token = fetchToken();
+            }
+            return token.value();
+        }
+    }
+
+    /** Drop the cached token, e.g. after Zoom answered 401. */
+    public void invalidate() {
+        token = null;
+    }
+
+    @PostConstruct
+    public void startRefresh() {
+        if (zoomEnabled) {
+            refreshScheduler.scheduleWithFixedDelay(this::refreshAhead, checkIntervalMs, checkIntervalMs,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stopRefresh() {
+        refreshScheduler.shutdownNow();
+    }
+
+    public void refreshAhead() {
+        if (!zoomEnabled || token == null || !dueForRenewal(token)) {
+            return;
+        }
+        try {
+            synchronized (this) {
+                if (token == null || dueForRenewal(token)) {
+                    token = fetchToken();
+                }
+            }
+        } catch (Exception e) {
+            // The current token is still valid for up to the margin; retried on the next tick
+            log.event("zoom_token_refresh_failed").with("error", e.getClass().getSimpleName()).log();
+        }
+    }
+
+    private boolean isFresh(CachedToken candidate) {
+        return candidate != null && clock.getAsLong() < candidate.refreshAtMs();
+    }
+
+    /**
+     * True from two check intervals before the refresh point, so a tick always lands ahead of it.
+     * Capped at half the remaining validity window so short-lived tokens are not renewed every tick.
+     */
+    private boolean dueForRenewal(CachedToken candidate) {
+        long lead = Math.min(2 * checkIntervalMs, (candidate.refreshAtMs() - candidate.fetchedAtMs()) / 2);
+        return clock.getAsLong() >= candidate.refreshAtMs() - lead;
+    }
+
+    private CachedToken fetchToken() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        String credentials = clientId + ":" + clientSecret;
+        headers.set("Authorization", "Basic "
+                + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+
+        HttpEntity<String> entity = new HttpEntity<>("grant_type=account_credentials&account_id=" + accountId, headers);
+        ResponseEntity<ZoomApiService.ZoomTokenResponse> response = restTemplate.exchange(
+                tokenUrl, HttpMethod.POST, entity, ZoomApiService.ZoomTokenResponse.class);
+
+        ZoomApiService.ZoomTokenResponse body = response.getBody();
+        if (body == null || body.getAccessToken() == null) {
+            throw new IllegalStateException("Zoom token endpoint returned no access token");
+        }
+        long lifetimeMs = (body.getExpiresIn() != null ? body.getExpiresIn() : 3600) * 1000L;
+        log.event("zoom_token_refreshed").with("expiresInSeconds", lifetimeMs / 1000).log();
+        // Never spend more than half the lifetime in the refresh window
+        long fetchedAt = clock.getAsLong();
+        return new CachedToken(body.getAccessToken(), fetchedAt,
+                fetchedAt + lifetimeMs - Math.min(refreshMarginMs, lifetimeMs / 2));
+    }
+}
@@ -0,0 +1,128 @@
+package com.healthlink.search;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Turns PHI text into blind-index tokens: keyed HMAC-SHA256 digests of normalized words, so
+ * records can be looked up by word without storing the words.
+ * <p>
+ * Words are lower-cased, stripped of accents and split on anything that is not a letter or digit.
+ * Each word is indexed in full and by every prefix of at least {@value #MIN_PREFIX} characters,
+ * so typing "diab" finds "diabetes". The patient id is part of the HMAC input: the same word
+ * yields different tokens for different patients, which keeps token frequencies from being
+ * compared across patients.
+ * <p>
+ * The key comes from {@code healthlink.phi.search-index-key} and is required at startup. It is
+ * deliberately independent of the PHI encryption keys: stored tokens only match while the key is
+ * unchanged, and the backfill only indexes records that have no tokens at all, so a key that moved
+ * with PHI key rotation would leave search silently empty after the next restart.
+ */
+@Component
+public class BlindIndexTokenizer {
+
+    static final int MIN_WORD = 2;
+    static final int MIN_PREFIX = 3;
+    static final int MAX_WORD = 32;
+    private static final int TOKEN_BYTES = 16;
+    private static final String HMAC = "HmacSHA256";
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private final byte[] key;
+    private final ThreadLocal<Mac> mac;
+
+    @Autowired
+    public BlindIndexTokenizer(@Value("${healthlink.phi.search-index-key:}") String searchIndexKey) {
+        this(decodeKey(searchIndexKey));
+    }
+
+    BlindIndexTokenizer(byte[] key) {
+        this.key = key.clone();
+        this.mac = ThreadLocal.withInitial(this::newMac);
+    }
+
+    static byte[] decodeKey(String searchIndexKey) {
+        if (searchIndexKey == null || searchIndexKey.isBlank()) {
+            throw new IllegalStateException("healthlink.phi.search-index-key must be set (base64, at least 32 bytes)");
+        }
+        byte[] decoded = Base64.getDecoder().decode(searchIndexKey.trim());
+        if (decoded.length < 32) {
+            throw new IllegalStateException("healthlink.phi.search-index-key must decode to at least 32 bytes");
+        }
+        return decoded;
+    }
+
+    /**
+     * Index tokens for the given texts: every word and word prefix, deduplicated. Null texts are skipped.
+     */
+    public Set<String> indexTokens(UUID patientId, List<String> texts) {
+        Set<String> words = new LinkedHashSet<>();
+        for (String text : texts) {
+            for (String word : words(text)) {
+                words.add(word);
+                for (int length = MIN_PREFIX; length < word.length(); length++) {
+                    words.add(word.substring(0, length));
+                }
+            }
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        words.forEach(word -> tokens.add(token(patientId, word)));
+        return tokens;
+    }
+
+    /**
+     * One token per distinct query word; a record matches when it holds all of them.
+     * Words shorter than {@value #MIN_WORD} characters are ignored.
+     */
+    public Set<String> queryTokens(UUID patientId, String query) {
+        Set<String> tokens = new LinkedHashSet<>();
+        words(query).forEach(word -> tokens.add(token(patientId, word)));
+        return tokens;
+    }
+
+    static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded))
+                .filter(word -> word.length() >= MIN_WORD)
+                .map(word -> word.length() > MAX_WORD ? word.substring(0, MAX_WORD) : word)
+                .toList();
+    }
+
+    private String token(UUID patientId, String word) {
+        Mac m = mac.get();
+        m.update(patientId.toString().getBytes(StandardCharsets.UTF_8));
+        m.update((byte) 0);
+        byte[] digest = m.doFinal(word.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, TOKEN_BYTES));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac m = Mac.getInstance(HMAC);
+            m.init(new SecretKeySpec(key, HMAC));
+            return m;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.healthlink.search;
+
+import com.healthlink.domain.record.repository.LabOrderRepository;
+import com.healthlink.domain.record.repository.MedicalRecordRepository;
+import com.healthlink.domain.record.repository.PrescriptionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Indexes records written before the blind token index existed. Runs once per startup in the
+ * background, walking the ids of records without tokens in batches, so after the first run it
+ * costs one query per record type. Records written since then are indexed by their services.
+ */
+@Component
+@Slf4j
+@Profile("!test")
+public class RecordSearchIndexBackfill {
+
+    private final MedicalRecordRepository medicalRecordRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final LabOrderRepository labOrderRepository;
+    private final RecordSearchTokenRepository tokenRepository;
+    private final SearchIndexService searchIndexService;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public RecordSearchIndexBackfill(MedicalRecordRepository medicalRecordRepository,
+                                     PrescriptionRepository prescriptionRepository,
+                                     LabOrderRepository labOrderRepository,
+                                     RecordSearchTokenRepository tokenRepository,
+                                     SearchIndexService searchIndexService,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${healthlink.search.records.backfill-on-startup:true}") boolean enabled,
+                                     @Value("${healthlink.search.records.backfill-batch-size:200}") int batchSize) {
+        this.medicalRecordRepository = medicalRecordRepository;
+        this.prescriptionRepository = prescriptionRepository;
+        this.labOrderRepository = labOrderRepository;
+        this.tokenRepository = tokenRepository;
+        this.searchIndexService = searchIndexService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long indexed = backfill(tokenRepository::findUnindexedMedicalRecordIds, medicalRecordRepository, searchIndexService::index)
+                    + backfill(tokenRepository::findUnindexedPrescriptionIds, prescriptionRepository, searchIndexService::index)
+                    + backfill(tokenRepository::findUnindexedLabOrderIds, labOrderRepository, searchIndexService::index);
+            if (indexed > 0) {
+                log.info("Record search backfill indexed {} records.", indexed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Record search backfill stopped: {}", e.getMessage());
+        }
+    }
+
+    private <T> long backfill(BiFunction<UUID, Pageable, List<UUID>> unindexedIds, JpaRepository<T, UUID> repository,
+                              Consumer<T> index) {
+        long indexed = 0;
+        UUID after = new UUID(0, 0);
+        List<UUID> ids;
+        while (!(ids = unindexedIds.apply(after, PageRequest.of(0, batchSize))).isEmpty()) {
+            List<UUID> batch = ids;
+            transactionTemplate.executeWithoutResult(tx -> repository.findAllById(batch).forEach(index));
+            indexed += batch.size();
+            after = batch.get(batch.size() - 1);
+        }
+        return indexed;
+    }
+}
@@ -0,0 +1,90 @@
+package com.healthlink.search;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One blind-index token of a patient record. The primary key starts with the record so a
+ * record's tokens are replaced with one range delete; the lookup index covers
+ * (patient, token) → record so searches never touch the record tables until the hits are known.
+ * Each token carries its record's date so a capped search keeps the newest matches.
+ * See {@link BlindIndexTokenizer} for how tokens are made.
+ * <p>
+ * Tokens are only ever inserted or deleted, never updated, so new instances report
+ * {@link #isNew()} and are persisted without the per-row SELECT that merging would cost.
+ */
+@Entity
+@IdClass(RecordSearchToken.Key.class)
+@Table(name = "record_search_tokens", indexes = {
+        @Index(name = "idx_record_search_token_lookup", columnList = "patient_id, token, record_type, record_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecordSearchToken implements Persistable<RecordSearchToken.Key> {
+
+    @Id
+    @Column(name = "record_type", nullable = false, length = 20)
+    private String recordType;
+
+    @Id
+    @Column(name = "record_id", nullable = false)
+    private UUID recordId;
+
+    @Id
+    @Column(name = "token", nullable = false, length = 24)
+    private String token;
+
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Column(name = "recorded_at")
+    private LocalDateTime recordedAt;
+
+    @Transient
+    private boolean persisted;
+
+    public RecordSearchToken(String recordType, UUID recordId, String token, UUID patientId, LocalDateTime recordedAt) {
+        this.recordType = recordType;
+        this.recordId = recordId;
+        this.token = token;
+        this.patientId = patientId;
+        this.recordedAt = recordedAt;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(recordType, recordId, token);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String recordType;
+        private UUID recordId;
+        private String token;
+    }
+}
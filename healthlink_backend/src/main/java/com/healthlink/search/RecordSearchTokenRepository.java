@@ -0,0 +1,58 @@
+package com.healthlink.search;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface RecordSearchTokenRepository extends JpaRepository<RecordSearchToken, RecordSearchToken.Key> {
+
+    /**
+     * Records of the patient holding every one of {@code tokens}, as {@code [recordType, recordId]},
+     * newest first so a page keeps the most recent matches. {@code tokenCount} must be the number
+     * of distinct tokens.
+     */
+    @Query("""
+            SELECT t.recordType, t.recordId FROM RecordSearchToken t
+            WHERE t.patientId = :patientId AND t.token IN :tokens AND t.recordType IN :recordTypes
+            GROUP BY t.recordType, t.recordId
+            HAVING COUNT(t.token) = :tokenCount
+            ORDER BY MAX(t.recordedAt) DESC NULLS LAST, t.recordId
+            """)
+    List<Object[]> findRecordsWithAllTokens(@Param("patientId") UUID patientId,
+                                            @Param("tokens") Collection<String> tokens,
+                                            @Param("tokenCount") long tokenCount,
+                                            @Param("recordTypes") Collection<String> recordTypes,
+                                            Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RecordSearchToken t WHERE t.recordType = :recordType AND t.recordId = :recordId")
+    int deleteByRecord(@Param("recordType") String recordType, @Param("recordId") UUID recordId);
+
+    /** Medical records after {@code after} (in id order) that have no tokens yet; used by the backfill. */
+    @Query("""
+            SELECT r.id FROM MedicalRecord r WHERE r.id > :after AND NOT EXISTS (
+                SELECT 1 FROM RecordSearchToken t WHERE t.recordType = 'MEDICAL_RECORD' AND t.recordId = r.id)
+            ORDER BY r.id
+            """)
+    List<UUID> findUnindexedMedicalRecordIds(@Param("after") UUID after, Pageable pageable);
+
+    @Query("""
+            SELECT p.id FROM Prescription p WHERE p.id > :after AND NOT EXISTS (
+                SELECT 1 FROM RecordSearchToken t WHERE t.recordType = 'PRESCRIPTION' AND t.recordId = p.id)
+            ORDER BY p.id
+            """)
+    List<UUID> findUnindexedPrescriptionIds(@Param("after") UUID after, Pageable pageable);
+
+    @Query("""
+            SELECT l.id FROM LabOrder l WHERE l.id > :after AND NOT EXISTS (
+                SELECT 1 FROM RecordSearchToken t WHERE t.recordType = 'LAB_ORDER' AND t.recordId = l.id)
+            ORDER BY l.id
+            """)
+    List<UUID> findUnindexedLabOrderIds(@Param("after") UUID after, Pageable pageable);
+}
@@ -1,37 +1,120 @@
 package com.healthlink.search;
 
+import com.healthlink.domain.record.entity.LabOrder;
+import com.healthlink.domain.record.entity.MedicalRecord;
+import com.healthlink.domain.record.entity.Prescription;
 import com.healthlink.domain.record.repository.MedicalRecordRepository;
 import com.healthlink.domain.record.repository.PrescriptionRepository;
 import com.healthlink.domain.record.repository.LabOrderRepository;
+import com.healthlink.domain.record.repository.RecordTitleView;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
+/**
+ * Per-patient search over medical records, prescriptions and lab orders.
+ * <p>
+ * Searchable text, including encrypted fields, is indexed as blind tokens
+ * ({@link BlindIndexTokenizer}) in {@code record_search_tokens} when a record is written. A search
+ * turns the query into tokens, resolves them to record ids with one indexed lookup and then reads
+ * only the titles of the hits, so its cost no longer grows with the patient's history and nothing
+ * is decrypted. A record matches when every query word is one of its words or a prefix of one.
+ */
 @Service
 @RequiredArgsConstructor
 public class SearchIndexService {
+    public static final String MEDICAL_RECORD = "MEDICAL_RECORD";
+    public static final String PRESCRIPTION = "PRESCRIPTION";
+    public static final String LAB_ORDER = "LAB_ORDER";
+    static final int MAX_RESULTS = 200;
+
     private final MedicalRecordRepository medicalRecordRepository;
     private final PrescriptionRepository prescriptionRepository;
     private final LabOrderRepository labOrderRepository;
+    private final RecordSearchTokenRepository tokenRepository;
+    private final BlindIndexTokenizer tokenizer;
 
-    /**
-     * Simple aggregated search (title/orderName only) with case-insensitive contains. In production,
-     * replace with Elasticsearch indexing for relevance scoring and advanced querying.
-     */
+    @Transactional(readOnly = true)
     public List<SearchHit> search(String query, java.util.UUID patientScope, boolean includeLabOrders) {
-        String q = query.toLowerCase();
-        Stream<SearchHit> records = medicalRecordRepository.findByPatientId(patientScope).stream()
-                .filter(r -> r.getTitle() != null && r.getTitle().toLowerCase().contains(q))
-                .map(r -> new SearchHit("MEDICAL_RECORD", r.getId().toString(), r.getTitle()));
-        Stream<SearchHit> prescriptions = prescriptionRepository.findByPatientIdOrderByCreatedAtDesc(patientScope).stream()
-                .filter(p -> p.getTitle() != null && p.getTitle().toLowerCase().contains(q))
-                .map(p -> new SearchHit("PRESCRIPTION", p.getId().toString(), p.getTitle()));
-        Stream<SearchHit> labs = includeLabOrders ? labOrderRepository.findByPatientId(patientScope).stream()
-                .filter(l -> l.getOrderName() != null && l.getOrderName().toLowerCase().contains(q))
-                .map(l -> new SearchHit("LAB_ORDER", l.getId().toString(), l.getOrderName())) : Stream.empty();
-        return Stream.concat(Stream.concat(records, prescriptions), labs).limit(200).toList();
+        Set<String> tokens = tokenizer.queryTokens(patientScope, query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        List<String> types = includeLabOrders
+                ? List.of(MEDICAL_RECORD, PRESCRIPTION, LAB_ORDER)
+                : List.of(MEDICAL_RECORD, PRESCRIPTION);
+        Map<String, List<UUID>> idsByType = new HashMap<>();
+        for (Object[] match : tokenRepository.findRecordsWithAllTokens(
+                patientScope, tokens, tokens.size(), types, PageRequest.of(0, MAX_RESULTS))) {
+            idsByType.computeIfAbsent((String) match[0], t -> new ArrayList<>()).add((UUID) match[1]);
+        }
+        // Same order as before: records, then prescriptions, then lab orders, newest first within each
+        return Stream.of(
+                        hits(MEDICAL_RECORD, idsByType, patientScope, medicalRecordRepository::findTitles),
+                        hits(PRESCRIPTION, idsByType, patientScope, prescriptionRepository::findTitles),
+                        hits(LAB_ORDER, idsByType, patientScope, labOrderRepository::findTitles))
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private List<SearchHit> hits(String type, Map<String, List<UUID>> idsByType, UUID patientId,
+                                 BiFunction<UUID, Collection<UUID>, List<RecordTitleView>> titles) {
+        List<UUID> ids = idsByType.get(type);
+        if (ids == null) {
+            return List.of();
+        }
+        return titles.apply(patientId, ids).stream()
+                .map(view -> new SearchHit(type, view.getId().toString(), view.getTitle()))
+                .toList();
+    }
+
+    /** Replaces the record's tokens; joins the caller's transaction so they commit with the record. */
+    @Transactional
+    public void index(MedicalRecord record) {
+        replaceTokens(MEDICAL_RECORD, record.getId(), record.getPatientId(), record.getCreatedAt(),
+                Arrays.asList(record.getTitle(), record.getRecordType(), record.getSummary(),
+                        record.getDetails(), record.getDescription()));
+    }
+
+    @Transactional
+    public void index(Prescription prescription) {
+        List<String> texts = new ArrayList<>(Arrays.asList(prescription.getTitle(), prescription.getBody()));
+        if (prescription.getMedications() != null) {
+            texts.addAll(prescription.getMedications());
+        }
+        replaceTokens(PRESCRIPTION, prescription.getId(), prescription.getPatientId(), prescription.getCreatedAt(), texts);
+    }
+
+    @Transactional
+    public void index(LabOrder labOrder) {
+        replaceTokens(LAB_ORDER, labOrder.getId(), labOrder.getPatientId(), labOrder.getOrderedAt(),
+                Arrays.asList(labOrder.getOrderName(), labOrder.getDescription()));
+    }
+
+    @Transactional
+    public void remove(String recordType, UUID recordId) {
+        tokenRepository.deleteByRecord(recordType, recordId);
+    }
+
+    private void replaceTokens(String recordType, UUID recordId, UUID patientId, LocalDateTime recordedAt,
+                               List<String> texts) {
+        tokenRepository.deleteByRecord(recordType, recordId);
+        tokenRepository.saveAll(tokenizer.indexTokens(patientId, texts).stream()
+                .map(token -> new RecordSearchToken(recordType, recordId, token, patientId, recordedAt))
+                .toList());
     }
 
     public record SearchHit(String type, String id, String title) {}
@@ -1,14 +1,10 @@
 package com.healthlink.service.integration;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthlink.infrastructure.openfda.OpenFdaClient;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,25 +13,17 @@ import java.util.List;
  * OpenFDA API Integration Service
  * Provides drug interaction checking and drug information retrieval
  * API Docs: https://open.fda.gov/apis/drug/
+ * <p>
+ * HTTP transport, pooling and request coalescing live in the shared OpenFdaClient.
  */
 @Service
 @Slf4j
 public class OpenFdaService {
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final OpenFdaClient openFdaClient;
 
-    @Value("${healthlink.integration.openfda.api-url:https://api.fda.gov}")
-    private String openFdaApiUrl;
-
-    @Value("${healthlink.integration.openfda.api-key:#{null}}")
-    private String apiKey; // Optional - higher rate limits if provided
-
-    private static final String DRUG_LABEL_ENDPOINT = "/drug/label.json";
-
-    public OpenFdaService(RestTemplate restTemplate, ObjectMapper objectMapper) {
-        this.restTemplate = restTemplate;
-        this.objectMapper = objectMapper;
+    public OpenFdaService(OpenFdaClient openFdaClient) {
+        this.openFdaClient = openFdaClient;
     }
 
     /**
@@ -71,18 +59,9 @@ public class OpenFdaService {
     @Cacheable(value = "drugInfo", key = "#drugName")
     public DrugInfo getDrugInfo(String drugName) {
         try {
-            String url = buildDrugLabelUrl(drugName);
-
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return parseDrugLabelResponse(response.getBody());
-            } else {
-                log.warn("Failed to fetch drug info for: {} - Status: {}",
-                        drugName, response.getStatusCode());
-                return null;
-            }
-
+            return openFdaClient.fetchLabelBlocking(drugName)
+                    .map(this::parseDrugLabel)
+                    .orElse(null);
         } catch (Exception e) {
             log.error("Error fetching drug info for: {}", drugName, e);
             return null;
@@ -90,73 +69,43 @@ public class OpenFdaService {
     }
 
     /**
-     * Build OpenFDA API URL for drug label search
+     * Parse a single OpenFDA drug label result
      */
-    private String buildDrugLabelUrl(String drugName) {
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromUriString(openFdaApiUrl + DRUG_LABEL_ENDPOINT)
-                .queryParam("search", "openfda.brand_name:\"" + drugName + "\"")
-                .queryParam("limit", "1");
-
-        if (apiKey != null && !apiKey.isEmpty()) {
-            builder.queryParam("api_key", apiKey);
-        }
-
-        return builder.toUriString();
-    }
-
-    /**
-     * Parse OpenFDA drug label response
-     */
-    private DrugInfo parseDrugLabelResponse(String jsonResponse) {
-        try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            JsonNode results = root.get("results");
+    private DrugInfo parseDrugLabel(JsonNode drug) {
+        DrugInfo info = new DrugInfo();
 
-            if (results == null || results.isEmpty()) {
-                return null;
-            }
-
-            JsonNode drug = results.get(0);
-            DrugInfo info = new DrugInfo();
-
-            // Extract drug name
-            JsonNode brandName = drug.get("openfda").get("brand_name");
-            if (brandName != null && brandName.isArray() && brandName.size() > 0) {
-                info.setName(brandName.get(0).asText());
-            }
+        // Extract drug name
+        JsonNode brandName = drug.path("openfda").get("brand_name");
+        if (brandName != null && brandName.isArray() && brandName.size() > 0) {
+            info.setName(brandName.get(0).asText());
+        }
 
-            // Extract generic name
-            JsonNode genericName = drug.get("openfda").get("generic_name");
-            if (genericName != null && genericName.isArray() && genericName.size() > 0) {
-                info.setGenericName(genericName.get(0).asText());
-            }
+        // Extract generic name
+        JsonNode genericName = drug.path("openfda").get("generic_name");
+        if (genericName != null && genericName.isArray() && genericName.size() > 0) {
+            info.setGenericName(genericName.get(0).asText());
+        }
 
-            // Extract warnings/interactions
-            JsonNode warnings = drug.get("warnings");
-            if (warnings != null && warnings.isArray()) {
-                List<String> interactionList = new ArrayList<>();
-                for (JsonNode warning : warnings) {
-                    String warningText = warning.asText().toLowerCase();
-                    if (warningText.contains("interaction") || warningText.contains("avoid")) {
-                        interactionList.add(warning.asText());
-                    }
+        // Extract warnings/interactions
+        JsonNode warnings = drug.get("warnings");
+        if (warnings != null && warnings.isArray()) {
+            List<String> interactionList = new ArrayList<>();
+            for (JsonNode warning : warnings) {
+                String warningText = warning.asText().toLowerCase();
+                if (warningText.contains("interaction") || warningText.contains("avoid")) {
+                    interactionList.add(warning.asText());
                 }
-                info.setInteractions(interactionList);
             }
+            info.setInteractions(interactionList);
+        }
 
-            // Extract purpose/indications
-            JsonNode indications = drug.get("indications_and_usage");
-            if (indications != null && indications.isArray() && indications.size() > 0) {
-                info.setIndications(indications.get(0).asText());
-            }
-
-            return info;
-
-        } catch (Exception e) {
-            log.error("Failed to parse OpenFDA response", e);
-            return null;
+        // Extract purpose/indications
+        JsonNode indications = drug.get("indications_and_usage");
+        if (indications != null && indications.isArray() && indications.size() > 0) {
+            info.setIndications(indications.get(0).asText());
         }
+
+        return info;
     }
 
     /**
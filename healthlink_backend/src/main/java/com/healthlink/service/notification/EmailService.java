@@ -1,36 +1,52 @@
 package com.healthlink.service.notification;
 
+import com.healthlink.domain.notification.entity.EmailDispatch;
+import com.healthlink.domain.notification.repository.EmailDispatchRepository;
 import com.healthlink.infrastructure.logging.SafeLogger;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
 import java.util.Map;
 
 /**
  * Email Service with template support
- * Handles all email notifications for the platform
+ * Handles all email notifications for the platform.
+ * Template emails are rendered here and queued as EmailDispatch rows;
+ * EmailDispatchWorker sends them in batches over pooled SMTP connections.
+ * Inside a transaction the row is written in its own transaction after the caller
+ * commits, so a failed insert can never roll back the business operation, and a
+ * rolled-back operation queues nothing.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
+    // RFC 5321 address limit; keeps the encrypted column within its 512 characters
+    private static final int MAX_RECIPIENT_BYTES = 254;
+    private static final int MAX_SUBJECT_LENGTH = 255;
+    private static final int MAX_EMAIL_TYPE_LENGTH = 60;
+
     private final JavaMailSender mailSender;
     private final TemplateEngine templateEngine;
-    
+    private final EmailDispatchRepository dispatchRepository;
+    private final TransactionOperations dispatchTransaction;
+
     @Autowired
     private Environment environment;
 
@@ -40,6 +56,26 @@ public class EmailService {
     @Value("${healthlink.mail.from-name:HealthLink Platform}")
     private String fromName;
 
+    @Autowired
+    public EmailService(JavaMailSender mailSender, TemplateEngine templateEngine,
+                        EmailDispatchRepository dispatchRepository, PlatformTransactionManager transactionManager) {
+        this(mailSender, templateEngine, dispatchRepository, requiresNew(transactionManager));
+    }
+
+    EmailService(JavaMailSender mailSender, TemplateEngine templateEngine,
+                 EmailDispatchRepository dispatchRepository, TransactionOperations dispatchTransaction) {
+        this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
+        this.dispatchRepository = dispatchRepository;
+        this.dispatchTransaction = dispatchTransaction;
+    }
+
+    private static TransactionOperations requiresNew(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
     @PostConstruct
     public void logEmailConfiguration() {
         String mailHost = environment.getProperty("spring.mail.host", "NOT SET");
@@ -68,326 +104,121 @@ public class EmailService {
     /**
      * Send password reset email with OTP
      */
-    @Async
     public void sendPasswordResetEmail(String toEmail, String userName, String otp) {
-        try {
-            Context context = new Context();
-            context.setVariable("userName", userName);
-            context.setVariable("otp", otp);
-            context.setVariable("validityMinutes", 15);
-
-            String htmlContent = templateEngine.process("email/password-reset", context);
-
-            sendHtmlEmail(
-                    toEmail,
-                    "Reset Your Password - HealthLink",
-                    htmlContent);
+        Context context = new Context();
+        context.setVariable("userName", userName);
+        context.setVariable("otp", otp);
+        context.setVariable("validityMinutes", 15);
 
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "password-reset")
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "password-reset")
-                .withMasked("email", toEmail)
-                .with("error", e.getClass().getSimpleName())
-                .log();
-            throw new RuntimeException("Failed to send password reset email", e);
-        }
+        queueTemplate(toEmail, "Reset Your Password - HealthLink", "password-reset", context, true);
     }
 
     /**
      * Send password reset confirmation email
      */
-    @Async
     public void sendPasswordResetConfirmation(String toEmail, String userName) {
-        try {
-            Context context = new Context();
-            context.setVariable("userName", userName);
-
-            String htmlContent = templateEngine.process("email/password-reset-confirmation", context);
-
-            sendHtmlEmail(
-                    toEmail,
-                    "Password Reset Successful - HealthLink",
-                    htmlContent);
+        Context context = new Context();
+        context.setVariable("userName", userName);
 
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "password-reset-confirmation")
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "password-reset-confirmation")
-                .withMasked("email", toEmail)
-                .log();
-        }
+        queueTemplate(toEmail, "Password Reset Successful - HealthLink", "password-reset-confirmation", context, false);
     }
 
     /**
      * Send account approval email
      */
-    @Async
     public void sendAccountApprovalEmail(String toEmail, String userName, String role) {
-        try {
-            Context context = new Context();
-            context.setVariable("userName", userName);
-            context.setVariable("role", role);
+        Context context = new Context();
+        context.setVariable("userName", userName);
+        context.setVariable("role", role);
 
-            String htmlContent = templateEngine.process("email/account-approved", context);
-
-            sendHtmlEmail(
-                    toEmail,
-                    "Account Approved - Welcome to HealthLink",
-                    htmlContent);
-
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "account-approved")
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "account-approved")
-                .withMasked("email", toEmail)
-                .log();
-        }
+        queueTemplate(toEmail, "Account Approved - Welcome to HealthLink", "account-approved", context, false);
     }
 
     /**
      * Send account rejection email
      */
-    @Async
     public void sendAccountRejectionEmail(String toEmail, String userName, String role, String reason) {
-        try {
-            Context context = new Context();
-            context.setVariable("userName", userName);
-            context.setVariable("role", role);
-            context.setVariable("reason", reason);
-
-            String htmlContent = templateEngine.process("email/account-rejected", context);
+        Context context = new Context();
+        context.setVariable("userName", userName);
+        context.setVariable("role", role);
+        context.setVariable("reason", reason);
 
-            sendHtmlEmail(
-                    toEmail,
-                    "Account Application Update - HealthLink",
-                    htmlContent);
-
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "account-rejected")
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "account-rejected")
-                .withMasked("email", toEmail)
-                .log();
-        }
+        queueTemplate(toEmail, "Account Application Update - HealthLink", "account-rejected", context, false);
     }
 
     /**
      * Send appointment confirmation email
      */
-    @Async
     public void sendAppointmentConfirmation(String toEmail, String patientName, String doctorName,
             String appointmentTime) {
-        try {
-            Context context = new Context();
-            context.setVariable("patientName", patientName);
-            context.setVariable("doctorName", doctorName);
-            context.setVariable("appointmentTime", appointmentTime);
-
-            String htmlContent = templateEngine.process("email/appointment-confirmation", context);
-
-            sendHtmlEmail(
-                    toEmail,
-                    "Appointment Confirmed - HealthLink",
-                    htmlContent);
+        Context context = new Context();
+        context.setVariable("patientName", patientName);
+        context.setVariable("doctorName", doctorName);
+        context.setVariable("appointmentTime", appointmentTime);
 
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "appointment-confirmation")
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "appointment-confirmation")
-                .withMasked("email", toEmail)
-                .log();
-        }
+        queueTemplate(toEmail, "Appointment Confirmed - HealthLink", "appointment-confirmation", context, false);
     }
 
     /**
      * Send appointment reminder email
      */
-    @Async
     public void sendAppointmentReminder(String toEmail, String patientName, String doctorName, String appointmentTime) {
-        try {
-            Context context = new Context();
-            context.setVariable("patientName", patientName);
-            context.setVariable("doctorName", doctorName);
-            context.setVariable("appointmentTime", appointmentTime);
-
-            String htmlContent = templateEngine.process("email/appointment-reminder", context);
-
-            sendHtmlEmail(
-                    toEmail,
-                    "Appointment Reminder - Tomorrow - HealthLink",
-                    htmlContent);
+        Context context = new Context();
+        context.setVariable("patientName", patientName);
+        context.setVariable("doctorName", doctorName);
+        context.setVariable("appointmentTime", appointmentTime);
 
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "appointment-reminder")
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "appointment-reminder")
-                .withMasked("email", toEmail)
-                .log();
-        }
+        queueTemplate(toEmail, "Appointment Reminder - Tomorrow - HealthLink", "appointment-reminder", context, false);
     }
 
     /**
      * Send welcome email to emergency patient with temporary password
-     * This method is async and non-blocking - patient creation succeeds even if email fails
+     * Queued for dispatch - patient creation succeeds even if email fails
      */
-    @Async
     public void sendEmergencyPatientWelcomeEmail(String toEmail, String patientName, String temporaryPassword) {
-        try {
-            Context context = new Context();
-            context.setVariable("patientName", patientName);
-            context.setVariable("email", toEmail);
-            context.setVariable("temporaryPassword", temporaryPassword);
-            context.setVariable("loginUrl", "http://localhost:3000/auth/patient/login"); // TODO: Make this configurable
-
-            String htmlContent = templateEngine.process("email/emergency-patient-welcome", context);
-
-            sendHtmlEmail(
-                    toEmail,
-                    "Welcome to HealthLink - Your Account Credentials",
-                    htmlContent);
-
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "emergency-patient-welcome")
-                .withMasked("email", toEmail)
-                .log();
-            log.info("✅ Emergency patient welcome email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "emergency-patient-welcome")
-                .withMasked("email", toEmail)
-                .with("error", e.getClass().getSimpleName())
-                .with("error_message", e.getMessage())
-                .log();
-            log.error("❌ Failed to send emergency patient welcome email to: {} - Error: {}", toEmail, e.getMessage(), e);
-            log.warn("⚠️ Patient account was created successfully, but email delivery failed. Check email configuration.");
-            // Don't throw - email failure shouldn't break patient creation
-            // The exception is caught and logged, patient creation continues
-        }
+        Context context = new Context();
+        context.setVariable("patientName", patientName);
+        context.setVariable("email", toEmail);
+        context.setVariable("temporaryPassword", temporaryPassword);
+        context.setVariable("loginUrl", "http://localhost:3000/auth/patient/login"); // TODO: Make this configurable
+
+        // Don't throw - email failure shouldn't break patient creation
+        queueTemplate(toEmail, "Welcome to HealthLink - Your Account Credentials", "emergency-patient-welcome", context, false);
     }
 
     /**
      * Send payment verification notification to staff
      */
-    @Async
     public void sendPaymentVerificationNotification(String toEmail, String staffName, String patientName,
             String amount) {
-        try {
-            Context context = new Context();
-            context.setVariable("staffName", staffName);
-            context.setVariable("patientName", patientName);
-            context.setVariable("amount", amount);
+        Context context = new Context();
+        context.setVariable("staffName", staffName);
+        context.setVariable("patientName", patientName);
+        context.setVariable("amount", amount);
 
-            String htmlContent = templateEngine.process("email/payment-verification-needed", context);
-
-            sendHtmlEmail(
-                    toEmail,
-                    "Payment Verification Required - HealthLink",
-                    htmlContent);
-
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "payment-verification-needed")
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "payment-verification-needed")
-                .withMasked("email", toEmail)
-                .log();
-        }
+        queueTemplate(toEmail, "Payment Verification Required - HealthLink", "payment-verification-needed", context, false);
     }
 
     /**
      * Send payment verified confirmation to patient
      */
-    @Async
     public void sendPaymentVerifiedEmail(String toEmail, String patientName, String amount, String appointmentDetails) {
-        try {
-            Context context = new Context();
-            context.setVariable("patientName", patientName);
-            context.setVariable("amount", amount);
-            context.setVariable("appointmentDetails", appointmentDetails);
-
-            String htmlContent = templateEngine.process("email/payment-verified", context);
+        Context context = new Context();
+        context.setVariable("patientName", patientName);
+        context.setVariable("amount", amount);
+        context.setVariable("appointmentDetails", appointmentDetails);
 
-            sendHtmlEmail(
-                    toEmail,
-                    "Payment Verified - HealthLink",
-                    htmlContent);
-
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", "payment-verified")
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", "payment-verified")
-                .withMasked("email", toEmail)
-                .log();
-        }
+        queueTemplate(toEmail, "Payment Verified - HealthLink", "payment-verified", context, false);
     }
 
     /**
      * Send generic email with template
      */
-    @Async
     public void sendTemplatedEmail(String toEmail, String subject, String templateName, Map<String, Object> variables) {
-        try {
-            Context context = new Context();
-            context.setVariables(variables);
-
-            String htmlContent = templateEngine.process("email/" + templateName, context);
+        Context context = new Context();
+        context.setVariables(variables);
 
-            sendHtmlEmail(toEmail, subject, htmlContent);
-
-            SafeLogger.get(EmailService.class)
-                .event("email_sent")
-                .with("template", templateName)
-                .withMasked("email", toEmail)
-                .log();
-        } catch (Exception e) {
-            SafeLogger.get(EmailService.class)
-                .event("email_send_failed")
-                .with("template", templateName)
-                .withMasked("email", toEmail)
-                .log();
-        }
+        queueTemplate(toEmail, subject, templateName, context, false);
     }
 
     /**
@@ -434,30 +265,100 @@ public class EmailService {
     }
 
     /**
-     * Send simple text email asynchronously (for non-critical operations)
+     * Queue simple text email for dispatch (for non-critical operations)
      */
-    @Async
     public void sendSimpleEmail(String toEmail, String subject, String body) {
-        sendSimpleEmailSync(toEmail, subject, body);
+        try {
+            enqueue(toEmail, subject, "simple", body, false);
+        } catch (Exception e) {
+            SafeLogger.get(EmailService.class)
+                .event("email_queue_failed")
+                .with("type", "simple")
+                .withMasked("email", toEmail)
+                .with("error", e.getClass().getSimpleName())
+                .log();
+        }
     }
 
     /**
-     * Send HTML email
+     * Render a template and queue the result. Templates are resolved through the
+     * engine's cache, so only the variable substitution runs per recipient.
      */
-    private void sendHtmlEmail(String toEmail, String subject, String htmlContent) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+    private void queueTemplate(String toEmail, String subject, String templateName, Context context, boolean rethrow) {
+        try {
+            String htmlContent = templateEngine.process("email/" + templateName, context);
+            enqueue(toEmail, subject, templateName, htmlContent, true);
+        } catch (Exception e) {
+            SafeLogger.get(EmailService.class)
+                .event("email_queue_failed")
+                .with("template", templateName)
+                .withMasked("email", toEmail)
+                .with("error", e.getClass().getSimpleName())
+                .log();
+            if (rethrow) {
+                throw new RuntimeException("Failed to queue " + templateName + " email", e);
+            }
+        }
+    }
+
+    private void enqueue(String toEmail, String subject, String emailType, String body, boolean html) {
+        validate(toEmail, subject, emailType);
+        OffsetDateTime now = OffsetDateTime.now();
+        EmailDispatch dispatch = new EmailDispatch();
+        dispatch.setRecipient(toEmail);
+        dispatch.setSubject(subject);
+        dispatch.setEmailType(emailType);
+        dispatch.setBody(body);
+        dispatch.setHtml(html);
+        dispatch.setStatus(EmailDispatch.STATUS_PENDING);
+        dispatch.setAttemptedAt(now);
+        dispatch.setNextAttemptAt(now);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            persist(dispatch, toEmail);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                persist(dispatch, toEmail);
+            }
+        });
+    }
 
+    private static void validate(String toEmail, String subject, String emailType) {
+        if (toEmail == null || toEmail.isBlank()) {
+            throw new IllegalArgumentException("Email recipient is required");
+        }
+        if (toEmail.getBytes(StandardCharsets.UTF_8).length > MAX_RECIPIENT_BYTES) {
+            throw new IllegalArgumentException("Email recipient exceeds " + MAX_RECIPIENT_BYTES + " bytes");
+        }
+        if (subject != null && subject.length() > MAX_SUBJECT_LENGTH) {
+            throw new IllegalArgumentException("Email subject exceeds " + MAX_SUBJECT_LENGTH + " characters");
+        }
+        if (emailType.length() > MAX_EMAIL_TYPE_LENGTH) {
+            throw new IllegalArgumentException("Email type exceeds " + MAX_EMAIL_TYPE_LENGTH + " characters");
+        }
+    }
+
+    /** Writes the dispatch in its own transaction; a failure is logged, never thrown. */
+    private void persist(EmailDispatch dispatch, String toEmail) {
         try {
-            helper.setFrom(fromEmail, fromName);
-        } catch (java.io.UnsupportedEncodingException e) {
-            log.error("Invalid email encoding", e);
-            throw new RuntimeException("Failed to set email sender", e);
+            dispatchTransaction.executeWithoutResult(tx -> dispatchRepository.save(dispatch));
+        } catch (RuntimeException e) {
+            SafeLogger.get(EmailService.class)
+                .event("email_queue_failed")
+                .with("template", dispatch.getEmailType())
+                .withMasked("email", toEmail)
+                .with("error", e.getClass().getSimpleName())
+                .log();
+            return;
         }
-        helper.setTo(toEmail);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true);
 
-        mailSender.send(message);
+        SafeLogger.get(EmailService.class)
+            .event("email_queued")
+            .with("template", dispatch.getEmailType())
+            .withMasked("email", toEmail)
+            .log();
     }
 }
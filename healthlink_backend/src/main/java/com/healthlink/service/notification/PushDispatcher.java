@@ -0,0 +1,197 @@
+package com.healthlink.service.notification;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import com.healthlink.domain.notification.entity.PushDeviceToken;
+import com.healthlink.domain.notification.repository.PushDeviceTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Batches push notifications across users into FCM {@code sendEach} calls.
+ *
+ * Pushes are queued by {@link #enqueue} and flushed on a short fixed delay.
+ * Each flush resolves device tokens for every queued user in one query, sends
+ * up to {@value #FCM_BATCH_LIMIT} messages per FCM call, then prunes tokens FCM
+ * reports as dead and refreshes {@code last_seen_at} on tokens that accepted a
+ * message. Dead-token failures are counted separately from real send failures.
+ */
+@Component
+@Slf4j
+public class PushDispatcher {
+
+    /** FCM rejects batch requests carrying more than 500 messages. */
+    static final int FCM_BATCH_LIMIT = 500;
+
+    /** Error codes meaning the token will never be deliverable again. */
+    private static final Set<MessagingErrorCode> DEAD_TOKEN_CODES =
+            EnumSet.of(MessagingErrorCode.UNREGISTERED, MessagingErrorCode.SENDER_ID_MISMATCH);
+
+    private final FirebaseMessaging firebaseMessaging;
+    private final PushDeviceTokenRepository tokenRepository;
+    private final ConcurrentLinkedQueue<PendingPush> queue = new ConcurrentLinkedQueue<>();
+
+    private final Timer batchTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter prunedCounter;
+
+    @Value("${healthlink.push.stale-token-days:270}")
+    private int staleTokenDays;
+
+    public PushDispatcher(
+            @Nullable FirebaseMessaging firebaseMessaging,
+            PushDeviceTokenRepository tokenRepository,
+            MeterRegistry meterRegistry) {
+        this.firebaseMessaging = firebaseMessaging;
+        this.tokenRepository = tokenRepository;
+        this.batchTimer = Timer.builder("healthlink.push.batch.duration")
+                .description("Latency of FCM sendEach batches")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("healthlink.push.messages", "outcome", "sent");
+        this.failedCounter = meterRegistry.counter("healthlink.push.messages", "outcome", "failed");
+        this.prunedCounter = meterRegistry.counter("healthlink.push.messages", "outcome", "dead_token");
+    }
+
+    /**
+     * Queue a push for every registered device of a user. Delivery happens on the next flush.
+     */
+    public void enqueue(UUID userId, String title, String body, @Nullable Map<String, String> data) {
+        queue.add(new PendingPush(userId, title, body, data));
+    }
+
+    @Scheduled(fixedDelayString = "${healthlink.push.flush-interval-ms:2000}")
+    public void flush() {
+        if (queue.isEmpty()) {
+            return;
+        }
+        if (firebaseMessaging == null) {
+            queue.clear();
+            log.warn("Firebase Messaging not initialized. Dropping queued push notifications.");
+            return;
+        }
+
+        List<PendingPush> pending = new ArrayList<>();
+        PendingPush next;
+        while ((next = queue.poll()) != null) {
+            pending.add(next);
+        }
+
+        Set<UUID> userIds = pending.stream().map(PendingPush::userId).collect(Collectors.toSet());
+        Map<UUID, List<String>> tokensByUser = tokenRepository.findByUserIdIn(userIds).stream()
+                .collect(Collectors.groupingBy(PushDeviceToken::getUserId,
+                        Collectors.mapping(PushDeviceToken::getToken, Collectors.toList())));
+
+        List<String> batchTokens = new ArrayList<>(FCM_BATCH_LIMIT);
+        List<Message> batch = new ArrayList<>(FCM_BATCH_LIMIT);
+        for (PendingPush push : pending) {
+            for (String token : tokensByUser.getOrDefault(push.userId(), List.of())) {
+                batchTokens.add(token);
+                batch.add(toMessage(token, push));
+                if (batch.size() == FCM_BATCH_LIMIT) {
+                    sendBatch(batchTokens, batch);
+                    batchTokens = new ArrayList<>(FCM_BATCH_LIMIT);
+                    batch = new ArrayList<>(FCM_BATCH_LIMIT);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            sendBatch(batchTokens, batch);
+        }
+    }
+
+    /**
+     * Remove tokens that have not been seen by a successful send or a re-registration
+     * within the configured window. FCM treats such tokens as stale after ~270 days.
+     */
+    @Scheduled(cron = "${healthlink.push.stale-token-cron:0 30 3 * * *}")
+    public void pruneStaleTokens() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(staleTokenDays));
+        int removed = tokenRepository.deleteByLastSeenAtBefore(cutoff);
+        if (removed > 0) {
+            log.info("Pruned {} stale push tokens not seen since {}", removed, cutoff);
+        }
+    }
+
+    private void sendBatch(List<String> tokens, List<Message> messages) {
+        BatchResponse response;
+        Timer.Sample sample = Timer.start();
+        try {
+            response = firebaseMessaging.sendEach(messages);
+        } catch (FirebaseMessagingException e) {
+            failedCounter.increment(messages.size());
+            log.error("FCM batch of {} messages failed", messages.size(), e);
+            return;
+        } finally {
+            sample.stop(batchTimer);
+        }
+
+        List<String> delivered = new ArrayList<>();
+        List<String> dead = new ArrayList<>();
+        List<SendResponse> responses = response.getResponses();
+        for (int i = 0; i < responses.size(); i++) {
+            SendResponse sendResponse = responses.get(i);
+            if (sendResponse.isSuccessful()) {
+                delivered.add(tokens.get(i));
+            } else if (isDeadToken(sendResponse.getException())) {
+                dead.add(tokens.get(i));
+            }
+        }
+
+        sentCounter.increment(delivered.size());
+        prunedCounter.increment(dead.size());
+        failedCounter.increment(messages.size() - delivered.size() - dead.size());
+
+        if (!dead.isEmpty()) {
+            tokenRepository.deleteByTokenIn(dead);
+            log.info("Removed {} push tokens reported dead by FCM", dead.size());
+        }
+        if (!delivered.isEmpty()) {
+            tokenRepository.touchLastSeen(delivered, Instant.now());
+        }
+        log.debug("FCM batch sent. Success: {}, Dead: {}, Failed: {}",
+                delivered.size(), dead.size(), messages.size() - delivered.size() - dead.size());
+    }
+
+    static boolean isDeadToken(@Nullable FirebaseMessagingException e) {
+        return e != null && e.getMessagingErrorCode() != null && DEAD_TOKEN_CODES.contains(e.getMessagingErrorCode());
+    }
+
+    private static Message toMessage(String token, PendingPush push) {
+        Message.Builder builder = Message.builder()
+                .setToken(token)
+                .setNotification(Notification.builder()
+                        .setTitle(push.title())
+                        .setBody(push.body())
+                        .build());
+        if (push.data() != null && !push.data().isEmpty()) {
+            builder.putAllData(push.data());
+        }
+        return builder.build();
+    }
+
+    private record PendingPush(UUID userId, String title, String body, Map<String, String> data) {
+    }
+}
@@ -28,14 +28,17 @@ public class PushNotificationService {
     @SuppressWarnings("unused")
     private final RabbitTemplate rabbitTemplate; // Reserved for future async notification queue
     private final PushDeviceTokenRepository tokenRepository;
+    private final PushDispatcher pushDispatcher;
 
     public PushNotificationService(
             @Nullable FirebaseMessaging firebaseMessaging,
             RabbitTemplate rabbitTemplate,
-            PushDeviceTokenRepository tokenRepository) {
+            PushDeviceTokenRepository tokenRepository,
+            PushDispatcher pushDispatcher) {
         this.firebaseMessaging = firebaseMessaging;
         this.rabbitTemplate = rabbitTemplate;
         this.tokenRepository = tokenRepository;
+        this.pushDispatcher = pushDispatcher;
     }
     
     /**
@@ -73,36 +76,22 @@ public class PushNotificationService {
      * @param title Notification title
      * @param body Notification body
      */
-    @Async
     public void sendToUser(UUID userId, String title, String body) {
         sendToUser(userId, title, body, null);
     }
     
     /**
      * Send notification to all devices of a user with custom data.
+     * Queued on {@link PushDispatcher}, which batches tokens across users
+     * and prunes tokens FCM reports as unregistered.
      * 
      * @param userId Target user ID
      * @param title Notification title
      * @param body Notification body
      * @param data Custom data payload
      */
-    @Async
     public void sendToUser(UUID userId, String title, String body, Map<String, String> data) {
-        List<PushDeviceToken> tokens = tokenRepository.findByUserId(userId);
-        if (tokens.isEmpty()) {
-            log.debug("No push tokens found for user {}", userId);
-            return;
-        }
-        
-        List<String> deviceTokens = tokens.stream()
-                .map(PushDeviceToken::getToken)
-                .toList();
-        
-        if (deviceTokens.size() == 1) {
-            sendNotification(deviceTokens.get(0), title, body, data);
-        } else {
-            sendMulticastNotification(deviceTokens, title, body, data);
-        }
+        pushDispatcher.enqueue(userId, title, body, data);
     }
 
     /**
@@ -131,8 +120,12 @@ public class PushNotificationService {
             log.info("Push notification sent successfully: {}", response);
 
         } catch (FirebaseMessagingException e) {
+            if (PushDispatcher.isDeadToken(e)) {
+                tokenRepository.deleteByTokenIn(List.of(deviceToken));
+                log.info("Removed push token reported dead by FCM");
+                return;
+            }
             log.error("Failed to send push notification", e);
-            // TODO: Handle invalid tokens, update database
         }
     }
 
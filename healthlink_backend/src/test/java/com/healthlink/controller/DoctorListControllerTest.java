@@ -0,0 +1,98 @@
+package com.healthlink.controller;
+
+import com.healthlink.domain.search.dto.DoctorSearchPage;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+import com.healthlink.domain.search.dto.DoctorSearchResponse;
+import com.healthlink.domain.search.service.DoctorSearchEngine;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DoctorListControllerTest {
+
+    @Mock
+    private DoctorSearchEngine searchEngine;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private DoctorListController controller;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(doctorRepository.findAllById(anyList())).thenAnswer(invocation ->
+                invocation.<List<UUID>>getArgument(0).stream().map(id -> {
+                    Doctor doctor = new Doctor();
+                    doctor.setId(id);
+                    return doctor;
+                }).toList());
+        controller = new DoctorListController(searchEngine, doctorRepository);
+    }
+
+    @Test
+    void listsEveryPageOfDoctors() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<Object> cursor = List.of("4.5", first.toString());
+        when(searchEngine.searchPage(any(DoctorSearchRequest.class)))
+                .thenReturn(page(cursor, item(first, "Cardiology")))
+                .thenReturn(page(null, item(second, "Dermatology")));
+
+        List<DoctorListController.DoctorListItem> doctors = controller.listDoctors(null, null).getBody().getData();
+
+        assertThat(doctors).extracting(DoctorListController.DoctorListItem::getId)
+                .containsExactly(first.toString(), second.toString());
+        ArgumentCaptor<DoctorSearchRequest> requests = ArgumentCaptor.forClass(DoctorSearchRequest.class);
+        verify(searchEngine, times(2)).searchPage(requests.capture());
+        assertThat(requests.getAllValues().get(0).getSearchAfter()).isNull();
+        assertThat(requests.getAllValues().get(1).getSearchAfter()).isEqualTo(cursor);
+    }
+
+    @Test
+    void filtersSpecializationOnTheSpecialtyFieldOnly() {
+        UUID cardiologist = UUID.randomUUID();
+        UUID paediatricCardiologist = UUID.randomUUID();
+        UUID dermatologist = UUID.randomUUID();
+        when(searchEngine.searchPage(any(DoctorSearchRequest.class))).thenReturn(page(null,
+                item(cardiologist, "Cardiology"),
+                item(paediatricCardiologist, "Paediatric Cardiology"),
+                item(dermatologist, "Dermatology")));
+
+        List<DoctorListController.DoctorListItem> doctors = controller.listDoctors(null, " cardio ").getBody().getData();
+
+        assertThat(doctors).extracting(DoctorListController.DoctorListItem::getId)
+                .containsExactly(cardiologist.toString(), paediatricCardiologist.toString());
+        ArgumentCaptor<DoctorSearchRequest> request = ArgumentCaptor.forClass(DoctorSearchRequest.class);
+        verify(searchEngine).searchPage(request.capture());
+        assertThat(request.getValue().getQuery()).isNull();
+    }
+
+    private static DoctorSearchPage page(List<Object> nextSearchAfter, DoctorSearchResponse... items) {
+        return DoctorSearchPage.builder()
+                .items(List.of(items))
+                .totalHits(items.length)
+                .nextSearchAfter(nextSearchAfter)
+                .build();
+    }
+
+    private static DoctorSearchResponse item(UUID id, String specialty) {
+        return DoctorSearchResponse.builder().id(id.toString()).specialty(specialty).build();
+    }
+}
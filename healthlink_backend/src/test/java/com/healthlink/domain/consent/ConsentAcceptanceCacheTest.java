@@ -0,0 +1,68 @@
+package com.healthlink.domain.consent;
+
+import com.healthlink.domain.consent.repository.UserConsentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConsentAcceptanceCacheTest {
+
+    private UserConsentRepository userConsentRepository;
+    private AtomicLong now;
+    private ConsentAcceptanceCache cache;
+
+    @BeforeEach
+    void setup() {
+        userConsentRepository = Mockito.mock(UserConsentRepository.class);
+        now = new AtomicLong(1_000_000_000L);
+        cache = new ConsentAcceptanceCache(userConsentRepository, 1000, Duration.ofMinutes(30),
+                Duration.ofSeconds(15), now::get);
+    }
+
+    @Test
+    void refusalIsRecheckedOnceOlderThanRecheckWindow() {
+        UUID userId = UUID.randomUUID();
+        // Accepted on another node after the first check
+        when(userConsentRepository.findConsentVersionsByUserId(userId)).thenReturn(List.of(), List.of("v1.0"));
+
+        assertFalse(cache.hasAccepted(userId, "v1.0"));
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertFalse(cache.hasAccepted(userId, "v1.0"));
+        verify(userConsentRepository, times(1)).findConsentVersionsByUserId(userId);
+
+        now.addAndGet(Duration.ofSeconds(15).toNanos());
+        assertTrue(cache.hasAccepted(userId, "v1.0"));
+        verify(userConsentRepository, times(2)).findConsentVersionsByUserId(userId);
+    }
+
+    @Test
+    void acceptanceIsNeverRechecked() {
+        UUID userId = UUID.randomUUID();
+        when(userConsentRepository.findConsentVersionsByUserId(userId)).thenReturn(List.of("v1.0"));
+
+        assertTrue(cache.hasAccepted(userId, "v1.0"));
+        now.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertTrue(cache.hasAccepted(userId, "v1.0"));
+
+        verify(userConsentRepository, times(1)).findConsentVersionsByUserId(userId);
+    }
+
+    @Test
+    void acceptedEventDropsCachedEntry() {
+        UUID userId = UUID.randomUUID();
+        when(userConsentRepository.findConsentVersionsByUserId(userId)).thenReturn(List.of(), List.of("v1.0"));
+        assertFalse(cache.hasAccepted(userId, "v1.0"));
+
+        cache.onConsentAccepted(new ConsentAcceptedEvent(userId));
+
+        assertTrue(cache.hasAccepted(userId, "v1.0"));
+    }
+}
@@ -6,7 +6,10 @@ import com.healthlink.domain.consent.repository.UserConsentRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,13 +21,19 @@ public class ConsentServiceTest {
 
     private ConsentVersionRepository consentVersionRepository;
     private UserConsentRepository userConsentRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private ConsentAcceptanceCache acceptanceCache;
     private ConsentService consentService;
 
     @BeforeEach
     void setup() {
         consentVersionRepository = Mockito.mock(ConsentVersionRepository.class);
         userConsentRepository = Mockito.mock(UserConsentRepository.class);
-        consentService = new ConsentService(consentVersionRepository, userConsentRepository);
+        eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+        acceptanceCache = new ConsentAcceptanceCache(userConsentRepository, 1000, Duration.ofMinutes(30),
+                Duration.ofSeconds(15), System::nanoTime);
+        consentService = new ConsentService(consentVersionRepository, userConsentRepository,
+                new ConsentVersionIndex(consentVersionRepository), acceptanceCache, eventPublisher);
     }
 
     @Test
@@ -61,6 +70,118 @@ public class ConsentServiceTest {
         verify(userConsentRepository, times(0)).save(any());
     }
 
+    @Test
+    void hasAcceptedLatestIsServedFromMemoryAfterFirstCheck() {
+        UUID userId = UUID.randomUUID();
+        when(consentVersionRepository.findByActiveTrueOrderByCreatedAtDesc())
+                .thenReturn(List.of(version("v2.0", "en"), version("v1.0", "en"), version("u1.0", "ur")));
+        when(userConsentRepository.findConsentVersionsByUserId(userId)).thenReturn(List.of("v1.0", "v2.0"));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(consentService.hasAcceptedLatest(userId, "en"));
+        }
+        assertFalse(consentService.hasAcceptedLatest(userId, "ur"));
+        assertFalse(consentService.hasAcceptedLatest(userId, "fr"));
+
+        verify(consentVersionRepository, times(1)).findByActiveTrueOrderByCreatedAtDesc();
+        verify(userConsentRepository, times(1)).findConsentVersionsByUserId(userId);
+        verify(consentVersionRepository, never()).findFirstByLanguageAndActiveTrueOrderByCreatedAtDesc(any());
+    }
+
+    @Test
+    void acceptInvalidatesCachedRefusal() {
+        UUID userId = UUID.randomUUID();
+        when(consentVersionRepository.findByActiveTrueOrderByCreatedAtDesc()).thenReturn(List.of(version("v1.0", "en")));
+        when(userConsentRepository.findConsentVersionsByUserId(userId)).thenReturn(List.of(), List.of("v1.0"));
+        assertFalse(consentService.hasAcceptedLatest(userId, "en"));
+
+        when(consentVersionRepository.findByConsentVersionAndLanguage("v1.0", "en")).thenReturn(Optional.of(version("v1.0", "en")));
+        consentService.accept(userId, buildRequest());
+        verify(eventPublisher).publishEvent(new ConsentAcceptedEvent(userId));
+        acceptanceCache.onConsentAccepted(new ConsentAcceptedEvent(userId));
+
+        assertTrue(consentService.hasAcceptedLatest(userId, "en"));
+    }
+
+    @Test
+    void publishedVersionBecomesLatestAfterIndexRebuild() {
+        UUID userId = UUID.randomUUID();
+        var index = new ConsentVersionIndex(consentVersionRepository);
+        when(consentVersionRepository.findByActiveTrueOrderByCreatedAtDesc())
+                .thenReturn(List.of(version("v1.0", "en")), List.of(version("v1.1", "en"), version("v1.0", "en")));
+        assertEquals(Optional.of("v1.0"), index.latestVersion("en"));
+
+        var request = new com.healthlink.domain.consent.dto.PublishConsentRequest();
+        request.setVersion("v1.1");
+        request.setLanguage("en");
+        request.setContent("Updated consent");
+        consentService.publish(request);
+        verify(eventPublisher).publishEvent(new ConsentVersionPublishedEvent("v1.1", "en"));
+        index.onVersionPublished(new ConsentVersionPublishedEvent("v1.1", "en"));
+
+        assertEquals(Optional.of("v1.1"), index.latestVersion("en"));
+    }
+
+    @Test
+    void publishRejectsExistingVersion() {
+        when(consentVersionRepository.findByConsentVersion("v1.0")).thenReturn(Optional.of(version("v1.0", "en")));
+        var request = new com.healthlink.domain.consent.dto.PublishConsentRequest();
+        request.setVersion("v1.0");
+        request.setLanguage("en");
+        request.setContent("Duplicate");
+
+        assertThrows(IllegalArgumentException.class, () -> consentService.publish(request));
+        verify(consentVersionRepository, never()).save(any());
+    }
+
+    @Test
+    void acceptAllStoresOnlyVersionsNotYetAccepted() {
+        UUID userId = UUID.randomUUID();
+        when(consentVersionRepository.findByConsentVersionIn(List.of("v1.0", "u1.0")))
+                .thenReturn(List.of(version("v1.0", "en"), version("u1.0", "ur")));
+        var existing = new com.healthlink.domain.consent.entity.UserConsent();
+        existing.setUserId(userId);
+        existing.setConsentVersion("v1.0");
+        when(userConsentRepository.findByUserIdAndConsentVersionIn(userId, List.of("v1.0", "u1.0")))
+                .thenReturn(List.of(existing));
+        var urdu = new AcceptConsentRequest();
+        urdu.setVersion("u1.0");
+        urdu.setLanguage("ur");
+
+        var responses = consentService.acceptAll(userId, List.of(buildRequest(), urdu));
+
+        assertEquals(List.of("v1.0", "u1.0"), responses.stream().map(r -> r.getConsentVersion()).toList());
+        verify(userConsentRepository).saveAll(argThat(saved -> {
+            var list = (List<com.healthlink.domain.consent.entity.UserConsent>) saved;
+            return list.size() == 1 && "u1.0".equals(list.get(0).getConsentVersion());
+        }));
+        verify(eventPublisher).publishEvent(new ConsentAcceptedEvent(userId));
+    }
+
+    @Test
+    void acceptAllRejectsInactiveVersion() {
+        UUID userId = UUID.randomUUID();
+        var retired = version("v0.9", "en");
+        retired.setActive(false);
+        when(consentVersionRepository.findByConsentVersionIn(List.of("v0.9"))).thenReturn(List.of(retired));
+        var request = new AcceptConsentRequest();
+        request.setVersion("v0.9");
+        request.setLanguage("en");
+
+        assertThrows(jakarta.persistence.EntityNotFoundException.class,
+                () -> consentService.acceptAll(userId, List.of(request)));
+        verify(userConsentRepository, never()).saveAll(any());
+    }
+
+    private com.healthlink.domain.consent.entity.ConsentVersion version(String name, String language) {
+        var version = new com.healthlink.domain.consent.entity.ConsentVersion();
+        version.setConsentVersion(name);
+        version.setLanguage(language);
+        version.setContent("Consent " + name);
+        version.setActive(true);
+        return version;
+    }
+
     private AcceptConsentRequest buildRequest() {
         var req = new AcceptConsentRequest();
         req.setVersion("v1.0");
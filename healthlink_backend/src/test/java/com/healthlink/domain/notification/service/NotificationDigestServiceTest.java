@@ -0,0 +1,175 @@
+package com.healthlink.domain.notification.service;
+
+import com.healthlink.domain.notification.DigestChannel;
+import com.healthlink.domain.notification.NotificationType;
+import com.healthlink.domain.notification.entity.Notification;
+import com.healthlink.domain.notification.entity.NotificationPreference;
+import com.healthlink.domain.notification.repository.NotificationPreferenceRepository;
+import com.healthlink.domain.notification.repository.NotificationRepository;
+import com.healthlink.domain.user.repository.UserRepository;
+import com.healthlink.service.notification.EmailService;
+import com.healthlink.service.notification.PushNotificationService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDigestServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private NotificationPreferenceRepository preferenceRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PushNotificationService pushNotificationService;
+    @Mock
+    private EmailService emailService;
+
+    @InjectMocks
+    private NotificationDigestService digestService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void holdsForDigest_shouldHoldLowPriorityNotificationInDigestMode() {
+        Notification notification = notification(NotificationType.PAYMENT_VERIFIED, "Payment verified");
+
+        assertThat(digestService.holdsForDigest(digestPreference(DigestChannel.PUSH), notification, false)).isTrue();
+    }
+
+    @Test
+    void holdsForDigest_shouldNotHoldHighPriority() {
+        Notification notification = notification(NotificationType.APPOINTMENT_REMINDER, "Appointment in 5 minutes");
+
+        assertThat(digestService.holdsForDigest(digestPreference(DigestChannel.PUSH), notification, true)).isFalse();
+    }
+
+    @Test
+    void holdsForDigest_shouldNotHoldWhenDigestDisabled() {
+        Notification notification = notification(NotificationType.PAYMENT_VERIFIED, "Payment verified");
+
+        assertThat(digestService.holdsForDigest(new NotificationPreference(), notification, false)).isFalse();
+    }
+
+    @Test
+    void hold_shouldMarkNotificationPendingWithoutPushing() {
+        Notification notification = notification(NotificationType.PAYMENT_VERIFIED, "Payment verified");
+
+        digestService.hold(notification);
+
+        assertThat(notification.getDigestPending()).isTrue();
+        verify(notificationRepository).save(notification);
+        verifyNoInteractions(pushNotificationService);
+    }
+
+    @Test
+    void flushDueDigests_shouldCoalesceHeldNotificationsIntoOnePush() {
+        List<Notification> held = List.of(
+                notification(NotificationType.PAYMENT_VERIFIED, "Payment verified"),
+                notification(NotificationType.APPOINTMENT_CONFIRMED, "Appointment confirmed"),
+                notification(NotificationType.PRESCRIPTION_CREATED, "New prescription"));
+        when(notificationRepository.findPendingDigests()).thenReturn(List.of(pending(LocalDateTime.now().minusMinutes(20))));
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(digestPreference(DigestChannel.PUSH)));
+        when(notificationRepository.claimDigest(userId)).thenReturn(held);
+
+        digestService.flushDueDigests();
+
+        verify(pushNotificationService, times(1))
+                .sendToUser(eq(userId), eq("You have 3 new notifications"), contains("New prescription"), anyMap());
+    }
+
+    @Test
+    void flushDueDigests_shouldWaitUntilWindowCloses() {
+        when(notificationRepository.findPendingDigests()).thenReturn(List.of(pending(LocalDateTime.now().minusMinutes(2))));
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(digestPreference(DigestChannel.PUSH)));
+
+        digestService.flushDueDigests();
+
+        verify(notificationRepository, never()).claimDigest(any());
+        verifyNoInteractions(pushNotificationService);
+    }
+
+    @Test
+    void flushDueDigests_shouldSendOnlyTheRowsItClaimed() {
+        when(notificationRepository.findPendingDigests()).thenReturn(List.of(pending(LocalDateTime.now().minusMinutes(20))));
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(digestPreference(DigestChannel.PUSH)));
+        when(notificationRepository.claimDigest(userId)).thenReturn(List.of(
+                notification(NotificationType.PAYMENT_VERIFIED, "Payment verified")));
+
+        digestService.flushDueDigests();
+
+        verify(pushNotificationService).sendToUser(eq(userId), eq("Payment verified"), eq("• Payment verified"), anyMap());
+    }
+
+    @Test
+    void flushDueDigests_shouldSendNothingWhenAnotherNodeClaimedTheDigest() {
+        when(notificationRepository.findPendingDigests()).thenReturn(List.of(pending(LocalDateTime.now().minusMinutes(20))));
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(digestPreference(DigestChannel.EMAIL)));
+        when(notificationRepository.claimDigest(userId)).thenReturn(List.of());
+
+        digestService.flushDueDigests();
+
+        verifyNoInteractions(emailService, pushNotificationService);
+    }
+
+    @Test
+    void flushDueDigests_shouldHoldClaimedRowsAgainWhenSendingFails() {
+        List<Notification> held = List.of(
+                notification(NotificationType.PAYMENT_VERIFIED, "a"), notification(NotificationType.PAYMENT_VERIFIED, "b"));
+        when(notificationRepository.findPendingDigests()).thenReturn(List.of(pending(LocalDateTime.now().minusMinutes(20))));
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(digestPreference(DigestChannel.PUSH)));
+        when(notificationRepository.claimDigest(userId)).thenReturn(held);
+        doThrow(new IllegalStateException("push down"))
+                .when(pushNotificationService).sendToUser(eq(userId), any(), any(), anyMap());
+
+        digestService.flushDueDigests();
+
+        verify(notificationRepository).restoreDigest(List.of(held.get(0).getId(), held.get(1).getId()));
+    }
+
+    private NotificationPreference digestPreference(DigestChannel channel) {
+        NotificationPreference preference = new NotificationPreference();
+        preference.setUserId(userId);
+        preference.setDigestEnabled(true);
+        preference.setDigestWindowMinutes(15);
+        preference.setDigestChannel(channel);
+        return preference;
+    }
+
+    private Notification notification(NotificationType type, String title) {
+        Notification notification = new Notification();
+        notification.setId(UUID.randomUUID());
+        notification.setUserId(userId);
+        notification.setType(type);
+        notification.setTitle(title);
+        notification.setMessage(title);
+        return notification;
+    }
+
+    private NotificationRepository.PendingDigest pending(LocalDateTime windowStart) {
+        return new NotificationRepository.PendingDigest() {
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public LocalDateTime getWindowStart() {
+                return windowStart;
+            }
+        };
+    }
+}
@@ -0,0 +1,87 @@
+package com.healthlink.domain.notification.service;
+
+import com.healthlink.domain.notification.NotificationChannel;
+import com.healthlink.domain.notification.repository.NotificationSendRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationSendLedgerTest {
+
+    @Mock
+    private NotificationSendRecordRepository recordRepository;
+
+    private NotificationSendLedger ledger;
+
+    private final UUID notificationId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ledger = new NotificationSendLedger(recordRepository, 100);
+    }
+
+    @Test
+    void claim_shouldWinOnceAndAnswerReplaysFromMemory() {
+        when(recordRepository.claim(notificationId, "PUSH", 1)).thenReturn(1);
+
+        assertThat(ledger.claim(notificationId, NotificationChannel.PUSH, 1)).isTrue();
+        assertThat(ledger.claim(notificationId, NotificationChannel.PUSH, 2)).isFalse();
+
+        verify(recordRepository, times(1)).claim(any(), anyString(), anyInt());
+    }
+
+    @Test
+    void claim_shouldRejectKeyClaimedByAnotherNode() {
+        when(recordRepository.claim(notificationId, "IN_APP", 2)).thenReturn(0);
+
+        assertThat(ledger.claim(notificationId, NotificationChannel.IN_APP, 2)).isFalse();
+        assertThat(ledger.claim(notificationId, NotificationChannel.IN_APP, 3)).isFalse();
+
+        verify(recordRepository, times(1)).claim(any(), anyString(), anyInt());
+    }
+
+    @Test
+    void claim_shouldTreatChannelsIndependently() {
+        when(recordRepository.claim(eq(notificationId), anyString(), eq(1))).thenReturn(1);
+
+        assertThat(ledger.claim(notificationId, NotificationChannel.IN_APP, 1)).isTrue();
+        assertThat(ledger.claim(notificationId, NotificationChannel.PUSH, 1)).isTrue();
+    }
+
+    @Test
+    void release_shouldAllowTheNextAttempt() {
+        when(recordRepository.claim(eq(notificationId), eq("EMAIL"), anyInt())).thenReturn(1);
+
+        ledger.claim(notificationId, NotificationChannel.EMAIL, 1);
+        ledger.release(notificationId, NotificationChannel.EMAIL);
+
+        assertThat(ledger.claim(notificationId, NotificationChannel.EMAIL, 2)).isTrue();
+        verify(recordRepository).release(notificationId, "EMAIL");
+    }
+
+    @Test
+    void keyFor_shouldBeStableForTheSameReminder() {
+        UUID appointmentId = UUID.randomUUID();
+
+        assertThat(NotificationSendLedger.keyFor("reminder", appointmentId.toString(), "in 5 minutes"))
+                .isEqualTo(NotificationSendLedger.keyFor("reminder", appointmentId.toString(), "in 5 minutes"))
+                .isNotEqualTo(NotificationSendLedger.keyFor("reminder", appointmentId.toString(), "in 15 minutes"));
+    }
+
+    @Test
+    void pruneExpired_shouldDeleteBucketsOlderThanTtl() {
+        ledger.pruneExpired();
+
+        verify(recordRepository).deleteBySentOnBefore(LocalDate.now().minusDays(14));
+    }
+}
@@ -5,6 +5,7 @@ import com.healthlink.domain.record.dto.MedicalRecordRequest;
 import com.healthlink.domain.record.entity.MedicalRecord;
 import com.healthlink.domain.record.repository.MedicalRecordRepository;
 import com.healthlink.domain.record.service.MedicalRecordService;
+import com.healthlink.search.SearchIndexService;
 import com.healthlink.security.model.CustomUserDetails;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,13 +23,15 @@ public class MedicalRecordServiceTest {
 
     private MedicalRecordRepository repository;
     private AppointmentRepository appointmentRepository;
+    private SearchIndexService searchIndexService;
     private MedicalRecordService service;
 
     @BeforeEach
     void setup() {
         repository = Mockito.mock(MedicalRecordRepository.class);
         appointmentRepository = Mockito.mock(AppointmentRepository.class);
-        service = new MedicalRecordService(repository, appointmentRepository);
+        searchIndexService = Mockito.mock(SearchIndexService.class);
+        service = new MedicalRecordService(repository, appointmentRepository, searchIndexService);
     }
 
     @Test
@@ -77,5 +80,6 @@ public class MedicalRecordServiceTest {
             return saved;
         });
         assertDoesNotThrow(() -> service.create(req));
+        Mockito.verify(searchIndexService).index(any(MedicalRecord.class));
     }
 }
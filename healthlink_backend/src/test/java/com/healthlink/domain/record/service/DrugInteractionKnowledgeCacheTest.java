@@ -0,0 +1,165 @@
+package com.healthlink.domain.record.service;
+
+import com.healthlink.domain.record.entity.DrugInteractionKnowledge;
+import com.healthlink.domain.record.repository.DrugInteractionKnowledgeRepository;
+import com.healthlink.domain.record.repository.PrescriptionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DrugInteractionKnowledgeCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T10:00:00Z");
+
+    @Mock
+    private DrugInteractionKnowledgeRepository knowledgeRepository;
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    private DrugInteractionKnowledgeCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DrugInteractionKnowledgeCache(knowledgeRepository, prescriptionRepository, 100,
+                Duration.ofMinutes(30), Duration.ofDays(7), Duration.ofDays(30), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void normalizeKeyFoldsCaseWhitespaceAndPunctuation() {
+        assertThat(DrugInteractionKnowledgeCache.normalizeKey("  Warfarin ")).isEqualTo("warfarin");
+        assertThat(DrugInteractionKnowledgeCache.normalizeKey("WARFARIN-")).isEqualTo("warfarin");
+        assertThat(DrugInteractionKnowledgeCache.normalizeKey("Amoxicillin /  Clavulanate"))
+                .isEqualTo("amoxicillin clavulanate");
+    }
+
+    @Test
+    void putWritesThroughAndServesFromL1() {
+        cache.put("warfarin", List.of("Avoid aspirin"));
+
+        ArgumentCaptor<DrugInteractionKnowledge> saved = ArgumentCaptor.forClass(DrugInteractionKnowledge.class);
+        verify(knowledgeRepository).save(saved.capture());
+        assertThat(saved.getValue().getRefreshAfter()).isEqualTo(at(NOW).plusDays(7));
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(at(NOW).plusDays(30));
+
+        assertThat(cache.get("warfarin")).contains(new DrugInteractionKnowledgeCache.Lookup(List.of("Avoid aspirin"), false));
+        verify(knowledgeRepository, never()).findById(any());
+    }
+
+    @Test
+    void entryPastRefreshPointIsServedAsStale() {
+        when(knowledgeRepository.findById("warfarin")).thenReturn(Optional.of(entry("warfarin", -1, 20)));
+
+        Optional<DrugInteractionKnowledgeCache.Lookup> lookup = cache.get("warfarin");
+
+        assertThat(lookup).isPresent();
+        assertThat(lookup.get().stale()).isTrue();
+        assertThat(lookup.get().interactions()).containsExactly("text for warfarin");
+    }
+
+    @Test
+    void expiredEntryIsTreatedAsMissing() {
+        when(knowledgeRepository.findById("warfarin")).thenReturn(Optional.of(entry("warfarin", -10, -1)));
+
+        assertThat(cache.get("warfarin")).isEmpty();
+    }
+
+    @Test
+    void preloadReturnsMissingAndStaleKeys() {
+        when(knowledgeRepository.findAllById(List.of("aspirin", "warfarin", "digoxin")))
+                .thenReturn(List.of(entry("aspirin", 3, 20), entry("warfarin", -1, 20)));
+
+        List<String> toFetch = cache.preload(List.of("aspirin", "warfarin", "digoxin"));
+
+        assertThat(toFetch).containsExactly("warfarin", "digoxin");
+        assertThat(cache.get("aspirin")).isPresent();
+    }
+
+    @Test
+    void refreshAsyncStoresLoadedInteractions() {
+        cache.refreshAsync("digoxin", () -> Optional.of(List.of("Monitor levels")));
+
+        verify(knowledgeRepository, timeout(2000)).save(any(DrugInteractionKnowledge.class));
+    }
+
+    @Test
+    void mostPrescribedKeysAreNormalizedAndDeduplicated() {
+        when(prescriptionRepository.findMostPrescribedMedications(3))
+                .thenReturn(List.of("Warfarin", "warfarin ", "Aspirin"));
+
+        assertThat(cache.mostPrescribedKeys(3)).containsExactly("warfarin", "aspirin");
+    }
+
+    @Test
+    void drugVocabularyOnlyContainsCuratedNamesWeightedByPrescriptions() {
+        when(knowledgeRepository.findAllDrugKeys()).thenReturn(List.of("salbutamol", "montelukast"));
+        when(prescriptionRepository.findMedicationCounts(100)).thenReturn(List.of(
+                medication("Warfarin 5 mg", 7),
+                medication("warfarin", 3),
+                medication("Salbutamol inhaler", 6),
+                medication("Montelukast", 2),
+                medication("Mrs Khan's custom compound", 40)));
+
+        Map<String, Long> vocabulary = cache.drugVocabulary(100, 5);
+
+        assertThat(vocabulary).containsEntry("warfarin", 10L)
+                .containsEntry("coumadin", 0L)
+                .containsEntry("salbutamol", 6L)
+                .doesNotContainKey("montelukast");
+        assertThat(vocabulary.keySet()).noneMatch(name -> name.contains("khan"));
+    }
+
+    private static PrescriptionRepository.MedicationCount medication(String name, long prescriptions) {
+        return new PrescriptionRepository.MedicationCount() {
+            @Override
+            public String getMedication() {
+                return name;
+            }
+
+            @Override
+            public Long getPrescriptions() {
+                return prescriptions;
+            }
+        };
+    }
+
+    private static DrugInteractionKnowledge entry(String key, int refreshInDays, int expiresInDays) {
+        DrugInteractionKnowledge entry = new DrugInteractionKnowledge();
+        entry.setDrugKey(key);
+        entry.setInteractions(new ArrayList<>(List.of("text for " + key)));
+        entry.setFetchedAt(at(NOW).minusDays(8));
+        entry.setRefreshAfter(at(NOW).plusDays(refreshInDays));
+        entry.setExpiresAt(at(NOW).plusDays(expiresInDays));
+        return entry;
+    }
+
+    private static OffsetDateTime at(Instant instant) {
+        return instant.atOffset(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,45 @@
+package com.healthlink.domain.record.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrugNameMatcherTest {
+
+    private final DrugNameMatcher matcher = DrugNameMatcher.forDrugs(
+            List.of("Warfarin", "Aspirin", "Metformin 500 mg", "Insulin", "Vitamin C"));
+
+    @Test
+    void findsEveryMentionedDrugInOnePass() {
+        BitSet found = matcher.match("Increases bleeding risk with ASPIRIN; adjust dose when combined with metformin.");
+
+        assertThat(found.stream().boxed().toList()).containsExactly(1, 2);
+    }
+
+    @Test
+    void matchesSynonymsAndBrandNames() {
+        assertThat(matcher.match("Avoid with Coumadin").get(0)).isTrue();
+        assertThat(matcher.match("acetylsalicylic acid potentiates bleeding").get(1)).isTrue();
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        assertThat(matcher.match("Rare cases of insulinoma were reported").isEmpty()).isTrue();
+        assertThat(matcher.match("Aspirin-containing products").get(1)).isTrue();
+    }
+
+    @Test
+    void matchesMultiWordNamesAndAdjacentMentions() {
+        BitSet found = matcher.match("vitamin c warfarin");
+
+        assertThat(found.stream().boxed().toList()).containsExactly(0, 4);
+    }
+
+    @Test
+    void termsIncludeNameWithoutStrength() {
+        assertThat(DrugNameMatcher.termsFor("Metformin 500 mg")).contains("metformin 500 mg", "metformin", "glucophage");
+    }
+}
@@ -0,0 +1,89 @@
+package com.healthlink.domain.record.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InteractionLookupStageTest {
+
+    @Mock
+    private OpenFdaDrugInteractionClient interactionClient;
+
+    private InteractionLookupStage stage;
+
+    @AfterEach
+    void tearDown() {
+        stage.shutdown();
+    }
+
+    @Test
+    void mergesWarningsInMedicationOrderWithoutDuplicates() {
+        stage = new InteractionLookupStage(interactionClient, 4, Duration.ofSeconds(2));
+        when(interactionClient.fetchInteractions("warfarin")).thenReturn(List.of("Bleeding risk", "Monitor INR"));
+        when(interactionClient.fetchInteractions("aspirin")).thenReturn(List.of("Bleeding risk"));
+
+        InteractionLookupStage.InteractionLookup lookup = stage.lookup(List.of("warfarin", "aspirin"));
+
+        assertThat(lookup.warnings()).containsExactly("Bleeding risk", "Monitor INR");
+        assertThat(lookup.partial()).isFalse();
+    }
+
+    @Test
+    void lookupsRunInParallel() {
+        stage = new InteractionLookupStage(interactionClient, 8, Duration.ofSeconds(2));
+        when(interactionClient.fetchInteractions(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return List.of("text for " + invocation.getArgument(0));
+        });
+
+        long start = System.nanoTime();
+        InteractionLookupStage.InteractionLookup lookup = stage.lookup(List.of("a", "b", "c", "d", "e"));
+
+        assertThat(lookup.warnings()).hasSize(5);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(1200));
+    }
+
+    @Test
+    void returnsPartialResultWhenDeadlineIsHit() {
+        stage = new InteractionLookupStage(interactionClient, 4, Duration.ofMillis(200));
+        when(interactionClient.fetchInteractions("warfarin")).thenReturn(List.of("Bleeding risk"));
+        when(interactionClient.fetchInteractions("slowdrug")).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return List.of("never seen");
+        });
+
+        InteractionLookupStage.InteractionLookup lookup = stage.lookup(List.of("warfarin", "slowdrug"));
+
+        assertThat(lookup.partial()).isTrue();
+        assertThat(lookup.uncheckedMedications()).containsExactly("slowdrug");
+        assertThat(lookup.warnings()).containsExactly("Bleeding risk");
+    }
+
+    @Test
+    void globalCapLimitsInFlightLookups() {
+        stage = new InteractionLookupStage(interactionClient, 2, Duration.ofSeconds(3));
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(interactionClient.fetchInteractions(anyString())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            inFlight.decrementAndGet();
+            return List.of();
+        });
+
+        stage.lookup(List.of("a", "b", "c", "d", "e", "f"));
+
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,49 @@
+package com.healthlink.domain.record.service;
+
+import com.healthlink.infrastructure.openfda.OpenFdaClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OpenFdaDrugInteractionClientTest {
+
+    @Mock
+    private OpenFdaClient openFdaClient;
+    @Mock
+    private DrugInteractionKnowledgeCache knowledgeCache;
+
+    private OpenFdaDrugInteractionClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new OpenFdaDrugInteractionClient(openFdaClient, knowledgeCache);
+        when(knowledgeCache.get(anyString())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void fallbackMatchesNamesSpelledDifferently() {
+        when(openFdaClient.fetchLabelBlocking(anyString())).thenReturn(Optional.empty());
+
+        assertThat(client.fetchInteractions("  WARFARIN "))
+                .containsExactly("Avoid: Aspirin, NSAIDs (bleeding risk)", "Monitor INR with antibiotics");
+    }
+
+    @Test
+    void fallbackIsUsedWhenOpenFdaFails() {
+        when(openFdaClient.fetchLabelBlocking(anyString())).thenThrow(new IllegalStateException("down"));
+
+        assertThat(client.fetchInteractions("Sildenafil"))
+                .containsExactly("CONTRAINDICATED: Nitrates (severe hypotension)");
+        assertThat(client.fetchInteractions("Unlisted Drug"))
+                .containsExactly("No cached interaction data. Consult pharmacist for unlisted drug");
+    }
+}
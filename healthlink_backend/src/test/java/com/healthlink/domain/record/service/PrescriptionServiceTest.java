@@ -9,6 +9,7 @@ import com.healthlink.domain.record.repository.PrescriptionTemplateRepository;
 import com.healthlink.domain.user.entity.Doctor;
 import com.healthlink.domain.user.entity.Patient;
 import com.healthlink.domain.user.enums.UserRole;
+import com.healthlink.search.SearchIndexService;
 import com.healthlink.security.model.CustomUserDetails;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,7 +17,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.access.AccessDeniedException;
@@ -24,6 +24,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
@@ -58,13 +59,16 @@ class PrescriptionServiceTest {
     @Mock
     private OpenFdaDrugInteractionClient interactionClient;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @Mock
     private Authentication authentication;
 
     @Mock
     private SecurityContext securityContext;
 
-    @InjectMocks
+    private InteractionLookupStage lookupStage;
     private PrescriptionService prescriptionService;
 
     private UUID doctorId;
@@ -76,6 +80,8 @@ class PrescriptionServiceTest {
 
     @BeforeEach
     void setUp() {
+        lookupStage = new InteractionLookupStage(interactionClient, 4, Duration.ofSeconds(2));
+        prescriptionService = new PrescriptionService(repository, templateRepository, lookupStage, searchIndexService);
         doctorId = UUID.randomUUID();
         patientId = UUID.randomUUID();
 
@@ -104,6 +110,7 @@ class PrescriptionServiceTest {
     @AfterEach
     void tearDown() {
         SecurityContextHolder.clearContext();
+        lookupStage.shutdown();
     }
 
     // ========== PRESCRIPTION CREATION TESTS ==========
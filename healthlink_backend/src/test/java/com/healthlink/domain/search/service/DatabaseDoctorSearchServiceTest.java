@@ -0,0 +1,166 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.organization.entity.Facility;
+import com.healthlink.domain.organization.repository.FacilityRepository;
+import com.healthlink.domain.search.dto.DoctorSearchPage;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+import com.healthlink.domain.search.dto.DoctorSearchResponse;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import com.healthlink.domain.user.repository.DoctorTextSearchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseDoctorSearchServiceTest {
+
+    private static final UUID FIRST = new UUID(0, 1);
+    private static final UUID SECOND = new UUID(0, 2);
+
+    @Mock
+    private DoctorTextSearchRepository textSearchRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    private DatabaseDoctorSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        DoctorSearchCache uncached = new DoctorSearchCache(null, new ObjectMapper(), new SimpleMeterRegistry(),
+                Duration.ZERO, 1, Duration.ZERO, System::nanoTime);
+        searchService = new DatabaseDoctorSearchService(textSearchRepository, doctorRepository, facilityRepository,
+                TransactionOperations.withoutTransaction(), uncached);
+    }
+
+    @Test
+    void textSearchUsesNormalizedQueryAndEscapedPattern() {
+        when(textSearchRepository.searchByText(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
+
+        searchService.searchPage(DoctorSearchRequest.builder().query("  Cardio_100% ").specialty("Cardiology").build());
+
+        verify(textSearchRepository).searchByText(eq("cardio_100%"), eq("%cardio\\_100\\%%"), eq("cardiology"),
+                isNull(), isNull(), isNull(), isNull(), isNull(), eq("relevance"), isNull(), isNull(), eq(20));
+    }
+
+    @Test
+    void browsesByRatingWithoutText() {
+        when(textSearchRepository.browse(any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
+
+        searchService.searchPage(DoctorSearchRequest.builder().city("Lahore").minFee(500.0).pageSize(500).build());
+
+        verify(textSearchRepository).browse(isNull(), eq("lahore"), isNull(), isNull(), eq(BigDecimal.valueOf(500.0)),
+                isNull(), eq("rating"), isNull(), isNull(), eq(100));
+    }
+
+    @Test
+    void returnsDoctorsInRankOrderWithKeysetCursor() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{SECOND, new BigDecimal("0.812500"), 7L});
+        rows.add(new Object[]{FIRST, new BigDecimal("0.400000"), 7L});
+        when(textSearchRepository.searchByText(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(rows);
+        stubDoctors();
+        Facility clinic = new Facility();
+        clinic.setDoctorOwner(doctor(SECOND, "Cardiology"));
+        clinic.setName("Heart Clinic");
+        clinic.setCity("Karachi");
+        when(facilityRepository.findByDoctorOwnerIdIn(anyCollection())).thenReturn(List.of(clinic));
+
+        DoctorSearchPage page = searchService.searchPage(DoctorSearchRequest.builder().query("cardio").pageSize(2).build());
+
+        assertThat(page.getItems()).extracting(DoctorSearchResponse::getId)
+                .containsExactly(SECOND.toString(), FIRST.toString());
+        assertThat(page.getItems().get(0).getCity()).isEqualTo("Karachi");
+        assertThat(page.getItems().get(0).getFacilityNames()).containsExactly("Heart Clinic");
+        assertThat(page.getTotalHits()).isEqualTo(7);
+        assertThat(page.getNextSearchAfter()).containsExactly("0.400000", FIRST.toString());
+        assertThat(page.getFacets()).isEmpty();
+    }
+
+    @Test
+    void passesCursorOfPreviousPage() {
+        when(textSearchRepository.browse(any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
+
+        DoctorSearchPage page = searchService.searchPage(DoctorSearchRequest.builder()
+                .sortBy("fee")
+                .searchAfter(List.of(-1500.0, FIRST.toString()))
+                .build());
+
+        verify(textSearchRepository).browse(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(), eq("fee"),
+                eq(new BigDecimal("-1500.0")), eq(FIRST), eq(20));
+        assertThat(page.getItems()).isEmpty();
+        assertThat(page.getNextSearchAfter()).isNull();
+        assertThat(page.getTotalHits()).isZero();
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> searchService.searchPage(DoctorSearchRequest.builder()
+                .searchAfter(List.of(4.5, "not-a-uuid"))
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(textSearchRepository);
+    }
+
+    @Test
+    void rejectsDistanceSearch() {
+        assertThatThrownBy(() -> searchService.searchPage(DoctorSearchRequest.builder()
+                .latitude(24.86).longitude(67.0).radiusKm(5.0)
+                .build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Elasticsearch");
+    }
+
+    @Test
+    void rejectsInvertedFeeRange() {
+        assertThatThrownBy(() -> searchService.searchPage(DoctorSearchRequest.builder().minFee(3000.0).maxFee(1000.0).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("minFee");
+    }
+
+    private void stubDoctors() {
+        lenient().when(doctorRepository.findWithQualificationsByIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<UUID>>getArgument(0).stream()
+                        .map(id -> doctor(id, "Cardiology"))
+                        .toList());
+    }
+
+    private static Doctor doctor(UUID id, String specialization) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setSpecialization(specialization);
+        return doctor;
+    }
+}
@@ -0,0 +1,195 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.search.document.DoctorDocument;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.enums.ApprovalStatus;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DoctorBulkIndexerTest {
+
+    private static final String NEW_INDEX = "doctors-20261018100000000";
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private DoctorDocumentAssembler documentAssembler;
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    private final Map<String, IndexOperations> indexOps = new HashMap<>();
+    private DoctorBulkIndexer indexer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(operations.indexOps(any(IndexCoordinates.class))).thenAnswer(invocation -> indexOps(
+                invocation.<IndexCoordinates>getArgument(0).getIndexName()));
+        lenient().when(operations.indexOps(DoctorDocument.class)).thenReturn(mock(IndexOperations.class));
+        lenient().when(documentAssembler.assemble(anyList())).thenAnswer(invocation -> invocation.<List<Doctor>>getArgument(0).stream()
+                .map(d -> DoctorDocument.builder().id(d.getId().toString()).build())
+                .toList());
+        Clock clock = Clock.fixed(Instant.parse("2026-10-18T10:00:00Z"), ZoneOffset.UTC);
+        indexer = new DoctorBulkIndexer(doctorRepository, documentAssembler, operations,
+                TransactionOperations.withoutTransaction(), 2, 2, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexer.shutdown();
+    }
+
+    @Test
+    void copiesDoctorsPageByPageAndSwapsAlias() {
+        List<UUID> ids = IntStream.range(0, 5).mapToObj(i -> new UUID(0, i)).toList();
+        stubDoctors(ids, 2);
+        when(indexOps("doctors").getAliases("doctors")).thenReturn(Map.of("doctors-old", Set.of()));
+
+        DoctorBulkIndexer.ReindexStatus status = indexer.reindex();
+
+        assertThat(status.state()).isEqualTo(DoctorBulkIndexer.State.COMPLETED);
+        assertThat(status.index()).isEqualTo(NEW_INDEX);
+        assertThat(status.indexed()).isEqualTo(5);
+        verify(operations, times(3)).bulkIndex(anyList(), argThat((IndexCoordinates c) -> NEW_INDEX.equals(c.getIndexName())));
+        verify(indexOps(NEW_INDEX)).create(any(), any());
+        verify(indexOps(NEW_INDEX)).refresh();
+
+        List<AliasAction> actions = aliasActions();
+        assertThat(actions).hasSize(2);
+        assertThat(actions.get(0)).isInstanceOf(AliasAction.Remove.class);
+        assertThat(actions.get(0).getParameters().getIndices()).containsExactly("doctors-old");
+        assertThat(actions.get(1)).isInstanceOf(AliasAction.Add.class);
+        assertThat(actions.get(1).getParameters().getIndices()).containsExactly(NEW_INDEX);
+        verify(indexOps("doctors-old")).delete();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void skipsDoctorsDelistedAfterTheCursorRead() {
+        UUID listed = new UUID(0, 1);
+        UUID deactivated = new UUID(0, 2);
+        stubDoctors(List.of(listed, deactivated), 2);
+        when(doctorRepository.findWithQualificationsByIdIn(anyList())).thenAnswer(invocation ->
+                invocation.<List<UUID>>getArgument(0).stream().map(id -> {
+                    Doctor doctor = new Doctor();
+                    doctor.setId(id);
+                    doctor.setApprovalStatus(ApprovalStatus.APPROVED);
+                    doctor.setIsActive(!id.equals(deactivated));
+                    return doctor;
+                }).toList());
+
+        DoctorBulkIndexer.ReindexStatus status = indexer.reindex();
+
+        ArgumentCaptor<List<IndexQuery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(operations).bulkIndex(captor.capture(), any(IndexCoordinates.class));
+        assertThat(captor.getValue()).extracting(IndexQuery::getId).containsExactly(listed.toString());
+        assertThat(status.indexed()).isEqualTo(1);
+    }
+
+    @Test
+    void replacesPreAliasConcreteIndexInTheSameRequest() {
+        stubDoctors(List.of(new UUID(0, 1)), 2);
+        when(indexOps("doctors").getAliases("doctors")).thenThrow(new DataAccessResourceFailureException("404"));
+        when(indexOps("doctors").exists()).thenReturn(true);
+
+        indexer.reindex();
+
+        List<AliasAction> actions = aliasActions();
+        assertThat(actions.get(0)).isInstanceOf(AliasAction.RemoveIndex.class);
+        assertThat(actions.get(0).getParameters().getIndices()).containsExactly("doctors");
+        assertThat(actions.get(1)).isInstanceOf(AliasAction.Add.class);
+    }
+
+    @Test
+    void failedBulkKeepsAliasAndDropsNewIndex() {
+        stubDoctors(IntStream.range(0, 4).mapToObj(i -> new UUID(0, i)).toList(), 2);
+        when(operations.bulkIndex(anyList(), any(IndexCoordinates.class)))
+                .thenThrow(new DataAccessResourceFailureException("cluster unavailable"));
+
+        DoctorBulkIndexer.ReindexStatus status = indexer.reindex();
+
+        assertThat(status.state()).isEqualTo(DoctorBulkIndexer.State.FAILED);
+        assertThat(status.failed()).isPositive();
+        verify(indexOps("doctors"), never()).alias(any());
+        verify(indexOps(NEW_INDEX)).delete();
+    }
+
+    @Test
+    void initializesEmptyGenerationBehindAlias() {
+        when(indexOps("doctors").exists()).thenReturn(false);
+
+        indexer.initializeAlias();
+
+        verify(indexOps(NEW_INDEX)).create(any(), any());
+        List<AliasAction> actions = aliasActions();
+        assertThat(actions).singleElement().isInstanceOf(AliasAction.Add.class);
+        assertThat(actions.get(0).getParameters().getAliases()).containsExactly("doctors");
+    }
+
+    private IndexOperations indexOps(String name) {
+        return indexOps.computeIfAbsent(name, n -> mock(IndexOperations.class));
+    }
+
+    private List<AliasAction> aliasActions() {
+        ArgumentCaptor<AliasActions> captor = ArgumentCaptor.forClass(AliasActions.class);
+        verify(indexOps("doctors")).alias(captor.capture());
+        return captor.getValue().getActions();
+    }
+
+    /** Serves the ids through the two cursor queries, pageSize at a time. */
+    private void stubDoctors(List<UUID> ids, int pageSize) {
+        lenient().when(doctorRepository.findIdsForIndexing(any(Pageable.class)))
+                .thenReturn(ids.subList(0, Math.min(pageSize, ids.size())));
+        for (int start = pageSize; start <= ids.size(); start += pageSize) {
+            lenient().when(doctorRepository.findIdsForIndexingAfter(eq(ids.get(start - 1)), any(Pageable.class)))
+                    .thenReturn(ids.subList(start, Math.min(start + pageSize, ids.size())));
+        }
+        lenient().when(doctorRepository.findWithQualificationsByIdIn(anyList())).thenAnswer(invocation ->
+                invocation.<List<UUID>>getArgument(0).stream().map(id -> {
+                    Doctor doctor = new Doctor();
+                    doctor.setId(id);
+                    doctor.setApprovalStatus(ApprovalStatus.APPROVED);
+                    return doctor;
+                }).toList());
+    }
+}
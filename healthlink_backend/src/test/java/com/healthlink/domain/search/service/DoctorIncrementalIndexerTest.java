@@ -0,0 +1,251 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.search.DoctorIndexChangedEvent;
+import com.healthlink.domain.search.document.DoctorDocument;
+import com.healthlink.domain.user.enums.ApprovalStatus;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DoctorIncrementalIndexerTest {
+
+    private static final Instant T0 = Instant.parse("2026-10-18T10:00:00Z");
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private DoctorDocumentAssembler documentAssembler;
+
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Mock
+    private DoctorBulkIndexer bulkIndexer;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TestClock clock = new TestClock();
+    private DoctorIncrementalIndexer indexer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ElasticsearchConverter converter = mock(ElasticsearchConverter.class);
+        lenient().when(operations.getElasticsearchConverter()).thenReturn(converter);
+        lenient().when(converter.mapObject(any())).thenAnswer(invocation -> Document.create());
+        lenient().when(doctorRepository.findWithQualificationsByIdIn(anyCollection())).thenAnswer(invocation ->
+                invocation.<Collection<UUID>>getArgument(0).stream().map(id -> {
+                    Doctor doctor = new Doctor();
+                    doctor.setId(id);
+                    doctor.setApprovalStatus(ApprovalStatus.APPROVED);
+                    return doctor;
+                }).toList());
+        lenient().when(documentAssembler.assemble(anyList())).thenAnswer(invocation -> invocation.<List<Doctor>>getArgument(0).stream()
+                .map(d -> DoctorDocument.builder().id(d.getId().toString()).build())
+                .toList());
+        indexer = new DoctorIncrementalIndexer(doctorRepository, documentAssembler, operations, bulkIndexer,
+                TransactionOperations.withoutTransaction(), meterRegistry,
+                Duration.ofSeconds(2), Duration.ofSeconds(30), 100, clock);
+    }
+
+    @Test
+    void coalescesBurstOfChangesIntoOneUpdate() {
+        UUID doctorId = UUID.randomUUID();
+        changed(doctorId, T0);
+        changed(doctorId, T0.plusMillis(500));
+        changed(doctorId, T0.plusSeconds(1));
+
+        clock.set(T0.plusMillis(2500));
+        indexer.flush();
+        verify(operations, never()).bulkUpdate(anyList(), any(IndexCoordinates.class));
+
+        clock.set(T0.plusSeconds(4));
+        indexer.flush();
+
+        List<UpdateQuery> updates = bulkUpdates();
+        assertThat(updates).singleElement().satisfies(update -> {
+            assertThat(update.getId()).isEqualTo(doctorId.toString());
+            assertThat(update.getDocAsUpsert()).isTrue();
+        });
+        assertThat(meterRegistry.get("healthlink.search.index.lag").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("healthlink.search.index.lag").timer().totalTime(TimeUnit.SECONDS)).isEqualTo(4.0);
+        assertThat(pendingGauge()).isZero();
+    }
+
+    @Test
+    void writesContinuouslyChangingDoctorAfterMaxDelay() {
+        UUID doctorId = UUID.randomUUID();
+        for (int second = 0; second <= 30; second++) {
+            changed(doctorId, T0.plusSeconds(second));
+        }
+
+        clock.set(T0.plusSeconds(30));
+        indexer.flush();
+
+        assertThat(bulkUpdates()).hasSize(1);
+    }
+
+    @Test
+    void batchesDueDoctorsIntoOneBulkRequest() {
+        List<UUID> doctors = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        doctors.forEach(id -> changed(id, T0));
+
+        clock.set(T0.plusSeconds(3));
+        indexer.flush();
+
+        assertThat(bulkUpdates()).extracting(UpdateQuery::getId)
+                .containsExactlyInAnyOrderElementsOf(doctors.stream().map(UUID::toString).toList());
+    }
+
+    @Test
+    void holdsChangesWhileReindexRuns() {
+        changed(UUID.randomUUID(), T0);
+        clock.set(T0.plusSeconds(3));
+        when(bulkIndexer.isRunning()).thenReturn(true);
+
+        indexer.flush();
+
+        verify(operations, never()).bulkUpdate(anyList(), any(IndexCoordinates.class));
+        assertThat(pendingGauge()).isEqualTo(1);
+        assertThat(meterRegistry.get("healthlink.search.index.oldest.pending").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    void failedBulkRequestRequeuesDoctors() {
+        UUID doctorId = UUID.randomUUID();
+        changed(doctorId, T0);
+        clock.set(T0.plusSeconds(3));
+        doThrow(new DataAccessResourceFailureException("cluster unavailable"))
+                .doNothing()
+                .when(operations).bulkUpdate(anyList(), any(IndexCoordinates.class));
+
+        indexer.flush();
+        assertThat(pendingGauge()).isEqualTo(1);
+        assertThat(meterRegistry.get("healthlink.search.index.updates").tag("result", "failure").counter().count()).isEqualTo(1);
+
+        indexer.flush();
+        assertThat(pendingGauge()).isZero();
+        assertThat(meterRegistry.get("healthlink.search.index.updates").tag("result", "success").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void removesDoctorsThatNoLongerExist() {
+        UUID doctorId = UUID.randomUUID();
+        changed(doctorId, T0);
+        clock.set(T0.plusSeconds(3));
+        when(doctorRepository.findWithQualificationsByIdIn(anyCollection())).thenReturn(List.of());
+
+        indexer.flush();
+
+        verify(operations).delete(eq(doctorId.toString()), any(IndexCoordinates.class));
+        verify(operations, never()).bulkUpdate(anyList(), any(IndexCoordinates.class));
+    }
+
+    @Test
+    void removesDoctorsThatAreNoLongerListed() {
+        UUID listed = UUID.randomUUID();
+        UUID deactivated = UUID.randomUUID();
+        UUID softDeleted = UUID.randomUUID();
+        UUID pending = UUID.randomUUID();
+        List.of(listed, deactivated, softDeleted, pending).forEach(id -> changed(id, T0));
+        clock.set(T0.plusSeconds(3));
+        when(doctorRepository.findWithQualificationsByIdIn(anyCollection())).thenReturn(List.of(
+                doctor(listed, ApprovalStatus.APPROVED, true, false),
+                doctor(deactivated, ApprovalStatus.APPROVED, false, false),
+                doctor(softDeleted, ApprovalStatus.APPROVED, true, true),
+                doctor(pending, ApprovalStatus.PENDING, true, false)));
+
+        indexer.flush();
+
+        assertThat(bulkUpdates()).extracting(UpdateQuery::getId).containsExactly(listed.toString());
+        verify(operations).delete(eq(deactivated.toString()), any(IndexCoordinates.class));
+        verify(operations).delete(eq(softDeleted.toString()), any(IndexCoordinates.class));
+        verify(operations).delete(eq(pending.toString()), any(IndexCoordinates.class));
+        verify(operations, never()).delete(eq(listed.toString()), any(IndexCoordinates.class));
+    }
+
+    private static Doctor doctor(UUID id, ApprovalStatus status, boolean active, boolean deleted) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setApprovalStatus(status);
+        doctor.setIsActive(active);
+        if (deleted) {
+            doctor.softDelete(UUID.randomUUID());
+        }
+        return doctor;
+    }
+
+    private void changed(UUID doctorId, Instant at) {
+        indexer.onDoctorChanged(new DoctorIndexChangedEvent(doctorId, at));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UpdateQuery> bulkUpdates() {
+        ArgumentCaptor<List<UpdateQuery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(operations).bulkUpdate(captor.capture(), any(IndexCoordinates.class));
+        return captor.getValue();
+    }
+
+    private double pendingGauge() {
+        return meterRegistry.get("healthlink.search.index.pending").gauge().value();
+    }
+
+    private static final class TestClock extends Clock {
+        private Instant now = T0;
+
+        void set(Instant instant) {
+            now = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.healthlink.domain.search.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthlink.domain.search.DoctorIndexChangedEvent;
+import com.healthlink.domain.search.dto.DoctorSearchPage;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+import com.healthlink.domain.search.dto.DoctorSearchResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DoctorSearchCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger searches = new AtomicInteger();
+    private final Function<DoctorSearchRequest, DoctorSearchPage> search = request -> {
+        searches.incrementAndGet();
+        return DoctorSearchPage.builder()
+                .items(List.of(DoctorSearchResponse.builder().id(UUID.randomUUID().toString()).name(request.getQuery()).build()))
+                .totalHits(1)
+                .build();
+    };
+
+    private DoctorSearchCache localCache() {
+        return new DoctorSearchCache(null, new ObjectMapper(), meterRegistry, Duration.ofSeconds(30), 100,
+                Duration.ofSeconds(1), nanos::get);
+    }
+
+    @Test
+    void equivalentSpellingsShareOneEntry() {
+        DoctorSearchCache cache = localCache();
+
+        DoctorSearchPage first = cache.get("page", DoctorSearchRequest.builder()
+                .query("  Cardiologist   Lahore ").availableOnly(false).build(), search);
+        DoctorSearchPage second = cache.get("page", DoctorSearchRequest.builder()
+                .query("cardiologist lahore").pageSize(20).build(), search);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getItems().get(0).getName()).isEqualTo("cardiologist lahore");
+        assertThat(searches).hasValue(1);
+        assertThat(count("local_hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void keepsVariantsAndCaseSensitiveFiltersApart() {
+        DoctorSearchCache cache = localCache();
+
+        cache.get("page", DoctorSearchRequest.builder().specialty("Cardiology").build(), search);
+        cache.get("list", DoctorSearchRequest.builder().specialty("Cardiology").build(), search);
+        cache.get("page", DoctorSearchRequest.builder().specialty("cardiology").build(), search);
+
+        assertThat(searches).hasValue(3);
+    }
+
+    @Test
+    void doctorChangeAndTtlExpireEntries() {
+        DoctorSearchCache cache = localCache();
+        DoctorSearchRequest request = DoctorSearchRequest.builder().city("Lahore").build();
+
+        cache.get("page", request, search);
+        cache.onDoctorChanged(new DoctorIndexChangedEvent(UUID.randomUUID(), Instant.now()));
+        cache.get("page", request, search);
+        assertThat(searches).hasValue(2);
+
+        nanos.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.get("page", request, search);
+        assertThat(searches).hasValue(3);
+    }
+
+    @Test
+    void distanceSearchesBypassTheCache() {
+        DoctorSearchCache cache = localCache();
+        DoctorSearchRequest request = DoctorSearchRequest.builder().latitude(31.5).longitude(74.3).build();
+
+        cache.get("page", request, search);
+        cache.get("page", request, search);
+
+        assertThat(searches).hasValue(2);
+        assertThat(count("bypass")).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sharesPagesAndGenerationThroughRedis() {
+        Map<String, String> redis = new HashMap<>();
+        RedisTemplate<String, String> template = mock(RedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(values).set(anyString(), anyString(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        when(values.increment(eq(DoctorSearchCache.GENERATION_KEY), anyLong())).thenAnswer(invocation ->
+                redis.merge(DoctorSearchCache.GENERATION_KEY, String.valueOf(invocation.<Long>getArgument(1)),
+                        (a, b) -> String.valueOf(Long.parseLong(a) + Long.parseLong(b))).transform(Long::parseLong));
+        DoctorSearchCache nodeA = new DoctorSearchCache(template, new ObjectMapper(), meterRegistry,
+                Duration.ofSeconds(30), 100, Duration.ofSeconds(1), nanos::get);
+        DoctorSearchCache nodeB = new DoctorSearchCache(template, new ObjectMapper(), meterRegistry,
+                Duration.ofSeconds(30), 100, Duration.ofSeconds(1), nanos::get);
+        DoctorSearchRequest request = DoctorSearchRequest.builder().query("dermatologist").build();
+
+        DoctorSearchPage fromA = nodeA.get("page", request, search);
+        DoctorSearchPage fromB = nodeB.get("page", request, search);
+        assertThat(searches).hasValue(1);
+        assertThat(fromB.getItems().get(0).getId()).isEqualTo(fromA.getItems().get(0).getId());
+        assertThat(count("redis_hit")).isEqualTo(1);
+
+        nodeA.onDoctorChanged(new DoctorIndexChangedEvent(UUID.randomUUID(), Instant.now()));
+        assertThat(redis.get(DoctorSearchCache.GENERATION_KEY)).isEqualTo("1");
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        nodeB.get("page", request, search);
+        assertThat(searches).hasValue(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redisFailureFallsBackToLocalTier() {
+        RedisTemplate<String, String> template = mock(RedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(template.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenThrow(new QueryTimeoutException("redis down"));
+        DoctorSearchCache cache = new DoctorSearchCache(template, new ObjectMapper(), meterRegistry,
+                Duration.ofSeconds(30), 100, Duration.ofSeconds(1), nanos::get);
+        DoctorSearchRequest request = DoctorSearchRequest.builder().query("ent").build();
+
+        cache.get("page", request, search);
+        cache.get("page", request, search);
+
+        assertThat(searches).hasValue(1);
+        assertThat(count("local_hit")).isEqualTo(1);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("healthlink.search.cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,129 @@
+package com.healthlink.domain.search.service;
+
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.healthlink.domain.search.dto.DoctorSearchRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DoctorSearchQueryBuilderTest {
+
+    @Test
+    void pushesEveryFilterIntoOneBoolQuery() {
+        DoctorSearchRequest request = DoctorSearchRequest.builder()
+                .specialty("Cardiology")
+                .city("Karachi")
+                .minFee(1000.0)
+                .maxFee(3000.0)
+                .minRating(4.0)
+                .availableOnly(true)
+                .latitude(24.86)
+                .longitude(67.0)
+                .radiusKm(10.0)
+                .build();
+
+        List<Query> filters = DoctorSearchQueryBuilder.from(request).query().bool().filter();
+
+        assertThat(filters).hasSize(7);
+        assertThat(filters.get(0).term().field()).isEqualTo("specialty");
+        assertThat(filters.get(0).term().value().stringValue()).isEqualTo("Cardiology");
+        assertThat(filters.get(1).term().field()).isEqualTo("city");
+        assertThat(filters.get(2).range().number().field()).isEqualTo("maxConsultationFee");
+        assertThat(filters.get(2).range().number().gte()).isEqualTo(1000.0);
+        assertThat(filters.get(3).range().number().field()).isEqualTo("minConsultationFee");
+        assertThat(filters.get(3).range().number().lte()).isEqualTo(3000.0);
+        assertThat(filters.get(4).range().number().field()).isEqualTo("averageRating");
+        assertThat(filters.get(5).term().field()).isEqualTo("isAvailable");
+        assertThat(filters.get(6).geoDistance().field()).isEqualTo("location");
+        assertThat(filters.get(6).geoDistance().distance()).isEqualTo("10.0km");
+    }
+
+    @Test
+    void skipsFiltersWithoutValues() {
+        Query query = DoctorSearchQueryBuilder.create()
+                .specialty(" ")
+                .city(null)
+                .minRating(null)
+                .availableOnly(false)
+                .query();
+
+        assertThat(query.bool().filter()).isEmpty();
+        assertThat(query.bool().must()).isEmpty();
+    }
+
+    @Test
+    void textScoresAndSortsByRelevanceByDefault() {
+        DoctorSearchQueryBuilder builder = DoctorSearchQueryBuilder.create().text("cardio").city("Lahore");
+
+        assertThat(builder.query().bool().must()).hasSize(1);
+        assertThat(builder.query().bool().filter()).hasSize(1);
+        List<SortOptions> sorts = builder.sorts();
+        assertThat(sorts.get(0).isScore()).isTrue();
+        assertThat(sorts.get(1).field().field()).isEqualTo("id");
+    }
+
+    @Test
+    void areaWildcardEscapesUserInput() {
+        Query area = DoctorSearchQueryBuilder.create().area("Block*5").query().bool().filter().get(0);
+
+        assertThat(area.wildcard().value()).isEqualTo("*Block\\*5*");
+        assertThat(area.wildcard().caseInsensitive()).isTrue();
+    }
+
+    @Test
+    void sortsByRatingWithIdTieBreaker() {
+        List<SortOptions> sorts = DoctorSearchQueryBuilder.create().sorts();
+
+        assertThat(sorts).hasSize(2);
+        assertThat(sorts.get(0).field().field()).isEqualTo("averageRating");
+        assertThat(sorts.get(1).field().field()).isEqualTo("id");
+    }
+
+    @Test
+    void sortsByDistanceFromGivenPoint() {
+        List<SortOptions> sorts = DoctorSearchQueryBuilder.create()
+                .within(24.86, 67.0, null)
+                .sortBy("distance")
+                .sorts();
+
+        assertThat(sorts.get(0).geoDistance().field()).isEqualTo("location");
+    }
+
+    @Test
+    void followUpPagesCarrySearchAfterWithoutFacets() {
+        NativeQuery first = DoctorSearchQueryBuilder.create().build();
+        NativeQuery next = DoctorSearchQueryBuilder.create().searchAfter(List.of(4.5, "doc-1")).build();
+
+        assertThat(first.getAggregations()).containsOnlyKeys("specialty", "city", "rating", "fee");
+        assertThat(first.getSearchAfter()).isNull();
+        assertThat(next.getAggregations()).isEmpty();
+        assertThat(next.getSearchAfter()).containsExactly(4.5, "doc-1");
+    }
+
+    @Test
+    void capsPageSize() {
+        NativeQuery query = DoctorSearchQueryBuilder.create().pageSize(1000).build();
+
+        assertThat(query.getPageable().getPageSize()).isEqualTo(DoctorSearchQueryBuilder.MAX_PAGE_SIZE);
+        assertThat(query.getPageable().getPageNumber()).isZero();
+    }
+
+    @Test
+    void rejectsInconsistentRequests() {
+        assertThatThrownBy(() -> DoctorSearchQueryBuilder.create().feeBetween(3000.0, 1000.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DoctorSearchQueryBuilder.create().within(24.86, null, 5.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DoctorSearchQueryBuilder.create().within(124.0, 67.0, 5.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DoctorSearchQueryBuilder.from(DoctorSearchRequest.builder().radiusKm(5.0).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DoctorSearchQueryBuilder.create().sortBy("distance").sorts())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
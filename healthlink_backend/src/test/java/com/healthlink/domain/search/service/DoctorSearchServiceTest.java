@@ -1,29 +1,46 @@
 package com.healthlink.domain.search.service;
 
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.RangeBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.healthlink.domain.search.document.DoctorDocument;
 import com.healthlink.domain.search.dto.DoctorProfileResponse;
+import com.healthlink.domain.search.dto.DoctorSearchPage;
 import com.healthlink.domain.search.dto.DoctorSearchRequest;
 import com.healthlink.domain.search.dto.DoctorSearchResponse;
 import com.healthlink.domain.search.repository.DoctorSearchRepository;
-import com.healthlink.domain.organization.repository.FacilityRepository;
-import com.healthlink.domain.organization.repository.ServiceOfferingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.AggregationsContainer;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
 
 import java.math.BigDecimal;
-import java.util.Collections;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,10 +51,14 @@ class DoctorSearchServiceTest {
     private DoctorSearchRepository searchRepository;
 
     @Mock
-    private FacilityRepository facilityRepository;
+    private DoctorDocumentAssembler documentAssembler;
 
     @Mock
-    private ServiceOfferingRepository serviceOfferingRepository;
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Spy
+    private DoctorSearchCache searchCache = new DoctorSearchCache(null, new ObjectMapper(), new SimpleMeterRegistry(),
+            Duration.ZERO, 1, Duration.ZERO, System::nanoTime);
 
     @InjectMocks
     private DoctorSearchService doctorSearchService;
@@ -61,6 +82,29 @@ class DoctorSearchServiceTest {
                 .build();
     }
 
+    @SuppressWarnings("unchecked")
+    private void stubSearch(AggregationsContainer<?> aggregations, DoctorDocument... documents) {
+        List<SearchHit<DoctorDocument>> hits = new ArrayList<>();
+        for (DoctorDocument document : documents) {
+            SearchHit<DoctorDocument> hit = mock(SearchHit.class);
+            lenient().when(hit.getContent()).thenReturn(document);
+            lenient().when(hit.getSortValues()).thenReturn(List.of(document.getAverageRating(), document.getId()));
+            hits.add(hit);
+        }
+        SearchHits<DoctorDocument> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        lenient().when(searchHits.getSearchHit(anyInt())).thenAnswer(invocation -> hits.get(invocation.getArgument(0)));
+        lenient().when(searchHits.getTotalHits()).thenReturn((long) hits.size());
+        doReturn(aggregations).when(searchHits).getAggregations();
+        when(elasticsearchOperations.search(any(NativeQuery.class), eq(DoctorDocument.class))).thenReturn(searchHits);
+    }
+
+    private NativeQuery executedQuery() {
+        ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(elasticsearchOperations).search(captor.capture(), eq(DoctorDocument.class));
+        return captor.getValue();
+    }
+
     @Nested
     @DisplayName("Search Doctors Tests")
     class SearchDoctorsTests {
@@ -71,14 +115,9 @@ class DoctorSearchServiceTest {
             // Arrange
             DoctorSearchRequest request = new DoctorSearchRequest();
             request.setQuery("cardio");
-            
-            List<DoctorDocument> expected = List.of(
+            stubSearch(null,
                     createDoctorDocument("1", "Dr. Ali Khan", "Cardiology", "Karachi"),
-                    createDoctorDocument("2", "Dr. Sara Ahmed", "Cardiology", "Lahore")
-            );
-            
-            when(searchRepository.findByNameContainingOrSpecialtyContaining("cardio", "cardio"))
-                    .thenReturn(expected);
+                    createDoctorDocument("2", "Dr. Sara Ahmed", "Cardiology", "Lahore"));
 
             // Act
             List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
@@ -86,161 +125,119 @@ class DoctorSearchServiceTest {
             // Assert
             assertThat(results).hasSize(2);
             assertThat(results.get(0).getName()).isEqualTo("Dr. Ali Khan");
-            verify(searchRepository).findByNameContainingOrSpecialtyContaining("cardio", "cardio");
+            assertThat(executedQuery().getQuery().bool().must()).hasSize(1);
         }
 
         @Test
-        @DisplayName("Should search doctors by specialty")
-        void shouldSearchDoctorsBySpecialty() {
+        @DisplayName("Should push specialty, city and area into a single Elasticsearch query")
+        void shouldPushAllFiltersIntoOneQuery() {
             // Arrange
             DoctorSearchRequest request = new DoctorSearchRequest();
-            request.setSpecialty("Dermatology");
-            
-            List<DoctorDocument> expected = List.of(
-                    createDoctorDocument("3", "Dr. Fatima Zahra", "Dermatology", "Islamabad")
-            );
-            
-            when(searchRepository.findBySpecialtyOrderByAverageRatingDesc("Dermatology"))
-                    .thenReturn(expected);
+            request.setSpecialty("Cardiology");
+            request.setCity("Karachi");
+            request.setArea("Clifton");
+            request.setMinRating(4.0);
+            request.setAvailableOnly(true);
+            stubSearch(null, createDoctorDocument("6", "Dr. Imran", "Cardiology", "Karachi"));
 
             // Act
             List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
 
             // Assert
             assertThat(results).hasSize(1);
-            assertThat(results.get(0).getSpecialty()).isEqualTo("Dermatology");
+            assertThat(executedQuery().getQuery().bool().filter()).hasSize(5);
+            verifyNoInteractions(searchRepository);
         }
 
         @Test
-        @DisplayName("Should search doctors by city")
-        void shouldSearchDoctorsByCity() {
-            // Arrange
-            DoctorSearchRequest request = new DoctorSearchRequest();
-            request.setCity("Lahore");
-            
-            List<DoctorDocument> expected = List.of(
-                    createDoctorDocument("4", "Dr. Hassan", "General", "Lahore"),
-                    createDoctorDocument("5", "Dr. Ayesha", "Pediatrics", "Lahore")
-            );
-            
-            when(searchRepository.findByCityOrderByAverageRatingDesc("Lahore"))
-                    .thenReturn(expected);
-
-            // Act
-            List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
-
-            // Assert
-            assertThat(results).hasSize(2);
-            assertThat(results).allMatch(r -> "Lahore".equals(r.getCity()));
-        }
-
-        @Test
-        @DisplayName("Should search doctors by specialty and city combined")
-        void shouldSearchDoctorsBySpecialtyAndCity() {
+        @DisplayName("Should return empty list when no doctors match")
+        void shouldReturnEmptyListWhenNoMatch() {
             // Arrange
             DoctorSearchRequest request = new DoctorSearchRequest();
-            request.setSpecialty("Cardiology");
-            request.setCity("Karachi");
-            
-            List<DoctorDocument> expected = List.of(
-                    createDoctorDocument("6", "Dr. Imran", "Cardiology", "Karachi")
-            );
-            
-            when(searchRepository.findBySpecialtyAndCityOrderByAverageRatingDesc("Cardiology", "Karachi"))
-                    .thenReturn(expected);
+            request.setSpecialty("RareSpecialty");
+            stubSearch(null);
 
             // Act
             List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
 
             // Assert
-            assertThat(results).hasSize(1);
-            assertThat(results.get(0).getCity()).isEqualTo("Karachi");
-            assertThat(results.get(0).getSpecialty()).isEqualTo("Cardiology");
+            assertThat(results).isEmpty();
         }
 
         @Test
-        @DisplayName("Should filter doctors by minimum rating")
-        void shouldFilterDoctorsByMinRating() {
+        @DisplayName("Should return a search_after cursor only when the page is full")
+        void shouldReturnCursorForFullPage() {
             // Arrange
             DoctorSearchRequest request = new DoctorSearchRequest();
-            request.setMinRating(4.0);
-            
-            DoctorDocument doc = createDoctorDocument("7", "Dr. Top Rated", "Neurology", "Karachi");
-            doc.setAverageRating(4.8);
-            List<DoctorDocument> expected = List.of(doc);
-            
-            when(searchRepository.findByAverageRatingGreaterThanEqualOrderByAverageRatingDesc(4.0))
-                    .thenReturn(expected);
+            request.setPageSize(2);
+            stubSearch(null,
+                    createDoctorDocument("1", "Dr. Ali Khan", "Cardiology", "Karachi"),
+                    createDoctorDocument("2", "Dr. Sara Ahmed", "Cardiology", "Lahore"));
 
             // Act
-            List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
+            DoctorSearchPage page = doctorSearchService.searchPage(request);
 
             // Assert
-            assertThat(results).hasSize(1);
-            assertThat(results.get(0).getAverageRating()).isGreaterThanOrEqualTo(4.0);
+            assertThat(page.getItems()).hasSize(2);
+            assertThat(page.getNextSearchAfter()).containsExactly(4.5, "2");
         }
 
         @Test
-        @DisplayName("Should filter only available doctors")
-        void shouldFilterAvailableDoctors() {
+        @DisplayName("Should not return a cursor on the last page")
+        void shouldNotReturnCursorOnLastPage() {
             // Arrange
             DoctorSearchRequest request = new DoctorSearchRequest();
-            request.setAvailableOnly(true);
-            
-            List<DoctorDocument> expected = List.of(
-                    createDoctorDocument("8", "Dr. Available", "General", "Multan")
-            );
-            
-            when(searchRepository.findByIsAvailableTrueOrderByAverageRatingDesc())
-                    .thenReturn(expected);
+            request.setSearchAfter(List.of(4.5, "2"));
+            stubSearch(null, createDoctorDocument("3", "Dr. Fatima Zahra", "Dermatology", "Islamabad"));
 
             // Act
-            List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
+            DoctorSearchPage page = doctorSearchService.searchPage(request);
 
             // Assert
-            assertThat(results).hasSize(1);
-            assertThat(results.get(0).getIsAvailable()).isTrue();
+            assertThat(page.getNextSearchAfter()).isNull();
+            assertThat(executedQuery().getSearchAfter()).containsExactly(4.5, "2");
         }
 
         @Test
-        @DisplayName("Should return empty list when no doctors match")
-        void shouldReturnEmptyListWhenNoMatch() {
+        @DisplayName("Should map facet aggregations to buckets")
+        void shouldMapFacets() {
             // Arrange
-            DoctorSearchRequest request = new DoctorSearchRequest();
-            request.setSpecialty("RareSpecialty");
-            
-            when(searchRepository.findBySpecialtyOrderByAverageRatingDesc("RareSpecialty"))
-                    .thenReturn(Collections.emptyList());
+            Aggregate specialties = Aggregate.of(a -> a.sterms(t -> t
+                    .sumOtherDocCount(0L)
+                    .docCountErrorUpperBound(0L)
+                    .buckets(b -> b.array(List.of(
+                            StringTermsBucket.of(x -> x.key("Cardiology").docCount(3)),
+                            StringTermsBucket.of(x -> x.key("Dermatology").docCount(1)))))));
+            Aggregate ratings = Aggregate.of(a -> a.range(r -> r
+                    .buckets(b -> b.array(List.of(RangeBucket.of(x -> x.key("4+").from(4.0).docCount(2)))))));
+            stubSearch(new ElasticsearchAggregations(Map.of("specialty", specialties, "rating", ratings)),
+                    createDoctorDocument("1", "Dr. Ali Khan", "Cardiology", "Karachi"));
 
             // Act
-            List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
+            DoctorSearchPage page = doctorSearchService.searchPage(new DoctorSearchRequest());
 
             // Assert
-            assertThat(results).isEmpty();
+            assertThat(page.getFacets().get("specialty"))
+                    .extracting(DoctorSearchPage.FacetBucket::getKey, DoctorSearchPage.FacetBucket::getCount)
+                    .containsExactly(tuple("Cardiology", 3L), tuple("Dermatology", 1L));
+            assertThat(page.getFacets().get("rating"))
+                    .extracting(DoctorSearchPage.FacetBucket::getKey, DoctorSearchPage.FacetBucket::getCount)
+                    .containsExactly(tuple("4+", 2L));
+            assertThat(executedQuery().getAggregations()).containsKeys("specialty", "city", "rating", "fee");
         }
 
         @Test
-        @DisplayName("Should filter by area post-query")
-        void shouldFilterByArea() {
+        @DisplayName("Should reject an inverted fee range before querying")
+        void shouldRejectInvertedFeeRange() {
             // Arrange
             DoctorSearchRequest request = new DoctorSearchRequest();
-            request.setCity("Karachi");
-            request.setArea("Clifton");
-            
-            DoctorDocument doc1 = createDoctorDocument("9", "Dr. Clifton", "General", "Karachi");
-            doc1.setArea("Clifton");
-            DoctorDocument doc2 = createDoctorDocument("10", "Dr. DHA", "General", "Karachi");
-            doc2.setArea("DHA");
-            
-            when(searchRepository.findByCityOrderByAverageRatingDesc("Karachi"))
-                    .thenReturn(List.of(doc1, doc2));
-
-            // Act
-            List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
+            request.setMinFee(3000.0);
+            request.setMaxFee(1000.0);
 
-            // Assert
-            assertThat(results).hasSize(1);
-            assertThat(results.get(0).getArea()).containsIgnoringCase("Clifton");
+            // Act & Assert
+            assertThatThrownBy(() -> doctorSearchService.searchPage(request))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(elasticsearchOperations);
         }
     }
 
@@ -399,8 +396,7 @@ class DoctorSearchServiceTest {
                     .organizationName("Medical Associates")
                     .build();
             
-            when(searchRepository.findBySpecialtyOrderByAverageRatingDesc("Cardiology"))
-                    .thenReturn(List.of(doc));
+            stubSearch(null, doc);
 
             // Act
             List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
@@ -440,8 +436,7 @@ class DoctorSearchServiceTest {
                     .build();
             // Facility names, languages, services are null
             
-            when(searchRepository.findBySpecialtyOrderByAverageRatingDesc("Nephrology"))
-                    .thenReturn(List.of(doc));
+            stubSearch(null, doc);
 
             // Act
             List<DoctorSearchResponse> results = doctorSearchService.searchDoctors(request);
@@ -0,0 +1,40 @@
+package com.healthlink.domain.search.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoHashTest {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    @Test
+    void matchesFiveCharacterGeohashString() {
+        assertThat(base32(GeoHash.hash(57.64911, 10.40744))).isEqualTo("u4pru");
+        assertThat(base32(GeoHash.hash(31.5204, 74.3587))).startsWith("ttsg");
+    }
+
+    @Test
+    void neighbouringColumnsAreOneApart() {
+        int column = GeoHash.column(74.3587);
+        assertThat(GeoHash.column(74.3587 + GeoHash.CELL_LON_DEGREES)).isEqualTo(column + 1);
+        assertThat(GeoHash.column(180)).isEqualTo(GeoHash.COLUMNS - 1);
+        assertThat(GeoHash.row(-90)).isZero();
+    }
+
+    @Test
+    void distanceIsGreatCircle() {
+        // Lahore to Islamabad
+        assertThat(GeoHash.distanceKm(31.5204, 74.3587, 33.6844, 73.0479)).isCloseTo(270.0, within(5.0));
+        assertThat(GeoHash.distanceKm(31.5, 74.3, 31.5, 74.3)).isZero();
+    }
+
+    private static String base32(long hash) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 4; i >= 0; i--) {
+            text.append(BASE32.charAt((int) (hash >> (5 * i)) & 31));
+        }
+        return text.toString();
+    }
+}
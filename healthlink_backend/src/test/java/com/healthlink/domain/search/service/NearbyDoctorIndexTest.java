@@ -0,0 +1,170 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.organization.entity.Facility;
+import com.healthlink.domain.organization.repository.FacilityRepository;
+import com.healthlink.domain.search.DoctorIndexChangedEvent;
+import com.healthlink.domain.search.dto.NearbyDoctorResponse;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.enums.ApprovalStatus;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NearbyDoctorIndexTest {
+
+    // 11:00 in Lahore
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T06:00:00Z"), ZoneId.of("Asia/Karachi"));
+    private static final double LAT = 31.5204;
+    private static final double LON = 74.3587;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    private NearbyDoctorIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NearbyDoctorIndex(doctorRepository, facilityRepository, TransactionOperations.withoutTransaction(),
+                new SimpleMeterRegistry(), CLOCK);
+    }
+
+    @Test
+    void returnsNearestDoctorsOnceAtTheirClosestFacility() {
+        Doctor near = doctor("Cardiology");
+        Doctor far = doctor("Dermatology");
+        Doctor outOfRange = doctor("Cardiology");
+        load(List.of(near, far, outOfRange), List.of(
+                facility(near, LAT + 0.05, LON, "09:00", "17:00"),
+                facility(near, LAT + 0.01, LON, "09:00", "17:00"),
+                facility(far, LAT, LON + 0.1, "09:00", "17:00"),
+                facility(outOfRange, 33.6844, 73.0479, "09:00", "17:00")));
+
+        List<NearbyDoctorResponse> result = index.nearest(LAT, LON, 10, 25.0, null, false);
+
+        assertThat(result).extracting(NearbyDoctorResponse::getDoctorId)
+                .containsExactly(near.getId().toString(), far.getId().toString());
+        assertThat(result.get(0).getDistanceKm()).isCloseTo(1.11, within(0.01));
+        assertThat(result.get(0).isOpenNow()).isTrue();
+    }
+
+    @Test
+    void filtersBySpecialtyAndOpeningHours() {
+        Doctor cardiologist = doctor("Cardiology");
+        Doctor evening = doctor("Cardiology");
+        Doctor dermatologist = doctor("Dermatology");
+        load(List.of(cardiologist, evening, dermatologist), List.of(
+                facility(cardiologist, LAT + 0.02, LON, "09:00", "17:00"),
+                facility(evening, LAT + 0.01, LON, "18:00", "23:00"),
+                facility(dermatologist, LAT, LON, "09:00", "17:00")));
+
+        assertThat(index.nearest(LAT, LON, 10, null, "cardiology", true))
+                .extracting(NearbyDoctorResponse::getDoctorId)
+                .containsExactly(cardiologist.getId().toString());
+        assertThat(index.nearest(LAT, LON, 10, null, "cardiology", false))
+                .extracting(NearbyDoctorResponse::getDoctorId)
+                .containsExactly(evening.getId().toString(), cardiologist.getId().toString());
+    }
+
+    @Test
+    void agreesWithFullScanOnRandomPoints() {
+        Random random = new Random(42);
+        List<Doctor> doctors = new ArrayList<>();
+        List<Facility> facilities = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Doctor doctor = doctor("General");
+            doctors.add(doctor);
+            facilities.add(facility(doctor, LAT + random.nextGaussian() * 0.2, LON + random.nextGaussian() * 0.2,
+                    "09:00", "17:00"));
+        }
+        load(doctors, facilities);
+
+        for (int query = 0; query < 20; query++) {
+            double lat = LAT + random.nextGaussian() * 0.2;
+            double lon = LON + random.nextGaussian() * 0.2;
+            List<String> expected = facilities.stream()
+                    .filter(f -> GeoHash.distanceKm(lat, lon, f.getLatitude(), f.getLongitude()) <= 50)
+                    .sorted(Comparator.comparingDouble(f -> GeoHash.distanceKm(lat, lon, f.getLatitude(), f.getLongitude())))
+                    .limit(10)
+                    .map(f -> f.getDoctorOwner().getId().toString())
+                    .toList();
+            assertThat(index.nearest(lat, lon, 10, 50.0, null, false))
+                    .extracting(NearbyDoctorResponse::getDoctorId)
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void flushDropsDoctorsThatAreNoLongerListed() {
+        Doctor doctor = doctor("Cardiology");
+        Facility facility = facility(doctor, LAT, LON, "09:00", "17:00");
+        load(List.of(doctor), List.of(facility));
+
+        doctor.setApprovalStatus(ApprovalStatus.REJECTED);
+        when(doctorRepository.findAllById(anyCollection())).thenReturn(List.of(doctor));
+        when(facilityRepository.findByDoctorOwnerIdIn(anyCollection())).thenReturn(List.of(facility));
+        index.onDoctorChanged(new DoctorIndexChangedEvent(doctor.getId(), Instant.now()));
+        index.flush();
+
+        assertThat(index.nearest(LAT, LON, 10, null, null, false)).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThatThrownBy(() -> index.nearest(91, LON, 10, null, null, false)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.nearest(LAT, LON, 0, null, null, false)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.nearest(LAT, LON, 10, 500.0, null, false)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void load(List<Doctor> doctors, List<Facility> facilities) {
+        when(doctorRepository.findAllVerifiedAndApproved()).thenReturn(doctors);
+        when(facilityRepository.findAll()).thenReturn(facilities);
+        index.refresh();
+    }
+
+    private static Doctor doctor(String specialization) {
+        Doctor doctor = new Doctor();
+        doctor.setId(UUID.randomUUID());
+        doctor.setFirstName("Dr");
+        doctor.setLastName(specialization);
+        doctor.setSpecialization(specialization);
+        doctor.setApprovalStatus(ApprovalStatus.APPROVED);
+        doctor.setIsActive(true);
+        return doctor;
+    }
+
+    private static Facility facility(Doctor owner, double latitude, double longitude, String opening, String closing) {
+        Facility facility = new Facility();
+        facility.setId(UUID.randomUUID());
+        facility.setName("Clinic");
+        facility.setDoctorOwner(owner);
+        facility.setLatitude(latitude);
+        facility.setLongitude(longitude);
+        facility.setOpeningTime(opening);
+        facility.setClosingTime(closing);
+        return facility;
+    }
+}
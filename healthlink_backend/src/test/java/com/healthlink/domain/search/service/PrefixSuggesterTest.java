@@ -0,0 +1,71 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.search.service.PrefixSuggester.Entry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixSuggesterTest {
+
+    @Test
+    void returnsHighestWeightMatchesFirst() {
+        PrefixSuggester suggester = PrefixSuggester.build(List.of(
+                new Entry("Cardiology", null, 3),
+                new Entry("Cardiac Surgery", null, 7),
+                new Entry("Dermatology", null, 9),
+                new Entry("Care Clinic", "f1", 1)));
+
+        assertThat(suggester.suggest("car", 10)).extracting(Entry::text)
+                .containsExactly("Cardiac Surgery", "Cardiology", "Care Clinic");
+        assertThat(suggester.suggest("cardi", 1)).extracting(Entry::text).containsExactly("Cardiac Surgery");
+    }
+
+    @Test
+    void matchesLaterWordsAndReturnsEachEntryOnce() {
+        PrefixSuggester suggester = PrefixSuggester.build(List.of(
+                new Entry("Sara Ahmed", "d1", 5),
+                new Entry("Ahmed Sami", "d2", 2)));
+
+        assertThat(suggester.suggest("ahm", 5)).extracting(Entry::id).containsExactly("d1", "d2");
+        assertThat(suggester.suggest("sa", 5)).extracting(Entry::id).containsExactly("d1", "d2");
+        assertThat(suggester.suggest("sara ah", 5)).extracting(Entry::id).containsExactly("d1");
+    }
+
+    @Test
+    void ignoresCaseAccentsAndPunctuation() {
+        PrefixSuggester suggester = PrefixSuggester.build(List.of(new Entry("Amoxicillin-Clavulanate", null, 1),
+                new Entry("Clínica Médica", "f1", 1)));
+
+        assertThat(suggester.suggest("  CLAV", 5)).extracting(Entry::text).containsExactly("Amoxicillin-Clavulanate");
+        assertThat(suggester.suggest("medica", 5)).extracting(Entry::text).containsExactly("Clínica Médica");
+    }
+
+    @Test
+    void topKMatchesFullSortOnLargeInput() {
+        List<Entry> entries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            entries.add(new Entry("drug" + i, null, (i * 7919) % 1000));
+        }
+        PrefixSuggester suggester = PrefixSuggester.build(entries);
+
+        List<Double> expected = entries.stream()
+                .filter(e -> e.text().startsWith("drug1"))
+                .map(Entry::weight)
+                .sorted((a, b) -> Double.compare(b, a))
+                .limit(10)
+                .toList();
+        assertThat(suggester.suggest("drug1", 10)).extracting(Entry::weight).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void emptyPrefixOrNoMatchReturnsNothing() {
+        PrefixSuggester suggester = PrefixSuggester.build(List.of(new Entry("Neurology", null, 1)));
+
+        assertThat(suggester.suggest(" ", 5)).isEmpty();
+        assertThat(suggester.suggest("xyz", 5)).isEmpty();
+        assertThat(PrefixSuggester.empty().suggest("neu", 5)).isEmpty();
+    }
+}
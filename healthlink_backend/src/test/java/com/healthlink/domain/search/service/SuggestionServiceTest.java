@@ -0,0 +1,163 @@
+package com.healthlink.domain.search.service;
+
+import com.healthlink.domain.organization.entity.Facility;
+import com.healthlink.domain.organization.repository.FacilityRepository;
+import com.healthlink.domain.record.service.DrugInteractionKnowledgeCache;
+import com.healthlink.domain.search.DoctorIndexChangedEvent;
+import com.healthlink.domain.search.dto.Suggestion;
+import com.healthlink.domain.search.dto.SuggestionType;
+import com.healthlink.domain.user.entity.Doctor;
+import com.healthlink.domain.user.enums.ApprovalStatus;
+import com.healthlink.domain.user.repository.DoctorRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SuggestionServiceTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private FacilityRepository facilityRepository;
+
+    @Mock
+    private DrugInteractionKnowledgeCache drugKnowledge;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SuggestionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = newService(32 * 1024 * 1024);
+    }
+
+    private SuggestionService newService(long maxMemoryBytes) {
+        return new SuggestionService(doctorRepository, facilityRepository, drugKnowledge,
+                TransactionOperations.withoutTransaction(), meterRegistry, maxMemoryBytes, 100, 5);
+    }
+
+    @Test
+    void refreshLoadsEverySource() {
+        Doctor sara = doctor("Sara", "Ahmed", "Cardiology", 4.8, 120);
+        Doctor omar = doctor("Omar", "Khan", "Cardiology", 4.0, 3);
+        when(doctorRepository.findAllVerifiedAndApproved()).thenReturn(List.of(sara, omar));
+        when(facilityRepository.findAll()).thenReturn(List.of(facility("Ahmed Heart Clinic", sara), facility("City Hospital", null)));
+        when(drugKnowledge.drugVocabulary(100, 5)).thenReturn(Map.of("amlodipine", 40L, "amoxicillin", 10L));
+
+        service.refresh();
+
+        Map<SuggestionType, List<Suggestion>> result = service.suggest("a", null, null);
+        assertThat(result.get(SuggestionType.DOCTOR)).extracting(Suggestion::getText).containsExactly("Sara Ahmed");
+        assertThat(result.get(SuggestionType.FACILITY)).extracting(Suggestion::getText).containsExactly("Ahmed Heart Clinic");
+        assertThat(result.get(SuggestionType.DRUG)).extracting(Suggestion::getText).containsExactly("Amlodipine", "Amoxicillin");
+        assertThat(service.suggest("card", Set.of(SuggestionType.SPECIALTY), 5).get(SuggestionType.SPECIALTY))
+                .extracting(Suggestion::getText).containsExactly("Cardiology");
+        assertThat(service.suggest("k", Set.of(SuggestionType.DOCTOR), 5).get(SuggestionType.DOCTOR))
+                .extracting(Suggestion::getId).containsExactly(omar.getId().toString());
+        assertThat(meterRegistry.get("healthlink.search.suggest.entries").gauge().value()).isEqualTo(7);
+    }
+
+    @Test
+    void flushReloadsOnlyChangedDoctors() {
+        Doctor sara = doctor("Sara", "Ahmed", "Cardiology", 4.8, 120);
+        when(doctorRepository.findAllVerifiedAndApproved()).thenReturn(List.of(sara));
+        when(facilityRepository.findAll()).thenReturn(List.of());
+        when(drugKnowledge.drugVocabulary(anyInt(), anyLong())).thenReturn(Map.of());
+        service.refresh();
+
+        sara.setLastName("Malik");
+        Doctor removed = doctor("Zain", "Ali", "Dermatology", 0.0, 0);
+        removed.setApprovalStatus(ApprovalStatus.REJECTED);
+        when(doctorRepository.findAllById(anyCollection())).thenReturn(List.of(sara, removed));
+        when(facilityRepository.findByDoctorOwnerIdIn(anyCollection())).thenReturn(List.of(facility("Malik Skin Care", sara)));
+        service.onDoctorChanged(new DoctorIndexChangedEvent(sara.getId(), Instant.now()));
+        service.onDoctorChanged(new DoctorIndexChangedEvent(removed.getId(), Instant.now()));
+
+        service.flush();
+
+        assertThat(service.suggest("mal", Set.of(SuggestionType.DOCTOR, SuggestionType.FACILITY), 5))
+                .satisfies(result -> {
+                    assertThat(result.get(SuggestionType.DOCTOR)).extracting(Suggestion::getText).containsExactly("Sara Malik");
+                    assertThat(result.get(SuggestionType.FACILITY)).extracting(Suggestion::getText).containsExactly("Malik Skin Care");
+                });
+        assertThat(service.suggest("ahmed", null, 5).get(SuggestionType.DOCTOR)).isEmpty();
+        assertThat(service.suggest("zain", null, 5).get(SuggestionType.DOCTOR)).isEmpty();
+        verify(doctorRepository).findAllVerifiedAndApproved();
+    }
+
+    @Test
+    void flushWithoutChangesDoesNotTouchTheDatabase() {
+        service.flush();
+
+        verify(doctorRepository, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    void memoryBudgetKeepsBestEntriesOfEachType() {
+        Doctor top = doctor("Sara", "Ahmed", "Cardiology", 5.0, 500);
+        Doctor low = doctor("Sami", "Aziz", "Cardiology", 1.0, 1);
+        when(doctorRepository.findAllVerifiedAndApproved()).thenReturn(List.of(top, low));
+        when(facilityRepository.findAll()).thenReturn(List.of());
+        when(drugKnowledge.drugVocabulary(anyInt(), anyLong())).thenReturn(Map.of("salbutamol", 30L, "sertraline", 5L));
+        long oneOfEach = PrefixSuggester.estimatedBytes(new PrefixSuggester.Entry("Sara Ahmed", top.getId().toString(), 1))
+                + PrefixSuggester.estimatedBytes(new PrefixSuggester.Entry("Cardiology", null, 1))
+                + PrefixSuggester.estimatedBytes(new PrefixSuggester.Entry("Salbutamol", null, 1));
+        service = newService(oneOfEach);
+
+        service.refresh();
+
+        Map<SuggestionType, List<Suggestion>> result = service.suggest("s", null, 5);
+        assertThat(result.get(SuggestionType.DOCTOR)).extracting(Suggestion::getText).containsExactly("Sara Ahmed");
+        assertThat(result.get(SuggestionType.DRUG)).extracting(Suggestion::getText).containsExactly("Salbutamol");
+        assertThat(service.suggest("card", null, 5).get(SuggestionType.SPECIALTY)).hasSize(1);
+    }
+
+    @Test
+    void rejectsOutOfRangeLimit() {
+        assertThatThrownBy(() -> service.suggest("a", null, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.suggest("a", null, SuggestionService.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Doctor doctor(String firstName, String lastName, String specialization, double rating, int reviews) {
+        Doctor doctor = new Doctor();
+        doctor.setId(UUID.randomUUID());
+        doctor.setFirstName(firstName);
+        doctor.setLastName(lastName);
+        doctor.setSpecialization(specialization);
+        doctor.setAverageRating(rating);
+        doctor.setTotalReviews(reviews);
+        doctor.setApprovalStatus(ApprovalStatus.APPROVED);
+        doctor.setIsActive(true);
+        return doctor;
+    }
+
+    private static Facility facility(String name, Doctor owner) {
+        Facility facility = new Facility();
+        facility.setId(UUID.randomUUID());
+        facility.setName(name);
+        facility.setDoctorOwner(owner);
+        return facility;
+    }
+}
@@ -203,7 +203,7 @@ class VideoCallControllerIntegrationTest extends AbstractIntegrationTest {
         // Mock Janus service
         when(janusService.createSession()).thenReturn(12345L);
         when(janusService.attachPlugin(anyLong())).thenReturn(67890L);
-        doNothing().when(janusService).createRoom(anyLong(), anyLong(), anyLong(), anyString());
+        when(janusService.allocateRoom(anyLong(), anyLong(), anyLong(), anyString())).thenReturn(true);
     }
 
     @Test
@@ -323,7 +323,7 @@ class VideoCallControllerIntegrationTest extends AbstractIntegrationTest {
         // Then
         verify(janusService).createSession();
         verify(janusService).attachPlugin(12345L);
-        verify(janusService).createRoom(anyLong(), anyLong(), anyLong(), anyString());
+        verify(janusService).allocateRoom(anyLong(), anyLong(), anyLong(), anyString());
     }
 
     @Test
@@ -460,7 +460,7 @@ class VideoCallControllerIntegrationTest extends AbstractIntegrationTest {
         // Then
         verify(janusService).createSession();
         verify(janusService).attachPlugin(12345L);
-        verify(janusService).createRoom(anyLong(), anyLong(), anyLong(), anyString());
+        verify(janusService).allocateRoom(anyLong(), anyLong(), anyLong(), anyString());
     }
 
     @Test
@@ -490,6 +490,6 @@ class VideoCallControllerIntegrationTest extends AbstractIntegrationTest {
         // Then - Janus service should not be called again
         verify(janusService, never()).createSession();
         verify(janusService, never()).attachPlugin(anyLong());
-        verify(janusService, never()).createRoom(anyLong(), anyLong(), anyLong(), anyString());
+        verify(janusService, never()).allocateRoom(anyLong(), anyLong(), anyLong(), anyString());
     }
 }
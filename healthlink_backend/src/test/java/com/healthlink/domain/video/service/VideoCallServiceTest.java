@@ -11,7 +11,9 @@ import com.healthlink.domain.video.dto.VideoCallResponse;
 import com.healthlink.domain.video.dto.WebRTCTokenResponse;
 import com.healthlink.domain.video.entity.VideoCall;
 import com.healthlink.domain.video.repository.VideoCallRepository;
-import com.healthlink.infrastructure.video.JanusService;
+import com.healthlink.exception.VideoCallCapacityException;
+import com.healthlink.infrastructure.video.JanusCluster;
+import com.healthlink.infrastructure.video.JanusRoomPool;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
@@ -19,16 +21,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -56,9 +61,8 @@ class VideoCallServiceTest {
     private AppointmentRepository appointmentRepository;
 
     @Mock
-    private JanusService janusService;
+    private JanusCluster janusCluster;
 
-    @InjectMocks
     private VideoCallService videoCallService;
 
     private static final String JWT_SECRET = "test-secret-key-for-jwt-signing-minimum-256-bits-required-here-for-hs256-algorithm";
@@ -75,6 +79,9 @@ class VideoCallServiceTest {
 
     @BeforeEach
     void setUp() {
+        videoCallService = new VideoCallService(videoCallRepository, appointmentRepository, janusCluster,
+                TransactionOperations.withoutTransaction());
+
         // Inject configuration values
         ReflectionTestUtils.setField(videoCallService, "jwtSecret", JWT_SECRET);
         ReflectionTestUtils.setField(videoCallService, "signalingUrl", SIGNALING_URL);
@@ -174,9 +181,7 @@ class VideoCallServiceTest {
 
         when(appointmentRepository.findById(appointment.getId())).thenReturn(Optional.of(appointment));
         when(videoCallRepository.findByAppointmentId(appointment.getId())).thenReturn(Optional.empty());
-        when(janusService.createSession()).thenReturn(12345L);
-        when(janusService.attachPlugin(12345L)).thenReturn(67890L);
-        doNothing().when(janusService).createRoom(anyLong(), anyLong(), anyLong(), anyString());
+        when(janusCluster.placeCall(appointment.getId())).thenReturn(placement());
 
         VideoCall savedCall = new VideoCall();
         savedCall.setId(UUID.randomUUID());
@@ -198,10 +203,10 @@ class VideoCallServiceTest {
         assertThat(response.getStatus()).isEqualTo("ACTIVE");
         assertThat(response.getStartTime()).isNotNull();
 
-        verify(janusService).createSession();
-        verify(janusService).attachPlugin(12345L);
-        verify(janusService).createRoom(eq(12345L), eq(67890L), anyLong(), anyString());
-        verify(videoCallRepository).save(any(VideoCall.class));
+        verify(janusCluster).placeCall(appointment.getId());
+        verify(videoCallRepository).save(argThat(call ->
+                call.getJanusRoomId() == 424242L && "room-secret".equals(call.getRoomSecret())
+                        && "janus-1".equals(call.getJanusNode())));
     }
 
     @Test
@@ -219,7 +224,7 @@ class VideoCallServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Patient must check in before starting the call");
 
-        verify(janusService, never()).createSession();
+        verify(janusCluster, never()).placeCall(any());
         verify(videoCallRepository, never()).save(any(VideoCall.class));
     }
 
@@ -244,7 +249,7 @@ class VideoCallServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Assigned staff must check in before starting the call");
 
-        verify(janusService, never()).createSession();
+        verify(janusCluster, never()).placeCall(any());
         verify(videoCallRepository, never()).save(any(VideoCall.class));
     }
 
@@ -273,7 +278,7 @@ class VideoCallServiceTest {
         assertThat(response.getId()).isEqualTo(existingCall.getId());
         assertThat(response.getStatus()).isEqualTo("ACTIVE");
 
-        verify(janusService, never()).createSession();
+        verify(janusCluster, never()).placeCall(any());
         verify(videoCallRepository, never()).save(any(VideoCall.class));
     }
 
@@ -291,7 +296,7 @@ class VideoCallServiceTest {
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("Appointment not found");
 
-        verify(janusService, never()).createSession();
+        verify(janusCluster, never()).placeCall(any());
     }
 
     @Test
@@ -310,8 +315,7 @@ class VideoCallServiceTest {
 
         when(appointmentRepository.findById(appointment.getId())).thenReturn(Optional.of(appointment));
         when(videoCallRepository.findByAppointmentId(appointment.getId())).thenReturn(Optional.empty());
-        when(janusService.createSession()).thenReturn(12345L);
-        when(janusService.attachPlugin(12345L)).thenReturn(67890L);
+        when(janusCluster.placeCall(appointment.getId())).thenReturn(placement());
 
         VideoCall savedCall = new VideoCall();
         savedCall.setId(UUID.randomUUID());
@@ -413,4 +417,87 @@ class VideoCallServiceTest {
         long expirationTimeMs = claims.getExpiration().getTime() - claims.getIssuedAt().getTime();
         assertThat(expirationTimeMs).isBetween(3595000L, 3605000L); // 1 hour ± 5 seconds
     }
+
+    @Test
+    @DisplayName("Should not create a call when Janus capacity is reached")
+    void shouldNotCreateCallWhenCapacityReached() {
+        // Given
+        InitiateCallRequest request = new InitiateCallRequest();
+        request.setAppointmentId(appointment.getId());
+
+        when(appointmentRepository.findById(appointment.getId())).thenReturn(Optional.of(appointment));
+        when(videoCallRepository.findByAppointmentId(appointment.getId())).thenReturn(Optional.empty());
+        when(janusCluster.placeCall(appointment.getId()))
+                .thenThrow(new VideoCallCapacityException(appointment.getId(), 7));
+
+        // When / Then
+        assertThatThrownBy(() -> videoCallService.initiateCall(request))
+                .isInstanceOf(VideoCallCapacityException.class)
+                .satisfies(e -> assertThat(((VideoCallCapacityException) e).getRetryAfterSeconds()).isEqualTo(7));
+        verify(videoCallRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should place the call outside any transaction")
+    void shouldPlaceCallOutsideTransaction() {
+        // Given
+        AtomicBoolean inTransaction = new AtomicBoolean();
+        videoCallService = new VideoCallService(videoCallRepository, appointmentRepository, janusCluster,
+                new TransactionOperations() {
+                    @Override
+                    public <T> T execute(TransactionCallback<T> action) {
+                        inTransaction.set(true);
+                        try {
+                            return action.doInTransaction(new SimpleTransactionStatus());
+                        } finally {
+                            inTransaction.set(false);
+                        }
+                    }
+                });
+        InitiateCallRequest request = new InitiateCallRequest();
+        request.setAppointmentId(appointment.getId());
+
+        when(appointmentRepository.findById(appointment.getId())).thenReturn(Optional.of(appointment));
+        when(videoCallRepository.findByAppointmentId(appointment.getId())).thenReturn(Optional.empty());
+        when(janusCluster.placeCall(appointment.getId())).thenAnswer(invocation -> {
+            assertThat(inTransaction).isFalse();
+            return placement();
+        });
+        when(videoCallRepository.save(any(VideoCall.class))).thenAnswer(invocation -> {
+            assertThat(inTransaction).isTrue();
+            VideoCall call = invocation.getArgument(0);
+            call.setId(UUID.randomUUID());
+            return call;
+        });
+
+        // When
+        videoCallService.initiateCall(request);
+
+        // Then
+        verify(janusCluster).placeCall(appointment.getId());
+        verify(janusCluster, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should release the Janus placement when the call cannot be saved")
+    void shouldReleasePlacementWhenSaveFails() {
+        // Given
+        InitiateCallRequest request = new InitiateCallRequest();
+        request.setAppointmentId(appointment.getId());
+        JanusCluster.Placement placement = placement();
+
+        when(appointmentRepository.findById(appointment.getId())).thenReturn(Optional.of(appointment));
+        when(videoCallRepository.findByAppointmentId(appointment.getId())).thenReturn(Optional.empty());
+        when(janusCluster.placeCall(appointment.getId())).thenReturn(placement);
+        when(videoCallRepository.save(any(VideoCall.class))).thenThrow(new IllegalStateException("db down"));
+
+        // When / Then
+        assertThatThrownBy(() -> videoCallService.initiateCall(request))
+                .isInstanceOf(IllegalStateException.class);
+        verify(janusCluster).release(placement);
+    }
+
+    private JanusCluster.Placement placement() {
+        return new JanusCluster.Placement("janus-1", new JanusRoomPool.JanusRoom(12345L, 67890L, 424242L, "room-secret"));
+    }
 }
@@ -1,12 +1,17 @@
 package com.healthlink.domain.webhook;
 
+import com.healthlink.domain.webhook.dto.WebhookDeliveryMessage;
 import com.healthlink.domain.webhook.entity.PublishedEvent;
+import com.healthlink.domain.webhook.entity.PublishedEventDelivery;
 import com.healthlink.domain.webhook.entity.WebhookSubscription;
+import com.healthlink.domain.webhook.repository.PublishedEventDeliveryRepository;
 import com.healthlink.domain.webhook.repository.PublishedEventRepository;
 import com.healthlink.domain.webhook.repository.WebhookSubscriptionRepository;
+import com.healthlink.infrastructure.messaging.RabbitMQConfig;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -14,19 +19,27 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class WebhookPublishingTest {
 
     @Mock
-    private WebhookSubscriptionRepository subscriptionRepository;
+    private WebhookSubscriptionIndex subscriptionIndex;
 
     @Mock
     private PublishedEventRepository eventRepository;
 
+    @Mock
+    private PublishedEventDeliveryRepository deliveryRepository;
+
     @Mock
     private RabbitTemplate rabbitTemplate;
 
@@ -38,14 +51,7 @@ class WebhookPublishingTest {
         // Given
         EventType eventType = EventType.APPOINTMENT_CREATED;
         String referenceId = "appt-123";
-        WebhookSubscription subscription = new WebhookSubscription();
-        subscription.setEventType(eventType);
-        subscription.setTargetUrl("https://example.com/webhook");
-        subscription.setActive(true);
-        subscription.setId(UUID.randomUUID());
-
-        when(subscriptionRepository.findByEventTypeAndActiveTrue(eventType))
-                .thenReturn(List.of(subscription));
+        when(subscriptionIndex.subscribersFor(eventType)).thenReturn(List.of(UUID.randomUUID()));
         when(eventRepository.save(any(PublishedEvent.class))).thenAnswer(invocation -> {
             PublishedEvent event = invocation.getArgument(0);
             event.setId(UUID.randomUUID());
@@ -58,4 +64,63 @@ class WebhookPublishingTest {
         // Then
         verify(eventRepository).save(any(PublishedEvent.class));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldWriteOneEventAndPublishOnceRegardlessOfSubscriberCount() {
+        EventType eventType = EventType.PAYMENT_VERIFIED;
+        List<UUID> subscribers = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(subscriptionIndex.subscribersFor(eventType)).thenReturn(subscribers);
+        when(eventRepository.save(any(PublishedEvent.class))).thenAnswer(invocation -> {
+            PublishedEvent event = invocation.getArgument(0);
+            event.setId(UUID.randomUUID());
+            return event;
+        });
+
+        webhookPublisherService.publish(eventType, "payment-1");
+
+        verify(eventRepository, times(1)).save(any(PublishedEvent.class));
+        ArgumentCaptor<List<PublishedEventDelivery>> rows = ArgumentCaptor.forClass(List.class);
+        verify(deliveryRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(PublishedEventDelivery::getSubscriptionId)
+                .containsExactlyElementsOf(subscribers);
+
+        ArgumentCaptor<WebhookDeliveryMessage> message = ArgumentCaptor.forClass(WebhookDeliveryMessage.class);
+        verify(rabbitTemplate, times(1)).convertAndSend(eq(RabbitMQConfig.WEBHOOK_EXCHANGE),
+                eq(RabbitMQConfig.WEBHOOK_ROUTING_KEY), message.capture());
+        assertThat(message.getValue().getSubscriptionId()).isNull();
+        assertThat(message.getValue().getEventId()).isEqualTo(rows.getValue().get(0).getEventId());
+    }
+
+    @Test
+    void shouldSkipWritesWithoutSubscribers() {
+        when(subscriptionIndex.subscribersFor(EventType.APPOINTMENT_CANCELED)).thenReturn(List.of());
+
+        webhookPublisherService.publish(EventType.APPOINTMENT_CANCELED, "appt-9");
+
+        verifyNoInteractions(eventRepository, deliveryRepository, rabbitTemplate);
+    }
+
+    @Test
+    void indexShouldGroupActiveSubscriptionsByEventType() {
+        WebhookSubscriptionRepository repository = org.mockito.Mockito.mock(WebhookSubscriptionRepository.class);
+        WebhookSubscription created = subscription(EventType.APPOINTMENT_CREATED);
+        WebhookSubscription verified = subscription(EventType.PAYMENT_VERIFIED);
+        when(repository.findByActiveTrue()).thenReturn(List.of(created, verified));
+        WebhookSubscriptionIndex index = new WebhookSubscriptionIndex(repository);
+
+        assertThat(index.subscribersFor(EventType.APPOINTMENT_CREATED)).containsExactly(created.getId());
+        assertThat(index.subscribersFor(EventType.PAYMENT_VERIFIED)).containsExactly(verified.getId());
+        assertThat(index.subscribersFor(EventType.APPOINTMENT_CANCELED)).isEmpty();
+        verify(repository, times(1)).findByActiveTrue();
+        verify(repository, never()).findByEventTypeAndActiveTrue(any());
+    }
+
+    private static WebhookSubscription subscription(EventType type) {
+        WebhookSubscription subscription = new WebhookSubscription();
+        subscription.setId(UUID.randomUUID());
+        subscription.setEventType(type);
+        subscription.setActive(true);
+        return subscription;
+    }
 }
@@ -0,0 +1,35 @@
+package com.healthlink.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void illegalArgumentIsBadRequest() {
+        ResponseEntity<ErrorResponse> response = handler.handleIllegalArgument(
+                new IllegalArgumentException("pageSize must be positive"));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        assertThat(response.getBody().getMessage()).isEqualTo("pageSize must be positive");
+    }
+
+    @Test
+    void illegalArgumentMessageIsSanitized() {
+        ResponseEntity<ErrorResponse> response = handler.handleIllegalArgument(
+                new IllegalArgumentException("Unknown patient jane@example.com"));
+
+        assertThat(response.getBody().getMessage()).doesNotContain("jane@example.com");
+    }
+
+    @Test
+    void otherRuntimeExceptionsStayServerErrors() {
+        ResponseEntity<ErrorResponse> response = handler.handleRuntime(new RuntimeException("boom"));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+    }
+}
@@ -0,0 +1,171 @@
+package com.healthlink.infrastructure.email;
+
+import com.healthlink.domain.notification.entity.EmailDispatch;
+import com.healthlink.domain.notification.repository.EmailDispatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for EmailDispatchWorker against the in-process FakeSmtpServer
+ */
+@ExtendWith(MockitoExtension.class)
+class EmailDispatchWorkerTest {
+
+    @Mock
+    private EmailDispatchRepository dispatchRepository;
+
+    private FakeSmtpServer smtp;
+    private SmtpTransportPool pool;
+    private EmailDispatchWorker worker;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtp = new FakeSmtpServer();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+        pool = new SmtpTransportPool(mailSender, 2, 60000);
+        worker = new EmailDispatchWorker(dispatchRepository, pool, mailSender, TransactionOperations.withoutTransaction());
+        ReflectionTestUtils.setField(worker, "fromEmail", "noreply@healthlink.test");
+        ReflectionTestUtils.setField(worker, "fromName", "HealthLink");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        pool.shutdown();
+        smtp.close();
+    }
+
+    @Test
+    void dispatchDue_shouldSendWholeBatchOverOneConnection() {
+        List<EmailDispatch> due = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            due.add(pending("patient" + i + "@example.com"));
+        }
+        when(dispatchRepository.lockDueBatch(any(), anyInt())).thenReturn(due);
+
+        worker.dispatchDue();
+
+        assertThat(smtp.messages()).hasSize(10);
+        assertThat(smtp.connectionCount()).isEqualTo(1);
+        assertThat(due).allSatisfy(d -> {
+            assertThat(d.getStatus()).isEqualTo(EmailDispatch.STATUS_SENT);
+            assertThat(d.getSentAt()).isNotNull();
+        });
+        // Once to lease the batch, once with the outcomes
+        verify(dispatchRepository, times(2)).saveAll(due);
+    }
+
+    @Test
+    void dispatchDue_shouldLeaseBatchBeforeSending() {
+        EmailDispatch dispatch = pending("a@example.com");
+        when(dispatchRepository.lockDueBatch(any(), anyInt())).thenReturn(List.of(dispatch));
+        List<OffsetDateTime> leasedUntil = new ArrayList<>();
+        when(dispatchRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (leasedUntil.isEmpty()) {
+                leasedUntil.add(dispatch.getNextAttemptAt());
+                assertThat(smtp.messages()).isEmpty();
+            }
+            return invocation.getArgument(0);
+        });
+
+        worker.dispatchDue();
+
+        assertThat(leasedUntil.get(0)).isAfter(OffsetDateTime.now().plusMinutes(4));
+        assertThat(dispatch.getStatus()).isEqualTo(EmailDispatch.STATUS_SENT);
+        assertThat(dispatch.getNextAttemptAt()).isNull();
+    }
+
+    @Test
+    void dispatchDue_shouldBackOffWholeBatchWhenTransportFails() throws Exception {
+        smtp.close();
+        List<EmailDispatch> due = List.of(pending("a@example.com"), pending("b@example.com"), pending("c@example.com"));
+        when(dispatchRepository.lockDueBatch(any(), anyInt())).thenReturn(due);
+
+        worker.dispatchDue();
+
+        OffsetDateTime retryAt = due.get(0).getNextAttemptAt();
+        assertThat(retryAt).isAfter(OffsetDateTime.now().plusSeconds(20));
+        assertThat(due.get(0).getAttemptCount()).isEqualTo(1);
+        assertThat(due.subList(1, 3)).allSatisfy(d -> {
+            assertThat(d.getStatus()).isEqualTo(EmailDispatch.STATUS_PENDING);
+            assertThat(d.getNextAttemptAt()).isEqualTo(retryAt);
+            assertThat(d.getAttemptCount()).isZero();
+        });
+        verify(dispatchRepository, times(2)).saveAll(due);
+    }
+
+    @Test
+    void dispatchDue_shouldReuseConnectionAcrossPolls() {
+        when(dispatchRepository.lockDueBatch(any(), anyInt()))
+                .thenReturn(List.of(pending("a@example.com")))
+                .thenReturn(List.of(pending("b@example.com")));
+
+        worker.dispatchDue();
+        worker.dispatchDue();
+
+        assertThat(smtp.messages()).hasSize(2);
+        assertThat(smtp.connectionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dispatchDue_shouldRescheduleRejectedRecipientWithBackoff() {
+        smtp.reject("gone@example.com");
+        EmailDispatch rejected = pending("gone@example.com");
+        EmailDispatch ok = pending("ok@example.com");
+        when(dispatchRepository.lockDueBatch(any(), anyInt())).thenReturn(List.of(rejected, ok));
+
+        worker.dispatchDue();
+
+        assertThat(rejected.getStatus()).isEqualTo(EmailDispatch.STATUS_PENDING);
+        assertThat(rejected.getAttemptCount()).isEqualTo(1);
+        assertThat(rejected.getNextAttemptAt()).isAfter(OffsetDateTime.now());
+        assertThat(ok.getStatus()).isEqualTo(EmailDispatch.STATUS_SENT);
+        assertThat(smtp.messages()).hasSize(1);
+    }
+
+    @Test
+    void scheduleRetry_shouldFailAfterMaxAttempts() {
+        EmailDispatch dispatch = pending("a@example.com");
+        dispatch.setAttemptCount(4);
+
+        worker.scheduleRetry(dispatch, new RuntimeException("boom"));
+
+        assertThat(dispatch.getStatus()).isEqualTo(EmailDispatch.STATUS_FAILED);
+        assertThat(dispatch.getNextAttemptAt()).isNull();
+    }
+
+    @Test
+    void backoff_shouldDoubleAndCap() {
+        assertThat(worker.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(worker.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(worker.backoff(30)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private static EmailDispatch pending(String recipient) {
+        EmailDispatch dispatch = new EmailDispatch();
+        dispatch.setRecipient(recipient);
+        dispatch.setSubject("Appointment Reminder - HealthLink");
+        dispatch.setBody("<p>Reminder</p>");
+        dispatch.setEmailType("appointment-reminder");
+        dispatch.setStatus(EmailDispatch.STATUS_PENDING);
+        dispatch.setNextAttemptAt(OffsetDateTime.now());
+        return dispatch;
+    }
+}
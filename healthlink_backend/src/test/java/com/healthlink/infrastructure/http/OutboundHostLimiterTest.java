@@ -0,0 +1,82 @@
+package com.healthlink.infrastructure.http;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboundHostLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OutboundHostLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        OutboundHostPolicies policies = new OutboundHostPolicies(5, 10000, "slow.example.com=1:30000");
+        limiter = new OutboundHostLimiter(policies, meterRegistry);
+        ReflectionTestUtils.setField(limiter, "acquireTimeoutMs", 10L);
+    }
+
+    @Test
+    void shouldRejectRequestsOverHostLimit() throws Exception {
+        HttpRequest slow = request("https://slow.example.com/hook");
+        ClientHttpRequestExecution nested = (req, body) -> limiter.intercept(slow, body, (r, b) -> mock(ClientHttpResponse.class));
+
+        assertThatThrownBy(() -> limiter.intercept(slow, new byte[0], nested))
+                .isInstanceOf(ResourceAccessException.class)
+                .hasMessageContaining("slow.example.com");
+        assertThat(meterRegistry.counter("healthlink.http.outbound.rejected", "host", "slow.example.com").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotLetOneHostStarveAnother() throws Exception {
+        HttpRequest slow = request("https://slow.example.com/hook");
+        HttpRequest other = request("https://other.example.com/hook");
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        ClientHttpRequestExecution nested = (req, body) -> limiter.intercept(other, body, (r, b) -> response);
+
+        assertThat(limiter.intercept(slow, new byte[0], nested)).isSameAs(response);
+    }
+
+    @Test
+    void shouldReleasePermitWhenRequestFails() throws Exception {
+        HttpRequest slow = request("https://slow.example.com/hook");
+        ClientHttpRequestExecution failing = (req, body) -> {
+            throw new java.io.IOException("connection reset");
+        };
+
+        assertThatThrownBy(() -> limiter.intercept(slow, new byte[0], failing)).isInstanceOf(java.io.IOException.class);
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        assertThat(limiter.intercept(slow, new byte[0], (r, b) -> response)).isSameAs(response);
+        assertThat(meterRegistry.get("healthlink.http.outbound.in_flight").tag("host", "slow.example.com").gauge().value())
+                .isZero();
+    }
+
+    @Test
+    void policies_shouldParseOverridesAndFallBackToDefaults() {
+        OutboundHostPolicies policies = new OutboundHostPolicies(20, 10000, "FCM.googleapis.com=50, api.zoom.us=:15000");
+
+        assertThat(policies.forHost("fcm.googleapis.com")).isEqualTo(new OutboundHostPolicies.HostPolicy(50, 10000));
+        assertThat(policies.forHost("api.zoom.us")).isEqualTo(new OutboundHostPolicies.HostPolicy(20, 15000));
+        assertThat(policies.forHost("hooks.example.com")).isEqualTo(new OutboundHostPolicies.HostPolicy(20, 10000));
+        assertThat(policies.maxConcurrentAnyHost()).isEqualTo(50);
+        assertThatThrownBy(() -> new OutboundHostPolicies(20, 10000, "broken"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static HttpRequest request(String uri) {
+        return new MockClientHttpRequest(HttpMethod.POST, URI.create(uri));
+    }
+}
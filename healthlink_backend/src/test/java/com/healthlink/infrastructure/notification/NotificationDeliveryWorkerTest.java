@@ -0,0 +1,132 @@
+package com.healthlink.infrastructure.notification;
+
+import com.healthlink.domain.notification.DigestChannel;
+import com.healthlink.domain.notification.NotificationChannel;
+import com.healthlink.domain.notification.NotificationStatus;
+import com.healthlink.domain.notification.NotificationType;
+import com.healthlink.domain.notification.dto.NotificationDeliveryMessage;
+import com.healthlink.domain.notification.entity.Notification;
+import com.healthlink.domain.notification.entity.NotificationPreference;
+import com.healthlink.domain.notification.repository.NotificationPreferenceRepository;
+import com.healthlink.domain.notification.repository.NotificationRepository;
+import com.healthlink.domain.notification.service.NotificationDigestService;
+import com.healthlink.domain.notification.service.NotificationSendLedger;
+import com.healthlink.domain.user.repository.UserRepository;
+import com.healthlink.service.notification.EmailService;
+import com.healthlink.service.notification.PushNotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDeliveryWorkerTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private NotificationPreferenceRepository preferenceRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PushNotificationService pushNotificationService;
+    @Mock
+    private EmailService emailService;
+    @Mock
+    private NotificationSendLedger sendLedger;
+
+    private NotificationDeliveryWorker worker;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        NotificationDigestService digestService = new NotificationDigestService(notificationRepository,
+                preferenceRepository, userRepository, pushNotificationService, emailService);
+        worker = new NotificationDeliveryWorker(notificationRepository, preferenceRepository, digestService, sendLedger);
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(sendLedger.claim(any(), eq(NotificationChannel.IN_APP), eq(1))).thenReturn(true);
+    }
+
+    @Test
+    void storesInAppOnlyWithoutDigestMode() {
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(preference(false)));
+
+        worker.processNotification(message(NotificationType.PAYMENT_VERIFIED, Map.of()));
+
+        Notification stored = lastSaved();
+        assertThat(stored.getStatus()).isEqualTo(NotificationStatus.UNREAD);
+        assertThat(stored.getDigestPending()).isNull();
+        verify(sendLedger, never()).claim(any(), eq(NotificationChannel.PUSH), eq(1));
+        verifyNoInteractions(pushNotificationService, emailService);
+    }
+
+    @Test
+    void holdsLowPriorityNotificationInDigestMode() {
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(preference(true)));
+        when(sendLedger.claim(any(), eq(NotificationChannel.PUSH), eq(1))).thenReturn(true);
+
+        worker.processNotification(message(NotificationType.PAYMENT_VERIFIED, Map.of()));
+
+        assertThat(lastSaved().getDigestPending()).isTrue();
+        verifyNoInteractions(pushNotificationService, emailService);
+    }
+
+    @Test
+    void keepsHighPriorityNotificationInAppOnlyInDigestMode() {
+        when(preferenceRepository.findByUserId(userId)).thenReturn(Optional.of(preference(true)));
+
+        worker.processNotification(message(NotificationType.APPOINTMENT_REMINDER,
+                Map.of(NotificationDeliveryWorker.PRIORITY_KEY, NotificationDeliveryWorker.PRIORITY_HIGH)));
+
+        assertThat(lastSaved().getDigestPending()).isNull();
+        verify(sendLedger, never()).claim(any(), eq(NotificationChannel.PUSH), eq(1));
+        verifyNoInteractions(pushNotificationService, emailService);
+    }
+
+    private Notification lastSaved() {
+        ArgumentCaptor<Notification> saved = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationRepository, atLeastOnce()).save(saved.capture());
+        List<Notification> all = saved.getAllValues();
+        return all.get(all.size() - 1);
+    }
+
+    private NotificationPreference preference(boolean digest) {
+        NotificationPreference preference = new NotificationPreference();
+        preference.setUserId(userId);
+        preference.setPaymentUpdates(true);
+        preference.setAppointmentReminders(true);
+        preference.setDigestEnabled(digest);
+        preference.setDigestWindowMinutes(15);
+        preference.setDigestChannel(DigestChannel.PUSH);
+        return preference;
+    }
+
+    private NotificationDeliveryMessage message(NotificationType type, Map<String, String> metadata) {
+        return NotificationDeliveryMessage.builder()
+                .notificationId(UUID.randomUUID())
+                .userId(userId)
+                .type(type)
+                .title("Title")
+                .body("Body")
+                .metadata(metadata)
+                .attemptNumber(1)
+                .build();
+    }
+}
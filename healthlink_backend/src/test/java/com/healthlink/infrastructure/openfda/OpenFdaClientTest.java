@@ -0,0 +1,80 @@
+package com.healthlink.infrastructure.openfda;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenFdaClientTest {
+
+    private OpenFdaStubServer stub;
+    private OpenFdaClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new OpenFdaStubServer();
+        client = new OpenFdaClient(WebClient.builder(), stub.baseUrl(), null, 4, 2000, 5000, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        stub.close();
+    }
+
+    @Test
+    void returnsFirstLabelResult() {
+        stub.stubLabel("Warfarin", "{\"drug_interactions\":[\"Avoid aspirin\"]}");
+
+        JsonNode label = client.fetchLabelBlocking("Warfarin").orElseThrow();
+
+        assertThat(label.path("drug_interactions").get(0).asText()).isEqualTo("Avoid aspirin");
+    }
+
+    @Test
+    void concurrentLookupsOfSameDrugShareOneRequest() {
+        stub.stubLabel("warfarin", "{\"drug_interactions\":[\"Avoid aspirin\"]}").withDelay(300);
+
+        List<JsonNode> labels = Flux.range(0, 8)
+                .flatMap(i -> client.fetchLabel(i % 2 == 0 ? "Warfarin" : " warfarin "))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(labels).hasSize(8);
+        assertThat(stub.requestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void completedLookupIsNotReused() {
+        stub.stubLabel("aspirin", "{\"warnings\":[\"Bleeding risk\"]}");
+
+        client.fetchLabelBlocking("aspirin");
+        client.fetchLabelBlocking("aspirin");
+
+        assertThat(stub.requestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownDrugResolvesToEmpty() {
+        assertThat(client.fetchLabelBlocking("NotADrug")).isEmpty();
+    }
+
+    @Test
+    void clientErrorIsNotRetried() {
+        stub.stubResponse("bad", 400, "{\"error\":{\"code\":\"BAD_REQUEST\"}}");
+
+        Mono<JsonNode> lookup = client.fetchLabel("bad");
+
+        assertThatThrownBy(lookup::block).isInstanceOf(IllegalArgumentException.class);
+        assertThat(stub.requestCount()).isEqualTo(1);
+    }
+}
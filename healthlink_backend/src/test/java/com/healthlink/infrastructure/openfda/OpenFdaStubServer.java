@@ -0,0 +1,101 @@
+package com.healthlink.infrastructure.openfda;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for api.fda.gov, in the spirit of WireMock: stubs are keyed by the brand
+ * name in the {@code search} parameter, unknown drugs answer 404 like the real API, and
+ * requests are counted so tests can assert on pooling and coalescing.
+ */
+public class OpenFdaStubServer implements AutoCloseable {
+
+    private record Stub(int status, String body) {}
+
+    private final HttpServer server;
+    private final Map<String, Stub> stubs = new ConcurrentHashMap<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile long delayMs;
+
+    public OpenFdaStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/drug/label.json", this::handle);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /** Answer label lookups for {@code brandName} with {@code {"results": [resultJson]}}. */
+    public OpenFdaStubServer stubLabel(String brandName, String resultJson) {
+        return stubResponse(brandName, 200, "{\"results\":[" + resultJson + "]}");
+    }
+
+    public OpenFdaStubServer stubResponse(String brandName, int status, String body) {
+        stubs.put(brandName.toLowerCase(Locale.ROOT), new Stub(status, body));
+        return this;
+    }
+
+    /** Hold every response for {@code delayMs}, to keep concurrent lookups in flight together. */
+    public OpenFdaStubServer withDelay(long delayMs) {
+        this.delayMs = delayMs;
+        return this;
+    }
+
+    public int requestCount() {
+        return requestCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Stub stub = stubs.getOrDefault(brandName(exchange.getRequestURI().getRawQuery()),
+                new Stub(404, "{\"error\":{\"code\":\"NOT_FOUND\",\"message\":\"No matches found!\"}}"));
+        byte[] bytes = stub.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(stub.status(), bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String brandName(String rawQuery) {
+        if (rawQuery == null) {
+            return "";
+        }
+        for (String param : rawQuery.split("&")) {
+            String decoded = URLDecoder.decode(param, StandardCharsets.UTF_8);
+            if (decoded.startsWith("search=")) {
+                int open = decoded.indexOf('"');
+                int close = decoded.lastIndexOf('"');
+                return open >= 0 && close > open
+                        ? decoded.substring(open + 1, close).toLowerCase(Locale.ROOT) : "";
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
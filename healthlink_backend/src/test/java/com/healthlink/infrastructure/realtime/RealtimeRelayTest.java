@@ -0,0 +1,69 @@
+package com.healthlink.infrastructure.realtime;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RealtimeRelayTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void onRealtimeEvent_shouldDeliverLocallyWithoutRelay() {
+        RealtimeRelay relay = new RealtimeRelay(messagingTemplate, redisTemplate, objectMapper, false);
+
+        relay.onRealtimeEvent(new RealtimeEvent(userId, RealtimeEvent.NOTIFICATIONS, Map.of("title", "Hi")));
+
+        verify(messagingTemplate).convertAndSendToUser(userId.toString(), "/queue/notifications", Map.of("title", "Hi"));
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void onRealtimeEvent_shouldPublishToRedisWhenRelayEnabled() {
+        RealtimeRelay relay = new RealtimeRelay(messagingTemplate, redisTemplate, objectMapper, true);
+
+        relay.onRealtimeEvent(new RealtimeEvent(userId, RealtimeEvent.APPOINTMENTS, Map.of("status", "CANCELLED")));
+
+        verify(redisTemplate).convertAndSend(eq(RealtimeRelay.REDIS_CHANNEL), contains(userId.toString()));
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    void onRealtimeEvent_shouldFallBackToLocalDeliveryWhenRedisFails() {
+        RealtimeRelay relay = new RealtimeRelay(messagingTemplate, redisTemplate, objectMapper, true);
+        when(redisTemplate.convertAndSend(anyString(), any())).thenThrow(new IllegalStateException("redis down"));
+
+        relay.onRealtimeEvent(new RealtimeEvent(userId, RealtimeEvent.NOTIFICATIONS, Map.of("title", "Hi")));
+
+        verify(messagingTemplate).convertAndSendToUser(eq(userId.toString()), eq("/queue/notifications"), any());
+    }
+
+    @Test
+    void onRelayedMessage_shouldDeliverDecodedEvent() throws Exception {
+        RealtimeRelay relay = new RealtimeRelay(messagingTemplate, redisTemplate, objectMapper, true);
+        String json = objectMapper.writeValueAsString(
+                new RealtimeEvent(userId, RealtimeEvent.APPOINTMENTS, Map.of("status", "COMPLETED")));
+
+        relay.onRelayedMessage(json);
+
+        verify(messagingTemplate).convertAndSendToUser(userId.toString(), "/queue/appointments", Map.of("status", "COMPLETED"));
+    }
+}
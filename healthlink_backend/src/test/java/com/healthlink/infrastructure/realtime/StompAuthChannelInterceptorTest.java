@@ -0,0 +1,104 @@
+package com.healthlink.infrastructure.realtime;
+
+import com.healthlink.security.jwt.JwtService;
+import com.healthlink.security.service.CustomUserDetailsService;
+import com.healthlink.security.token.AccessTokenBlacklistService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StompAuthChannelInterceptorTest {
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+    @Mock
+    private AccessTokenBlacklistService accessTokenBlacklistService;
+    @Mock
+    private MessageChannel channel;
+
+    private StompAuthChannelInterceptor interceptor;
+
+    private final Principal user = new UsernamePasswordAuthenticationToken(UUID.randomUUID().toString(), null, List.of());
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new StompAuthChannelInterceptor(jwtService, userDetailsService, accessTokenBlacklistService);
+    }
+
+    @Test
+    void preSend_shouldRejectSendIntoAnotherUsersQueue() {
+        Message<byte[]> forged = frame(StompCommand.SEND, "/user/" + UUID.randomUUID() + "/queue/notifications", user);
+
+        assertThatThrownBy(() -> interceptor.preSend(forged, channel)).isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void preSend_shouldRejectSendToBrokerQueue() {
+        Message<byte[]> forged = frame(StompCommand.SEND, "/queue/appointments", user);
+
+        assertThatThrownBy(() -> interceptor.preSend(forged, channel)).isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void preSend_shouldRejectUnauthenticatedSubscribe() {
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, "/user/queue/notifications", null);
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe, channel)).isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void preSend_shouldRejectUnauthenticatedUnsubscribe() {
+        Message<byte[]> unsubscribe = frame(StompCommand.UNSUBSCRIBE, null, null);
+
+        assertThatThrownBy(() -> interceptor.preSend(unsubscribe, channel)).isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void preSend_shouldRejectSubscribeOutsideOwnQueues() {
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, "/queue/notifications", user);
+
+        assertThatThrownBy(() -> interceptor.preSend(subscribe, channel)).isInstanceOf(MessageDeliveryException.class);
+    }
+
+    @Test
+    void preSend_shouldAllowAuthenticatedSubscribeToOwnQueue() {
+        Message<byte[]> subscribe = frame(StompCommand.SUBSCRIBE, "/user/queue/notifications", user);
+
+        assertThat(interceptor.preSend(subscribe, channel)).isSameAs(subscribe);
+    }
+
+    @Test
+    void preSend_shouldAllowDisconnectWithoutPrincipal() {
+        Message<byte[]> disconnect = frame(StompCommand.DISCONNECT, null, null);
+
+        assertThat(interceptor.preSend(disconnect, channel)).isSameAs(disconnect);
+        verifyNoInteractions(jwtService, userDetailsService, accessTokenBlacklistService);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination, Principal principal) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(principal);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,226 @@
+package com.healthlink.infrastructure.video;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.WebsocketServerSpec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Janus Gateway with the videoroom plugin, reachable over the REST API
+ * ({@link #restUrl()}) and the {@code janus-protocol} WebSocket ({@link #webSocketUrl()}).
+ * <p>
+ * Implements create/attach/keepalive/destroy and the videoroom create/destroy requests with
+ * Janus' reply shapes, including error 458 for unknown sessions. Requests are counted per
+ * {@code janus} verb, and {@link #restart()} forgets every session and room like a Janus restart.
+ */
+public class FakeJanusServer implements AutoCloseable {
+
+    private static final TypeReference<Map<String, Object>> JSON_MAP = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer rest;
+    private final DisposableServer webSocket;
+    private final AtomicLong nextId = new AtomicLong(1000);
+    private final Map<Long, Long> handleSessions = new ConcurrentHashMap<>();
+    private final Map<Long, Boolean> sessions = new ConcurrentHashMap<>();
+    private final Map<Long, String> rooms = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private volatile boolean rejectRoomCreation;
+    private boolean closed;
+
+    public FakeJanusServer() throws IOException {
+        rest = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        rest.setExecutor(Executors.newCachedThreadPool());
+        rest.createContext("/janus", this::handleRest);
+        rest.start();
+        webSocket = reactor.netty.http.server.HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes.ws("/",
+                        (in, out) -> out.sendString(in.aggregateFrames().receive().asString()
+                                .concatMapIterable(this::handleFrame)),
+                        WebsocketServerSpec.builder().protocols("janus-protocol").build()))
+                .bindNow();
+    }
+
+    public String restUrl() {
+        return "http://127.0.0.1:" + rest.getAddress().getPort() + "/janus";
+    }
+
+    public String webSocketUrl() {
+        return "ws://127.0.0.1:" + webSocket.port() + "/";
+    }
+
+    /** Number of requests seen with the given {@code janus} verb, e.g. "create" or "keepalive". */
+    public int requests(String verb) {
+        AtomicInteger count = requests.get(verb);
+        return count != null ? count.get() : 0;
+    }
+
+    public int sessionCount() {
+        return sessions.size();
+    }
+
+    public boolean hasRoom(long roomId) {
+        return rooms.containsKey(roomId);
+    }
+
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    public void restart() {
+        sessions.clear();
+        handleSessions.clear();
+        rooms.clear();
+    }
+
+    /** Refuse every videoroom create with error 403, as Janus does for a wrong admin_key. */
+    public void rejectRoomCreation() {
+        rejectRoomCreation = true;
+    }
+
+    /** Stops both endpoints; safe to call again, e.g. after simulating an outage. */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        rest.stop(0);
+        webSocket.disposeNow();
+    }
+
+    private void handleRest(HttpExchange exchange) throws IOException {
+        // /janus, /janus/{session} or /janus/{session}/{handle}
+        String[] path = exchange.getRequestURI().getPath().substring("/janus".length()).split("/");
+        Map<String, Object> request = objectMapper.readValue(exchange.getRequestBody(), JSON_MAP);
+        if (path.length > 1) {
+            request.put("session_id", Long.parseLong(path[1]));
+        }
+        if (path.length > 2) {
+            request.put("handle_id", Long.parseLong(path[2]));
+        }
+        byte[] body = objectMapper.writeValueAsBytes(handle(request));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Plugin messages are acknowledged before the reply, the way Janus answers asynchronous
+     * plugin requests over WebSocket, so clients must wait past the ack.
+     */
+    private List<String> handleFrame(String json) {
+        try {
+            Map<String, Object> request = objectMapper.readValue(json, JSON_MAP);
+            String reply = objectMapper.writeValueAsString(handle(request));
+            if (!"message".equals(request.get("janus"))) {
+                return List.of(reply);
+            }
+            String ack = objectMapper.writeValueAsString(
+                    Map.of("janus", "ack", "transaction", request.get("transaction")));
+            return List.of(ack, reply);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> handle(Map<String, Object> request) {
+        String verb = (String) request.get("janus");
+        requests.computeIfAbsent(verb, v -> new AtomicInteger()).incrementAndGet();
+        Long sessionId = request.get("session_id") != null ? ((Number) request.get("session_id")).longValue() : null;
+        Long handleId = request.get("handle_id") != null ? ((Number) request.get("handle_id")).longValue() : null;
+
+        Map<String, Object> reply = new LinkedHashMap<>();
+        reply.put("transaction", request.get("transaction"));
+        if ("create".equals(verb)) {
+            long id = nextId.getAndIncrement();
+            sessions.put(id, true);
+            return success(reply, Map.of("id", id));
+        }
+        if (sessionId == null || !sessions.containsKey(sessionId)) {
+            return error(reply, 458, "No such session");
+        }
+        reply.put("session_id", sessionId);
+        switch (verb) {
+            case "keepalive" -> {
+                reply.put("janus", "ack");
+                return reply;
+            }
+            case "attach" -> {
+                long id = nextId.getAndIncrement();
+                handleSessions.put(id, sessionId);
+                return success(reply, Map.of("id", id));
+            }
+            case "destroy" -> {
+                sessions.remove(sessionId);
+                handleSessions.values().removeIf(sessionId::equals);
+                reply.put("janus", "success");
+                return reply;
+            }
+            case "message" -> {
+                if (handleId == null || !sessionId.equals(handleSessions.get(handleId))) {
+                    return error(reply, 459, "No such handle");
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> body = (Map<String, Object>) request.get("body");
+                reply.put("janus", "success");
+                reply.put("sender", handleId);
+                reply.put("plugindata", Map.of("plugin", "janus.plugin.videoroom", "data", videoroom(body)));
+                return reply;
+            }
+            default -> {
+                return error(reply, 453, "Unknown request '" + verb + "'");
+            }
+        }
+    }
+
+    private Map<String, Object> videoroom(Map<String, Object> body) {
+        long room = ((Number) body.get("room")).longValue();
+        if ("create".equals(body.get("request"))) {
+            if (rejectRoomCreation) {
+                return Map.of("videoroom", "event", "error_code", 403, "error", "Unauthorized (wrong admin_key)");
+            }
+            if (rooms.putIfAbsent(room, String.valueOf(body.get("secret"))) != null) {
+                return Map.of("videoroom", "event", "error_code", 427, "error", "Room " + room + " already exists");
+            }
+            return Map.of("videoroom", "created", "room", room, "permanent", false);
+        }
+        if ("destroy".equals(body.get("request"))) {
+            if (rooms.remove(room) == null) {
+                return Map.of("videoroom", "event", "error_code", 426, "error", "No such room (" + room + ")");
+            }
+            return Map.of("videoroom", "destroyed", "room", room);
+        }
+        return Map.of("videoroom", "event", "error_code", 423, "error", "Unsupported request");
+    }
+
+    private static Map<String, Object> success(Map<String, Object> reply, Map<String, Object> data) {
+        reply.put("janus", "success");
+        reply.put("data", data);
+        return reply;
+    }
+
+    private static Map<String, Object> error(Map<String, Object> reply, int code, String reason) {
+        reply.put("janus", "error");
+        reply.put("error", Map.of("code", code, "reason", reason));
+        return reply;
+    }
+}
@@ -0,0 +1,156 @@
+package com.healthlink.infrastructure.video;
+
+import com.healthlink.domain.video.repository.VideoCallRepository;
+import com.healthlink.exception.VideoCallCapacityException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JanusClusterTest {
+
+    private FakeJanusServer janus1;
+    private FakeJanusServer janus2;
+    private VideoCallRepository videoCallRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        janus1 = new FakeJanusServer();
+        janus2 = new FakeJanusServer();
+        videoCallRepository = mock(VideoCallRepository.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        janus1.close();
+        janus2.close();
+    }
+
+    @Test
+    void placesCallOnLeastLoadedNode() {
+        JanusNode busy = node("janus-1", janus1, 10, 100, 100);
+        JanusNode idle = node("janus-2", janus2, 10, 100, 100);
+        busy.syncActiveRooms(6);
+        idle.syncActiveRooms(2);
+        JanusCluster cluster = cluster(List.of(busy, idle), Duration.ZERO);
+
+        JanusCluster.Placement placement = cluster.placeCall(UUID.randomUUID());
+
+        assertThat(placement.node()).isEqualTo("janus-2");
+        assertThat(janus2.hasRoom(placement.room().roomId())).isTrue();
+        assertThat(janus1.requests("create")).isZero();
+        assertThat(idle.activeRooms()).isEqualTo(3);
+    }
+
+    @Test
+    void spreadsBurstAcrossNodes() {
+        JanusNode first = node("janus-1", janus1, 10, 100, 100);
+        JanusNode second = node("janus-2", janus2, 10, 100, 100);
+        JanusCluster cluster = cluster(List.of(first, second), Duration.ZERO);
+
+        for (int i = 0; i < 6; i++) {
+            cluster.placeCall(UUID.randomUUID());
+        }
+
+        assertThat(first.activeRooms()).isEqualTo(3);
+        assertThat(second.activeRooms()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsWithRetryAfterWhenEveryNodeIsFull() {
+        JanusNode only = node("janus-1", janus1, 1, 100, 100);
+        JanusCluster cluster = cluster(List.of(only), Duration.ZERO);
+        cluster.placeCall(UUID.randomUUID());
+
+        UUID appointmentId = UUID.randomUUID();
+        assertThatThrownBy(() -> cluster.placeCall(appointmentId))
+                .isInstanceOfSatisfying(VideoCallCapacityException.class, e -> {
+                    assertThat(e.getAppointmentId()).isEqualTo(appointmentId);
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(15);
+                });
+        assertThat(janus1.requests("message")).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsSetupsBeyondRateWhenTheyCannotWait() {
+        JanusNode only = node("janus-1", janus1, 100, 1, 2);
+        JanusCluster cluster = cluster(List.of(only), Duration.ZERO);
+        cluster.placeCall(UUID.randomUUID());
+        cluster.placeCall(UUID.randomUUID());
+
+        assertThatThrownBy(() -> cluster.placeCall(UUID.randomUUID()))
+                .isInstanceOfSatisfying(VideoCallCapacityException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isBetween(1L, 2L));
+        assertThat(only.activeRooms()).isEqualTo(2);
+    }
+
+    @Test
+    void queuedSetupWaitsForTokenWithinMaxWait() {
+        JanusNode only = node("janus-1", janus1, 100, 10, 1);
+        JanusCluster cluster = cluster(List.of(only), Duration.ofSeconds(1));
+        cluster.placeCall(UUID.randomUUID());
+
+        long start = System.nanoTime();
+        JanusCluster.Placement placement = cluster.placeCall(UUID.randomUUID());
+
+        assertThat(placement.node()).isEqualTo("janus-1");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        assertThat(only.queued()).isZero();
+    }
+
+    @Test
+    void failedRoomCreationReleasesSlot() {
+        JanusNode only = node("janus-1", janus1, 10, 100, 100);
+        JanusCluster cluster = cluster(List.of(only), Duration.ZERO);
+        janus1.close();
+
+        assertThatThrownBy(() -> cluster.placeCall(UUID.randomUUID())).isInstanceOf(RuntimeException.class);
+        assertThat(only.activeRooms()).isZero();
+    }
+
+    @Test
+    void releaseFreesSlotAndDestroysRoom() {
+        JanusNode only = node("janus-1", janus1, 10, 100, 100);
+        JanusCluster cluster = cluster(List.of(only), Duration.ZERO);
+        JanusCluster.Placement placement = cluster.placeCall(UUID.randomUUID());
+
+        cluster.release(placement);
+
+        assertThat(only.activeRooms()).isZero();
+        assertThat(janus1.hasRoom(placement.room().roomId())).isFalse();
+    }
+
+    @Test
+    void syncLoadTakesRoomCountsFromOpenCalls() {
+        JanusNode first = node("janus-1", janus1, 10, 100, 100);
+        JanusNode second = node("janus-2", janus2, 10, 100, 100);
+        first.syncActiveRooms(4);
+        JanusCluster cluster = cluster(List.of(first, second), Duration.ZERO);
+        when(videoCallRepository.countOpenCallsByJanusNode(any()))
+                .thenReturn(List.of(new Object[]{"janus-2", 7L}, new Object[]{null, 3L}));
+
+        cluster.syncLoad();
+
+        assertThat(first.activeRooms()).isZero();
+        assertThat(second.activeRooms()).isEqualTo(7);
+    }
+
+    private JanusNode node(String name, FakeJanusServer server, int maxRooms, int ratePerSecond, int burst) {
+        JanusService client = new JanusService(new RestTemplate(), server.restUrl(), null);
+        return JanusCluster.node(name, client, maxRooms, 1, 0, ratePerSecond, burst);
+    }
+
+    private JanusCluster cluster(List<JanusNode> nodes, Duration maxQueueWait) {
+        return new JanusCluster(nodes, videoCallRepository, 10, maxQueueWait, 15, Duration.ofMinutes(60));
+    }
+}
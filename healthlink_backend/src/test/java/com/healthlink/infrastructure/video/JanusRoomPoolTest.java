@@ -0,0 +1,120 @@
+package com.healthlink.infrastructure.video;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JanusRoomPoolTest {
+
+    private FakeJanusServer janus;
+    private JanusService janusService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        janus = new FakeJanusServer();
+        janusService = new JanusService(new RestTemplate());
+        ReflectionTestUtils.setField(janusService, "janusUrl", janus.restUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        janus.close();
+    }
+
+    @Test
+    void handsOutPreCreatedRoomsWithoutCallingJanus() {
+        JanusRoomPool pool = new JanusRoomPool(janusService, 2, 3);
+        pool.refill();
+        assertThat(pool.warmSessions()).isEqualTo(2);
+        assertThat(janus.roomCount()).isEqualTo(3);
+        int messagesBefore = janus.requests("message");
+
+        JanusRoomPool.JanusRoom room = pool.acquire();
+
+        assertThat(janus.hasRoom(room.roomId())).isTrue();
+        assertThat(room.secret()).isNotBlank();
+        assertThat(janus.requests("message")).isEqualTo(messagesBefore);
+        assertThat(janus.requests("create")).isEqualTo(2);
+        assertThat(pool.idleRooms()).isEqualTo(2);
+    }
+
+    @Test
+    void createsRoomOnWarmSessionWhenNoRoomIsWaiting() {
+        JanusRoomPool pool = new JanusRoomPool(janusService, 1, 0);
+        pool.refill();
+
+        JanusRoomPool.JanusRoom first = pool.acquire();
+        JanusRoomPool.JanusRoom second = pool.acquire();
+
+        assertThat(janus.requests("create")).isEqualTo(1);
+        assertThat(janus.requests("attach")).isEqualTo(1);
+        assertThat(first.sessionId()).isEqualTo(second.sessionId());
+        assertThat(first.roomId()).isNotEqualTo(second.roomId());
+        assertThat(janus.hasRoom(first.roomId())).isTrue();
+        assertThat(janus.hasRoom(second.roomId())).isTrue();
+    }
+
+    @Test
+    void failsWhenJanusRejectsOnDemandRoom() {
+        JanusRoomPool pool = new JanusRoomPool(janusService, 1, 0);
+        pool.refill();
+        janus.rejectRoomCreation();
+
+        assertThatThrownBy(pool::acquire).isInstanceOf(RuntimeException.class);
+        assertThat(janus.roomCount()).isZero();
+    }
+
+    @Test
+    void withoutWarmSessionsEveryCallOpensItsOwnSession() {
+        JanusRoomPool pool = new JanusRoomPool(janusService, 0, 0);
+
+        pool.acquire();
+        pool.acquire();
+
+        assertThat(janus.requests("create")).isEqualTo(2);
+        assertThat(pool.warmSessions()).isZero();
+    }
+
+    @Test
+    void keepAliveRefreshesWarmSessions() {
+        JanusRoomPool pool = new JanusRoomPool(janusService, 2, 0);
+        pool.refill();
+
+        pool.keepAlive();
+
+        assertThat(janus.requests("keepalive")).isEqualTo(2);
+        assertThat(pool.warmSessions()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsSessionsAndRoomsLostInJanusRestartAndRebuilds() {
+        JanusRoomPool pool = new JanusRoomPool(janusService, 2, 2);
+        pool.refill();
+        janus.restart();
+
+        pool.keepAlive();
+        assertThat(pool.warmSessions()).isZero();
+        assertThat(pool.idleRooms()).isZero();
+
+        pool.refill();
+        JanusRoomPool.JanusRoom room = pool.acquire();
+        assertThat(janus.hasRoom(room.roomId())).isTrue();
+        assertThat(janus.sessionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shutdownDestroysIdleRoomsAndSessions() {
+        JanusRoomPool pool = new JanusRoomPool(janusService, 1, 2);
+        pool.refill();
+
+        pool.shutdown();
+
+        assertThat(janus.roomCount()).isZero();
+        assertThat(janus.sessionCount()).isZero();
+    }
+}
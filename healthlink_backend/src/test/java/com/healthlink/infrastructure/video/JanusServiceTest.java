@@ -268,7 +268,7 @@ class JanusServiceTest {
                     .thenReturn(response);
 
             // When
-            janusService.createRoom(sessionId, handleId, roomId, secret);
+            assertThat(janusService.allocateRoom(sessionId, handleId, roomId, secret)).isTrue();
 
             // Then
             Map<String, Object> capturedRequest = requestCaptor.getValue();
@@ -299,7 +299,7 @@ class JanusServiceTest {
                     .thenReturn(response);
 
             // When
-            janusService.createRoom(sessionId, handleId, roomId, secret);
+            assertThat(janusService.allocateRoom(sessionId, handleId, roomId, secret)).isTrue();
 
             // Then
             String expectedUrl = JANUS_URL + "/" + sessionId + "/" + handleId;
@@ -321,8 +321,8 @@ class JanusServiceTest {
             when(restTemplate.postForObject(anyString(), any(Map.class), eq(Map.class)))
                     .thenReturn(response);
 
-            // When - Should not throw exception
-            janusService.createRoom(sessionId, handleId, roomId, secret);
+            // When
+            assertThat(janusService.allocateRoom(sessionId, handleId, roomId, secret)).isTrue();
 
             // Then
             verify(restTemplate).postForObject(anyString(), any(Map.class), eq(Map.class));
@@ -343,8 +343,8 @@ class JanusServiceTest {
             when(restTemplate.postForObject(anyString(), any(Map.class), eq(Map.class)))
                     .thenReturn(response);
 
-            // When - Should not throw exception
-            janusService.createRoom(sessionId, handleId, roomId, secret);
+            // When
+            assertThat(janusService.allocateRoom(sessionId, handleId, roomId, secret)).isTrue();
 
             // Then
             verify(restTemplate).postForObject(anyString(), any(Map.class), eq(Map.class));
@@ -362,8 +362,8 @@ class JanusServiceTest {
             when(restTemplate.postForObject(anyString(), any(Map.class), eq(Map.class)))
                     .thenReturn(null);
 
-            // When - Should not throw exception (logged as warning)
-            janusService.createRoom(sessionId, handleId, roomId, secret);
+            // When - Rejected, not thrown (logged as warning)
+            assertThat(janusService.allocateRoom(sessionId, handleId, roomId, secret)).isFalse();
 
             // Then
             verify(restTemplate).postForObject(anyString(), any(Map.class), eq(Map.class));
@@ -385,8 +385,8 @@ class JanusServiceTest {
             when(restTemplate.postForObject(anyString(), any(Map.class), eq(Map.class)))
                     .thenReturn(response);
 
-            // When - Should not throw exception (logged as warning)
-            janusService.createRoom(sessionId, handleId, roomId, secret);
+            // When - Rejected, not thrown (logged as warning)
+            assertThat(janusService.allocateRoom(sessionId, handleId, roomId, secret)).isFalse();
 
             // Then
             verify(restTemplate).postForObject(anyString(), any(Map.class), eq(Map.class));
@@ -0,0 +1,69 @@
+package com.healthlink.infrastructure.video;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JanusWebSocketTransportTest {
+
+    private FakeJanusServer janus;
+    private JanusWebSocketTransport transport;
+    private JanusService janusService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        janus = new FakeJanusServer();
+        transport = new JanusWebSocketTransport(janus.webSocketUrl(), 5000, new ObjectMapper());
+        janusService = new JanusService(new RestTemplate(), transport);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.shutdown();
+        janus.close();
+    }
+
+    @Test
+    void createsSessionHandleAndRoomOverOneSocket() {
+        // Room creation is acknowledged first; allocateRoom must see the plugin reply, not the ack
+        Long sessionId = janusService.createSession();
+        Long handleId = janusService.attachPlugin(sessionId);
+
+        assertThat(janusService.allocateRoom(sessionId, handleId, 4242L, "secret")).isTrue();
+        assertThat(janusService.keepAlive(sessionId)).isTrue();
+        assertThat(janus.hasRoom(4242L)).isTrue();
+    }
+
+    @Test
+    void reportsUnknownSessionAndRejectedRoom() {
+        Long sessionId = janusService.createSession();
+        Long handleId = janusService.attachPlugin(sessionId);
+        janusService.allocateRoom(sessionId, handleId, 7L, "secret");
+
+        assertThat(janusService.allocateRoom(sessionId, handleId, 7L, "other")).isFalse();
+        assertThat(janusService.keepAlive(999L)).isFalse();
+    }
+
+    @Test
+    void concurrentRequestsGetTheirOwnReplies() {
+        List<CompletableFuture<Long>> calls = IntStream.range(0, 20)
+                .mapToObj(i -> CompletableFuture.supplyAsync(janusService::createSession))
+                .toList();
+
+        long sessions = calls.stream()
+                .map(CompletableFuture::join)
+                .distinct()
+                .count();
+
+        assertThat(sessions).isEqualTo(20);
+        assertThat(janus.requests("create")).isEqualTo(20);
+    }
+}
@@ -0,0 +1,65 @@
+package com.healthlink.infrastructure.webhook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WebhookCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final WebhookCircuitBreaker breaker = new WebhookCircuitBreaker(3, 60_000, now::get);
+    private final UUID subscriptionId = UUID.randomUUID();
+
+    @Test
+    void shouldOpenAfterConsecutiveFailures() {
+        breaker.recordFailure(subscriptionId);
+        breaker.recordFailure(subscriptionId);
+        assertThat(breaker.allowRequest(subscriptionId)).isTrue();
+
+        breaker.recordFailure(subscriptionId);
+
+        assertThat(breaker.allowRequest(subscriptionId)).isFalse();
+        assertThat(breaker.remainingOpenMs(subscriptionId)).isEqualTo(60_000);
+    }
+
+    @Test
+    void shouldAdmitSingleProbeAfterCooldownAndCloseOnSuccess() {
+        open();
+        now.addAndGet(60_000);
+
+        assertThat(breaker.allowRequest(subscriptionId)).isTrue();
+        assertThat(breaker.allowRequest(subscriptionId)).isFalse();
+
+        breaker.recordSuccess(subscriptionId);
+
+        assertThat(breaker.allowRequest(subscriptionId)).isTrue();
+        assertThat(breaker.remainingOpenMs(subscriptionId)).isZero();
+    }
+
+    @Test
+    void shouldReopenWhenProbeFails() {
+        open();
+        now.addAndGet(60_000);
+        assertThat(breaker.allowRequest(subscriptionId)).isTrue();
+
+        breaker.recordFailure(subscriptionId);
+
+        assertThat(breaker.allowRequest(subscriptionId)).isFalse();
+    }
+
+    @Test
+    void shouldTrackSubscriptionsIndependently() {
+        open();
+
+        assertThat(breaker.allowRequest(UUID.randomUUID())).isTrue();
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure(subscriptionId);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.healthlink.infrastructure.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthlink.domain.webhook.WebhookAttemptOutcome;
+import com.healthlink.domain.webhook.WebhookDeliveryStatus;
+import com.healthlink.domain.webhook.dto.WebhookDeliveryMessage;
+import com.healthlink.domain.webhook.entity.PublishedEventDelivery;
+import com.healthlink.domain.webhook.entity.WebhookDeliveryAttempt;
+import com.healthlink.domain.webhook.entity.WebhookSubscription;
+import com.healthlink.domain.webhook.repository.PublishedEventDeliveryRepository;
+import com.healthlink.domain.webhook.repository.PublishedEventRepository;
+import com.healthlink.domain.webhook.repository.WebhookDeliveryAttemptRepository;
+import com.healthlink.domain.webhook.repository.WebhookSubscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookDeliveryWorkerTest {
+
+    @Mock
+    private PublishedEventDeliveryRepository deliveryRepository;
+    @Mock
+    private PublishedEventRepository eventRepository;
+    @Mock
+    private WebhookSubscriptionRepository subscriptionRepository;
+    @Mock
+    private WebhookDeliveryAttemptRepository attemptRepository;
+    @Mock
+    private WebhookRetryScheduler retryScheduler;
+    @Mock
+    private RestTemplate restTemplate;
+
+    private final WebhookPayloadSigner signer = new WebhookPayloadSigner(240_000);
+    private final WebhookCircuitBreaker circuitBreaker = new WebhookCircuitBreaker(5, 60_000, System::currentTimeMillis);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private WebhookDeliveryWorker worker;
+    private WebhookSubscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        worker = new WebhookDeliveryWorker(deliveryRepository, eventRepository, subscriptionRepository,
+                attemptRepository, retryScheduler, circuitBreaker, signer, restTemplate);
+        subscription = new WebhookSubscription();
+        subscription.setId(UUID.randomUUID());
+        subscription.setTargetUrl("https://ehr.example.com/hooks");
+        subscription.setSecret("s3cret");
+        subscription.setActive(true);
+        lenient().when(subscriptionRepository.findById(subscription.getId())).thenReturn(Optional.of(subscription));
+    }
+
+    @Test
+    void singleDelivery_shouldSignTheBytesItSends() throws Exception {
+        List<WebhookDeliveryMessage> messages = messages(1);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ok"));
+
+        worker.processWebhookDeliveries(messages);
+
+        HttpEntity<?> sent = captureRequests(1).get(0);
+        byte[] body = (byte[]) sent.getBody();
+        String timestamp = sent.getHeaders().getFirst("X-HealthLink-Timestamp");
+        assertThat(sent.getHeaders().getFirst("X-HealthLink-Signature"))
+                .isEqualTo(WebhookPayloadSigner.hmac("s3cret", timestamp, body));
+        assertThat(objectMapper.readTree(body).get("referenceId").asText()).isEqualTo("ref-0");
+        verify(attemptRepository).save(argThat(a -> a.getOutcome() == WebhookAttemptOutcome.DELIVERED));
+        verify(eventRepository).rollUpDeliveryStatus(List.of(messages.get(0).getEventId()));
+    }
+
+    @Test
+    void batchDelivery_shouldSendUpToBatchSizeEventsPerPostWithPerEventSignatures() throws Exception {
+        subscription.setBatchSize(2);
+        List<WebhookDeliveryMessage> messages = messages(3);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ok"));
+
+        worker.processWebhookDeliveries(messages);
+
+        List<HttpEntity<?>> requests = captureRequests(2);
+        assertThat(requests.get(0).getHeaders().getFirst("X-HealthLink-Batch-Size")).isEqualTo("2");
+        assertThat(requests.get(1).getHeaders().getFirst("X-HealthLink-Batch-Size")).isEqualTo("1");
+
+        JsonNode events = objectMapper.readTree((byte[]) requests.get(0).getBody()).get("events");
+        assertThat(events).hasSize(2);
+        for (JsonNode entry : events) {
+            byte[] payload = objectMapper.writeValueAsBytes(entry.get("payload"));
+            assertThat(entry.get("signature").asText())
+                    .isEqualTo(WebhookPayloadSigner.hmac("s3cret", entry.get("timestamp").asText(), payload));
+        }
+        verify(attemptRepository, times(3)).save(argThat(a -> a.getOutcome() == WebhookAttemptOutcome.DELIVERED));
+    }
+
+    @Test
+    void failedBatch_shouldParkEveryEventForRetry() {
+        subscription.setBatchSize(10);
+        List<WebhookDeliveryMessage> messages = messages(2);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        worker.processWebhookDeliveries(messages);
+
+        verify(retryScheduler, times(2)).schedule(any(WebhookDeliveryMessage.class), eq(1));
+        assertThat(messages).allSatisfy(m -> assertThat(m.getAttemptNumber()).isEqualTo(2));
+        ArgumentCaptor<WebhookDeliveryAttempt> attempts = ArgumentCaptor.forClass(WebhookDeliveryAttempt.class);
+        verify(attemptRepository, times(2)).save(attempts.capture());
+        assertThat(attempts.getAllValues()).allSatisfy(a -> {
+            assertThat(a.getOutcome()).isEqualTo(WebhookAttemptOutcome.RETRY_SCHEDULED);
+            assertThat(a.getHttpStatus()).isEqualTo(503);
+        });
+    }
+
+    @Test
+    void finalAttemptFailure_shouldDeadLetterInsteadOfRetrying() {
+        List<WebhookDeliveryMessage> messages = messages(1);
+        messages.get(0).setAttemptNumber(WebhookDeliveryWorker.MAX_RETRY_ATTEMPTS);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        worker.processWebhookDeliveries(messages);
+
+        verify(retryScheduler).deadLetter(messages.get(0));
+        verify(retryScheduler, never()).schedule(any(), anyInt());
+        verify(deliveryRepository).save(argThat(d -> d.getDeliveryStatus() == WebhookDeliveryStatus.FAILED));
+    }
+
+    @Test
+    void unexpectedErrorOnOneDelivery_shouldRequeueOnlyThatDelivery() {
+        List<WebhookDeliveryMessage> messages = messages(3);
+        UUID brokenEvent = messages.get(1).getEventId();
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok("ok"));
+        lenient().doThrow(new IllegalStateException("connection reset"))
+                .when(deliveryRepository).save(argThat(d -> brokenEvent.equals(d.getEventId())));
+
+        worker.processWebhookDeliveries(messages);
+
+        captureRequests(3);
+        verify(retryScheduler).schedule(messages.get(1), 1);
+        verify(retryScheduler, times(1)).schedule(any(), anyInt());
+        verify(attemptRepository, times(2)).save(argThat(a -> a.getOutcome() == WebhookAttemptOutcome.DELIVERED));
+    }
+
+    @Test
+    void signingError_shouldNotHoldTheHalfOpenProbe() {
+        AtomicLong now = new AtomicLong(1_000);
+        WebhookCircuitBreaker breaker = new WebhookCircuitBreaker(1, 60_000, now::get);
+        worker = new WebhookDeliveryWorker(deliveryRepository, eventRepository, subscriptionRepository,
+                attemptRepository, retryScheduler, breaker, signer, restTemplate);
+        breaker.recordFailure(subscription.getId());
+        now.addAndGet(60_001);
+        subscription.setSecret(null);
+
+        worker.processWebhookDeliveries(messages(1));
+
+        verify(retryScheduler).schedule(any(WebhookDeliveryMessage.class), eq(1));
+        verifyNoInteractions(restTemplate);
+        assertThat(breaker.allowRequest(subscription.getId())).isTrue();
+    }
+
+    @Test
+    void expand_shouldFanOutEventMessageToPendingSubscribersOnly() {
+        UUID eventId = UUID.randomUUID();
+        UUID pendingSubscriber = UUID.randomUUID();
+        PublishedEventDelivery delivered = delivery(eventId, UUID.randomUUID());
+        delivered.setDeliveryStatus(WebhookDeliveryStatus.DELIVERED);
+        WebhookDeliveryMessage fanOut = WebhookDeliveryMessage.builder()
+                .eventId(eventId)
+                .eventType("APPOINTMENT_CREATED")
+                .payload(Map.of("eventId", eventId.toString()))
+                .attemptNumber(1)
+                .build();
+        WebhookDeliveryMessage retry = WebhookDeliveryMessage.builder()
+                .eventId(UUID.randomUUID())
+                .subscriptionId(subscription.getId())
+                .attemptNumber(3)
+                .build();
+
+        List<WebhookDeliveryMessage> expanded = WebhookDeliveryWorker.expand(List.of(fanOut, retry),
+                List.of(delivery(eventId, pendingSubscriber), delivered));
+
+        assertThat(expanded).hasSize(2);
+        assertThat(expanded.get(0).getSubscriptionId()).isEqualTo(pendingSubscriber);
+        assertThat(expanded.get(0).getPayload()).isSameAs(fanOut.getPayload());
+        assertThat(expanded.get(1)).isSameAs(retry);
+    }
+
+    private List<WebhookDeliveryMessage> messages(int count) {
+        List<WebhookDeliveryMessage> messages = new ArrayList<>();
+        List<PublishedEventDelivery> states = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PublishedEventDelivery state = delivery(UUID.randomUUID(), subscription.getId());
+            states.add(state);
+            messages.add(WebhookDeliveryMessage.builder()
+                    .eventId(state.getEventId())
+                    .subscriptionId(subscription.getId())
+                    .eventType("APPOINTMENT_CREATED")
+                    .payload(Map.of("referenceId", "ref-" + i, "eventType", "APPOINTMENT_CREATED"))
+                    .attemptNumber(1)
+                    .build());
+        }
+        when(deliveryRepository.findByEventIdIn(anyList())).thenReturn(states);
+        return messages;
+    }
+
+    private static PublishedEventDelivery delivery(UUID eventId, UUID subscriptionId) {
+        PublishedEventDelivery delivery = new PublishedEventDelivery();
+        delivery.setEventId(eventId);
+        delivery.setSubscriptionId(subscriptionId);
+        return delivery;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<HttpEntity<?>> captureRequests(int expected) {
+        ArgumentCaptor<HttpEntity> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(expected)).exchange(eq("https://ehr.example.com/hooks"), eq(HttpMethod.POST),
+                captor.capture(), eq(String.class));
+        return (List) captor.getAllValues();
+    }
+}
@@ -0,0 +1,79 @@
+package com.healthlink.infrastructure.webhook;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class WebhookPayloadSignerTest {
+
+    private final WebhookPayloadSigner signer = new WebhookPayloadSigner(240_000);
+
+    @Test
+    void canonicalPayload_shouldSortKeysAtEveryLevel() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("z", 1);
+        nested.put("a", List.of(Map.of("y", true)));
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("referenceId", "appt-1");
+        payload.put("data", nested);
+        payload.put("eventType", "APPOINTMENT_CREATED");
+
+        byte[] body = signer.canonicalPayload(UUID.randomUUID(), payload);
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(
+                "{\"data\":{\"a\":[{\"y\":true}],\"z\":1},\"eventType\":\"APPOINTMENT_CREATED\",\"referenceId\":\"appt-1\"}");
+    }
+
+    @Test
+    void canonicalPayload_shouldSerializeOncePerEvent() {
+        UUID eventId = UUID.randomUUID();
+
+        byte[] first = signer.canonicalPayload(eventId, Map.of("a", 1));
+        byte[] second = signer.canonicalPayload(eventId, Map.of("a", 1));
+
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void sign_shouldCoverTimestampAndExactBodyBytes() {
+        byte[] body = "{\"a\":1}".getBytes(StandardCharsets.UTF_8);
+
+        WebhookPayloadSigner.Signature signature = signer.sign(UUID.randomUUID(), "secret", UUID.randomUUID(), body);
+
+        assertThat(signature.value()).isEqualTo(WebhookPayloadSigner.hmac("secret", signature.timestamp(), body));
+        assertThat(signature.value()).isNotEqualTo(WebhookPayloadSigner.hmac("secret", signature.timestamp(),
+                "{ \"a\": 1 }".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void sign_shouldReuseSignaturePerSubscriptionUntilSecretChanges() {
+        UUID subscriptionId = UUID.randomUUID();
+        UUID eventId = UUID.randomUUID();
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+        WebhookPayloadSigner.Signature first = signer.sign(subscriptionId, "secret", eventId, body);
+
+        assertThat(signer.sign(subscriptionId, "secret", eventId, body)).isSameAs(first);
+        assertThat(signer.sign(subscriptionId, "rotated", eventId, body).value()).isNotEqualTo(first.value());
+    }
+
+    @Test
+    void sign_shouldNotReuseSignatureAcrossSecretsWithEqualHashCodes() {
+        UUID subscriptionId = UUID.randomUUID();
+        UUID eventId = UUID.randomUUID();
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+        WebhookPayloadSigner.Signature first = signer.sign(subscriptionId, "Aa", eventId, body);
+        WebhookPayloadSigner.Signature second = signer.sign(subscriptionId, "BB", eventId, body);
+
+        assertThat(second.value()).isEqualTo(WebhookPayloadSigner.hmac("BB", second.timestamp(), body));
+        assertThat(second).isNotSameAs(first);
+    }
+}
@@ -0,0 +1,71 @@
+package com.healthlink.infrastructure.webhook;
+
+import com.healthlink.domain.webhook.dto.WebhookDeliveryMessage;
+import com.healthlink.infrastructure.messaging.RabbitMQConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WebhookRetrySchedulerTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @InjectMocks
+    private WebhookRetryScheduler retryScheduler;
+
+    @Test
+    void delayFor_shouldStayWithinJitterBandAndGrowPerLevel() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(retryScheduler.delayFor(1)).isBetween(Duration.ofMillis(12000), Duration.ofMillis(18000));
+            assertThat(retryScheduler.delayFor(4)).isBetween(Duration.ofMillis(1440000), Duration.ofMillis(2160000));
+        }
+    }
+
+    @Test
+    void schedule_shouldPublishToLevelQueueWithPerMessageTtl() {
+        WebhookDeliveryMessage message = WebhookDeliveryMessage.builder()
+                .eventId(UUID.randomUUID())
+                .subscriptionId(UUID.randomUUID())
+                .attemptNumber(3)
+                .build();
+
+        retryScheduler.schedule(message, 2);
+
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.WEBHOOK_RETRY_EXCHANGE),
+                eq(RabbitMQConfig.WEBHOOK_RETRY_ROUTING_KEY_PREFIX + 2), eq(message), postProcessor.capture());
+        Message amqpMessage = postProcessor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()));
+        assertThat(Long.parseLong(amqpMessage.getMessageProperties().getExpiration())).isBetween(48000L, 72000L);
+        assertThat(message.getScheduledAt()).isNotNull();
+    }
+
+    @Test
+    void schedule_shouldClampLevelToDeclaredQueues() {
+        WebhookDeliveryMessage message = WebhookDeliveryMessage.builder()
+                .eventId(UUID.randomUUID())
+                .subscriptionId(UUID.randomUUID())
+                .build();
+
+        retryScheduler.schedule(message, 9);
+
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.WEBHOOK_RETRY_EXCHANGE),
+                eq(RabbitMQConfig.WEBHOOK_RETRY_ROUTING_KEY_PREFIX + RabbitMQConfig.WEBHOOK_RETRY_LEVELS),
+                eq(message), any(MessagePostProcessor.class));
+    }
+}
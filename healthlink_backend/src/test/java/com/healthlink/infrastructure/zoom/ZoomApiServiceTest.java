@@ -0,0 +1,101 @@
+package com.healthlink.infrastructure.zoom;
+
+import com.healthlink.domain.appointment.entity.ZoomMeetingPoolEntry;
+import com.healthlink.domain.appointment.repository.ZoomMeetingPoolRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ZoomApiServiceTest {
+
+    @Mock
+    private ZoomMeetingPoolRepository poolRepository;
+
+    private ZoomApiStubServer stub;
+    private ZoomTokenCache tokenCache;
+    private ZoomApiService zoomApiService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new ZoomApiStubServer();
+        RestTemplate restTemplate = new RestTemplate();
+        tokenCache = new ZoomTokenCache(restTemplate, stub.tokenUrl(), "account", "client", "secret",
+                300_000, 60_000, System::currentTimeMillis);
+        zoomApiService = new ZoomApiService(restTemplate, tokenCache, new ZoomCircuitBreaker(3, 60_000), poolRepository);
+        ReflectionTestUtils.setField(zoomApiService, "zoomEnabled", true);
+        ReflectionTestUtils.setField(zoomApiService, "apiBaseUrl", stub.apiBaseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void reusesCachedTokenAcrossMeetings() {
+        ZoomApiService.ZoomMeetingResponse first = zoomApiService.createMeeting(request());
+        ZoomApiService.ZoomMeetingResponse second = zoomApiService.createMeeting(request());
+
+        assertThat(first.getJoinUrl()).isNotEqualTo(second.getJoinUrl());
+        assertThat(stub.meetingRequests()).isEqualTo(2);
+        assertThat(stub.tokenRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void assignsPooledMeetingWithoutCallingZoom() {
+        ZoomMeetingPoolEntry entry = new ZoomMeetingPoolEntry();
+        entry.setMeetingId("90000000042");
+        entry.setJoinUrl("https://zoom.example/j/90000000042");
+        entry.setPassword("XYZ789");
+        when(poolRepository.claimNext(any(), any())).thenReturn(Optional.of(entry));
+
+        ZoomApiService.ZoomMeetingResponse meeting = zoomApiService.createMeeting(request());
+
+        assertThat(meeting.getId()).isEqualTo(90000000042L);
+        assertThat(meeting.getPassword()).isEqualTo("XYZ789");
+        assertThat(stub.meetingRequests()).isZero();
+        assertThat(stub.tokenRequests()).isZero();
+    }
+
+    @Test
+    void circuitOpensAfterRepeatedFailures() {
+        stub.failMeetings(503);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(zoomApiService.createMeeting(request())).isNull();
+        }
+
+        assertThat(stub.meetingRequests()).isEqualTo(3);
+    }
+
+    @Test
+    void createsPoolMeetings() {
+        ZoomApiService.ZoomMeetingResponse meeting = zoomApiService.createPoolMeeting();
+
+        assertThat(meeting).isNotNull();
+        assertThat(meeting.getStartUrl()).startsWith("https://zoom.example/s/");
+    }
+
+    private static ZoomApiService.CreateZoomMeetingRequest request() {
+        return ZoomApiService.CreateZoomMeetingRequest.builder()
+                .appointmentId(UUID.randomUUID())
+                .topic(ZoomApiService.consultationTopic("Ayesha Khan", "Bilal Ahmed"))
+                .startTime(LocalDateTime.now().plusDays(1))
+                .durationMinutes(30)
+                .build();
+    }
+}
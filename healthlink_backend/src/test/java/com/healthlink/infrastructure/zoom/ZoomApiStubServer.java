@@ -0,0 +1,105 @@
+package com.healthlink.infrastructure.zoom;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for zoom.us: an OAuth token endpoint and the meetings API. Meetings get
+ * increasing ids, calls are counted per endpoint, and {@link #failMeetings(int)} makes the
+ * meetings API answer with an error status to simulate an outage.
+ */
+public class ZoomApiStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final AtomicInteger tokenRequests = new AtomicInteger();
+    private final AtomicInteger meetingRequests = new AtomicInteger();
+    private final AtomicLong nextMeetingId = new AtomicLong(90000000001L);
+    private volatile int meetingFailureStatus;
+    private volatile int tokenExpiresInSeconds = 3600;
+
+    public ZoomApiStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/oauth/token", this::token);
+        server.createContext("/v2/", this::meetings);
+        server.start();
+    }
+
+    public String tokenUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/oauth/token";
+    }
+
+    public String apiBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v2";
+    }
+
+    /** Answer every meetings call with {@code status}; 0 restores normal behaviour. */
+    public ZoomApiStubServer failMeetings(int status) {
+        this.meetingFailureStatus = status;
+        return this;
+    }
+
+    public ZoomApiStubServer tokenExpiresIn(int seconds) {
+        this.tokenExpiresInSeconds = seconds;
+        return this;
+    }
+
+    public int tokenRequests() {
+        return tokenRequests.get();
+    }
+
+    public int meetingRequests() {
+        return meetingRequests.get();
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        int n = tokenRequests.incrementAndGet();
+        respond(exchange, 200, "{\"access_token\":\"stub-token-" + n + "\",\"token_type\":\"bearer\","
+                + "\"expires_in\":" + tokenExpiresInSeconds + ",\"scope\":\"meeting:write\"}");
+    }
+
+    private void meetings(HttpExchange exchange) throws IOException {
+        meetingRequests.incrementAndGet();
+        if (meetingFailureStatus != 0) {
+            respond(exchange, meetingFailureStatus, "{\"code\":" + meetingFailureStatus + "}");
+            return;
+        }
+        String method = exchange.getRequestMethod();
+        if ("POST".equals(method) && exchange.getRequestURI().getPath().endsWith("/users/me/meetings")) {
+            respond(exchange, 201, meetingJson(nextMeetingId.getAndIncrement()));
+        } else if ("GET".equals(method)) {
+            String path = exchange.getRequestURI().getPath();
+            respond(exchange, 200, meetingJson(Long.parseLong(path.substring(path.lastIndexOf('/') + 1))));
+        } else {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        }
+    }
+
+    private static String meetingJson(long id) {
+        return "{\"id\":" + id + ",\"topic\":\"stub\",\"join_url\":\"https://zoom.example/j/" + id + "\","
+                + "\"start_url\":\"https://zoom.example/s/" + id + "\",\"password\":\"ABC234\"}";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
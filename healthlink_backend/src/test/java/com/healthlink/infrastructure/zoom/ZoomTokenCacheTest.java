@@ -0,0 +1,93 @@
+package com.healthlink.infrastructure.zoom;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZoomTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private ZoomApiStubServer stub;
+    private ZoomTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stub = new ZoomApiStubServer();
+        tokenCache = new ZoomTokenCache(new RestTemplate(), stub.tokenUrl(), "account", "client", "secret",
+                300_000, 60_000, now::get);
+        ReflectionTestUtils.setField(tokenCache, "zoomEnabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stub.close();
+    }
+
+    @Test
+    void servesCachedTokenUntilRefreshMargin() {
+        String first = tokenCache.getToken();
+        now.addAndGet(3_299_000); // one second before the 5 minute margin
+
+        assertThat(tokenCache.getToken()).isEqualTo(first);
+        assertThat(stub.tokenRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void scheduledCheckRenewsTokenInsideMargin() {
+        String first = tokenCache.getToken();
+        now.addAndGet(3_400_000);
+
+        tokenCache.refreshAhead();
+
+        assertThat(stub.tokenRequests()).isEqualTo(2);
+        assertThat(tokenCache.getToken()).isNotEqualTo(first);
+        assertThat(stub.tokenRequests()).isEqualTo(2);
+    }
+
+    @Test
+    void scheduledCheckRenewsTokenBeforeRefreshPoint() {
+        String first = tokenCache.getToken();
+        now.addAndGet(3_200_000); // 100 seconds before the refresh point, within two check intervals
+
+        tokenCache.refreshAhead();
+
+        assertThat(stub.tokenRequests()).isEqualTo(2);
+        assertThat(tokenCache.getToken()).isNotEqualTo(first);
+    }
+
+    @Test
+    void scheduledCheckWaitsUntilTwoIntervalsBeforeRefreshPoint() {
+        tokenCache.getToken();
+        now.addAndGet(3_170_000); // 130 seconds before the refresh point
+
+        tokenCache.refreshAhead();
+
+        assertThat(stub.tokenRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void scheduledCheckLeavesFreshTokenAlone() {
+        tokenCache.getToken();
+
+        tokenCache.refreshAhead();
+
+        assertThat(stub.tokenRequests()).isEqualTo(1);
+    }
+
+    @Test
+    void shortLivedTokensStillGetCached() {
+        stub.tokenExpiresIn(120);
+        tokenCache.getToken();
+        now.addAndGet(59_000);
+
+        tokenCache.getToken();
+
+        assertThat(stub.tokenRequests()).isEqualTo(1);
+    }
+}
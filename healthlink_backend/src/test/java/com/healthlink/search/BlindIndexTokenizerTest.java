@@ -0,0 +1,62 @@
+package com.healthlink.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlindIndexTokenizerTest {
+
+    private static final UUID PATIENT = UUID.randomUUID();
+
+    private final BlindIndexTokenizer tokenizer =
+            new BlindIndexTokenizer("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    void normalizesCaseAccentsAndPunctuation() {
+        assertThat(BlindIndexTokenizer.words("Café-au-LAIT, HbA1c: 65% (a)"))
+                .containsExactly("cafe", "au", "lait", "hba1c", "65");
+    }
+
+    @Test
+    void queryWordMatchesIndexedWordAndPrefix() {
+        Set<String> indexed = tokenizer.indexTokens(PATIENT, List.of("Type 2 Diabetes follow-up"));
+
+        assertThat(indexed).containsAll(tokenizer.queryTokens(PATIENT, "DIABETES"));
+        assertThat(indexed).containsAll(tokenizer.queryTokens(PATIENT, "diab"));
+        assertThat(indexed).containsAll(tokenizer.queryTokens(PATIENT, "diabétes Follow"));
+        assertThat(indexed).doesNotContainAnyElementsOf(tokenizer.queryTokens(PATIENT, "betes"));
+    }
+
+    @Test
+    void tokensDependOnPatientAndKey() {
+        Set<String> mine = tokenizer.queryTokens(PATIENT, "asthma");
+        Set<String> otherPatient = tokenizer.queryTokens(UUID.randomUUID(), "asthma");
+        Set<String> otherKey = new BlindIndexTokenizer("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8))
+                .queryTokens(PATIENT, "asthma");
+
+        assertThat(mine).hasSize(1).doesNotContainAnyElementsOf(otherPatient).doesNotContainAnyElementsOf(otherKey);
+        assertThat(mine.iterator().next()).hasSize(22).doesNotContain("asthma");
+    }
+
+    @Test
+    void ignoresBlankAndSingleCharacterQueries() {
+        assertThat(tokenizer.queryTokens(PATIENT, "  ")).isEmpty();
+        assertThat(tokenizer.queryTokens(PATIENT, "a - b")).isEmpty();
+        assertThat(tokenizer.indexTokens(PATIENT, Arrays.asList(null, ""))).isEmpty();
+    }
+
+    @Test
+    void requiresDedicatedKeyOfAtLeast32Bytes() {
+        assertThatThrownBy(() -> BlindIndexTokenizer.decodeKey(" ")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BlindIndexTokenizer.decodeKey("c2hvcnQ=")).isInstanceOf(IllegalStateException.class);
+        assertThat(BlindIndexTokenizer.decodeKey("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="))
+                .isEqualTo("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,155 @@
+package com.healthlink.search;
+
+import com.healthlink.domain.record.entity.LabOrder;
+import com.healthlink.domain.record.entity.MedicalRecord;
+import com.healthlink.domain.record.repository.LabOrderRepository;
+import com.healthlink.domain.record.repository.MedicalRecordRepository;
+import com.healthlink.domain.record.repository.PrescriptionRepository;
+import com.healthlink.domain.record.repository.RecordTitleView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceTest {
+
+    private static final UUID PATIENT = UUID.randomUUID();
+
+    @Mock
+    private MedicalRecordRepository medicalRecordRepository;
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    @Mock
+    private LabOrderRepository labOrderRepository;
+
+    @Mock
+    private RecordSearchTokenRepository tokenRepository;
+
+    private final BlindIndexTokenizer tokenizer =
+            new BlindIndexTokenizer("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+    private SearchIndexService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new SearchIndexService(medicalRecordRepository, prescriptionRepository, labOrderRepository,
+                tokenRepository, tokenizer);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void indexReplacesRecordTokensIncludingEncryptedFields() {
+        MedicalRecord record = new MedicalRecord();
+        record.setId(UUID.randomUUID());
+        record.setPatientId(PATIENT);
+        record.setTitle("Checkup");
+        record.setDetails("Elevated cholesterol");
+        record.setCreatedAt(LocalDateTime.of(2025, 3, 14, 9, 30));
+
+        service.index(record);
+
+        ArgumentCaptor<List<RecordSearchToken>> captor = ArgumentCaptor.forClass(List.class);
+        var order = inOrder(tokenRepository);
+        order.verify(tokenRepository).deleteByRecord(SearchIndexService.MEDICAL_RECORD, record.getId());
+        order.verify(tokenRepository).saveAll(captor.capture());
+        List<String> tokens = captor.getValue().stream().map(RecordSearchToken::getToken).toList();
+        assertThat(tokens).containsAll(tokenizer.queryTokens(PATIENT, "cholesterol"));
+        assertThat(captor.getValue()).allSatisfy(token -> {
+            assertThat(token.getPatientId()).isEqualTo(PATIENT);
+            assertThat(token.getRecordId()).isEqualTo(record.getId());
+            assertThat(token.getRecordedAt()).isEqualTo(record.getCreatedAt());
+            assertThat(token.isNew()).isTrue();
+        });
+    }
+
+    @Test
+    void indexesLabOrderDescription() {
+        LabOrder order = new LabOrder();
+        order.setId(UUID.randomUUID());
+        order.setPatientId(PATIENT);
+        order.setOrderName("CBC");
+        order.setDescription("Fasting sample");
+
+        service.index(order);
+
+        verify(tokenRepository).deleteByRecord(SearchIndexService.LAB_ORDER, order.getId());
+        verify(tokenRepository).saveAll(any());
+    }
+
+    @Test
+    void searchResolvesTokensToTitlesWithoutLoadingRecords() {
+        UUID recordId = UUID.randomUUID();
+        UUID labId = UUID.randomUUID();
+        List<Object[]> matches = new ArrayList<>();
+        matches.add(new Object[]{SearchIndexService.LAB_ORDER, labId});
+        matches.add(new Object[]{SearchIndexService.MEDICAL_RECORD, recordId});
+        when(tokenRepository.findRecordsWithAllTokens(eq(PATIENT), anyCollection(), eq(2L), anyCollection(), any(Pageable.class)))
+                .thenReturn(matches);
+        when(medicalRecordRepository.findTitles(PATIENT, List.of(recordId))).thenReturn(List.of(title(recordId, "Lipid panel")));
+        when(labOrderRepository.findTitles(PATIENT, List.of(labId))).thenReturn(List.of(title(labId, "Cholesterol test")));
+
+        List<SearchIndexService.SearchHit> hits = service.search("Cholesterol chol", PATIENT, true);
+
+        assertThat(hits).containsExactly(
+                new SearchIndexService.SearchHit(SearchIndexService.MEDICAL_RECORD, recordId.toString(), "Lipid panel"),
+                new SearchIndexService.SearchHit(SearchIndexService.LAB_ORDER, labId.toString(), "Cholesterol test"));
+        verify(medicalRecordRepository, never()).findByPatientId(any());
+        verify(prescriptionRepository, never()).findTitles(any(), anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchSkipsLabOrdersUnlessRequested() {
+        when(tokenRepository.findRecordsWithAllTokens(eq(PATIENT), anyCollection(), anyLong(), anyCollection(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        service.search("cbc", PATIENT, false);
+
+        ArgumentCaptor<Collection<String>> types = ArgumentCaptor.forClass(Collection.class);
+        verify(tokenRepository).findRecordsWithAllTokens(eq(PATIENT), anyCollection(), anyLong(), types.capture(), any(Pageable.class));
+        assertThat(types.getValue()).containsExactlyInAnyOrder(SearchIndexService.MEDICAL_RECORD, SearchIndexService.PRESCRIPTION);
+    }
+
+    @Test
+    void blankQueryDoesNotHitTheDatabase() {
+        assertThat(service.search(" ", PATIENT, true)).isEmpty();
+        verifyNoInteractions(tokenRepository);
+    }
+
+    private static RecordTitleView title(UUID id, String title) {
+        return new RecordTitleView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getTitle() {
+                return title;
+            }
+        };
+    }
+}
@@ -1,44 +1,37 @@
 package com.healthlink.service.integration;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthlink.infrastructure.openfda.OpenFdaClient;
+import com.healthlink.infrastructure.openfda.OpenFdaStubServer;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.test.util.ReflectionTestUtils;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.*;
 
 /**
- * Tests for OpenFdaService
+ * Tests for OpenFdaService, run against a local OpenFDA stub
  */
-@ExtendWith(MockitoExtension.class)
 class OpenFdaServiceTest {
 
-    @Mock
-    private RestTemplate restTemplate;
-
-    @InjectMocks
+    private OpenFdaStubServer stub;
+    private OpenFdaClient openFdaClient;
     private OpenFdaService openFdaService;
 
-    private ObjectMapper objectMapper;
-
     @BeforeEach
-    void setUp() {
-        objectMapper = new ObjectMapper();
-        ReflectionTestUtils.setField(openFdaService, "objectMapper", objectMapper);
-        ReflectionTestUtils.setField(openFdaService, "openFdaApiUrl", "https://api.fda.gov");
-        ReflectionTestUtils.setField(openFdaService, "apiKey", null);
+    void setUp() throws Exception {
+        stub = new OpenFdaStubServer();
+        openFdaClient = new OpenFdaClient(WebClient.builder(), stub.baseUrl(), null, 4, 2000, 5000, 0);
+        openFdaService = new OpenFdaService(openFdaClient);
+    }
+
+    @AfterEach
+    void tearDown() {
+        openFdaClient.shutdown();
+        stub.close();
     }
 
     @Test
@@ -56,8 +49,7 @@ class OpenFdaServiceTest {
                 }
                 """;
 
-        when(restTemplate.getForEntity(anyString(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
+        stub.stubResponse("Aspirin", 200, mockResponse);
 
         OpenFdaService.DrugInfo result = openFdaService.getDrugInfo("Aspirin");
 
@@ -76,8 +68,7 @@ class OpenFdaServiceTest {
                 }
                 """;
 
-        when(restTemplate.getForEntity(anyString(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
+        stub.stubResponse("NonExistentDrug", 200, mockResponse);
 
         OpenFdaService.DrugInfo result = openFdaService.getDrugInfo("NonExistentDrug");
 
@@ -86,8 +77,7 @@ class OpenFdaServiceTest {
 
     @Test
     void getDrugInfo_shouldHandleApiError() {
-        when(restTemplate.getForEntity(anyString(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+        stub.stubResponse("Aspirin", 500, "{}");
 
         OpenFdaService.DrugInfo result = openFdaService.getDrugInfo("Aspirin");
 
@@ -120,10 +110,8 @@ class OpenFdaServiceTest {
                 }
                 """;
 
-        when(restTemplate.getForEntity(contains("Aspirin"), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(mockResponse1, HttpStatus.OK));
-        when(restTemplate.getForEntity(contains("Ibuprofen"), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(mockResponse2, HttpStatus.OK));
+        stub.stubResponse("Aspirin", 200, mockResponse1);
+        stub.stubResponse("Ibuprofen", 200, mockResponse2);
 
         List<String> drugs = Arrays.asList("Aspirin", "Ibuprofen");
         OpenFdaService.DrugInteractionResult result = openFdaService.checkDrugInteractions(drugs);
@@ -148,8 +136,7 @@ class OpenFdaServiceTest {
                 }
                 """;
 
-        when(restTemplate.getForEntity(anyString(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
+        stub.stubResponse("Vitamin C", 200, mockResponse);
 
         List<String> drugs = Arrays.asList("Vitamin C");
         OpenFdaService.DrugInteractionResult result = openFdaService.checkDrugInteractions(drugs);
@@ -177,8 +164,7 @@ class OpenFdaServiceTest {
                 }
                 """;
 
-        when(restTemplate.getForEntity(anyString(), eq(String.class)))
-                .thenReturn(new ResponseEntity<>(mockResponse, HttpStatus.OK));
+        stub.stubResponse("Warfarin", 200, mockResponse);
 
         OpenFdaService.DrugInfo result = openFdaService.getDrugInfo("Warfarin");
 
@@ -0,0 +1,115 @@
+package com.healthlink.service.notification;
+
+import com.healthlink.domain.notification.entity.EmailDispatch;
+import com.healthlink.domain.notification.repository.EmailDispatchRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private TemplateEngine templateEngine;
+
+    @Mock
+    private EmailDispatchRepository dispatchRepository;
+
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(templateEngine.process(anyString(), any(IContext.class))).thenReturn("<p>body</p>");
+        emailService = new EmailService(mailSender, templateEngine, dispatchRepository,
+                TransactionOperations.withoutTransaction());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void queuesImmediatelyOutsideATransaction() {
+        emailService.sendAccountApprovalEmail("patient@example.com", "Ayesha", "PATIENT");
+
+        ArgumentCaptor<EmailDispatch> dispatch = ArgumentCaptor.forClass(EmailDispatch.class);
+        verify(dispatchRepository).save(dispatch.capture());
+        assertThat(dispatch.getValue().getEmailType()).isEqualTo("account-approved");
+        assertThat(dispatch.getValue().getStatus()).isEqualTo(EmailDispatch.STATUS_PENDING);
+    }
+
+    @Test
+    void queuesOnlyAfterTheCallerCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        emailService.sendAccountApprovalEmail("patient@example.com", "Ayesha", "PATIENT");
+        verify(dispatchRepository, never()).save(any());
+
+        afterCommit();
+        verify(dispatchRepository).save(any(EmailDispatch.class));
+    }
+
+    @Test
+    void rolledBackCallerQueuesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        emailService.sendAccountApprovalEmail("patient@example.com", "Ayesha", "PATIENT");
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(dispatchRepository, never()).save(any());
+    }
+
+    @Test
+    void failedInsertDoesNotReachTheCaller() {
+        when(dispatchRepository.save(any(EmailDispatch.class)))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        assertThatCode(() -> emailService.sendPasswordResetEmail("patient@example.com", "Ayesha", "123456"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void rejectsOverlongRecipientBeforeSaving() {
+        String recipient = "a".repeat(250) + "@example.com";
+
+        assertThatThrownBy(() -> emailService.sendPasswordResetEmail(recipient, "Ayesha", "123456"))
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        emailService.sendAccountApprovalEmail(recipient, "Ayesha", "PATIENT");
+
+        verify(dispatchRepository, never()).save(any());
+    }
+
+    private static void afterCommit() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,134 @@
+package com.healthlink.service.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the FCM HTTP v1 send endpoint. {@link #messaging()} is a real
+ * {@link FirebaseMessaging} whose transport is pointed at this server, so requests go through
+ * the SDK's own serialization and error parsing. Tokens registered via {@link #unregister}
+ * answer 404 UNREGISTERED like the real API, every other token is accepted, and each received
+ * message is recorded by token.
+ */
+public class FcmStubServer implements AutoCloseable {
+
+    private static final String PROJECT_ID = "healthlink-test";
+    private static final String UNREGISTERED_BODY = """
+            {"error":{"code":404,"message":"Requested entity was not found.","status":"NOT_FOUND",\
+            "details":[{"@type":"type.googleapis.com/google.firebase.fcm.v1.FcmError","errorCode":"UNREGISTERED"}]}}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final Set<String> unregistered = ConcurrentHashMap.newKeySet();
+    private final List<String> tokens = new CopyOnWriteArrayList<>();
+    private final Map<String, JsonNode> messages = new ConcurrentHashMap<>();
+    private FirebaseApp app;
+
+    public FcmStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v1/projects/" + PROJECT_ID + "/messages:send", this::handle);
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public FcmStubServer unregister(String token) {
+        unregistered.add(token);
+        return this;
+    }
+
+    /** A Firebase client for this server, created on first use and deleted on {@link #close}. */
+    public synchronized FirebaseMessaging messaging() {
+        if (app == null) {
+            String baseUrl = baseUrl();
+            NetHttpTransport transport = new NetHttpTransport.Builder()
+                    .setConnectionFactory(url -> (HttpURLConnection) URI.create(baseUrl + url.getFile())
+                            .toURL().openConnection())
+                    .build();
+            FirebaseOptions options = FirebaseOptions.builder()
+                    .setProjectId(PROJECT_ID)
+                    .setCredentials(GoogleCredentials.create(new AccessToken("stub-access-token",
+                            Date.from(Instant.now().plus(Duration.ofHours(1))))))
+                    .setHttpTransport(transport)
+                    .build();
+            app = FirebaseApp.initializeApp(options, "fcm-stub-" + UUID.randomUUID());
+        }
+        return FirebaseMessaging.getInstance(app);
+    }
+
+    /** Tokens of every message received, in arrival order. */
+    public List<String> receivedTokens() {
+        return List.copyOf(tokens);
+    }
+
+    /** The {@code message} object last sent to {@code token}, as it appeared on the wire. */
+    public JsonNode messageFor(String token) {
+        return messages.get(token);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            respond(exchange, 405, "{\"error\":{\"code\":405,\"status\":\"METHOD_NOT_ALLOWED\"}}");
+            return;
+        }
+        JsonNode message;
+        try (InputStream in = exchange.getRequestBody()) {
+            message = objectMapper.readTree(in).path("message");
+        }
+        String token = message.path("token").asText();
+        tokens.add(token);
+        messages.put(token, message);
+        if (unregistered.contains(token)) {
+            respond(exchange, 404, UNREGISTERED_BODY);
+        } else {
+            respond(exchange, 200, "{\"name\":\"projects/" + PROJECT_ID + "/messages/" + UUID.randomUUID() + "\"}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (app != null) {
+            app.delete();
+            app = null;
+        }
+        server.stop(0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.healthlink.service.notification;
+
+import com.healthlink.domain.notification.entity.PushDeviceToken;
+import com.healthlink.domain.notification.repository.PushDeviceTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for PushDispatcher with the real Firebase client talking to a local FCM stub
+ */
+@ExtendWith(MockitoExtension.class)
+class PushDispatcherTest {
+
+    @Mock
+    private PushDeviceTokenRepository tokenRepository;
+
+    private FcmStubServer fcm;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fcm = new FcmStubServer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fcm.close();
+    }
+
+    @Test
+    void flush_shouldGroupTokensAcrossUsersIntoBatchesOf500() {
+        List<PushDeviceToken> tokens = new ArrayList<>();
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            UUID userId = UUID.randomUUID();
+            users.add(userId);
+            tokens.add(token(userId, "t" + i + "a"));
+            tokens.add(token(userId, "t" + i + "b"));
+        }
+        when(tokenRepository.findByUserIdIn(anyCollection())).thenReturn(tokens);
+        PushDispatcher dispatcher = new PushDispatcher(fcm.messaging(), tokenRepository, meterRegistry);
+
+        users.forEach(userId -> dispatcher.enqueue(userId, "Title", "Body", null));
+        dispatcher.flush();
+
+        assertThat(meterRegistry.timer("healthlink.push.batch.duration").count()).isEqualTo(2);
+        assertThat(fcm.receivedTokens()).hasSize(600)
+                .containsExactlyInAnyOrderElementsOf(tokens.stream().map(PushDeviceToken::getToken).toList());
+        assertThat(meterRegistry.counter("healthlink.push.messages", "outcome", "sent").count()).isEqualTo(600);
+        verify(tokenRepository, times(1)).findByUserIdIn(anyCollection());
+        verify(tokenRepository, never()).deleteByTokenIn(anyCollection());
+    }
+
+    @Test
+    void flush_shouldPruneUnregisteredTokensInBulkAndTouchDelivered() {
+        UUID userId = UUID.randomUUID();
+        fcm.unregister("dead-1").unregister("dead-2");
+        when(tokenRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(
+                token(userId, "live"), token(userId, "dead-1"), token(userId, "dead-2")));
+        PushDispatcher dispatcher = new PushDispatcher(fcm.messaging(), tokenRepository, meterRegistry);
+
+        dispatcher.enqueue(userId, "Title", "Body", null);
+        dispatcher.flush();
+
+        verify(tokenRepository).deleteByTokenIn(List.of("dead-1", "dead-2"));
+        verify(tokenRepository).touchLastSeen(eq(List.of("live")), any());
+        assertThat(meterRegistry.counter("healthlink.push.messages", "outcome", "dead_token").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("healthlink.push.messages", "outcome", "failed").count()).isZero();
+    }
+
+    @Test
+    void flush_shouldSendNotificationAndDataFieldsOnTheWire() {
+        UUID userId = UUID.randomUUID();
+        when(tokenRepository.findByUserIdIn(anyCollection())).thenReturn(List.of(token(userId, "device")));
+        PushDispatcher dispatcher = new PushDispatcher(fcm.messaging(), tokenRepository, meterRegistry);
+
+        dispatcher.enqueue(userId, "Appointment", "Starts in 15 minutes", Map.of("appointmentId", "42"));
+        dispatcher.flush();
+
+        assertThat(fcm.messageFor("device").path("notification").path("title").asText()).isEqualTo("Appointment");
+        assertThat(fcm.messageFor("device").path("notification").path("body").asText())
+                .isEqualTo("Starts in 15 minutes");
+        assertThat(fcm.messageFor("device").path("data").path("appointmentId").asText()).isEqualTo("42");
+    }
+
+    @Test
+    void flush_shouldDropQueueWhenFirebaseNotInitialized() {
+        PushDispatcher dispatcher = new PushDispatcher(null, tokenRepository, meterRegistry);
+
+        dispatcher.enqueue(UUID.randomUUID(), "Title", "Body", null);
+
+        assertThatCode(dispatcher::flush).doesNotThrowAnyException();
+        verifyNoInteractions(tokenRepository);
+    }
+
+    private static PushDeviceToken token(UUID userId, String value) {
+        PushDeviceToken token = new PushDeviceToken();
+        token.setUserId(userId);
+        token.setToken(value);
+        token.setPlatform("ANDROID");
+        return token;
+    }
+}
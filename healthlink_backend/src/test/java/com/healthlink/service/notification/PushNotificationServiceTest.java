@@ -14,6 +14,7 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -34,6 +35,9 @@ class PushNotificationServiceTest {
     @Mock
     private PushDeviceTokenRepository tokenRepository;
 
+    @Mock
+    private PushDispatcher pushDispatcher;
+
     @InjectMocks
     private PushNotificationService pushNotificationService;
 
@@ -119,10 +123,20 @@ class PushNotificationServiceTest {
         verify(firebaseMessaging).send(any(Message.class));
     }
 
+    @Test
+    void sendToUser_shouldQueueOnDispatcher() {
+        UUID userId = UUID.randomUUID();
+
+        pushNotificationService.sendToUser(userId, "Title", "Body");
+
+        verify(pushDispatcher).enqueue(userId, "Title", "Body", null);
+        verifyNoInteractions(firebaseMessaging);
+    }
+
     @Test
     void sendNotification_shouldHandleNullFirebaseMessaging() {
         // Simulate null FirebaseMessaging (not initialized)
-        PushNotificationService serviceWithNullFM = new PushNotificationService(null, null, tokenRepository);
+        PushNotificationService serviceWithNullFM = new PushNotificationService(null, null, tokenRepository, pushDispatcher);
 
         // Should not throw exception
         assertThatCode(() -> serviceWithNullFM.sendNotification("token", "Title", "Body", null))